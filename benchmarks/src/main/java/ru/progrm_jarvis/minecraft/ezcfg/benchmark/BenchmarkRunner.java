@@ -0,0 +1,28 @@
+package ru.progrm_jarvis.minecraft.ezcfg.benchmark;
+
+import lombok.val;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmarks jar.
+ * Accepts the same arguments as {@link org.openjdk.jmh.Main} but always attaches {@link GCProfiler}
+ * so that each result reports allocation rate ({@code -prof gc}) next to its throughput.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+        throw new UnsupportedOperationException("BenchmarkRunner is a utility class");
+    }
+
+    public static void main(final String[] args) throws Exception {
+        val options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,70 @@
+package ru.progrm_jarvis.minecraft.ezcfg.benchmark;
+
+import lombok.val;
+import org.openjdk.jmh.annotations.*;
+import ru.progrm_jarvis.minecraft.common.ezcfg.format.ConfigFormat;
+import ru.progrm_jarvis.minecraft.common.ezcfg.format.ConfigFormats;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading of the same config values from files of each of the {@link ConfigFormats built-in formats}.
+ * The values contain a large {@code int} array which the binary format reads without copying.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigFormatBenchmark {
+
+    @Param({"100", "10000"})
+    private int keys;
+
+    @Param({"FLAT", "NESTED"})
+    private ConfigShape shape;
+
+    private byte[] yaml, json, binary;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        val values = ConfigFormats.YAML.read(ByteBuffer.wrap(
+                ConfigGenerator.sampleConfig(keys, shape, false).getBytes(StandardCharsets.UTF_8)
+        ));
+        val samples = new int[keys * 4];
+        for (int i = 0; i < samples.length; i++) samples[i] = i * 31;
+        values.put("samples", samples);
+
+        yaml = write(ConfigFormats.YAML, values);
+        json = write(ConfigFormats.JSON, values);
+        binary = write(ConfigFormats.BINARY, values);
+    }
+
+    private static byte[] write(final ConfigFormat format, final Map<String, ?> values) throws IOException {
+        val out = new ByteArrayOutputStream();
+        format.write(values, out);
+
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public Map<String, Object> readYaml() throws IOException {
+        return ConfigFormats.YAML.read(ByteBuffer.wrap(yaml));
+    }
+
+    @Benchmark
+    public Map<String, Object> readJson() throws IOException {
+        return ConfigFormats.JSON.read(ByteBuffer.wrap(json));
+    }
+
+    @Benchmark
+    public Map<String, Object> readBinary() throws IOException {
+        return ConfigFormats.BINARY.read(ByteBuffer.wrap(binary));
+    }
+}
@@ -0,0 +1,164 @@
+package ru.progrm_jarvis.minecraft.ezcfg.benchmark;
+
+import lombok.NonNull;
+import lombok.val;
+import lombok.var;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * Generator of YAML documents matching the schemas of the benchmark configs.
+ * Documents are written as plain text so that generation does not depend on the platform being measured.
+ */
+public final class ConfigGenerator {
+
+    /**
+     * Depth of the section tree used by {@link ConfigShape#NESTED}.
+     */
+    public static final int NESTING_DEPTH = 6;
+
+    /**
+     * Amount of enum fields and of pattern fields in the enum-and-pattern configs.
+     */
+    public static final int ENUM_PATTERN_FIELDS = 16;
+
+    private ConfigGenerator() {
+        throw new UnsupportedOperationException("ConfigGenerator is a utility class");
+    }
+
+    /**
+     * Generates the document of a sample config.
+     *
+     * @param keys amount of generated keys
+     * @param shape the way in which the generated keys are laid out
+     * @param vector whether or not the {@code offset} vector should be written (Bukkit-only type)
+     * @return generated YAML document
+     */
+    public static String sampleConfig(final int keys, @NonNull final ConfigShape shape, final boolean vector) {
+        val yaml = new StringBuilder(64 + keys * 24);
+
+        yaml.append("name: sample\n")
+                .append("size: ").append(keys).append('\n')
+                .append("ratio: 0.75\n")
+                .append("enabled: true\n")
+                .append("seed: 1234567890123\n")
+                .append("deep:\n");
+        // deep.a.b.c.d.e.f.g.value
+        var indent = "  ";
+        for (char level = 'a'; level <= 'g'; level++) {
+            yaml.append(indent).append(level).append(":\n");
+            indent += "  ";
+        }
+        yaml.append(indent).append("value: deep\n");
+        if (vector) yaml.append("offset:\n")
+                .append("  ==: Vector\n")
+                .append("  x: 0.5\n")
+                .append("  y: 1.25\n")
+                .append("  z: -0.5\n");
+
+        yaml.append("entries:").append(shape == ConfigShape.FLAT ? "\n" : " {}\n");
+        if (shape == ConfigShape.FLAT) for (var i = 0; i < keys; i++) yaml.append("  key").append(i)
+                .append(": value").append(i).append('\n');
+
+        yaml.append("nested:").append(shape == ConfigShape.NESTED ? "\n" : " {}\n");
+        if (shape == ConfigShape.NESTED) appendNested(yaml, keys);
+
+        yaml.append("lines:").append(shape == ConfigShape.LIST ? "\n" : " []\n");
+        if (shape == ConfigShape.LIST) for (var i = 0; i < keys; i++) yaml.append("- line number ").append(i)
+                .append('\n');
+
+        return yaml.toString();
+    }
+
+    private static void appendNested(final StringBuilder yaml, final int keys) {
+        // every key is placed into the branch defined by the base-4 digits of its index,
+        // the top level takes all the remaining high digits so that no section is ever repeated
+        val previous = new int[NESTING_DEPTH];
+        for (var i = 0; i < NESTING_DEPTH; i++) previous[i] = -1;
+
+        for (var key = 0; key < keys; key++) {
+            var changed = false;
+            for (var level = 0; level < NESTING_DEPTH; level++) {
+                val shifted = key >>> ((NESTING_DEPTH - 1 - level) << 1);
+                val branch = level == 0 ? shifted : shifted & 3;
+                if (changed || previous[level] != branch) {
+                    changed = true;
+                    previous[level] = branch;
+                    indent(yaml, level + 1).append("n").append(branch).append(":\n");
+                }
+            }
+            indent(yaml, NESTING_DEPTH + 1).append("key").append(key).append(": ").append(key).append('\n');
+        }
+    }
+
+    /**
+     * Generates the document of an enum-and-pattern config.
+     *
+     * @return generated YAML document
+     */
+    public static String enumPatternConfig() {
+        val yaml = new StringBuilder(ENUM_PATTERN_FIELDS * 48);
+        val modes = Mode.values();
+        for (var i = 0; i < ENUM_PATTERN_FIELDS; i++) yaml.append("mode").append(i).append(": ")
+                .append(modes[i % modes.length].name()).append('\n');
+        for (var i = 0; i < ENUM_PATTERN_FIELDS; i++) yaml.append("pattern").append(i).append(": '^[a-z]{")
+                .append(i + 1).append("}-\\d+$'\n");
+
+        return yaml.toString();
+    }
+
+    private static StringBuilder indent(final StringBuilder yaml, final int level) {
+        for (var i = 0; i < level; i++) yaml.append("  ");
+        return yaml;
+    }
+
+    /**
+     * Writes the document to the file.
+     *
+     * @param file file to write to
+     * @param yaml document to write
+     * @throws IOException if an exception occurs while writing
+     */
+    public static void write(@NonNull final Path file, @NonNull final String yaml) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.write(file, yaml.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Recursively deletes the directory.
+     *
+     * @param directory directory to delete
+     * @throws IOException if an exception occurs while deleting
+     */
+    public static void delete(@NonNull final Path directory) throws IOException {
+        if (!Files.exists(directory)) return;
+
+        Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(final Path file, final BasicFileAttributes attributes)
+                    throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(final Path directory, final IOException e) throws IOException {
+                Files.delete(directory);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    /**
+     * Enum used by the enum fields of benchmark configs.
+     */
+    public enum Mode {
+        DISABLED, NORMAL, AGGRESSIVE, CUSTOM
+    }
+}
@@ -0,0 +1,19 @@
+package ru.progrm_jarvis.minecraft.ezcfg.benchmark;
+
+/**
+ * The way in which the generated keys of a benchmark config are laid out.
+ */
+public enum ConfigShape {
+    /**
+     * All keys are direct children of a single section.
+     */
+    FLAT,
+    /**
+     * Keys are spread over a tree of sections {@link ConfigGenerator#NESTING_DEPTH} levels deep.
+     */
+    NESTED,
+    /**
+     * Keys are the elements of a single list.
+     */
+    LIST
+}
@@ -0,0 +1,98 @@
+package ru.progrm_jarvis.minecraft.ezcfg.benchmark;
+
+import lombok.val;
+import lombok.var;
+import org.openjdk.jmh.annotations.*;
+import ru.progrm_jarvis.minecraft.common.ezcfg.format.ConfigFormat;
+import ru.progrm_jarvis.minecraft.common.ezcfg.format.ConfigFormats;
+import ru.progrm_jarvis.minecraft.common.ezcfg.stream.ConfigStream;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares consuming a large list of a config file materialized by a full read
+ * with consuming it through a {@link ConfigStream} and with reading the rest of the file skipping the list.
+ * Allocation rate ({@code -prof gc}) shows that streamed entries are not retained.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigStreamBenchmark {
+
+    @Param({"10000", "100000"})
+    private int entries;
+
+    @Param({"YAML", "JSON"})
+    private String formatName;
+
+    private ConfigFormat format;
+
+    private Path file;
+
+    private ConfigStream<Integer> stream;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        format = formatName.equals("JSON") ? ConfigFormats.JSON : ConfigFormats.YAML;
+
+        val list = new ArrayList<Object>(entries);
+        for (int i = 0; i < entries; i++) {
+            val entry = new LinkedHashMap<String, Object>();
+            entry.put("id", i);
+            entry.put("name", "entry-" + i);
+            entry.put("weight", i * .5);
+            list.add(entry);
+        }
+        val values = new LinkedHashMap<String, Object>();
+        values.put("enabled", true);
+        values.put("entries", list);
+
+        file = Files.createTempFile("ez-cfg-stream", formatName.equals("JSON") ? ".json" : ".yml");
+        ConfigFormats.write(file, format, values);
+        stream = ConfigStream.of(file, format, "entries", raw -> (Integer) ((Map<?, ?>) raw).get("id"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public long materialized() throws IOException {
+        var sum = 0L;
+        for (val entry : (List<?>) ConfigFormats.read(file, format).get("entries")) {
+            sum += (Integer) ((Map<?, ?>) entry).get("id");
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    public long streamed() {
+        var sum = 0L;
+        for (val id : stream) sum += id;
+
+        return sum;
+    }
+
+    @Benchmark
+    public long parallelStreamed() {
+        return stream.parallelStream().mapToLong(Integer::longValue).sum();
+    }
+
+    @Benchmark
+    public Map<String, Object> readSkippingList() throws IOException {
+        return ConfigFormats.read(file, format, Collections.singleton("entries"));
+    }
+}
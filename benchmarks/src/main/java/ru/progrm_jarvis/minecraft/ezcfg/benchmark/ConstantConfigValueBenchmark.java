@@ -0,0 +1,61 @@
+package ru.progrm_jarvis.minecraft.ezcfg.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import ru.progrm_jarvis.minecraft.common.ezcfg.constant.ConstantConfigValue;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading of a feature toggle and a multiplier on a hot path:
+ * plain fields of a config object against {@link ConstantConfigValue}s folded by the JIT.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConstantConfigValueBenchmark {
+
+    private static final ConstantConfigValue<Boolean> ENABLED = ConstantConfigValue.of(boolean.class, false);
+
+    private static final ConstantConfigValue<Double> MULTIPLIER = ConstantConfigValue.of(double.class, 1.5);
+
+    private static final MethodHandle ENABLED_INVOKER = ENABLED.getInvoker(),
+            MULTIPLIER_INVOKER = MULTIPLIER.getInvoker();
+
+    /**
+     * Config object whose fields are read on each invocation
+     */
+    private Config config;
+
+    private double input;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        config = new Config();
+        input = 42;
+    }
+
+    @Benchmark
+    public double plainField() {
+        return config.enabled ? slowPath(input) : input * config.multiplier;
+    }
+
+    @Benchmark
+    public double constantInvoker() throws Throwable {
+        return (boolean) ENABLED_INVOKER.invokeExact()
+                ? slowPath(input) : input * (double) MULTIPLIER_INVOKER.invokeExact();
+    }
+
+    @CompilerControl(CompilerControl.Mode.DONT_INLINE)
+    private static double slowPath(final double input) {
+        return Math.sqrt(input) * Math.log(input);
+    }
+
+    private static final class Config {
+        private boolean enabled;
+        private double multiplier = 1.5;
+    }
+}
@@ -0,0 +1,87 @@
+package ru.progrm_jarvis.minecraft.ezcfg.benchmark;
+
+import lombok.val;
+import lombok.var;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.progrm_jarvis.minecraft.common.ezcfg.format.ConfigFormats;
+import ru.progrm_jarvis.minecraft.common.ezcfg.layer.LayeredView;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares merging all of the layers of a config (bundled defaults, a network-wide and a per-server override)
+ * with replacing only the per-server layer of an already merged {@link LayeredView}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LayeredViewBenchmark {
+
+    @Param({"100", "10000"})
+    private int keys;
+
+    @Param({"FLAT", "NESTED"})
+    private ConfigShape shape;
+
+    private Map<String, Object> defaults, network;
+
+    /**
+     * Two versions of the per-server layer swapped on each replacement
+     */
+    private Map<String, Object> server, changedServer;
+
+    private LayeredView view;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        defaults = ConfigFormats.YAML.read(ByteBuffer.wrap(
+                ConfigGenerator.sampleConfig(keys, shape, false).getBytes(StandardCharsets.UTF_8)
+        ));
+        network = override(defaults, 10, "network");
+        server = override(defaults, 50, "server");
+        changedServer = override(defaults, 50, "changed-server");
+
+        view = LayeredView.merge(Arrays.asList(defaults, network, server));
+    }
+
+    /**
+     * Overrides every n-th top-level value of the defaults.
+     *
+     * @param defaults overridden values
+     * @param step distance between the overridden values
+     * @param value value replacing the overridden ones
+     * @return overriding values
+     */
+    private static Map<String, Object> override(final Map<String, Object> defaults, final int step,
+                                                final String value) {
+        val overrides = new LinkedHashMap<String, Object>();
+        var index = 0;
+        for (val key : defaults.keySet()) if (index++ % step == 0) overrides.put(key, value);
+
+        return overrides;
+    }
+
+    @Benchmark
+    public LayeredView mergeAll() {
+        return LayeredView.merge(Arrays.asList(defaults, network, server));
+    }
+
+    @Benchmark
+    public void replaceServerLayer(final Blackhole blackhole) {
+        val next = changedServer;
+        changedServer = server;
+        server = next;
+
+        blackhole.consume(view.replace(2, next, (path, value) -> blackhole.consume(value)));
+    }
+}
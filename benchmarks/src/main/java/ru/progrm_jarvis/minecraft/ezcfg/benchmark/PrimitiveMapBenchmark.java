@@ -0,0 +1,84 @@
+package ru.progrm_jarvis.minecraft.ezcfg.benchmark;
+
+import lombok.val;
+import lombok.var;
+import org.openjdk.jmh.annotations.*;
+import ru.progrm_jarvis.minecraft.common.ezcfg.collection.IntDoubleMap;
+import ru.progrm_jarvis.minecraft.common.ezcfg.collection.IntDoubleSortedMap;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares lookups of per-id values of a {@code Map<Integer, Double>} field with the ones of an {@link IntDoubleMap}
+ * and an {@link IntDoubleSortedMap} storing the same values without boxing them.
+ * Each invocation looks up a batch of ids of which about a half are absent.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrimitiveMapBenchmark {
+
+    private static final int LOOKUPS = 1024;
+
+    @Param({"16", "1024"})
+    private int entries;
+
+    private Map<Integer, Double> boxed;
+
+    private IntDoubleMap hashed;
+
+    private IntDoubleSortedMap sorted;
+
+    private int[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        val random = new Random(entries);
+        boxed = new HashMap<>();
+        val builder = IntDoubleMap.builder();
+        for (int i = 0; i < entries; i++) {
+            val id = random.nextInt(entries << 1);
+            val value = random.nextDouble();
+            boxed.put(id, value);
+            builder.put(id, value);
+        }
+        hashed = builder.build();
+        sorted = IntDoubleSortedMap.of(hashed);
+
+        ids = new int[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) ids[i] = random.nextInt(entries << 1);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public double boxedMap() {
+        var sum = 0D;
+        for (val id : ids) sum += boxed.getOrDefault(id, 0D);
+
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public double intDoubleMap() {
+        var sum = 0D;
+        for (val id : ids) sum += hashed.get(id, 0D);
+
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public double intDoubleSortedMap() {
+        var sum = 0D;
+        for (val id : ids) sum += sorted.get(id, 0D);
+
+        return sum;
+    }
+}
@@ -0,0 +1,78 @@
+package ru.progrm_jarvis.minecraft.ezcfg.benchmark.bungee;
+
+import lombok.val;
+import org.openjdk.jmh.annotations.*;
+import ru.progrm_jarvis.minecraft.ezcfg.benchmark.ConfigGenerator;
+import ru.progrm_jarvis.minecraft.bungee.ezcfg.CopyMode;
+import ru.progrm_jarvis.minecraft.ezcfg.benchmark.ConfigShape;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@code loadData}, {@code saveData} and {@code copyFrom} of Bungee configs of varying size and shape.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BungeeSampleConfigBenchmark {
+
+    @Param({"10", "1000", "50000"}) public int keys;
+
+    @Param({"FLAT", "NESTED", "LIST"}) public ConfigShape shape;
+
+    private Path directory;
+
+    private File file;
+
+    private SampleConfig config, copy;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("ez-cfg-benchmark");
+        file = directory.resolve("config.yml").toFile();
+        ConfigGenerator.write(file.toPath(), ConfigGenerator.sampleConfig(keys, shape, false));
+
+        val plugin = StubPlugins.plugin(directory.toFile());
+        config = new SampleConfig(plugin).load(file, false);
+        copy = new SampleConfig(plugin).load(file, false);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        ConfigGenerator.delete(directory);
+    }
+
+    @Benchmark
+    public SampleConfig loadData() {
+        return config.loadData(file, false);
+    }
+
+    @Benchmark
+    public SampleConfig saveDataUnchanged() {
+        return config.saveData(file);
+    }
+
+    @Benchmark
+    public SampleConfig saveDataChanged() {
+        config.setSize(config.getSize() ^ 1);
+
+        return config.saveData(file);
+    }
+
+    @Benchmark
+    public SampleConfig copyFrom() {
+        return copy.copyFrom(config);
+    }
+
+    @Benchmark
+    public SampleConfig copyFromDeep() {
+        return copy.copyFrom(config, CopyMode.DEEP);
+    }
+}
@@ -0,0 +1,31 @@
+package ru.progrm_jarvis.minecraft.ezcfg.benchmark.bungee;
+
+import lombok.Data;
+import lombok.NonNull;
+import net.md_5.bungee.api.plugin.Plugin;
+import ru.progrm_jarvis.minecraft.bungee.ezcfg.CfgField;
+import ru.progrm_jarvis.minecraft.bungee.ezcfg.YamlConfigData;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Config matching {@link ru.progrm_jarvis.minecraft.ezcfg.benchmark.ConfigGenerator#sampleConfig(int,
+ * ru.progrm_jarvis.minecraft.ezcfg.benchmark.ConfigShape, boolean)}.
+ */
+@Data
+public class SampleConfig implements YamlConfigData<SampleConfig, Plugin> {
+
+    @NonNull private final Plugin plugin;
+
+    @CfgField private String name = "";
+    @CfgField private int size;
+    @CfgField private double ratio;
+    @CfgField private boolean enabled;
+    @CfgField private long seed;
+    @CfgField("deep.a.b.c.d.e.f.g.value") private String deepValue = "";
+    @CfgField private Map<?, ?> entries = Collections.emptyMap();
+    @CfgField private Map<?, ?> nested = Collections.emptyMap();
+    @CfgField private List<String> lines = Collections.emptyList();
+}
@@ -0,0 +1,40 @@
+package ru.progrm_jarvis.minecraft.ezcfg.benchmark.bungee;
+
+import lombok.NonNull;
+import net.md_5.bungee.api.plugin.Plugin;
+
+import java.io.File;
+import java.util.logging.Logger;
+
+/**
+ * Headless stand-ins for BungeeCord objects required by configs.
+ */
+public final class StubPlugins {
+
+    private StubPlugins() {
+        throw new UnsupportedOperationException("StubPlugins is a utility class");
+    }
+
+    /**
+     * Creates a plugin which only knows its data folder and logger.
+     * It is never initialized by a proxy so any other method relying on one is unavailable.
+     *
+     * @param dataFolder data folder of the plugin
+     * @return created plugin
+     */
+    public static Plugin plugin(@NonNull final File dataFolder) {
+        final Logger logger = Logger.getLogger("EZ-Cfg-Benchmark");
+
+        return new Plugin() {
+            @Override
+            public File getDataFolder() {
+                return dataFolder;
+            }
+
+            @Override
+            public Logger getLogger() {
+                return logger;
+            }
+        };
+    }
+}
@@ -0,0 +1,55 @@
+package ru.progrm_jarvis.minecraft.ezcfg.benchmark.spigot;
+
+import lombok.Data;
+import lombok.NonNull;
+import org.bukkit.plugin.Plugin;
+import ru.progrm_jarvis.minecraft.ezcfg.benchmark.ConfigGenerator.Mode;
+import ru.progrm_jarvis.minecraft.spigot.ezcfg.CfgField;
+import ru.progrm_jarvis.minecraft.spigot.ezcfg.YamlConfigData;
+
+import java.util.regex.Pattern;
+
+/**
+ * Config matching {@link ru.progrm_jarvis.minecraft.ezcfg.benchmark.ConfigGenerator#enumPatternConfig()}.
+ */
+@Data
+public class EnumPatternConfig implements YamlConfigData<EnumPatternConfig, Plugin> {
+
+    private static final Pattern DEFAULT_PATTERN = Pattern.compile(".*");
+
+    @NonNull private final Plugin plugin;
+
+    @CfgField private Mode mode0 = Mode.DISABLED;
+    @CfgField private Mode mode1 = Mode.DISABLED;
+    @CfgField private Mode mode2 = Mode.DISABLED;
+    @CfgField private Mode mode3 = Mode.DISABLED;
+    @CfgField private Mode mode4 = Mode.DISABLED;
+    @CfgField private Mode mode5 = Mode.DISABLED;
+    @CfgField private Mode mode6 = Mode.DISABLED;
+    @CfgField private Mode mode7 = Mode.DISABLED;
+    @CfgField private Mode mode8 = Mode.DISABLED;
+    @CfgField private Mode mode9 = Mode.DISABLED;
+    @CfgField private Mode mode10 = Mode.DISABLED;
+    @CfgField private Mode mode11 = Mode.DISABLED;
+    @CfgField private Mode mode12 = Mode.DISABLED;
+    @CfgField private Mode mode13 = Mode.DISABLED;
+    @CfgField private Mode mode14 = Mode.DISABLED;
+    @CfgField private Mode mode15 = Mode.DISABLED;
+
+    @CfgField private Pattern pattern0 = DEFAULT_PATTERN;
+    @CfgField private Pattern pattern1 = DEFAULT_PATTERN;
+    @CfgField private Pattern pattern2 = DEFAULT_PATTERN;
+    @CfgField private Pattern pattern3 = DEFAULT_PATTERN;
+    @CfgField private Pattern pattern4 = DEFAULT_PATTERN;
+    @CfgField private Pattern pattern5 = DEFAULT_PATTERN;
+    @CfgField private Pattern pattern6 = DEFAULT_PATTERN;
+    @CfgField private Pattern pattern7 = DEFAULT_PATTERN;
+    @CfgField private Pattern pattern8 = DEFAULT_PATTERN;
+    @CfgField private Pattern pattern9 = DEFAULT_PATTERN;
+    @CfgField private Pattern pattern10 = DEFAULT_PATTERN;
+    @CfgField private Pattern pattern11 = DEFAULT_PATTERN;
+    @CfgField private Pattern pattern12 = DEFAULT_PATTERN;
+    @CfgField private Pattern pattern13 = DEFAULT_PATTERN;
+    @CfgField private Pattern pattern14 = DEFAULT_PATTERN;
+    @CfgField private Pattern pattern15 = DEFAULT_PATTERN;
+}
@@ -0,0 +1,166 @@
+package ru.progrm_jarvis.minecraft.ezcfg.benchmark.spigot;
+
+import lombok.Data;
+import lombok.NonNull;
+import lombok.val;
+import org.bukkit.plugin.Plugin;
+import ru.progrm_jarvis.minecraft.spigot.ezcfg.CfgField;
+import ru.progrm_jarvis.minecraft.spigot.ezcfg.YamlConfigData;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Stress test of concurrent loads and saves of the same files.
+ * Each file is shared by configs of several classes each owning one of its counters
+ * which is incremented and saved by its own thread while other threads keep loading the file.
+ * Any lost update (a counter not reaching its last saved value), any counter observed to decrease
+ * and any failed load or save fail the run.
+ * <p>
+ * Arguments (all optional): number of files, number of saves per counter and number of loading threads per file.
+ */
+public final class FileLockStress {
+
+    private static final List<Function<Plugin, Counter<?>>> COUNTERS = Arrays.asList(
+            CounterA::new, CounterB::new, CounterC::new, CounterD::new
+    );
+
+    private FileLockStress() {
+        throw new UnsupportedOperationException("FileLockStress is a utility class");
+    }
+
+    public static void main(final String[] args) throws Exception {
+        val files = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        val saves = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+        val readers = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+
+        val directory = Files.createTempDirectory("ez-cfg-stress").toFile();
+        val plugin = StubPlugins.plugin(directory);
+        val executor = Executors.newFixedThreadPool(files * (COUNTERS.size() + readers));
+        val failures = new ConcurrentLinkedQueue<Throwable>();
+        val writing = new CountDownLatch(files * COUNTERS.size());
+        val done = new AtomicBoolean();
+
+        val startNanos = System.nanoTime();
+        for (int i = 0; i < files; i++) {
+            val file = new File(directory, "stress-" + i + ".yml");
+            for (val counter : COUNTERS) executor.execute(() -> {
+                try {
+                    val config = counter.apply(plugin);
+                    for (int value = 1; value <= saves; value++) {
+                        config.setCounter(value);
+                        config.save(file);
+                    }
+                } catch (final Throwable e) {
+                    failures.add(e);
+                } finally {
+                    writing.countDown();
+                }
+            });
+            for (int reader = 0; reader < readers; reader++) executor.execute(() -> read(plugin, file, done, failures));
+        }
+
+        writing.await();
+        done.set(true);
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+        val elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+
+        for (int i = 0; i < files; i++) {
+            val file = new File(directory, "stress-" + i + ".yml");
+            val counters = new Counters(plugin).load(file, false).values();
+            for (int slot = 0; slot < counters.length; slot++) if (counters[slot] != saves) failures.add(
+                    new AssertionError("Counter " + slot + " of " + file + " is " + counters[slot]
+                            + " instead of " + saves + " (lost update)")
+            );
+        }
+
+        System.out.println(files * COUNTERS.size() * saves + " saves of " + files + " files with "
+                + readers + " loading threads per file took " + elapsedMillis + " ms");
+        report(failures);
+    }
+
+    private static void read(final Plugin plugin, final File file,
+                             final AtomicBoolean done, final Queue<Throwable> failures) {
+        val last = new long[COUNTERS.size()];
+        try {
+            while (!done.get()) {
+                val counters = new Counters(plugin).load(file, false).values();
+                for (int slot = 0; slot < counters.length; slot++) {
+                    if (counters[slot] < last[slot]) throw new AssertionError("Counter " + slot + " of " + file
+                            + " decreased from " + last[slot] + " to " + counters[slot]);
+                    last[slot] = counters[slot];
+                }
+            }
+        } catch (final Throwable e) {
+            failures.add(e);
+        }
+    }
+
+    private static void report(final Queue<Throwable> failures) {
+        if (failures.isEmpty()) {
+            System.out.println("No lost updates");
+
+            return;
+        }
+
+        val shown = new ArrayList<Throwable>(failures).subList(0, Math.min(failures.size(), 10));
+        for (val failure : shown) failure.printStackTrace();
+        System.err.println(failures.size() + " failures");
+        System.exit(1);
+    }
+
+    /**
+     * Config owning one of the counters of the file.
+     */
+    private interface Counter<T extends Counter<T>> extends YamlConfigData<T, Plugin> {
+
+        T setCounter(long counter);
+    }
+
+    @Data public static class CounterA implements Counter<CounterA> {
+        @NonNull private final Plugin plugin;
+        @CfgField("counters.a") private long counter;
+    }
+
+    @Data public static class CounterB implements Counter<CounterB> {
+        @NonNull private final Plugin plugin;
+        @CfgField("counters.b") private long counter;
+    }
+
+    @Data public static class CounterC implements Counter<CounterC> {
+        @NonNull private final Plugin plugin;
+        @CfgField("counters.c") private long counter;
+    }
+
+    @Data public static class CounterD implements Counter<CounterD> {
+        @NonNull private final Plugin plugin;
+        @CfgField("counters.d") private long counter;
+    }
+
+    /**
+     * Config reading all of the counters of the file.
+     */
+    @Data public static class Counters implements YamlConfigData<Counters, Plugin> {
+        @NonNull private final Plugin plugin;
+        @CfgField("counters.a") private long a;
+        @CfgField("counters.b") private long b;
+        @CfgField("counters.c") private long c;
+        @CfgField("counters.d") private long d;
+
+        private long[] values() {
+            return new long[]{a, b, c, d};
+        }
+    }
+}
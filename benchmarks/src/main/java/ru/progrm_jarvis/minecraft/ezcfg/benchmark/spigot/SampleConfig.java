@@ -0,0 +1,33 @@
+package ru.progrm_jarvis.minecraft.ezcfg.benchmark.spigot;
+
+import lombok.Data;
+import lombok.NonNull;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.util.Vector;
+import ru.progrm_jarvis.minecraft.spigot.ezcfg.CfgField;
+import ru.progrm_jarvis.minecraft.spigot.ezcfg.YamlConfigData;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Config matching {@link ru.progrm_jarvis.minecraft.ezcfg.benchmark.ConfigGenerator#sampleConfig(int,
+ * ru.progrm_jarvis.minecraft.ezcfg.benchmark.ConfigShape, boolean)}.
+ */
+@Data
+public class SampleConfig implements YamlConfigData<SampleConfig, Plugin> {
+
+    @NonNull private final Plugin plugin;
+
+    @CfgField private String name = "";
+    @CfgField private int size;
+    @CfgField private double ratio;
+    @CfgField private boolean enabled;
+    @CfgField private long seed;
+    @CfgField("deep.a.b.c.d.e.f.g.value") private String deepValue = "";
+    @CfgField private Vector offset = new Vector(0, 0, 0);
+    @CfgField private Map<?, ?> entries = Collections.emptyMap();
+    @CfgField private Map<?, ?> nested = Collections.emptyMap();
+    @CfgField private List<String> lines = Collections.emptyList();
+}
@@ -0,0 +1,63 @@
+package ru.progrm_jarvis.minecraft.ezcfg.benchmark.spigot;
+
+import lombok.val;
+import org.openjdk.jmh.annotations.*;
+import ru.progrm_jarvis.minecraft.ezcfg.benchmark.ConfigGenerator;
+import ru.progrm_jarvis.minecraft.spigot.ezcfg.CopyMode;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@code loadData} and {@code copyFrom} of Spigot configs consisting of enum and pattern fields.
+ * <p>
+ * {@code saveData} is not measured here as enums and patterns are written to the file as raw objects.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpigotEnumPatternConfigBenchmark {
+
+    private Path directory;
+
+    private File file;
+
+    private EnumPatternConfig config, copy;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("ez-cfg-benchmark");
+        file = directory.resolve("config.yml").toFile();
+        ConfigGenerator.write(file.toPath(), ConfigGenerator.enumPatternConfig());
+
+        val plugin = StubPlugins.plugin(directory.toFile());
+        config = new EnumPatternConfig(plugin).load(file, false);
+        copy = new EnumPatternConfig(plugin).load(file, false);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        ConfigGenerator.delete(directory);
+    }
+
+    @Benchmark
+    public EnumPatternConfig loadData() {
+        return config.loadData(file, false);
+    }
+
+    @Benchmark
+    public EnumPatternConfig copyFrom() {
+        return copy.copyFrom(config);
+    }
+
+    @Benchmark
+    public EnumPatternConfig copyFromDeep() {
+        return copy.copyFrom(config, CopyMode.DEEP);
+    }
+}
@@ -0,0 +1,59 @@
+package ru.progrm_jarvis.minecraft.ezcfg.benchmark.spigot;
+
+import lombok.val;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.progrm_jarvis.minecraft.spigot.ezcfg.CfgField;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures resolution of config schemas: {@code getFieldsData} and {@link CfgField.Type#getType(Field)}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpigotSchemaBenchmark {
+
+    private SampleConfig sampleConfig;
+
+    private EnumPatternConfig enumPatternConfig;
+
+    private Field[] fields;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        val plugin = StubPlugins.plugin(new File("."));
+        sampleConfig = new SampleConfig(plugin);
+        enumPatternConfig = new EnumPatternConfig(plugin);
+
+        val fields = new ArrayList<Field>();
+        for (val field : SampleConfig.class.getDeclaredFields()) if (field
+                .isAnnotationPresent(CfgField.class)) fields.add(field);
+        for (val field : EnumPatternConfig.class.getDeclaredFields()) if (field
+                .isAnnotationPresent(CfgField.class)) fields.add(field);
+        this.fields = fields.toArray(new Field[0]);
+    }
+
+    @Benchmark
+    public Map<Field, CfgField.SerializationOptions> getFieldsDataSample() {
+        return sampleConfig.getFieldsData();
+    }
+
+    @Benchmark
+    public Map<Field, CfgField.SerializationOptions> getFieldsDataEnumPattern() {
+        return enumPatternConfig.getFieldsData();
+    }
+
+    @Benchmark
+    public void getType(final Blackhole blackhole) {
+        for (val field : fields) blackhole.consume(CfgField.Type.getType(field));
+    }
+}
@@ -0,0 +1,47 @@
+package ru.progrm_jarvis.minecraft.ezcfg.benchmark.spigot;
+
+import lombok.NonNull;
+import lombok.val;
+import org.bukkit.plugin.Plugin;
+
+import java.io.File;
+import java.lang.reflect.Proxy;
+import java.util.logging.Logger;
+
+/**
+ * Headless stand-ins for Bukkit objects required by configs.
+ */
+public final class StubPlugins {
+
+    private StubPlugins() {
+        throw new UnsupportedOperationException("StubPlugins is a utility class");
+    }
+
+    /**
+     * Creates a plugin which only knows its data folder, logger and name.
+     * Any other method throws {@link UnsupportedOperationException} as it requires a running server.
+     *
+     * @param dataFolder data folder of the plugin
+     * @return created plugin
+     */
+    public static Plugin plugin(@NonNull final File dataFolder) {
+        val name = "EZ-Cfg-Benchmark";
+        val logger = Logger.getLogger(name);
+
+        return (Plugin) Proxy.newProxyInstance(
+                Plugin.class.getClassLoader(), new Class<?>[]{Plugin.class}, (proxy, method, arguments) -> {
+                    switch (method.getName()) {
+                        case "getDataFolder": return dataFolder;
+                        case "getLogger": return logger;
+                        case "getName": return name;
+                        case "isEnabled": return true;
+                        case "hashCode": return System.identityHashCode(proxy);
+                        case "equals": return proxy == arguments[0];
+                        case "toString": return name + '{' + dataFolder + '}';
+                        default: throw new UnsupportedOperationException(
+                                method.getName() + " is not available to headless plugin"
+                        );
+                    }
+                });
+    }
+}
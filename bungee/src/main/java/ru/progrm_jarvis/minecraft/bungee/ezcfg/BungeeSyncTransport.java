@@ -0,0 +1,85 @@
+package ru.progrm_jarvis.minecraft.bungee.ezcfg;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.val;
+import net.md_5.bungee.api.connection.Server;
+import net.md_5.bungee.api.event.PluginMessageEvent;
+import net.md_5.bungee.api.plugin.Listener;
+import net.md_5.bungee.api.plugin.Plugin;
+import net.md_5.bungee.event.EventHandler;
+import ru.progrm_jarvis.minecraft.common.ezcfg.sync.ConfigSync;
+import ru.progrm_jarvis.minecraft.common.ezcfg.sync.SyncTransport;
+
+import java.util.function.Consumer;
+
+/**
+ * Transport exchanging messages with the backend servers over a plugin messaging channel.
+ * Messages to servers having no players online are queued until a player connects to them.
+ */
+public final class BungeeSyncTransport implements SyncTransport, Listener {
+
+    private final Plugin plugin;
+
+    /**
+     * Plugin messaging channel used by this transport
+     */
+    @Getter private final String channel;
+
+    private volatile Consumer<byte[]> receiver;
+
+    /**
+     * Creates a new transport registering the channel.
+     *
+     * @param plugin plugin owning the channel
+     * @param channel plugin messaging channel
+     */
+    public BungeeSyncTransport(@NonNull final Plugin plugin, @NonNull final String channel) {
+        this.plugin = plugin;
+        this.channel = channel;
+
+        val proxy = plugin.getProxy();
+        proxy.registerChannel(channel);
+        proxy.getPluginManager().registerListener(plugin, this);
+    }
+
+    /**
+     * Creates a new transport registering the {@link ConfigSync#CHANNEL default channel}.
+     *
+     * @param plugin plugin owning the channel
+     */
+    public BungeeSyncTransport(@NonNull final Plugin plugin) {
+        this(plugin, ConfigSync.CHANNEL);
+    }
+
+    @Override
+    public boolean send(@NonNull final byte[] message) {
+        for (val server : plugin.getProxy().getServers().values()) server.sendData(channel, message, true);
+
+        return true;
+    }
+
+    @Override
+    public void listen(@NonNull final Consumer<byte[]> receiver) {
+        this.receiver = receiver;
+    }
+
+    @EventHandler
+    public void onPluginMessage(final PluginMessageEvent event) {
+        if (!channel.equals(event.getTag())) return;
+
+        // messages sent by players are never forwarded so that they cannot pretend to be the proxy
+        event.setCancelled(true);
+        if (!(event.getSender() instanceof Server)) return;
+
+        val receiver = this.receiver;
+        if (receiver != null) receiver.accept(event.getData());
+    }
+
+    @Override
+    public void close() {
+        val proxy = plugin.getProxy();
+        proxy.getPluginManager().unregisterListener(this);
+        proxy.unregisterChannel(channel);
+    }
+}
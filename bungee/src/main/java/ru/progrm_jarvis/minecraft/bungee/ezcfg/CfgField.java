@@ -5,6 +5,8 @@ import lombok.NonNull;
 import lombok.Value;
 import lombok.val;
 import net.md_5.bungee.config.Configuration;
+import ru.progrm_jarvis.minecraft.common.ezcfg.adapter.BuiltInType;
+import ru.progrm_jarvis.minecraft.common.ezcfg.adapter.TypeAdapter;
 
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
@@ -12,11 +14,13 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 import java.lang.reflect.Field;
 import java.lang.reflect.ParameterizedType;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 @Target(ElementType.FIELD)
 @Retention(RetentionPolicy.RUNTIME)
@@ -44,7 +48,7 @@ public @interface CfgField {
     String[] comment() default {};
 
     @Getter
-    enum Type {
+    enum Type implements BuiltInType {
         AUTO(null),
         // Base types
         BOOLEAN(new ConfigDataBoolean(), boolean.class, Boolean.class),
@@ -69,11 +73,18 @@ public @interface CfgField {
         DOUBLE_LIST(new ConfigDataListDouble(), true, double.class, Double.class),
         CHAR_LIST(new ConfigDataListChar(), true, char.class, Character.class),
         STRING_LIST(new ConfigDataListString(), true, String.class),
+        // Lists of the types whose elements are converted by the adapters of their types
+        ENUM_LIST(null, true, Enum.class),
+        PATTERN_LIST(null, true, Pattern.class),
         // Special
         PATTERN(new ConfigDataPattern(), Pattern.class),
         // Object
         OBJECT(new ConfigDataObject());
 
+        /**
+         * Data type of the values or {@code null} if the values of the fields of this type
+         * are converted by the adapters resolved from the generic types of the fields
+         */
         private final ConfigData dataType;
 
         private final Class<?>[] typeClasses;
@@ -105,9 +116,9 @@ public @interface CfgField {
 
                         if (typeArgument instanceof Class) for (val typeClass : type.typeClasses) if (typeClass
                                 .isAssignableFrom((Class<?>) typeArgument)) return type;
-
-                        return LIST;
                     }
+
+                    return LIST;
                 } else return OBJECT;
             } else {
                 // If is not list
@@ -127,10 +138,10 @@ public @interface CfgField {
          * @param <T> data type
          */
         @SuppressWarnings("unused")
-        public abstract static class ConfigData<T> {
+        public abstract static class ConfigData<T> implements TypeAdapter<T> {
 
             public void set(final Configuration configuration, final String path, final T value) {
-                configuration.set(path, value);
+                configuration.set(path, encode(value));
             }
 
             @SuppressWarnings("unchecked")
@@ -142,6 +153,31 @@ public @interface CfgField {
                 return configuration.get(path, def);
             }
 
+            /**
+             * Decodes the value from the raw form in which it is stored in a configuration section, list or map.
+             *
+             * @param raw raw value
+             * @param type type of the value
+             * @return decoded value or {@code null} if the raw value is absent or cannot be decoded
+             */
+            @Override
+            @SuppressWarnings("unchecked")
+            public T decode(final Object raw, final Class<T> type) {
+                return type.isInstance(raw) ? (T) raw : null;
+            }
+
+            /**
+             * Encodes the value to the raw form in which it should be stored in a configuration.
+             *
+             * @param value value to encode
+             * @return raw value
+             */
+            @Override
+            public Object encode(final T value) {
+                return value;
+            }
+
+            @Override
             public T getDefault() {
                 return null;
             }
@@ -163,6 +199,11 @@ public @interface CfgField {
                 return configuration.getBoolean(path, def);
             }
 
+            @Override
+            public Boolean decode(final Object raw, final Class<Boolean> type) {
+                return raw instanceof Boolean ? (Boolean) raw : null;
+            }
+
             @Override
             public Boolean getDefault() {
                 return false;
@@ -186,6 +227,11 @@ public @interface CfgField {
                 return configuration.getByte(path, def);
             }
 
+            @Override
+            public Byte decode(final Object raw, final Class<Byte> type) {
+                return raw instanceof Number ? ((Number) raw).byteValue() : null;
+            }
+
             @Override
             public Byte getDefault() {
                 return 0;
@@ -204,6 +250,11 @@ public @interface CfgField {
                 return configuration.getShort(path, def);
             }
 
+            @Override
+            public Short decode(final Object raw, final Class<Short> type) {
+                return raw instanceof Number ? ((Number) raw).shortValue() : null;
+            }
+
             @Override
             public Short getDefault() {
                 return 0;
@@ -222,6 +273,11 @@ public @interface CfgField {
                 return configuration.getInt(path, def);
             }
 
+            @Override
+            public Integer decode(final Object raw, final Class<Integer> type) {
+                return raw instanceof Number ? ((Number) raw).intValue() : null;
+            }
+
             @Override
             public Integer getDefault() {
                 return 0;
@@ -240,6 +296,11 @@ public @interface CfgField {
                 return configuration.getLong(path, def);
             }
 
+            @Override
+            public Long decode(final Object raw, final Class<Long> type) {
+                return raw instanceof Number ? ((Number) raw).longValue() : null;
+            }
+
             @Override
             public Long getDefault() {
                 return 0L;
@@ -258,6 +319,11 @@ public @interface CfgField {
                 return configuration.getFloat(path, def);
             }
 
+            @Override
+            public Float decode(final Object raw, final Class<Float> type) {
+                return raw instanceof Number ? ((Number) raw).floatValue() : null;
+            }
+
             @Override
             public Float getDefault() {
                 return 0f;
@@ -276,6 +342,11 @@ public @interface CfgField {
                 return configuration.getDouble(path, def);
             }
 
+            @Override
+            public Double decode(final Object raw, final Class<Double> type) {
+                return raw instanceof Number ? ((Number) raw).doubleValue() : null;
+            }
+
             @Override
             public Double getDefault() {
                 return 0d;
@@ -294,6 +365,12 @@ public @interface CfgField {
                 return configuration.getChar(path, def);
             }
 
+            @Override
+            public Character decode(final Object raw, final Class<Character> type) {
+                if (raw instanceof Character) return (Character) raw;
+                return raw instanceof String && !((String) raw).isEmpty() ? ((String) raw).charAt(0) : null;
+            }
+
             @Override
             public Character getDefault() {
                 return 0;
@@ -312,6 +389,12 @@ public @interface CfgField {
                 return configuration.getString(path, def);
             }
 
+            @Override
+            public String decode(final Object raw, final Class<String> type) {
+                return raw == null || raw instanceof Configuration || raw instanceof Map || raw instanceof List
+                        ? null : raw.toString();
+            }
+
             @Override
             public String getDefault() {
                 return "";
@@ -320,8 +403,8 @@ public @interface CfgField {
 
         private static class ConfigDataEnum<E extends Enum<E>> extends ConfigData<E> {
             @Override
-            public void set(final Configuration configuration, final String path, final E value) {
-                configuration.set(path, value.name());
+            public Object encode(final E value) {
+                return value == null ? null : value.name();
             }
 
             @Override
@@ -340,6 +423,17 @@ public @interface CfgField {
                 val value = get(configuration, type, path);
                 return value == null ? def : value;
             }
+
+            @Override
+            public E decode(final Object raw, final Class<E> type) {
+                if (type.isInstance(raw)) return type.cast(raw);
+                if (!(raw instanceof String)) return null;
+                try {
+                    return Enum.valueOf(type, (String) raw);
+                } catch (final IllegalArgumentException e) {
+                    return null;
+                }
+            }
         }
 
         private static class ConfigDataMap extends ConfigData<Map<?, ?>> {
@@ -367,6 +461,19 @@ public @interface CfgField {
                 return map;
             }
 
+            @Override
+            public Map<?, ?> decode(final Object raw, final Class<Map<?, ?>> type) {
+                if (raw instanceof Configuration) {
+                    val section = (Configuration) raw;
+                    val map = new HashMap<Object, Object>();
+                    for (val key : section.getKeys()) map.put(key, section.get(key));
+
+                    return map;
+                }
+
+                return raw instanceof Map ? (Map<?, ?>) raw : null;
+            }
+
             @Override
             public Map<?, ?> getDefault() {
                 return Collections.emptyMap();
@@ -377,7 +484,29 @@ public @interface CfgField {
         // Lists
         ///////////////////////////////////////////////////////////////////////////
 
-        private abstract static class AbstractConfigDataList<T> extends ConfigData<List<T>> {}
+        private abstract static class AbstractConfigDataList<T> extends ConfigData<List<T>> {
+            @Override
+            public List<T> decode(final Object raw, final Class<List<T>> type) {
+                if (!(raw instanceof List)) return null;
+
+                val rawList = (List<?>) raw;
+                val list = new ArrayList<T>(rawList.size());
+                for (val rawElement : rawList) {
+                    val element = decodeElement(rawElement);
+                    if (element != null) list.add(element);
+                }
+
+                return list;
+            }
+
+            /**
+             * Decodes the element of the list from its raw form.
+             *
+             * @param raw raw element
+             * @return decoded element or {@code null} if it cannot be decoded and so should be skipped
+             */
+            protected abstract T decodeElement(Object raw);
+        }
 
         private static class ConfigDataList extends AbstractConfigDataList<Object> {
             @Override
@@ -396,6 +525,17 @@ public @interface CfgField {
             public List<Object> getDefault() {
                 return Collections.emptyList();
             }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public List<Object> decode(final Object raw, final Class<List<Object>> type) {
+                return raw instanceof List ? (List<Object>) raw : null;
+            }
+
+            @Override
+            protected Object decodeElement(final Object raw) {
+                return raw;
+            }
         }
 
         private static class ConfigDataListBoolean extends AbstractConfigDataList<Boolean> {
@@ -408,6 +548,11 @@ public @interface CfgField {
             public List<Boolean> get(Configuration configuration, final Class<List<Boolean>> type, String path, List<Boolean> def) {
                 return configuration.getList(path) == null ? def : configuration.getBooleanList(path);
             }
+
+            @Override
+            protected Boolean decodeElement(final Object raw) {
+                return raw instanceof Boolean ? (Boolean) raw : null;
+            }
         }
 
         private static class ConfigDataListByte extends AbstractConfigDataList<Byte> {
@@ -420,6 +565,11 @@ public @interface CfgField {
             public List<Byte> get(Configuration configuration, final Class<List<Byte>> type, String path, List<Byte> def) {
                 return configuration.getList(path) == null ? def : configuration.getByteList(path);
             }
+
+            @Override
+            protected Byte decodeElement(final Object raw) {
+                return raw instanceof Number ? ((Number) raw).byteValue() : null;
+            }
         }
 
         private static class ConfigDataListShort extends AbstractConfigDataList<Short> {
@@ -432,6 +582,11 @@ public @interface CfgField {
             public List<Short> get(Configuration configuration, final Class<List<Short>> type, String path, List<Short> def) {
                 return configuration.getList(path) == null ? def : configuration.getShortList(path);
             }
+
+            @Override
+            protected Short decodeElement(final Object raw) {
+                return raw instanceof Number ? ((Number) raw).shortValue() : null;
+            }
         }
 
         private static class ConfigDataListInt extends AbstractConfigDataList<Integer> {
@@ -444,6 +599,11 @@ public @interface CfgField {
             public List<Integer> get(Configuration configuration, final Class<List<Integer>> type, String path, List<Integer> def) {
                 return configuration.getList(path) == null ? def : configuration.getIntList(path);
             }
+
+            @Override
+            protected Integer decodeElement(final Object raw) {
+                return raw instanceof Number ? ((Number) raw).intValue() : null;
+            }
         }
 
         private static class ConfigDataListLong extends AbstractConfigDataList<Long> {
@@ -456,6 +616,11 @@ public @interface CfgField {
             public List<Long> get(Configuration configuration, final Class<List<Long>> type, String path, List<Long> def) {
                 return configuration.getList(path) == null ? def : configuration.getLongList(path);
             }
+
+            @Override
+            protected Long decodeElement(final Object raw) {
+                return raw instanceof Number ? ((Number) raw).longValue() : null;
+            }
         }
 
         private static class ConfigDataListFloat extends AbstractConfigDataList<Float> {
@@ -468,6 +633,11 @@ public @interface CfgField {
             public List<Float> get(Configuration configuration, final Class<List<Float>> type, String path, List<Float> def) {
                 return configuration.getList(path) == null ? def : configuration.getFloatList(path);
             }
+
+            @Override
+            protected Float decodeElement(final Object raw) {
+                return raw instanceof Number ? ((Number) raw).floatValue() : null;
+            }
         }
 
         private static class ConfigDataListDouble extends AbstractConfigDataList<Double> {
@@ -480,6 +650,11 @@ public @interface CfgField {
             public List<Double> get(Configuration configuration, final Class<List<Double>> type, String path, List<Double> def) {
                 return configuration.getList(path) == null ? def : configuration.getDoubleList(path);
             }
+
+            @Override
+            protected Double decodeElement(final Object raw) {
+                return raw instanceof Number ? ((Number) raw).doubleValue() : null;
+            }
         }
 
         private static class ConfigDataListChar extends AbstractConfigDataList<Character> {
@@ -492,6 +667,11 @@ public @interface CfgField {
             public List<Character> get(Configuration configuration, final Class<List<Character>> type, String path, List<Character> def) {
                 return configuration.getList(path) == null ? def : configuration.getCharList(path);
             }
+
+            @Override
+            protected Character decodeElement(final Object raw) {
+                return raw instanceof Character ? (Character) raw : null;
+            }
         }
 
         private static class ConfigDataListString extends AbstractConfigDataList<String> {
@@ -504,6 +684,11 @@ public @interface CfgField {
             public List<String> get(Configuration configuration, final Class<List<String>> type, String path, List<String> def) {
                 return configuration.getList(path) == null ? def : configuration.getStringList(path);
             }
+
+            @Override
+            protected String decodeElement(final Object raw) {
+                return raw instanceof String ? (String) raw : null;
+            }
         }
 
         ///////////////////////////////////////////////////////////////////////////
@@ -522,8 +707,19 @@ public @interface CfgField {
             }
 
             @Override
-            public void set(final Configuration configuration, final String path, final Pattern value) {
-                configuration.set(path, value.pattern());
+            public Pattern decode(final Object raw, final Class<Pattern> type) {
+                if (raw instanceof Pattern) return (Pattern) raw;
+                if (!(raw instanceof String)) return null;
+                try {
+                    return Pattern.compile((String) raw);
+                } catch (final PatternSyntaxException e) {
+                    return null;
+                }
+            }
+
+            @Override
+            public Object encode(final Pattern value) {
+                return value == null ? null : value.pattern();
             }
         }
 
@@ -0,0 +1,113 @@
+package ru.progrm_jarvis.minecraft.bungee.ezcfg;
+
+import lombok.val;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Type-specific cloners of config values used by {@link CopyMode#DEEP deep} copying.
+ */
+final class Cloners {
+
+    private static final MethodHandle LIST, MAP, ANY;
+
+    static {
+        val lookup = MethodHandles.lookup();
+        val type = MethodType.methodType(Object.class, Object.class);
+        try {
+            LIST = lookup.findStatic(Cloners.class, "cloneList", type);
+            MAP = lookup.findStatic(Cloners.class, "cloneMap", type);
+            ANY = lookup.findStatic(Cloners.class, "clone", type);
+        } catch (final NoSuchMethodException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private Cloners() {
+        throw new UnsupportedOperationException("Cloners is a utility class");
+    }
+
+    /**
+     * Gets the cloner of the values of the field.
+     * Sections (and lists and maps of them) are copied by the deep copiers of their own schemas.
+     *
+     * @param field field whose values to clone
+     * @return method handle of type {@code (Object)Object} cloning the value
+     * or {@code null} if the values are immutable or their clones cannot be stored in the field
+     */
+    static MethodHandle of(final FieldSchema field) {
+        if (field.isSection()) return field.sectionCloner();
+
+        return of(field.getSerializationOptions().getType(), field.getField().getType());
+    }
+
+    /**
+     * Gets the cloner of values of the given type.
+     *
+     * @param type type of the values
+     * @param fieldType class of the field storing the values
+     * @return method handle of type {@code (Object)Object} cloning the value
+     * or {@code null} if values of the type are immutable or their clones cannot be stored in the field
+     */
+    static MethodHandle of(final CfgField.Type type, final Class<?> fieldType) {
+        switch (type) {
+            case BOOLEAN: case BYTE: case SHORT: case INT: case LONG: case FLOAT: case DOUBLE: case CHAR:
+            case STRING: case ENUM: case PATTERN: return null;
+            case MAP: return fieldType.isAssignableFrom(LinkedHashMap.class) || fieldType == EnumMap.class ? MAP : null;
+            case LIST: case BOOLEAN_LIST: case BYTE_LIST: case SHORT_LIST: case INT_LIST: case LONG_LIST:
+            case FLOAT_LIST: case DOUBLE_LIST: case CHAR_LIST: case STRING_LIST: case ENUM_LIST:
+            case PATTERN_LIST: return fieldType.isAssignableFrom(ArrayList.class) ? LIST : null;
+            default: return fieldType == Object.class ? ANY : null;
+        }
+    }
+
+    /**
+     * Clones the value depending on its runtime type.
+     * Values which are neither lists nor maps are returned as is.
+     *
+     * @param value value to clone
+     * @return clone of the value
+     */
+    static Object clone(final Object value) {
+        if (value instanceof List) return cloneList(value);
+        if (value instanceof Map) return cloneMap(value);
+
+        return value;
+    }
+
+    private static Object cloneList(final Object value) {
+        if (value == null) return null;
+
+        val list = (List<?>) value;
+        val clone = new ArrayList<Object>(list.size());
+        for (val element : list) clone.add(clone(element));
+
+        return clone;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object cloneMap(final Object value) {
+        if (value == null) return null;
+
+        // maps of enum keys stay compact
+        if (value instanceof EnumMap) {
+            val clone = new EnumMap((EnumMap) value);
+            clone.replaceAll((key, element) -> clone(element));
+
+            return clone;
+        }
+
+        val map = (Map<?, ?>) value;
+        val clone = new LinkedHashMap<Object, Object>((int) (map.size() / 0.75f) + 1);
+        for (val entry : map.entrySet()) clone.put(entry.getKey(), clone(entry.getValue()));
+
+        return clone;
+    }
+}
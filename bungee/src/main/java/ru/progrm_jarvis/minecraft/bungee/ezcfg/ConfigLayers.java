@@ -0,0 +1,201 @@
+package ru.progrm_jarvis.minecraft.bungee.ezcfg;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.val;
+import lombok.var;
+import net.md_5.bungee.config.Configuration;
+import ru.progrm_jarvis.minecraft.common.ezcfg.layer.ConfigSource;
+import ru.progrm_jarvis.minecraft.common.ezcfg.layer.LayeredView;
+import ru.progrm_jarvis.minecraft.common.ezcfg.validation.ValidationReport;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.function.BiConsumer;
+
+/**
+ * Config bound to a stack of {@link ConfigSource sources} (such as the defaults bundled in the jar,
+ * a network-wide override and a per-server one) each overriding the values of the preceding ones.
+ * The sources are read and merged once into a {@link LayeredView} from which the fields of the config are bound,
+ * reloading a single source merges and binds again only the values which it has changed.
+ * <p>
+ * Sources are only read: default values of the fields absent in all of them are kept and never written.
+ * {@link ru.progrm_jarvis.minecraft.common.ezcfg.stream.ConfigStream Streamed lists} are not bound from sources.
+ *
+ * @param <T> type of the config
+ */
+public final class ConfigLayers<T extends YamlConfigData<T, ?>> {
+
+    /**
+     * Config whose fields are bound
+     */
+    @Getter private final T config;
+
+    /**
+     * Sources of the layers in their order
+     */
+    @Getter private final List<ConfigSource> sources;
+
+    private final LayeredView view;
+
+    /**
+     * Merged values of the layers from which the fields are bound
+     */
+    private final Configuration configuration;
+
+    private final BiConsumer<String, Object> setter;
+
+    private ConfigLayers(final T config, final List<ConfigSource> sources, final LayeredView view) {
+        this.config = config;
+        this.sources = sources;
+        this.view = view;
+
+        configuration = new Configuration();
+        setter = Journals.replayer(configuration);
+        view.forEach(setter);
+    }
+
+    /**
+     * Reads the sources and binds the fields of the config from their merged values.
+     *
+     * @param config config whose fields to bind
+     * @param sources sources of the layers in their order, each overriding the preceding ones
+     * @param <T> type of the config
+     * @return layers of the config
+     */
+    @SneakyThrows
+    static <T extends YamlConfigData<T, ?>> ConfigLayers<T> load(final T config,
+                                                                 final List<? extends ConfigSource> sources) {
+        if (sources.isEmpty()) throw new IllegalArgumentException("There should be at least one source");
+
+        val values = new ArrayList<Map<String, Object>>(sources.size());
+        for (val source : sources) values.add(source.read());
+
+        val layers = new ConfigLayers<T>(
+                config, Collections.unmodifiableList(new ArrayList<>(sources)), LayeredView.merge(values)
+        );
+        layers.bind(null, sources.get(sources.size() - 1));
+
+        return layers;
+    }
+
+    /**
+     * Reads the source of the layer again binding the fields whose values it has changed.
+     *
+     * @param layer index of the layer
+     * @return config whose fields are bound
+     */
+    @SneakyThrows
+    public synchronized T reload(final int layer) {
+        val source = sources.get(layer);
+        val changed = view.replace(layer, source.read(), setter);
+        if (!changed.isEmpty()) bind(changed, source);
+
+        return config;
+    }
+
+    /**
+     * Reads the source again binding the fields whose values it has changed.
+     *
+     * @param source source of the layer
+     * @return config whose fields are bound
+     * @throws IllegalArgumentException if the source is not a source of the layers
+     */
+    public T reload(@NonNull final ConfigSource source) {
+        val layer = sources.indexOf(source);
+        if (layer == -1) throw new IllegalArgumentException(source + " is not a source of the layers");
+
+        return reload(layer);
+    }
+
+    /**
+     * Reads all of the sources again binding the fields whose values they have changed.
+     *
+     * @return config whose fields are bound
+     */
+    public synchronized T reload() {
+        for (int layer = 0; layer < sources.size(); layer++) reload(layer);
+
+        return config;
+    }
+
+    /**
+     * Gets the index of the layer whose value is bound at the path.
+     *
+     * @param path path of the value
+     * @return index of the layer providing the value at the path or {@code -1} if no layer has it
+     */
+    public synchronized int layerOf(@NonNull final String path) {
+        return view.layerOf(path);
+    }
+
+    /**
+     * Binds the fields of the config from the merged values.
+     * Fields are assigned only once all of the values are validated.
+     *
+     * @param changed paths of the changed merged values or {@code null} if all of the fields should be bound
+     * @param source source whose values are bound
+     */
+    private void bind(final NavigableSet<String> changed, final ConfigSource source) {
+        val schema = config.getSchema();
+        val report = schema.isValidated() ? new ValidationReport(config.getClass(), new File(source.getName())) : null;
+        val fields = new ArrayList<FieldSchema>();
+        val values = new ArrayList<Object>();
+        for (val field : schema.getFields()) {
+            val path = field.getSerializationOptions().getPath();
+            if (changed != null && !isAffected(changed, path)) continue;
+
+            try {
+                var configValue = field.read(configuration, config::onExceptionSettingField);
+                // fields absent in all of the layers keep their values
+                if (configValue == null) continue;
+
+                val validator = field.getValidator();
+                if (validator != null) configValue = validator.validate(path, configValue, field.get(config), report);
+
+                fields.add(field);
+                values.add(configValue);
+            } catch (final RuntimeException e) {
+                config.onExceptionSettingField(e);
+            }
+        }
+        if (report != null && !report.isEmpty()) config.onConstraintViolations(report);
+
+        val listeners = config.getFieldListeners();
+        val snapshot = listeners == null ? null : listeners.snapshot(config);
+        for (int i = 0; i < fields.size(); i++) {
+            val field = fields.get(i);
+            try {
+                try {
+                    field.set(config, values.get(i));
+                } catch (final ClassCastException e) {
+                    field.set(config, null);
+                }
+            } catch (final RuntimeException e) {
+                config.onExceptionSettingField(e);
+            }
+        }
+        if (snapshot != null) snapshot.fire(config);
+    }
+
+    /**
+     * Checks whether the value of the field at the path is affected by the changes.
+     *
+     * @param changed paths of the changed merged values
+     * @param path path of the field
+     * @return {@code true} if the value at the path, any value inside of it or the one containing it has changed
+     */
+    private static boolean isAffected(final NavigableSet<String> changed, final String path) {
+        if (changed.contains(path) || !changed.subSet(path + '.', path + '/').isEmpty()) return true;
+        for (var end = path.lastIndexOf('.'); end != -1; end = path.lastIndexOf('.', end - 1)) {
+            if (changed.contains(path.substring(0, end))) return true;
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,53 @@
+package ru.progrm_jarvis.minecraft.bungee.ezcfg;
+
+import lombok.NonNull;
+import ru.progrm_jarvis.minecraft.common.ezcfg.io.FileLocks;
+import ru.progrm_jarvis.minecraft.common.ezcfg.io.GroupSaves;
+import ru.progrm_jarvis.minecraft.common.ezcfg.io.WriteResult;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Saves of many configs at once (such as on autosave or when the plugin is disabled)
+ * which compare and serialize the configs in parallel and make all of their files durable together.
+ * Unlike {@link YamlConfigData#save(File) individual saves}, files are replaced atomically.
+ * The {@link FileLocks locks} of all of the files are held until the whole group is committed.
+ * <p>
+ * Configs should not be modified while they are being saved.
+ *
+ * @see GroupSaves
+ */
+public final class ConfigSaves {
+
+    private ConfigSaves() {
+        throw new UnsupportedOperationException("ConfigSaves is a utility class");
+    }
+
+    /**
+     * Saves the configs to their files as a single group commit.
+     *
+     * @param configs configs to save with the files to which to save them
+     * @param executor executor by which the configs are serialized and their files are written
+     * @return future completed with the results of the files (in the iteration order of the configs)
+     * once all of them are durable
+     */
+    public static CompletableFuture<List<WriteResult>> saveAll(
+            @NonNull final Map<? extends YamlConfigData<?, ?>, File> configs, @NonNull final Executor executor) {
+        return GroupSaves.saveAll(configs, executor, ConfigSave::prepare);
+    }
+
+    /**
+     * Saves the configs to their files as a single group commit waiting for all of them to be durable.
+     * The configs are saved by an executor created for this save.
+     *
+     * @param configs configs to save with the files to which to save them
+     * @return results of the files in the iteration order of the configs
+     */
+    public static List<WriteResult> saveAll(@NonNull final Map<? extends YamlConfigData<?, ?>, File> configs) {
+        return GroupSaves.saveAll(configs, ConfigSave::prepare);
+    }
+}
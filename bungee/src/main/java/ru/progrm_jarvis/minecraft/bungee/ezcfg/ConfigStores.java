@@ -0,0 +1,39 @@
+package ru.progrm_jarvis.minecraft.bungee.ezcfg;
+
+import lombok.NonNull;
+import ru.progrm_jarvis.minecraft.common.ezcfg.store.EntityIo;
+import ru.progrm_jarvis.minecraft.common.ezcfg.store.EntityStore;
+
+import java.io.File;
+import java.util.function.Function;
+
+/**
+ * Factories of {@link EntityStore entity stores} of configs, for example for per-player data:
+ * <pre>{@code
+ * EntityStore<UUID, PlayerData> store = ConfigStores.builder(
+ *         new File(getDataFolder(), "playerdata"), uuid -> new PlayerData(this)
+ * ).maximumSize(500).build();
+ * }</pre>
+ */
+public final class ConfigStores {
+
+    private ConfigStores() {
+        throw new UnsupportedOperationException("ConfigStores is a utility class");
+    }
+
+    /**
+     * Creates a builder of the store of configs kept in separate files of the directory.
+     *
+     * @param directory root directory of the files of the configs
+     * @param factory factory creating an empty config by its key
+     * @param <K> type of the keys of the configs
+     * @param <T> type of the configs
+     * @return builder of the store with its directory and I/O set
+     */
+    public static <K, T extends YamlConfigData<T, ?>> EntityStore.EntityStoreBuilder<K, T> builder(
+            @NonNull final File directory, @NonNull final Function<? super K, ? extends T> factory) {
+        return EntityStore.<K, T>builder().directory(directory).io(EntityIo.of(
+                factory, (config, file) -> config.load(file), (config, file) -> config.save(file)
+        ));
+    }
+}
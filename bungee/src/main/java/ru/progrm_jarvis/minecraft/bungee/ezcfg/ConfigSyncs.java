@@ -0,0 +1,81 @@
+package ru.progrm_jarvis.minecraft.bungee.ezcfg;
+
+import lombok.NonNull;
+import lombok.val;
+import ru.progrm_jarvis.minecraft.common.ezcfg.sync.ConfigPublisher;
+import ru.progrm_jarvis.minecraft.common.ezcfg.sync.ConfigSubscriber;
+import ru.progrm_jarvis.minecraft.common.ezcfg.sync.ConfigSync;
+import ru.progrm_jarvis.minecraft.common.ezcfg.sync.SyncTransport;
+
+import java.util.Map;
+
+/**
+ * {@link ConfigSync Synchronization} of {@link YamlConfigData configs} between servers.
+ */
+public final class ConfigSyncs {
+
+    private ConfigSyncs() {
+        throw new UnsupportedOperationException("ConfigSyncs is a utility class");
+    }
+
+    /**
+     * Creates a new synchronization over the transport supporting all the values of BungeeCord configs.
+     *
+     * @param transport transport used for sending and receiving messages
+     * @return created synchronization
+     */
+    public static ConfigSync create(@NonNull final SyncTransport transport) {
+        return new ConfigSync(transport, Journals.CODEC);
+    }
+
+    /**
+     * Creates a publisher of the values of the config.
+     *
+     * @param sync synchronization over which to publish the config
+     * @param id identifier of the config
+     * @param config config whose values to publish
+     * @return created publisher
+     */
+    public static ConfigPublisher publisher(@NonNull final ConfigSync sync, @NonNull final String id,
+                                            @NonNull final YamlConfigData<?, ?> config) {
+        val schema = config.getSchema();
+
+        return sync.publisher(id, schema.getFingerprint(), () -> schema.encode(config));
+    }
+
+    /**
+     * Creates a subscriber assigning the received values to the fields of the config.
+     * The config's file is not touched, values are expected to have been validated by the publisher.
+     *
+     * @param sync synchronization over which to receive the config
+     * @param id identifier of the config
+     * @param config config to which to assign the received values
+     * @return created subscriber
+     */
+    public static ConfigSubscriber subscriber(@NonNull final ConfigSync sync, @NonNull final String id,
+                                              @NonNull final YamlConfigData<?, ?> config) {
+        val schema = config.getSchema();
+
+        return sync.subscriber(id, schema.getFingerprint(), (values, full) -> apply(schema, config, values));
+    }
+
+    private static void apply(final ConfigSchema schema, final YamlConfigData<?, ?> config,
+                              final Map<String, Object> values) {
+        val listeners = config.getFieldListeners();
+        val snapshot = listeners == null ? null : listeners.snapshot(config);
+        for (val entry : values.entrySet()) {
+            val field = schema.getField(entry.getKey());
+            if (field == null) continue;
+
+            try {
+                val value = field.decode(entry.getValue(), config::onExceptionSettingField);
+                if (value != null || !field.getField().getType().isPrimitive()) field.set(config, value);
+            } catch (final ClassCastException e) {
+                // the value is left as is just as if it was not received
+            } catch (final RuntimeException e) {
+                config.onExceptionSettingField(e);
+            }
+        }
+        if (snapshot != null) snapshot.fire(config);
+    }
+}
@@ -0,0 +1,27 @@
+package ru.progrm_jarvis.minecraft.bungee.ezcfg;
+
+import lombok.NonNull;
+
+/**
+ * Listeners of the changes of the fields of a config invoked whenever loading or
+ * {@link YamlConfigData#copyFrom(YamlConfigData) copying} actually changes the value of their field.
+ * <p>
+ * Configs expose their listeners by overriding {@link YamlConfigData#getFieldListeners()}:
+ * <pre>{@code
+ * @Getter private final FieldListeners<MyConfig> fieldListeners = new FieldListeners<>(this);
+ * }</pre>
+ *
+ * @param <C> type of the config
+ * @see ru.progrm_jarvis.minecraft.common.ezcfg.listener.FieldListeners
+ */
+public final class FieldListeners<C> extends ru.progrm_jarvis.minecraft.common.ezcfg.listener.FieldListeners<C> {
+
+    /**
+     * Creates new listeners of the fields of the config.
+     *
+     * @param config config whose fields are listened
+     */
+    public FieldListeners(@NonNull final YamlConfigData<?, ?> config) {
+        super(config, config.getSchema());
+    }
+}
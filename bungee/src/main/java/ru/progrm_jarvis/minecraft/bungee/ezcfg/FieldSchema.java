@@ -0,0 +1,275 @@
+package ru.progrm_jarvis.minecraft.bungee.ezcfg;
+
+import lombok.Getter;
+import lombok.SneakyThrows;
+import lombok.val;
+import net.md_5.bungee.config.Configuration;
+import ru.progrm_jarvis.minecraft.common.ezcfg.adapter.TypeAdapter;
+import ru.progrm_jarvis.minecraft.common.ezcfg.format.ConfigFormat;
+import ru.progrm_jarvis.minecraft.common.ezcfg.schema.SerializedField;
+import ru.progrm_jarvis.minecraft.common.ezcfg.stream.ConfigStream;
+import ru.progrm_jarvis.minecraft.common.ezcfg.validation.FieldValidator;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * Serialized field of a class with its accessors resolved once.
+ */
+public final class FieldSchema implements SerializedField {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class),
+            SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    /**
+     * The field itself
+     */
+    @Getter private final Field field;
+
+    /**
+     * Serialization options of the field
+     */
+    @Getter private final CfgField.SerializationOptions serializationOptions;
+
+    /**
+     * Adapter converting the values of the field
+     */
+    @Getter private final TypeAdapter adapter;
+
+    /**
+     * Validator of the values of the field or {@code null} if it has no constraints
+     */
+    @Getter private final FieldValidator validator;
+
+    /**
+     * Getter of the field of its exact type
+     */
+    @Getter private final MethodHandle exactGetter;
+
+    /**
+     * Setter of the field of its exact type
+     */
+    @Getter private final MethodHandle exactSetter;
+
+    private final MethodHandle getter, setter;
+
+    /**
+     * Binding of the field if it stores a {@link CfgSection section}, list or map of sections
+     */
+    private final SectionBinding section;
+
+    /**
+     * Decoder of the entries of the field if it stores a {@link ConfigStream stream} or {@code null} otherwise
+     */
+    private final BiFunction<Object, Consumer<? super RuntimeException>, ?> streamDecoder;
+
+    @SneakyThrows(IllegalAccessException.class)
+    FieldSchema(final Field field, final CfgField.SerializationOptions serializationOptions,
+                final TypeAdapter<?> adapter) {
+        this.field = field;
+        this.serializationOptions = serializationOptions;
+        this.adapter = adapter;
+        validator = FieldValidator.compile(field);
+
+        field.setAccessible(true);
+        exactGetter = LOOKUP.unreflectGetter(field);
+        exactSetter = LOOKUP.unreflectSetter(field);
+        getter = exactGetter.asType(GETTER_TYPE);
+        setter = exactSetter.asType(SETTER_TYPE);
+        section = SectionBinding.of(field);
+        streamDecoder = field.getType() == ConfigStream.class ? streamDecoder(field) : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BiFunction<Object, Consumer<? super RuntimeException>, ?> streamDecoder(final Field field) {
+        val genericType = field.getGenericType();
+        val elementType = genericType instanceof ParameterizedType
+                ? ((ParameterizedType) genericType).getActualTypeArguments()[0] : Object.class;
+        val elementClass = rawType(elementType);
+
+        if (field.isAnnotationPresent(CfgSection.class) || elementClass.isAnnotationPresent(CfgSection.class)) {
+            return SectionBinding.element(elementClass)::decode;
+        }
+
+        val adapter = (TypeAdapter<Object>) TypeAdapters.of(elementType);
+        return (raw, errors) -> raw == null ? null : adapter.decode(raw, (Class<Object>) elementClass);
+    }
+
+    private static Class<?> rawType(final Type type) {
+        if (type instanceof Class) return (Class<?>) type;
+        if (type instanceof ParameterizedType) return rawType(((ParameterizedType) type).getRawType());
+        if (type instanceof WildcardType) return rawType(((WildcardType) type).getUpperBounds()[0]);
+
+        return Object.class;
+    }
+
+    /**
+     * Checks whether this field stores a {@link CfgSection section}, list or map of sections.
+     *
+     * @return {@code true} if this field stores sections and {@code false} otherwise
+     */
+    public boolean isSection() {
+        return section != null;
+    }
+
+    /**
+     * Checks whether this field stores a {@link ConfigStream stream} of the entries of a list
+     * which are read lazily instead of being loaded with the rest of the config.
+     *
+     * @return {@code true} if this field stores a stream and {@code false} otherwise
+     */
+    public boolean isStream() {
+        return streamDecoder != null;
+    }
+
+    /**
+     * Creates the {@link ConfigStream stream} of the entries of this field stored in the file
+     * if this field {@link #isStream() stores a stream}.
+     *
+     * @param file file storing the entries
+     * @param format format of the file
+     * @param errors handler of the values of the sections which cannot be assigned to their fields
+     * @return stream of the entries of this field
+     */
+    ConfigStream<?> stream(final Path file, final ConfigFormat format,
+                           final Consumer<? super RuntimeException> errors) {
+        return ConfigStream.of(file, format, serializationOptions.getPath(), raw -> streamDecoder.apply(raw, errors));
+    }
+
+    /**
+     * Gets the cloner of the sections stored by this field if it {@link #isSection() stores them}.
+     *
+     * @return method handle of type {@code (Object)Object} deeply copying the value of this field
+     * or {@code null} if it does not store sections
+     */
+    MethodHandle sectionCloner() {
+        return section == null ? null : section.cloner();
+    }
+
+    /**
+     * Resolves the schema of the sections stored by this field if it {@link #isSection() stores them}.
+     */
+    void resolveSection() {
+        if (section != null) section.resolve();
+    }
+
+    /**
+     * Reads the value of this field from the configuration.
+     *
+     * @param configuration configuration from which to read the value
+     * @param errors handler of the values of the sections which cannot be assigned to their fields
+     * (such values are skipped keeping the defaults of the sections)
+     * @return value of the field or {@code null} if it is absent
+     */
+    public Object read(final Configuration configuration, final Consumer<? super RuntimeException> errors) {
+        if (section != null) return section.decode(configuration.get(serializationOptions.getPath()), errors);
+
+        return readValue(configuration);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object readValue(final Configuration configuration) {
+        val path = serializationOptions.getPath();
+
+        // built-in adapters use the configuration's own (converting) getters
+        if (adapter instanceof CfgField.Type.ConfigData) return ((CfgField.Type.ConfigData) adapter)
+                .get(configuration, field.getType(), path, null);
+
+        return adapter.decode(unwrap(configuration.get(path)), field.getType());
+    }
+
+    /**
+     * Checks whether the value of this field is the one stored in the configuration.
+     * Sections are compared in their encoded forms as their classes usually do not override
+     * {@link Object#equals(Object)} so their decoded instances never equal the ones of the fields.
+     *
+     * @param value value of this field
+     * @param configuration configuration storing the value
+     * @return {@code true} if the configuration stores the value and {@code false} otherwise
+     */
+    public boolean isStored(final Object value, final Configuration configuration) {
+        if (section == null) return Objects.deepEquals(value, readValue(configuration));
+
+        return Objects.deepEquals(encode(value), unwrap(configuration.get(serializationOptions.getPath())));
+    }
+
+    /**
+     * Decodes the value of this field from the raw form in which it is stored in a configuration section.
+     *
+     * @param raw raw value
+     * @param errors handler of the values of the sections which cannot be assigned to their fields
+     * (such values are skipped keeping the defaults of the sections)
+     * @return decoded value or {@code null} if the raw value is absent or cannot be decoded
+     */
+    @SuppressWarnings("unchecked")
+    public Object decode(final Object raw, final Consumer<? super RuntimeException> errors) {
+        if (raw == null) return null;
+
+        if (section != null) return section.decode(raw, errors);
+
+        return adapter.decode(adapter instanceof CfgField.Type.ConfigData ? raw : unwrap(raw), field.getType());
+    }
+
+    /**
+     * Converts the sections of the raw value to maps so that the adapters get the values in their raw forms.
+     *
+     * @param raw raw value possibly being a section
+     * @return raw value whose sections are converted to maps
+     */
+    private static Object unwrap(final Object raw) {
+        if (!(raw instanceof Configuration)) return raw;
+
+        val section = (Configuration) raw;
+        val keys = section.getKeys();
+        val map = new LinkedHashMap<String, Object>(Math.max((int) (keys.size() / .75f) + 1, 16));
+        for (val key : keys) map.put(key, unwrap(section.get(key)));
+
+        return map;
+    }
+
+    /**
+     * Encodes the value of this field to the raw form in which it should be stored in a configuration.
+     *
+     * @param value value of the field
+     * @return raw value
+     */
+    @SuppressWarnings("unchecked")
+    public Object encode(final Object value) {
+        return section == null ? adapter.encode(value) : section.encode(value);
+    }
+
+    /**
+     * Gets the value of this field of the object.
+     *
+     * @param object object whose field to get
+     * @return value of the field (boxed if it is primitive)
+     */
+    @Override
+    @SneakyThrows
+    public Object get(final Object object) {
+        return (Object) getter.invokeExact(object);
+    }
+
+    /**
+     * Sets the value of this field of the object.
+     *
+     * @param object object whose field to set
+     * @param value value of the field (unboxed if it is primitive)
+     */
+    @SneakyThrows
+    public void set(final Object object, final Object value) {
+        setter.invokeExact(object, value);
+    }
+}
@@ -0,0 +1,47 @@
+package ru.progrm_jarvis.minecraft.bungee.ezcfg;
+
+import lombok.val;
+import net.md_5.bungee.config.Configuration;
+import ru.progrm_jarvis.minecraft.common.ezcfg.journal.ValueCodec;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * BungeeCord-specific parts of {@link ru.progrm_jarvis.minecraft.common.ezcfg.journal.ConfigJournal journaling}.
+ */
+final class Journals {
+
+    /**
+     * Codec of raw config values also supporting {@link Configuration} sections
+     */
+    static final ValueCodec CODEC = new ValueCodec() {
+        @Override
+        protected Object writeReplace(final Object value) {
+            if (value instanceof Configuration) {
+                val section = (Configuration) value;
+                val map = new LinkedHashMap<String, Object>();
+                for (val key : section.getKeys()) map.put(key, section.get(key));
+
+                return map;
+            }
+
+            return value;
+        }
+    };
+
+    private Journals() {
+        throw new UnsupportedOperationException("Journals is a utility class");
+    }
+
+    /**
+     * Gets the consumer of journal records applying them to the configuration.
+     *
+     * @param configuration configuration to which to apply the records
+     * @return consumer of journal records
+     */
+    static BiConsumer<String, Object> replayer(final Configuration configuration) {
+        return configuration::set;
+    }
+}
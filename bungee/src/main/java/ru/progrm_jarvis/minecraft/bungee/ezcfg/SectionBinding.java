@@ -0,0 +1,320 @@
+package ru.progrm_jarvis.minecraft.bungee.ezcfg;
+
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.val;
+import lombok.var;
+import net.md_5.bungee.config.Configuration;
+import ru.progrm_jarvis.minecraft.common.ezcfg.stream.ConfigStream;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Binding of a field storing a {@link CfgSection section}, list or map of sections.
+ */
+@RequiredArgsConstructor
+final class SectionBinding {
+
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+
+    private static final MethodHandle COPY;
+
+    static {
+        try {
+            COPY = MethodHandles.lookup().findVirtual(
+                    SectionBinding.class, "copy", MethodType.methodType(Object.class, Object.class)
+            );
+        } catch (final NoSuchMethodException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Kind kind;
+
+    private final Class<?> type;
+
+    /**
+     * Schema of the section resolved lazily so that sections may (indirectly) contain themselves
+     */
+    private volatile ConfigSchema schema;
+
+    private MethodHandle constructor;
+
+    /**
+     * Gets the binding of the field if it stores a section, list or map of sections.
+     *
+     * @param field field whose binding to get
+     * @return binding of the field or {@code null} if it does not store sections
+     */
+    static SectionBinding of(final Field field) {
+        val fieldType = field.getType();
+        val annotated = field.isAnnotationPresent(CfgSection.class);
+
+        if (List.class.isAssignableFrom(fieldType)) {
+            val elementType = typeArgument(field, 0);
+            return elementType != null && (annotated || elementType.isAnnotationPresent(CfgSection.class))
+                    ? new SectionBinding(Kind.LIST, elementType) : null;
+        }
+        if (Map.class.isAssignableFrom(fieldType)) {
+            val valueType = typeArgument(field, 1);
+            return valueType != null && (annotated || valueType.isAnnotationPresent(CfgSection.class))
+                    ? new SectionBinding(Kind.MAP, valueType) : null;
+        }
+
+        return annotated || fieldType.isAnnotationPresent(CfgSection.class)
+                ? new SectionBinding(Kind.OBJECT, fieldType) : null;
+    }
+
+    /**
+     * Gets the binding of single sections of the type such as the elements of a {@link ConfigStream stream}.
+     *
+     * @param type type of the sections
+     * @return binding of the sections
+     */
+    static SectionBinding element(final Class<?> type) {
+        return new SectionBinding(Kind.OBJECT, type);
+    }
+
+    private static Class<?> typeArgument(final Field field, final int index) {
+        val genericType = field.getGenericType();
+        if (!(genericType instanceof ParameterizedType)) return null;
+
+        Type typeArgument = ((ParameterizedType) genericType).getActualTypeArguments()[index];
+        if (typeArgument instanceof ParameterizedType) typeArgument = ((ParameterizedType) typeArgument).getRawType();
+
+        return typeArgument instanceof Class ? (Class<?>) typeArgument : null;
+    }
+
+    /**
+     * Decodes the value of the field from its raw form.
+     *
+     * @param raw raw value
+     * @param errors handler of the values of the sections which cannot be assigned to their fields
+     * (such values are skipped keeping the defaults of the sections)
+     * @return decoded value or {@code null} if the raw value is absent or cannot be decoded
+     */
+    Object decode(final Object raw, final Consumer<? super RuntimeException> errors) {
+        switch (kind) {
+            case OBJECT: return decodeSection(raw, errors);
+            case LIST: {
+                if (!(raw instanceof List)) return null;
+
+                val rawList = (List<?>) raw;
+                val list = new ArrayList<Object>(rawList.size());
+                for (val rawElement : rawList) {
+                    val element = decodeSection(rawElement, errors);
+                    if (element != null) list.add(element);
+                }
+
+                return list;
+            }
+            case MAP: {
+                if (raw instanceof Configuration) {
+                    val section = (Configuration) raw;
+                    val keys = section.getKeys();
+                    val map = new LinkedHashMap<Object, Object>(Math.max((int) (keys.size() / .75f) + 1, 16));
+                    for (val key : keys) {
+                        val value = decodeSection(section.get(key), errors);
+                        if (value != null) map.put(key, value);
+                    }
+
+                    return map;
+                }
+                if (!(raw instanceof Map)) return null;
+
+                val rawMap = (Map<?, ?>) raw;
+                val map = new LinkedHashMap<Object, Object>(Math.max((int) (rawMap.size() / .75f) + 1, 16));
+                for (val entry : rawMap.entrySet()) {
+                    val value = decodeSection(entry.getValue(), errors);
+                    if (value != null) map.put(entry.getKey(), value);
+                }
+
+                return map;
+            }
+            default: throw new IllegalStateException("Unknown kind of section binding: " + kind);
+        }
+    }
+
+    /**
+     * Encodes the value of the field to the raw form in which it should be stored in a configuration.
+     *
+     * @param value value to encode
+     * @return raw value
+     */
+    Object encode(final Object value) {
+        if (value == null) return null;
+
+        switch (kind) {
+            case OBJECT: return encodeSection(value);
+            case LIST: {
+                val values = (List<?>) value;
+                val list = new ArrayList<Object>(values.size());
+                for (val element : values) list.add(encodeSection(element));
+
+                return list;
+            }
+            case MAP: {
+                val values = (Map<?, ?>) value;
+                val map = new LinkedHashMap<Object, Object>(Math.max((int) (values.size() / .75f) + 1, 16));
+                for (val entry : values.entrySet()) map.put(entry.getKey(), encodeSection(entry.getValue()));
+
+                return map;
+            }
+            default: throw new IllegalStateException("Unknown kind of section binding: " + kind);
+        }
+    }
+
+    /**
+     * Gets the cloner of the values of the field.
+     *
+     * @return method handle of type {@code (Object)Object} {@link #copy(Object) copying} the value of the field
+     */
+    MethodHandle cloner() {
+        return COPY.bindTo(this);
+    }
+
+    /**
+     * Deeply copies the value of the field so that none of its sections are shared with the copy.
+     *
+     * @param value value to copy
+     * @return copy of the value
+     */
+    Object copy(final Object value) {
+        if (value == null) return null;
+
+        switch (kind) {
+            case OBJECT: return copySection(value);
+            case LIST: {
+                val values = (List<?>) value;
+                val list = new ArrayList<Object>(values.size());
+                for (val element : values) list.add(copySection(element));
+
+                return list;
+            }
+            case MAP: {
+                val values = (Map<?, ?>) value;
+                val map = new LinkedHashMap<Object, Object>(Math.max((int) (values.size() / .75f) + 1, 16));
+                for (val entry : values.entrySet()) map.put(entry.getKey(), copySection(entry.getValue()));
+
+                return map;
+            }
+            default: throw new IllegalStateException("Unknown kind of section binding: " + kind);
+        }
+    }
+
+    @SneakyThrows
+    private Object copySection(final Object value) {
+        if (value == null) return null;
+
+        val schema = schema();
+        val copy = (Object) constructor.invokeExact();
+        schema.getCopier(CopyMode.DEEP).copy(copy, value);
+
+        return copy;
+    }
+
+    @SneakyThrows
+    private Object decodeSection(final Object raw, final Consumer<? super RuntimeException> errors) {
+        if (type.isInstance(raw)) return raw;
+
+        final Configuration section;
+        final Map<?, ?> map;
+        if (raw instanceof Configuration) {
+            section = (Configuration) raw;
+            map = null;
+        } else if (raw instanceof Map) {
+            section = null;
+            map = (Map<?, ?>) raw;
+        } else return null;
+
+        val schema = schema();
+        val instance = (Object) constructor.invokeExact();
+        for (val field : schema.getFields()) {
+            val path = field.getSerializationOptions().getPath();
+
+            val value = field.decode(section == null ? get(map, path) : section.get(path), errors);
+            // absent values keep the defaults of the section's class
+            if (value != null) try {
+                field.set(instance, value);
+            } catch (final ClassCastException e) {
+                errors.accept(e);
+            }
+        }
+
+        return instance;
+    }
+
+    private Object encodeSection(final Object value) {
+        if (value == null) return null;
+
+        val map = new LinkedHashMap<String, Object>();
+        for (val field : schema().getFields()) {
+            val fieldValue = field.get(value);
+            if (fieldValue != null) put(map, field.getSerializationOptions().getPath(), field.encode(fieldValue));
+        }
+
+        return map;
+    }
+
+    private static Object get(Map<?, ?> map, final String path) {
+        var start = 0;
+        for (var end = path.indexOf('.'); end != -1; end = path.indexOf('.', start = end + 1)) {
+            val child = map.get(path.substring(start, end));
+            if (child instanceof Map) map = (Map<?, ?>) child;
+            else return null;
+        }
+
+        return map.get(start == 0 ? path : path.substring(start));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void put(Map<String, Object> map, final String path, final Object value) {
+        var start = 0;
+        for (var end = path.indexOf('.'); end != -1; end = path.indexOf('.', start = end + 1)) {
+            val key = path.substring(start, end);
+            val child = map.get(key);
+            if (child instanceof Map) map = (Map<String, Object>) child;
+            else {
+                val section = new LinkedHashMap<String, Object>();
+                map.put(key, section);
+                map = section;
+            }
+        }
+
+        map.put(start == 0 ? path : path.substring(start), value);
+    }
+
+    /**
+     * Resolves the schema of the sections (and, recursively, of their own sections) ahead of their first use.
+     */
+    void resolve() {
+        if (schema == null) schema().resolveSections();
+    }
+
+    @SneakyThrows({NoSuchMethodException.class, IllegalAccessException.class})
+    private ConfigSchema schema() {
+        var schema = this.schema;
+        if (schema == null) {
+            val constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            this.constructor = MethodHandles.lookup().unreflectConstructor(constructor).asType(CONSTRUCTOR_TYPE);
+            this.schema = schema = ConfigSchema.of(type, true);
+        }
+
+        return schema;
+    }
+
+    private enum Kind {
+        OBJECT, LIST, MAP
+    }
+}
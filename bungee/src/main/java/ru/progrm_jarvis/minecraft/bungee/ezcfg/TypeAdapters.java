@@ -0,0 +1,83 @@
+package ru.progrm_jarvis.minecraft.bungee.ezcfg;
+
+import lombok.NonNull;
+import ru.progrm_jarvis.minecraft.common.ezcfg.adapter.BuiltInTypeAdapterRegistry;
+import ru.progrm_jarvis.minecraft.common.ezcfg.adapter.StandardTypeAdapters;
+import ru.progrm_jarvis.minecraft.common.ezcfg.adapter.TypeAdapter;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Registry of {@link TypeAdapter type adapters} used to bind fields of configs.
+ * It contains adapters of all types supported by {@link CfgField.Type} and {@link StandardTypeAdapters standard ones}
+ * and may be extended by plugins with their own adapters, for example:
+ * <pre>{@code
+ * TypeAdapters.register(Location.class, new LocationAdapter());
+ * }</pre>
+ * Adapters should be registered before the configs using them are loaded.
+ */
+public final class TypeAdapters {
+
+    private static final BuiltInTypeAdapterRegistry REGISTRY = new BuiltInTypeAdapterRegistry(
+            CfgField.Type.values(), CfgField.Type.LIST, CfgField.Type.OBJECT
+    );
+
+    private TypeAdapters() {
+        throw new UnsupportedOperationException("TypeAdapters is a utility class");
+    }
+
+    /**
+     * Registers the adapter of values of the type (and its subtypes unless they have their own adapters).
+     *
+     * @param type type of the values
+     * @param adapter adapter of the values
+     * @param <T> type of the values
+     */
+    public static <T> void register(@NonNull final Class<T> type, @NonNull final TypeAdapter<? super T> adapter) {
+        REGISTRY.register(type, adapter);
+    }
+
+    /**
+     * Registers the adapter of lists of the values of the type.
+     *
+     * @param elementType type of the elements of the lists
+     * @param adapter adapter of the lists
+     * @param <E> type of the elements of the lists
+     */
+    public static <E> void registerList(@NonNull final Class<E> elementType,
+                                        @NonNull final TypeAdapter<List<E>> adapter) {
+        REGISTRY.registerList(elementType, adapter);
+    }
+
+    /**
+     * Gets the adapter of values of the type.
+     *
+     * @param type type of the values
+     * @return adapter of the values or {@code null} if there is none
+     */
+    public static TypeAdapter<?> resolve(@NonNull final Class<?> type) {
+        return REGISTRY.resolve(type);
+    }
+
+    /**
+     * Gets the adapter of the field.
+     *
+     * @param field field whose adapter to get
+     * @return adapter of the field's generic type or the adapter of {@link CfgField.Type#OBJECT} if there is none
+     */
+    static TypeAdapter<?> of(final Field field) {
+        return of(field.getGenericType());
+    }
+
+    /**
+     * Gets the adapter of values of the generic type.
+     *
+     * @param type generic type of the values
+     * @return adapter of the values or the adapter of {@link CfgField.Type#OBJECT} if there is none
+     */
+    static TypeAdapter<?> of(final Type type) {
+        return REGISTRY.resolveOrFallback(type);
+    }
+}
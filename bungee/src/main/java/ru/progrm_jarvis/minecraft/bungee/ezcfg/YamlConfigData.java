@@ -1,16 +1,26 @@
 package ru.progrm_jarvis.minecraft.bungee.ezcfg;
 
+import lombok.NonNull;
 import lombok.SneakyThrows;
 import lombok.val;
-import lombok.var;
 import net.md_5.bungee.api.plugin.Plugin;
 import net.md_5.bungee.config.ConfigurationProvider;
 import net.md_5.bungee.config.YamlConfiguration;
+import ru.progrm_jarvis.minecraft.common.ezcfg.format.ConfigFormat;
+import ru.progrm_jarvis.minecraft.common.ezcfg.format.ConfigFormats;
+import ru.progrm_jarvis.minecraft.common.ezcfg.io.ConfigFiles;
+import ru.progrm_jarvis.minecraft.common.ezcfg.io.FileLocks;
+import ru.progrm_jarvis.minecraft.common.ezcfg.journal.ConfigJournal;
+import ru.progrm_jarvis.minecraft.common.ezcfg.journal.JournalPolicy;
+import ru.progrm_jarvis.minecraft.common.ezcfg.layer.ConfigSource;
+import ru.progrm_jarvis.minecraft.common.ezcfg.patch.YamlPatcher;
+import ru.progrm_jarvis.minecraft.common.ezcfg.validation.ConfigValidationException;
+import ru.progrm_jarvis.minecraft.common.ezcfg.validation.ValidationReport;
 
 import java.io.File;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
-import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
 
 @SuppressWarnings({"unused", "Duplicates"})
@@ -33,197 +43,208 @@ public interface YamlConfigData<T extends YamlConfigData<T, P>, P extends Plugin
         return fields;
     }
 
-    @SneakyThrows
-    @SuppressWarnings("unchecked")
     default T loadData(final File file, final boolean save) {
-        val configuration = configurationProvider.load(file);
-
-        var updated = false;
-        for (val fieldData : getFieldsData().entrySet()) {
-            val field = fieldData.getKey();
-            val serializationOptions = fieldData.getValue();
-
-            val accessible = field.isAccessible();
-            try {
-                field.setAccessible(true);
-
-                val path = serializationOptions.getPath();
-                var configValue = serializationOptions.getType().getDataType()
-                        .get(configuration, field.getType(), path, null);
-
-                if (configValue == null) try {
-                    configValue = field.get(this);
-
-                    // TODO: 09.06.2018 Empty sections support for BungeeCord
-                    /*if (configValue == null) configuration.createSection();
-                    else */configuration.set(path, configValue);
-
-                    updated = true;
-
-                    continue;
-                } catch (final IllegalStateException | IllegalAccessException e) {
-                    onExceptionGettingField(e);
-                }
-
-                try {
-                    // assign value to the field of this exact instance
-                    try {
-                        field.set(this, configValue);
-                    } catch (final IllegalArgumentException e) {
-                        field.set(this, null);
-                    }
-
-                    if (serializationOptions.getComment().length > 0); // TODO: 02.04.2018 comments
-                } catch (final IllegalAccessException e) {
-                    onExceptionSettingField(e);
-                }
-            } finally {
-                field.setAccessible(accessible);
-            }
-        }
+        return loadData(file.toPath(), save);
+    }
 
-        if (save && updated) configurationProvider.save(configuration, file);
+    /**
+     * Loads the values of this config from the file which may be of any file system
+     * (such as the one of the plugin's jar or an in-memory one) which should exist.
+     * Files of file systems other than the default one are neither journaled nor recorded by the metrics.
+     *
+     * @param file file from which to load the values
+     * @param save whether or not the default values of the fields absent in the file should be written to it
+     * @return this config
+     */
+    @SuppressWarnings("unchecked")
+    default T loadData(final Path file, final boolean save) {
+        ConfigLoad.read(this, file, save).apply();
 
         return (T) this;
     }
 
-    @SneakyThrows
+    /**
+     * Binds the fields of this config from the layered sources, each overriding the values of the preceding ones.
+     *
+     * @param sources sources of the layers in their order (such as the defaults bundled in the jar and then overrides)
+     * @return layers of this config by which the sources may be reloaded
+     */
     @SuppressWarnings("unchecked")
+    default ConfigLayers<T> loadLayers(@NonNull final List<? extends ConfigSource> sources) {
+        return ConfigLayers.load((T) this, sources);
+    }
+
     default T saveData(final File file) {
-        val configuration = configurationProvider.load(file);
-
-        var differs = false;
-        for (val fieldData : getFieldsData().entrySet()) {
-            val field = fieldData.getKey();
-            val serializationOptions = fieldData.getValue();
-
-            val accessible = field.isAccessible();
-            try {
-                field.setAccessible(true);
-
-                final Object fieldValue;
-                try {
-                    fieldValue = field.get(this);
-                } catch (final IllegalStateException | IllegalAccessException e) {
-                    onExceptionGettingField(e);
-                    continue;
-                }
-
-                val configValue = serializationOptions.getType().getDataType()
-                        .get(configuration, field.getType(), serializationOptions.getPath());
-
-                if (fieldValue != null && !fieldValue.equals(configValue)
-                        || configValue != null && !configValue.equals(fieldValue)) {
-                    configuration.set(fieldData.getValue().getPath(), fieldValue);
-
-                    differs = true;
-                }
-            } finally {
-                field.setAccessible(accessible);
-            }
-        }
+        return saveData(file.toPath());
+    }
 
-        if (differs) configurationProvider.save(configuration, file);
+    /**
+     * Saves the values of this config to the file which may be of any file system and which should exist.
+     *
+     * @param file file to which to save the values
+     * @return this config
+     */
+    @SuppressWarnings("unchecked")
+    default T saveData(final Path file) {
+        // the file is read to be compared with the config so it is locked until it is written
+        val lock = FileLocks.of(file);
+        val stamp = lock.writeLock();
+        try {
+            ConfigSave.prepare(this, file).write();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
 
         return (T) this;
     }
 
+    /**
+     * Gets the policy of journaling of this config.
+     * Changes of journaled configs are saved by appending them to the journal next to the config file
+     * which is compacted into the file in background once the policy's thresholds are exceeded.
+     *
+     * @return policy of journaling of this config or {@code null} if it should not be journaled
+     *
+     * @see ConfigJournal
+     */
+    default JournalPolicy getJournalPolicy() {
+        return null;
+    }
+
+    /**
+     * Gets the format of the files of this config.
+     *
+     * @return format of the files of this config or {@code null} if it should be chosen by the extension of the file
+     *
+     * @see ConfigFormats
+     */
+    default ConfigFormat getFormat() {
+        return null;
+    }
+
+    /**
+     * Checks whether saves of this config should only replace the text of the changed values in the file
+     * keeping the comments, the order of keys and the formatting written by the admin.
+     * Structural changes (such as added or removed keys, lists or sections) still rewrite the whole file
+     * as do saves of files in formats other than YAML.
+     *
+     * @return {@code true} if saves should patch the file in place and {@code false} if they should rewrite it
+     *
+     * @see YamlPatcher
+     */
+    default boolean isPatchingSaves() {
+        return false;
+    }
+
+    /**
+     * Gets the listeners of the changes of the fields of this config.
+     * Configs having listeners should override this to return the same instance every time.
+     *
+     * @return listeners of the changes of the fields of this config or {@code null} if there are none
+     *
+     * @see FieldListeners
+     */
+    default FieldListeners<?> getFieldListeners() {
+        return null;
+    }
+
+    /**
+     * Gets the schema of this config's class.
+     *
+     * @return cached schema of this config's class
+     */
+    default ConfigSchema getSchema() {
+        return ConfigSchema.of(getClass(), isSuperNotRequireCfgFieldAnnotation());
+    }
+
     default Map<Field, CfgField.SerializationOptions> getFieldsData() {
-        val fieldsData = new HashMap<Field, CfgField.SerializationOptions>();
-
-        val thisClass = getClass();
-        val superNotRequireCfgFieldAnnotation = isSuperNotRequireCfgFieldAnnotation();
-        for (val field : getFields(thisClass)) {
-            if (field.isAnnotationPresent(CfgField.class)) {
-                val data = field.getAnnotation(CfgField.class);
-
-                fieldsData.put(field, CfgField.SerializationOptions.of(
-                        data.type() == CfgField.Type.AUTO ? CfgField.Type.getType(field) : data.type(),
-                        data.value().isEmpty() ? field.getName() : data.value(),
-                        data.comment()
-                ));
-            } else if (superNotRequireCfgFieldAnnotation && field.getDeclaringClass() != thisClass
-                    && isModifiable(field.getModifiers())) fieldsData.put(field, CfgField.SerializationOptions
-                    .of(CfgField.Type.getType(field), field.getName(), new String[0]));
-        }
+        return getSchema().getFieldsData();
+    }
 
-        return fieldsData;
+    /**
+     * Gets the directory against which the paths of the files of this config are resolved.
+     *
+     * @return directory of the files of this config, by default, the data folder of the plugin
+     */
+    default Path getDataDirectory() {
+        return getPlugin().getDataFolder().toPath();
     }
 
-    @SneakyThrows
     default T load(final File file, final boolean save) {
-        {
-            val parent = file.getParentFile();
-            if (!parent.isDirectory()) Files.createDirectory(parent.toPath());
-        }
-        if (!file.isFile()) Files.createFile(file.toPath());
+        return load(file.toPath(), save);
+    }
+
+    @SneakyThrows
+    default T load(final Path file, final boolean save) {
+        // the file may be created concurrently by another load or save
+        ConfigFiles.createIfAbsent(file);
 
         return loadData(file, save);
     }
 
     default T load(final String path, final boolean save) {
-        return load(new File(getPlugin().getDataFolder(), path), save);
+        return load(getDataDirectory().resolve(path), save);
     }
 
     default T load(final boolean save) {
         return load("config.yml", save);
     }
 
-    @SneakyThrows
     default T load(final File file) {
-        {
-            val parent = file.getParentFile();
-            if (!parent.isDirectory()) Files.createDirectory(parent.toPath());
-        }
-        if (!file.isFile()) Files.createFile(file.toPath());
+        return load(file.toPath());
+    }
 
-        return loadData(file, true);
+    default T load(final Path file) {
+        return load(file, true);
     }
 
     default T load(final String path) {
-        return load(new File(getPlugin().getDataFolder(), path));
+        return load(getDataDirectory().resolve(path));
     }
 
     default T load() {
         return load("config.yml");
     }
 
-    @SneakyThrows
     default T save(final File file) {
-        {
-            val parent = file.getParentFile();
-            if (!parent.isDirectory()) Files.createDirectory(parent.toPath());
-        }
-        if (!file.isFile()) Files.createFile(file.toPath());
+        return save(file.toPath());
+    }
+
+    @SneakyThrows
+    default T save(final Path file) {
+        // the file may be created concurrently by another load or save
+        ConfigFiles.createIfAbsent(file);
 
         return saveData(file);
     }
 
     default T save(final String path)  {
-        return save(new File(getPlugin().getDataFolder(), path));
+        return save(getDataDirectory().resolve(path));
     }
 
     default T save()  {
         return save("config.yml");
     }
 
-    @SuppressWarnings("unchecked")
+    /**
+     * Gets the mode in which {@link #copyFrom(YamlConfigData)} copies values.
+     *
+     * @return mode of copying used by default
+     */
+    default CopyMode getCopyMode() {
+        return CopyMode.SHALLOW;
+    }
+
     default T copyFrom(final T otherConfigData) {
-        val thisClass = getClass();
-        val superNotRequireCfgFieldAnnotation = isSuperNotRequireCfgFieldAnnotation();
-        for (val field : getFields(thisClass)) if (superNotRequireCfgFieldAnnotation && field.getDeclaringClass()
-                != thisClass && isModifiable(field.getModifiers()) || field.isAnnotationPresent(CfgField.class)) {
-            val accessible = field.isAccessible();
-            try {
-                field.setAccessible(true);
-
-                field.set(this, field.get(otherConfigData));
-            } catch (final IllegalAccessException e) {
-                onExceptionCopyingField(e);
-            } finally {
-                field.setAccessible(accessible);
-            }
-        }
+        return copyFrom(otherConfigData, getCopyMode());
+    }
+
+    @SuppressWarnings("unchecked")
+    default T copyFrom(final T otherConfigData, final CopyMode mode) {
+        val listeners = getFieldListeners();
+        val snapshot = listeners == null ? null : listeners.snapshot(this);
+        getSchema().getCopier(mode).copy(this, otherConfigData);
+        if (snapshot != null) snapshot.fire(this);
 
         return (T) this;
     }
@@ -238,6 +259,37 @@ public interface YamlConfigData<T extends YamlConfigData<T, P>, P extends Plugin
         e.printStackTrace();
     }
 
+    /**
+     * Handles the violations of the constraints of the fields found while loading this config.
+     * By default, the violations are logged unless any of them was
+     * {@link ru.progrm_jarvis.minecraft.common.ezcfg.validation.ViolationPolicy#REJECT rejected}
+     * in which case {@link ConfigValidationException} is thrown.
+     *
+     * @param report report containing all the violations
+     * @throws ConfigValidationException if any of the violations was rejected
+     */
+    default void onConstraintViolations(final ValidationReport report) {
+        if (report.isRejected()) throw new ConfigValidationException(report);
+
+        getPlugin().getLogger().warning(report.toString());
+    }
+
+    /**
+     * Handles the paths of the fields which were absent in the file while loading this config.
+     * Their default values are written to the file in a single write (unless the config is loaded without saving)
+     * so that the file is complete on the next load, loads of complete files never call this.
+     *
+     * @param file file from which the config was loaded
+     * @param paths paths of the absent fields in the order of the fields
+     * @param written whether or not the default values of the fields have been written to the file
+     */
+    default void onMissingKeys(final Path file, final Set<String> paths, final boolean written) {}
+
+    /**
+     * @deprecated copying is performed by {@link ru.progrm_jarvis.minecraft.common.ezcfg.schema.ConfigCopier}
+     * which never accesses fields reflectively
+     */
+    @Deprecated
     default void onExceptionCopyingField(final IllegalAccessException e) {
         getPlugin().getLogger().warning("Could not copy value from one ConfigData object to another:");
         e.printStackTrace();
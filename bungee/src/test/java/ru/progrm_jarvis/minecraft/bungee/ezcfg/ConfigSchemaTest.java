@@ -0,0 +1,71 @@
+package ru.progrm_jarvis.minecraft.bungee.ezcfg;
+
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConfigSchemaTest {
+
+    @Test
+    void deepCopiesSections() {
+        val source = new Settings();
+        source.limits.max = 5;
+        source.limitsList.add(new Limits());
+        source.limitsMap.put("spawn", new Limits());
+
+        val copy = new Settings();
+        ConfigSchema.of(Settings.class, false).getCopier(CopyMode.DEEP).copy(copy, source);
+        assertEquals(5, copy.limits.max);
+        assertEquals(1, copy.limitsList.size());
+        assertEquals(1, copy.limitsMap.size());
+
+        copy.limits.max = 10;
+        copy.limits.nested.names.add("copy");
+        copy.limitsList.get(0).max = 10;
+        copy.limitsMap.get("spawn").nested.names.add("copy");
+
+        assertEquals(5, source.limits.max);
+        assertTrue(source.limits.nested.names.isEmpty());
+        assertEquals(1, source.limitsList.get(0).max);
+        assertTrue(source.limitsMap.get("spawn").nested.names.isEmpty());
+    }
+
+    @Test
+    void shallowlyCopiesSectionsByReference() {
+        val source = new Settings();
+
+        val copy = new Settings();
+        ConfigSchema.of(Settings.class, false).getCopier(CopyMode.SHALLOW).copy(copy, source);
+
+        assertSame(source.limits, copy.limits);
+    }
+
+    private static final class Settings {
+
+        @CfgField private Limits limits = new Limits();
+
+        @CfgField private List<Limits> limitsList = new ArrayList<>();
+
+        @CfgField private Map<String, Limits> limitsMap = new LinkedHashMap<>();
+    }
+
+    @CfgSection
+    private static final class Limits {
+
+        @CfgField private int max = 1;
+
+        @CfgField private Names nested = new Names();
+    }
+
+    @CfgSection
+    private static final class Names {
+
+        @CfgField private List<String> names = new ArrayList<>();
+    }
+}
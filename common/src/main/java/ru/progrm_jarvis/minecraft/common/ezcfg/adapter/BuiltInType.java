@@ -0,0 +1,28 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.adapter;
+
+/**
+ * Type of values supported by a platform out of the box with its own {@link TypeAdapter adapter}.
+ */
+public interface BuiltInType {
+
+    /**
+     * Gets the adapter of the values of this type.
+     *
+     * @return adapter of the values or {@code null} if this type has none
+     */
+    TypeAdapter<?> getDataType();
+
+    /**
+     * Gets the classes of the values of this type (or of the elements of the lists if this is a list type).
+     *
+     * @return classes of the values of this type
+     */
+    Class<?>[] getTypeClasses();
+
+    /**
+     * Checks whether the values of this type are lists.
+     *
+     * @return {@code true} if the values of this type are lists and {@code false} otherwise
+     */
+    boolean isList();
+}
@@ -0,0 +1,52 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.adapter;
+
+import lombok.NonNull;
+import lombok.val;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Registry of {@link TypeAdapter type adapters} containing the adapters of the {@link BuiltInType built-in types}
+ * of a platform and {@link StandardTypeAdapters standard ones}.
+ * Values of types having no adapters are converted by the adapter of the fallback type.
+ */
+public final class BuiltInTypeAdapterRegistry extends TypeAdapterRegistry {
+
+    private final TypeAdapter<?> fallbackAdapter;
+
+    /**
+     * Creates a new registry of the adapters of the built-in types.
+     *
+     * @param types built-in types whose adapters to register
+     * @param listType built-in type of untyped lists
+     * @param fallbackType built-in type of values of types having no adapters
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public BuiltInTypeAdapterRegistry(@NonNull final BuiltInType[] types, @NonNull final BuiltInType listType,
+                                      @NonNull final BuiltInType fallbackType) {
+        for (val type : types) {
+            val dataType = (TypeAdapter) type.getDataType();
+            if (dataType == null) continue;
+
+            if (type.isList()) for (val typeClass : type.getTypeClasses()) registerList(typeClass, dataType);
+            else for (val typeClass : type.getTypeClasses()) register(typeClass, dataType);
+        }
+        register(List.class, (TypeAdapter) listType.getDataType());
+
+        StandardTypeAdapters.registerAll(this);
+
+        fallbackAdapter = fallbackType.getDataType();
+    }
+
+    /**
+     * Gets the adapter of values of the generic type.
+     *
+     * @param type generic type of the values
+     * @return adapter of the values or the adapter of the fallback type if there is none
+     */
+    public TypeAdapter<?> resolveOrFallback(@NonNull final Type type) {
+        val adapter = resolve(type);
+        return adapter == null ? fallbackAdapter : adapter;
+    }
+}
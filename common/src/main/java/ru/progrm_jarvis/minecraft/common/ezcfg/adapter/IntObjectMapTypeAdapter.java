@@ -0,0 +1,54 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.adapter;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import ru.progrm_jarvis.minecraft.common.ezcfg.collection.IntObjectMap;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Adapter of {@link IntObjectMap}s whose values are converted by the adapter of their type.
+ * Entries whose keys are not {@code int}s or whose values cannot be decoded are skipped.
+ *
+ * @param <V> type of the values
+ */
+@RequiredArgsConstructor
+public class IntObjectMapTypeAdapter<V> implements TypeAdapter<IntObjectMap<V>> {
+
+    @NonNull private final TypeAdapter<V> valueAdapter;
+
+    @NonNull private final Class<V> valueType;
+
+    @Override
+    public IntObjectMap<V> decode(final Object raw, final Class<IntObjectMap<V>> type) {
+        if (!(raw instanceof Map)) return null;
+
+        val map = IntObjectMap.<V>builder();
+        for (val entry : ((Map<?, ?>) raw).entrySet()) {
+            val key = MapKeys.toInt(entry.getKey());
+            if (key == null) continue;
+
+            val value = valueAdapter.decode(entry.getValue(), valueType);
+            if (value != null) map.put(key, value);
+        }
+
+        return map.build();
+    }
+
+    @Override
+    public Object encode(final IntObjectMap<V> value) {
+        if (value == null) return null;
+
+        val map = new LinkedHashMap<String, Object>(Math.max((int) (value.size() / .75f) + 1, 16));
+        value.forEach((key, element) -> map.put(Integer.toString(key), valueAdapter.encode(element)));
+
+        return map;
+    }
+
+    @Override
+    public IntObjectMap<V> getDefault() {
+        return IntObjectMap.empty();
+    }
+}
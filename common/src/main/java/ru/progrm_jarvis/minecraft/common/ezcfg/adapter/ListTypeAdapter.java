@@ -0,0 +1,52 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.adapter;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Adapter of lists whose elements are converted by the adapter of their type.
+ * Lists are decoded once into presized lists of the elements' type skipping the elements which cannot be decoded.
+ *
+ * @param <E> type of the elements
+ */
+@RequiredArgsConstructor
+public class ListTypeAdapter<E> implements TypeAdapter<List<E>> {
+
+    @NonNull private final TypeAdapter<E> elementAdapter;
+
+    @NonNull private final Class<E> elementType;
+
+    @Override
+    public List<E> decode(final Object raw, final Class<List<E>> type) {
+        if (!(raw instanceof List)) return null;
+
+        val rawList = (List<?>) raw;
+        val list = new ArrayList<E>(rawList.size());
+        for (val rawElement : rawList) {
+            val element = elementAdapter.decode(rawElement, elementType);
+            if (element != null) list.add(element);
+        }
+
+        return list;
+    }
+
+    @Override
+    public Object encode(final List<E> value) {
+        if (value == null) return null;
+
+        val list = new ArrayList<Object>(value.size());
+        for (val element : value) list.add(elementAdapter.encode(element));
+
+        return list;
+    }
+
+    @Override
+    public List<E> getDefault() {
+        return Collections.emptyList();
+    }
+}
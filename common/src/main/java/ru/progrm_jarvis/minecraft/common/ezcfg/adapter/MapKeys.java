@@ -0,0 +1,51 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.adapter;
+
+/**
+ * Conversions of the keys of maps which are stored as strings by configurations.
+ */
+final class MapKeys {
+
+    private MapKeys() {
+        throw new UnsupportedOperationException("MapKeys is a utility class");
+    }
+
+    /**
+     * Parses the key as the scalar which it would be if it was a value.
+     *
+     * @param key key of a map
+     * @return number or boolean represented by the key or {@code null} if it is neither of them
+     */
+    static Object parse(final String key) {
+        if (key.equals("true")) return Boolean.TRUE;
+        if (key.equals("false")) return Boolean.FALSE;
+        try {
+            return Long.valueOf(key);
+        } catch (final NumberFormatException e) {
+            try {
+                return Double.valueOf(key);
+            } catch (final NumberFormatException ignored) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Converts the key to {@code int}.
+     *
+     * @param key raw key of a map
+     * @return {@code int} represented by the key or {@code null} if it does not represent one
+     */
+    static Integer toInt(final Object key) {
+        if (key instanceof Integer || key instanceof Short || key instanceof Byte) return ((Number) key).intValue();
+        if (key instanceof Long) {
+            final long value = (Long) key;
+            return (int) value == value ? (int) value : null;
+        }
+        if (!(key instanceof String)) return null;
+        try {
+            return Integer.valueOf((String) key);
+        } catch (final NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.adapter;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import lombok.var;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Adapter of maps whose keys and values are converted by the adapters of their types.
+ * Keys are stored as strings so the ones of other types are decoded from their string forms as well.
+ * Maps of {@link Enum} keys are decoded into {@link EnumMap}s and other maps into {@link LinkedHashMap}s
+ * keeping the order of the keys.
+ *
+ * @param <K> type of the keys
+ * @param <V> type of the values
+ */
+@RequiredArgsConstructor
+public class MapTypeAdapter<K, V> implements TypeAdapter<Map<K, V>> {
+
+    @NonNull private final TypeAdapter<K> keyAdapter;
+
+    @NonNull private final Class<K> keyType;
+
+    @NonNull private final TypeAdapter<V> valueAdapter;
+
+    @NonNull private final Class<V> valueType;
+
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Map<K, V> decode(final Object raw, final Class<Map<K, V>> type) {
+        if (!(raw instanceof Map)) return null;
+
+        val rawMap = (Map<?, ?>) raw;
+        final Map<K, V> map = keyType.isEnum()
+                ? new EnumMap(keyType) : new LinkedHashMap<>(Math.max((int) (rawMap.size() / .75f) + 1, 16));
+        for (val entry : rawMap.entrySet()) {
+            val key = decodeKey(entry.getKey());
+            if (key == null) continue;
+
+            val value = valueAdapter.decode(entry.getValue(), valueType);
+            if (value != null) map.put(key, value);
+        }
+
+        return map;
+    }
+
+    private K decodeKey(final Object rawKey) {
+        var key = keyAdapter.decode(rawKey, keyType);
+        if (key == null && rawKey instanceof String) {
+            val scalar = MapKeys.parse((String) rawKey);
+            if (scalar != null) key = keyAdapter.decode(scalar, keyType);
+        }
+
+        return key;
+    }
+
+    @Override
+    public Object encode(final Map<K, V> value) {
+        if (value == null) return null;
+
+        val map = new LinkedHashMap<String, Object>(Math.max((int) (value.size() / .75f) + 1, 16));
+        for (val entry : value.entrySet()) {
+            val key = keyAdapter.encode(entry.getKey());
+            if (key != null) map.put(String.valueOf(key), valueAdapter.encode(entry.getValue()));
+        }
+
+        return map;
+    }
+
+    @Override
+    public Map<K, V> getDefault() {
+        return Collections.emptyMap();
+    }
+}
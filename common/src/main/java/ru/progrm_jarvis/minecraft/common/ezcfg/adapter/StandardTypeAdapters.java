@@ -0,0 +1,384 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.adapter;
+
+import lombok.NonNull;
+import lombok.val;
+import ru.progrm_jarvis.minecraft.common.ezcfg.collection.IntDoubleMap;
+import ru.progrm_jarvis.minecraft.common.ezcfg.collection.IntDoubleSortedMap;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Adapters of standard Java types which are not natively supported by configurations.
+ */
+public final class StandardTypeAdapters {
+
+    private StandardTypeAdapters() {
+        throw new UnsupportedOperationException("StandardTypeAdapters is a utility class");
+    }
+
+    private static final IntArrayAdapter INT_ARRAY_ADAPTER = new IntArrayAdapter();
+
+    private static final LongArrayAdapter LONG_ARRAY_ADAPTER = new LongArrayAdapter();
+
+    private static final DoubleArrayAdapter DOUBLE_ARRAY_ADAPTER = new DoubleArrayAdapter();
+
+    private static final IntDoubleMapAdapter INT_DOUBLE_MAP_ADAPTER = new IntDoubleMapAdapter();
+
+    /**
+     * Registers the adapters of {@link UUID}, {@link Duration}, {@link BigDecimal}, {@link BigInteger},
+     * arrays of {@code int}s, {@code long}s and {@code double}s and their buffers
+     * and maps of {@code int}s to {@code double}s ({@link IntDoubleMap} and {@link IntDoubleSortedMap}).
+     *
+     * @param registry registry to which to add the adapters
+     */
+    public static void registerAll(@NonNull final TypeAdapterRegistry registry) {
+        registry.register(UUID.class, new UuidAdapter());
+        registry.register(Duration.class, new DurationAdapter());
+        registry.register(BigDecimal.class, new BigDecimalAdapter());
+        registry.register(BigInteger.class, new BigIntegerAdapter());
+        registry.register(int[].class, INT_ARRAY_ADAPTER);
+        registry.register(long[].class, LONG_ARRAY_ADAPTER);
+        registry.register(double[].class, DOUBLE_ARRAY_ADAPTER);
+        registry.register(IntBuffer.class, new IntBufferAdapter());
+        registry.register(LongBuffer.class, new LongBufferAdapter());
+        registry.register(DoubleBuffer.class, new DoubleBufferAdapter());
+        registry.register(IntDoubleMap.class, INT_DOUBLE_MAP_ADAPTER);
+        registry.register(IntDoubleSortedMap.class, new IntDoubleSortedMapAdapter());
+    }
+
+    /**
+     * Gets the numbers of the raw list.
+     *
+     * @param raw raw value
+     * @return numbers of the list skipping its other elements or {@code null} if the raw value is not a list
+     */
+    private static List<Number> numbers(final Object raw) {
+        if (!(raw instanceof List)) return null;
+
+        val list = (List<?>) raw;
+        val numbers = new ArrayList<Number>(list.size());
+        for (val element : list) if (element instanceof Number) numbers.add((Number) element);
+
+        return numbers;
+    }
+
+    /**
+     * Adapter of UUIDs stored in their canonical string form.
+     */
+    private static class UuidAdapter implements TypeAdapter<UUID> {
+        @Override
+        public UUID decode(final Object raw, final Class<UUID> type) {
+            if (!(raw instanceof String)) return null;
+            try {
+                return UUID.fromString((String) raw);
+            } catch (final IllegalArgumentException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public Object encode(final UUID value) {
+            return value == null ? null : value.toString();
+        }
+    }
+
+    /**
+     * Adapter of durations stored in ISO-8601 form (such as {@code PT1M30S}) or as a number of milliseconds.
+     */
+    private static class DurationAdapter implements TypeAdapter<Duration> {
+        @Override
+        public Duration decode(final Object raw, final Class<Duration> type) {
+            if (raw instanceof Number) return Duration.ofMillis(((Number) raw).longValue());
+            if (!(raw instanceof String)) return null;
+            try {
+                return Duration.parse((String) raw);
+            } catch (final DateTimeParseException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public Object encode(final Duration value) {
+            return value == null ? null : value.toString();
+        }
+
+        @Override
+        public Duration getDefault() {
+            return Duration.ZERO;
+        }
+    }
+
+    /**
+     * Adapter of big decimals stored as strings so that their precision is not lost.
+     */
+    private static class BigDecimalAdapter implements TypeAdapter<BigDecimal> {
+        @Override
+        public BigDecimal decode(final Object raw, final Class<BigDecimal> type) {
+            if (raw instanceof BigDecimal) return (BigDecimal) raw;
+            if (!(raw instanceof String || raw instanceof Number)) return null;
+            try {
+                return new BigDecimal(raw.toString());
+            } catch (final NumberFormatException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public Object encode(final BigDecimal value) {
+            return value == null ? null : value.toString();
+        }
+
+        @Override
+        public BigDecimal getDefault() {
+            return BigDecimal.ZERO;
+        }
+    }
+
+    /**
+     * Adapter of big integers stored as numbers when they fit into {@code long} and as strings otherwise.
+     */
+    private static class BigIntegerAdapter implements TypeAdapter<BigInteger> {
+        @Override
+        public BigInteger decode(final Object raw, final Class<BigInteger> type) {
+            if (raw instanceof BigInteger) return (BigInteger) raw;
+            if (raw instanceof Byte || raw instanceof Short || raw instanceof Integer || raw instanceof Long) return
+                    BigInteger.valueOf(((Number) raw).longValue());
+            if (!(raw instanceof String)) return null;
+            try {
+                return new BigInteger((String) raw);
+            } catch (final NumberFormatException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public Object encode(final BigInteger value) {
+            if (value == null) return null;
+
+            return value.bitLength() < Long.SIZE ? (Object) value.longValue() : value.toString();
+        }
+
+        @Override
+        public BigInteger getDefault() {
+            return BigInteger.ZERO;
+        }
+    }
+
+    /**
+     * Adapter of {@code int} arrays stored as lists of numbers or as arrays by binary formats.
+     */
+    private static class IntArrayAdapter implements TypeAdapter<int[]> {
+        @Override
+        public int[] decode(final Object raw, final Class<int[]> type) {
+            if (raw instanceof int[]) return (int[]) raw;
+            if (raw instanceof IntBuffer) {
+                val buffer = ((IntBuffer) raw).duplicate();
+                val array = new int[buffer.remaining()];
+                buffer.get(array);
+
+                return array;
+            }
+
+            val numbers = numbers(raw);
+            if (numbers == null) return null;
+
+            val array = new int[numbers.size()];
+            for (int i = 0; i < array.length; i++) array[i] = numbers.get(i).intValue();
+
+            return array;
+        }
+
+        @Override
+        public Object encode(final int[] value) {
+            return value;
+        }
+    }
+
+    /**
+     * Adapter of {@code long} arrays stored as lists of numbers or as arrays by binary formats.
+     */
+    private static class LongArrayAdapter implements TypeAdapter<long[]> {
+        @Override
+        public long[] decode(final Object raw, final Class<long[]> type) {
+            if (raw instanceof long[]) return (long[]) raw;
+            if (raw instanceof LongBuffer) {
+                val buffer = ((LongBuffer) raw).duplicate();
+                val array = new long[buffer.remaining()];
+                buffer.get(array);
+
+                return array;
+            }
+
+            val numbers = numbers(raw);
+            if (numbers == null) return null;
+
+            val array = new long[numbers.size()];
+            for (int i = 0; i < array.length; i++) array[i] = numbers.get(i).longValue();
+
+            return array;
+        }
+
+        @Override
+        public Object encode(final long[] value) {
+            return value;
+        }
+    }
+
+    /**
+     * Adapter of {@code double} arrays stored as lists of numbers or as arrays by binary formats.
+     */
+    private static class DoubleArrayAdapter implements TypeAdapter<double[]> {
+        @Override
+        public double[] decode(final Object raw, final Class<double[]> type) {
+            if (raw instanceof double[]) return (double[]) raw;
+            if (raw instanceof DoubleBuffer) {
+                val buffer = ((DoubleBuffer) raw).duplicate();
+                val array = new double[buffer.remaining()];
+                buffer.get(array);
+
+                return array;
+            }
+
+            val numbers = numbers(raw);
+            if (numbers == null) return null;
+
+            val array = new double[numbers.size()];
+            for (int i = 0; i < array.length; i++) array[i] = numbers.get(i).doubleValue();
+
+            return array;
+        }
+
+        @Override
+        public Object encode(final double[] value) {
+            return value;
+        }
+    }
+
+    /**
+     * Adapter of {@code int} buffers which are views of the read file (so are not copied) when read by binary formats.
+     */
+    private static class IntBufferAdapter implements TypeAdapter<IntBuffer> {
+        @Override
+        public IntBuffer decode(final Object raw, final Class<IntBuffer> type) {
+            if (raw instanceof IntBuffer) return (IntBuffer) raw;
+
+            val array = INT_ARRAY_ADAPTER.decode(raw, int[].class);
+            return array == null ? null : IntBuffer.wrap(array);
+        }
+
+        @Override
+        public Object encode(final IntBuffer value) {
+            return INT_ARRAY_ADAPTER.decode(value, int[].class);
+        }
+    }
+
+    /**
+     * Adapter of {@code long} buffers which are views of the read file (so are not copied) when read by binary formats.
+     */
+    private static class LongBufferAdapter implements TypeAdapter<LongBuffer> {
+        @Override
+        public LongBuffer decode(final Object raw, final Class<LongBuffer> type) {
+            if (raw instanceof LongBuffer) return (LongBuffer) raw;
+
+            val array = LONG_ARRAY_ADAPTER.decode(raw, long[].class);
+            return array == null ? null : LongBuffer.wrap(array);
+        }
+
+        @Override
+        public Object encode(final LongBuffer value) {
+            return LONG_ARRAY_ADAPTER.decode(value, long[].class);
+        }
+    }
+
+    /**
+     * Adapter of {@code double} buffers which are views of the read file (so are not copied)
+     * when read by binary formats.
+     */
+    private static class DoubleBufferAdapter implements TypeAdapter<DoubleBuffer> {
+        @Override
+        public DoubleBuffer decode(final Object raw, final Class<DoubleBuffer> type) {
+            if (raw instanceof DoubleBuffer) return (DoubleBuffer) raw;
+
+            val array = DOUBLE_ARRAY_ADAPTER.decode(raw, double[].class);
+            return array == null ? null : DoubleBuffer.wrap(array);
+        }
+
+        @Override
+        public Object encode(final DoubleBuffer value) {
+            return DOUBLE_ARRAY_ADAPTER.decode(value, double[].class);
+        }
+    }
+
+    /**
+     * Adapter of maps of {@code int}s to {@code double}s stored as maps of their string forms to numbers.
+     * Entries whose keys are not {@code int}s or whose values are not numbers are skipped.
+     */
+    private static class IntDoubleMapAdapter implements TypeAdapter<IntDoubleMap> {
+        @Override
+        public IntDoubleMap decode(final Object raw, final Class<IntDoubleMap> type) {
+            if (!(raw instanceof Map)) return null;
+
+            val map = IntDoubleMap.builder();
+            for (val entry : ((Map<?, ?>) raw).entrySet()) {
+                val key = MapKeys.toInt(entry.getKey());
+                val value = entry.getValue();
+                if (key != null && value instanceof Number) map.put(key, ((Number) value).doubleValue());
+            }
+
+            return map.build();
+        }
+
+        @Override
+        public Object encode(final IntDoubleMap value) {
+            if (value == null) return null;
+
+            val map = new LinkedHashMap<String, Object>(Math.max((int) (value.size() / .75f) + 1, 16));
+            value.forEach((key, element) -> map.put(Integer.toString(key), element));
+
+            return map;
+        }
+
+        @Override
+        public IntDoubleMap getDefault() {
+            return IntDoubleMap.empty();
+        }
+    }
+
+    /**
+     * Adapter of sorted maps of {@code int}s to {@code double}s stored as maps of their string forms to numbers.
+     * Entries whose keys are not {@code int}s or whose values are not numbers are skipped.
+     */
+    private static class IntDoubleSortedMapAdapter implements TypeAdapter<IntDoubleSortedMap> {
+        @Override
+        public IntDoubleSortedMap decode(final Object raw, final Class<IntDoubleSortedMap> type) {
+            val map = INT_DOUBLE_MAP_ADAPTER.decode(raw, IntDoubleMap.class);
+            return map == null ? null : IntDoubleSortedMap.of(map);
+        }
+
+        @Override
+        public Object encode(final IntDoubleSortedMap value) {
+            if (value == null) return null;
+
+            val map = new LinkedHashMap<String, Object>(Math.max((int) (value.size() / .75f) + 1, 16));
+            value.forEach((key, element) -> map.put(Integer.toString(key), element));
+
+            return map;
+        }
+
+        @Override
+        public IntDoubleSortedMap getDefault() {
+            return IntDoubleSortedMap.empty();
+        }
+    }
+}
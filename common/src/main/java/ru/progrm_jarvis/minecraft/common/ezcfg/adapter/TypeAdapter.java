@@ -0,0 +1,38 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.adapter;
+
+/**
+ * Adapter converting values of a type from and to the raw form
+ * in which they are stored in a configuration (strings, numbers, booleans, lists and maps).
+ *
+ * @param <T> type of the values
+ *
+ * @see TypeAdapterRegistry
+ */
+public interface TypeAdapter<T> {
+
+    /**
+     * Decodes the value from its raw form.
+     *
+     * @param raw raw value
+     * @param type type of the value
+     * @return decoded value or {@code null} if the raw value is absent or cannot be decoded
+     */
+    T decode(Object raw, Class<T> type);
+
+    /**
+     * Encodes the value to the raw form in which it should be stored in a configuration.
+     *
+     * @param value value to encode
+     * @return raw value
+     */
+    Object encode(T value);
+
+    /**
+     * Gets the value which should be stored if there is neither a value in the configuration nor in the field.
+     *
+     * @return default value
+     */
+    default T getDefault() {
+        return null;
+    }
+}
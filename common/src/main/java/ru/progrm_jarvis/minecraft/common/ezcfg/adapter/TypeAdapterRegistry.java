@@ -0,0 +1,173 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.adapter;
+
+import lombok.NonNull;
+import lombok.val;
+import lombok.var;
+import ru.progrm_jarvis.minecraft.common.ezcfg.collection.IntObjectMap;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of {@link TypeAdapter type adapters}.
+ * Adapters are looked up by the exact type first and then by its superclasses and interfaces,
+ * the result of the lookup is cached per type so that resolving it again is a single hash lookup.
+ * <p>
+ * Adapters should be registered before configs using them are loaded
+ * as the adapters of config fields are resolved once per class.
+ */
+public class TypeAdapterRegistry {
+
+    /**
+     * Marker of types which have no adapter
+     */
+    private static final TypeAdapter<?> NONE = new TypeAdapter<Object>() {
+        @Override
+        public Object decode(final Object raw, final Class<Object> type) {
+            return null;
+        }
+
+        @Override
+        public Object encode(final Object value) {
+            return null;
+        }
+    };
+
+    private final Map<Class<?>, TypeAdapter<?>> adapters = new ConcurrentHashMap<>(),
+            listAdapters = new ConcurrentHashMap<>(),
+            resolvedAdapters = new ConcurrentHashMap<>(),
+            resolvedListAdapters = new ConcurrentHashMap<>();
+
+    /**
+     * Registers the adapter of values of the type (and its subtypes unless they have their own adapters).
+     *
+     * @param type type of the values
+     * @param adapter adapter of the values
+     * @param <T> type of the values
+     */
+    public <T> void register(@NonNull final Class<T> type, @NonNull final TypeAdapter<? super T> adapter) {
+        adapters.put(type, adapter);
+        resolvedAdapters.clear();
+    }
+
+    /**
+     * Registers the adapter of lists of the values of the type.
+     * Lists of the types without such adapters are converted element-wise by the {@link ListTypeAdapter}.
+     *
+     * @param elementType type of the elements of the lists
+     * @param adapter adapter of the lists
+     * @param <E> type of the elements of the lists
+     */
+    public <E> void registerList(@NonNull final Class<E> elementType, @NonNull final TypeAdapter<List<E>> adapter) {
+        listAdapters.put(elementType, adapter);
+        resolvedListAdapters.clear();
+    }
+
+    /**
+     * Gets the adapter of values of the type.
+     *
+     * @param type type of the values
+     * @return adapter of the values or {@code null} if there is none
+     */
+    public TypeAdapter<?> resolve(@NonNull final Class<?> type) {
+        val adapter = resolvedAdapters.computeIfAbsent(type, clazz -> lookup(adapters, clazz));
+        return adapter == NONE ? null : adapter;
+    }
+
+    /**
+     * Gets the adapter of values of the generic type.
+     * Adapters of parameterized lists are either the ones {@link #registerList(Class, TypeAdapter) registered}
+     * for the type of their elements or {@link ListTypeAdapter}s using the adapter of the elements.
+     * Adapters of parameterized maps whose keys and values are not {@link Object}s are {@link MapTypeAdapter}s
+     * using the adapters of their keys and values (which may be generic themselves)
+     * and the ones of {@link IntObjectMap}s are {@link IntObjectMapTypeAdapter}s using the adapter of their values.
+     *
+     * @param type generic type of the values
+     * @return adapter of the values or {@code null} if there is none
+     */
+    @SuppressWarnings("unchecked")
+    public TypeAdapter<?> resolve(@NonNull final Type type) {
+        if (type instanceof Class) return resolve((Class<?>) type);
+
+        val rawType = rawType(type);
+        if (rawType == null) return null;
+
+        if (!(type instanceof ParameterizedType)) return resolve(rawType);
+
+        val typeArguments = ((ParameterizedType) type).getActualTypeArguments();
+        if (List.class.isAssignableFrom(rawType)) {
+            val elementType = rawType(typeArguments[0]);
+            if (elementType != null && elementType != Object.class) {
+                val listAdapter = resolvedListAdapters.computeIfAbsent(
+                        elementType, clazz -> lookup(listAdapters, clazz)
+                );
+                if (listAdapter != NONE) return listAdapter;
+
+                val elementAdapter = resolve(elementType);
+                if (elementAdapter != null) return new ListTypeAdapter<>(
+                        (TypeAdapter<Object>) elementAdapter, (Class<Object>) elementType
+                );
+            }
+        } else if (rawType == IntObjectMap.class) {
+            val valueType = rawType(typeArguments[0]);
+            val valueAdapter = valueType == null || valueType == Object.class ? null : resolve(typeArguments[0]);
+            if (valueAdapter != null) return new IntObjectMapTypeAdapter<>(
+                    (TypeAdapter<Object>) valueAdapter, (Class<Object>) valueType
+            );
+        } else if (Map.class.isAssignableFrom(rawType)) {
+            val keyType = rawType(typeArguments[0]);
+            val valueType = rawType(typeArguments[1]);
+            // untyped maps keep their raw values, typed ones are decoded into maps which the field may store
+            if (keyType != null && keyType != Object.class && valueType != null && valueType != Object.class
+                    && rawType.isAssignableFrom(keyType.isEnum() ? EnumMap.class : LinkedHashMap.class)) {
+                val keyAdapter = resolve(keyType);
+                val valueAdapter = resolve(typeArguments[1]);
+                if (keyAdapter != null && valueAdapter != null) return new MapTypeAdapter<>(
+                        (TypeAdapter<Object>) keyAdapter, (Class<Object>) keyType,
+                        (TypeAdapter<Object>) valueAdapter, (Class<Object>) valueType
+                );
+            }
+        }
+
+        return resolve(rawType);
+    }
+
+    private static Class<?> rawType(final Type type) {
+        if (type instanceof Class) return (Class<?>) type;
+        if (type instanceof ParameterizedType) return rawType(((ParameterizedType) type).getRawType());
+        if (type instanceof WildcardType) return rawType(((WildcardType) type).getUpperBounds()[0]);
+
+        return null;
+    }
+
+    private static TypeAdapter<?> lookup(final Map<Class<?>, TypeAdapter<?>> adapters, final Class<?> type) {
+        var adapter = adapters.get(type);
+        if (adapter != null) return adapter;
+
+        val interfaces = new ArrayDeque<Class<?>>();
+        for (Class<?> clazz = type.getSuperclass(); clazz != null; clazz = clazz.getSuperclass()) {
+            adapter = adapters.get(clazz);
+            if (adapter != null) return adapter;
+        }
+        for (Class<?> clazz = type; clazz != null; clazz = clazz.getSuperclass()) Collections
+                .addAll(interfaces, clazz.getInterfaces());
+
+        while (!interfaces.isEmpty()) {
+            val clazz = interfaces.poll();
+            adapter = adapters.get(clazz);
+            if (adapter != null) return adapter;
+
+            Collections.addAll(interfaces, clazz.getInterfaces());
+        }
+
+        return NONE;
+    }
+}
@@ -0,0 +1,60 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.collection;
+
+import lombok.val;
+
+/**
+ * Open-addressing tables of the indices of entries with {@code int} keys.
+ * Slots of a table hold the indices of the entries plus one so that {@code 0} marks free slots,
+ * tables are at most half full so that probing stays short and always ends at a free slot.
+ */
+final class HashIndex {
+
+    /**
+     * Maximal number of slots which is a power of two
+     */
+    private static final int MAXIMAL_CAPACITY = 1 << 30;
+
+    private HashIndex() {
+        throw new UnsupportedOperationException("HashIndex is a utility class");
+    }
+
+    /**
+     * Gets the number of slots of the table of the entries.
+     *
+     * @param size number of the entries
+     * @return power of two at least twice as big as the number of the entries
+     */
+    static int capacity(final int size) {
+        if (size >= MAXIMAL_CAPACITY >> 1) throw new IllegalArgumentException("Too many entries: " + size);
+
+        return Math.max(Integer.highestOneBit((size << 1) - 1) << 1, 2);
+    }
+
+    /**
+     * Spreads the bits of the key so that sequential keys do not occupy adjacent slots.
+     *
+     * @param key key of the entry
+     * @return hash of the key
+     */
+    static int hash(final int key) {
+        val hash = key * 0x9E3779B9;
+
+        return hash ^ hash >>> 16;
+    }
+
+    /**
+     * Finds the slot of the key.
+     *
+     * @param slots slots of the table
+     * @param keys keys of the entries
+     * @param key key to find
+     * @return slot holding the index of the entry of the key or the free slot at which it should be added
+     */
+    static int slot(final int[] slots, final int[] keys, final int key) {
+        val mask = slots.length - 1;
+        for (int slot = hash(key) & mask; ; slot = slot + 1 & mask) {
+            val index = slots[slot] - 1;
+            if (index == -1 || keys[index] == key) return slot;
+        }
+    }
+}
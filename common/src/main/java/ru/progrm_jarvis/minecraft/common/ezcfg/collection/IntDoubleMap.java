@@ -0,0 +1,250 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.collection;
+
+import lombok.NonNull;
+import lombok.val;
+import lombok.var;
+
+import java.util.Arrays;
+
+/**
+ * Immutable map of {@code int} keys to {@code double} values which never boxes them.
+ * Entries are stored in dense arrays in the order of their insertion
+ * and are looked up by an open-addressing table of their indices with linear probing.
+ *
+ * @see IntDoubleSortedMap
+ */
+public final class IntDoubleMap {
+
+    private static final IntDoubleMap EMPTY = new IntDoubleMap(new int[0], new double[0], 0, new int[1]);
+
+    /**
+     * Keys of the entries in their order
+     */
+    private final int[] keys;
+
+    /**
+     * Values of the entries in their order
+     */
+    private final double[] values;
+
+    private final int size;
+
+    /**
+     * Indices of the entries (plus one so that {@code 0} marks free slots) by the hashes of their keys
+     */
+    private final int[] slots;
+
+    private IntDoubleMap(final int[] keys, final double[] values, final int size, final int[] slots) {
+        this.keys = keys;
+        this.values = values;
+        this.size = size;
+        this.slots = slots;
+    }
+
+    /**
+     * Gets the empty map.
+     *
+     * @return empty map
+     */
+    public static IntDoubleMap empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Creates a new builder of a map.
+     *
+     * @return created builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Gets the number of the entries.
+     *
+     * @return number of the entries
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether there are no entries.
+     *
+     * @return {@code true} if there are no entries and {@code false} otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private int indexOf(final int key) {
+        return slots[HashIndex.slot(slots, keys, key)] - 1;
+    }
+
+    /**
+     * Checks whether there is a value of the key.
+     *
+     * @param key key of the value
+     * @return {@code true} if there is a value of the key and {@code false} otherwise
+     */
+    public boolean containsKey(final int key) {
+        return indexOf(key) != -1;
+    }
+
+    /**
+     * Gets the value of the key.
+     *
+     * @param key key of the value
+     * @param defaultValue value returned if there is no value of the key
+     * @return value of the key or the default value if there is none
+     */
+    public double get(final int key, final double defaultValue) {
+        val entry = indexOf(key);
+
+        return entry == -1 ? defaultValue : values[entry];
+    }
+
+    /**
+     * Gets the key of the entry.
+     *
+     * @param index index of the entry in the order of insertion
+     * @return key of the entry
+     * @throws IndexOutOfBoundsException if there is no entry at the index
+     */
+    public int keyAt(final int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+
+        return keys[index];
+    }
+
+    /**
+     * Gets the value of the entry.
+     *
+     * @param index index of the entry in the order of insertion
+     * @return value of the entry
+     * @throws IndexOutOfBoundsException if there is no entry at the index
+     */
+    public double valueAt(final int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+
+        return values[index];
+    }
+
+    /**
+     * Passes all of the entries to the consumer in the order of their insertion.
+     *
+     * @param consumer consumer of the entries
+     */
+    public void forEach(@NonNull final EntryConsumer consumer) {
+        for (int entry = 0; entry < size; entry++) consumer.accept(keys[entry], values[entry]);
+    }
+
+    @Override
+    public boolean equals(final Object object) {
+        if (object == this) return true;
+        if (!(object instanceof IntDoubleMap)) return false;
+
+        val other = (IntDoubleMap) object;
+        if (other.size != size) return false;
+        for (int entry = 0; entry < size; entry++) {
+            val otherEntry = other.indexOf(keys[entry]);
+            if (otherEntry == -1 || Double.doubleToLongBits(other.values[otherEntry])
+                    != Double.doubleToLongBits(values[entry])) return false;
+        }
+
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        var hash = 0;
+        for (int entry = 0; entry < size; entry++) hash += keys[entry] ^ Double.hashCode(values[entry]);
+
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        val builder = new StringBuilder("{");
+        for (int entry = 0; entry < size; entry++) {
+            if (entry != 0) builder.append(", ");
+            builder.append(keys[entry]).append('=').append(values[entry]);
+        }
+
+        return builder.append('}').toString();
+    }
+
+    /**
+     * Consumer of the entries of a map.
+     */
+    @FunctionalInterface
+    public interface EntryConsumer {
+
+        /**
+         * Accepts the entry.
+         *
+         * @param key key of the entry
+         * @param value value of the entry
+         */
+        void accept(int key, double value);
+    }
+
+    /**
+     * Builder of a map in which the values put later replace the earlier values of the same keys.
+     */
+    public static final class Builder {
+
+        private int[] keys = new int[8];
+
+        private double[] values = new double[8];
+
+        private int size;
+
+        private Builder() {}
+
+        /**
+         * Puts the value of the key.
+         *
+         * @param key key of the value
+         * @param value value of the key
+         * @return this builder
+         */
+        public Builder put(final int key, final double value) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size << 1);
+                values = Arrays.copyOf(values, size << 1);
+            }
+            keys[size] = key;
+            values[size++] = value;
+
+            return this;
+        }
+
+        /**
+         * Builds the map.
+         *
+         * @return built map
+         */
+        public IntDoubleMap build() {
+            if (size == 0) return EMPTY;
+
+            val keys = Arrays.copyOf(this.keys, size);
+            val values = Arrays.copyOf(this.values, size);
+            val slots = new int[HashIndex.capacity(size)];
+            // entries of the repeated keys are dropped keeping the position of the first one and the last value
+            var distinct = 0;
+            for (int entry = 0; entry < size; entry++) {
+                val key = keys[entry];
+                val slot = HashIndex.slot(slots, keys, key);
+                val index = slots[slot] - 1;
+                if (index == -1) {
+                    keys[distinct] = key;
+                    values[distinct] = values[entry];
+                    slots[slot] = ++distinct;
+                } else values[index] = values[entry];
+            }
+
+            return new IntDoubleMap(keys, values, distinct, slots);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.collection;
+
+import lombok.NonNull;
+import lombok.val;
+import lombok.var;
+
+import java.util.Arrays;
+
+/**
+ * Immutable map of {@code int} keys to {@code double} values stored in arrays sorted by the keys
+ * which never boxes them. Values are looked up by binary search and the ones of the closest lower keys
+ * may be {@link #floor(int, double) looked up} as well, such as the values of per-level tables
+ * which are only specified for some of the levels.
+ * Exact lookups of {@link IntDoubleMap} are faster while this map takes less memory.
+ *
+ * @see IntDoubleMap
+ */
+public final class IntDoubleSortedMap {
+
+    private static final IntDoubleSortedMap EMPTY = new IntDoubleSortedMap(new int[0], new double[0]);
+
+    /**
+     * Keys of the entries in ascending order
+     */
+    private final int[] keys;
+
+    /**
+     * Values of the entries in the order of their keys
+     */
+    private final double[] values;
+
+    private IntDoubleSortedMap(final int[] keys, final double[] values) {
+        this.keys = keys;
+        this.values = values;
+    }
+
+    /**
+     * Gets the empty map.
+     *
+     * @return empty map
+     */
+    public static IntDoubleSortedMap empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Creates a map of the entries.
+     *
+     * @param keys keys of the entries in any order
+     * @param values values of the entries in the order of their keys
+     * @return created map
+     * @throws IllegalArgumentException if the numbers of the keys and the values differ or some keys repeat
+     */
+    public static IntDoubleSortedMap of(@NonNull final int[] keys, @NonNull final double[] values) {
+        if (keys.length != values.length) throw new IllegalArgumentException(
+                "There are " + keys.length + " keys but " + values.length + " values"
+        );
+
+        return of(keys, values, keys.length);
+    }
+
+    /**
+     * Creates a map of the entries of the map.
+     *
+     * @param map map whose entries to sort
+     * @return created map
+     */
+    public static IntDoubleSortedMap of(@NonNull final IntDoubleMap map) {
+        val size = map.size();
+        val keys = new int[size];
+        val values = new double[size];
+        for (int entry = 0; entry < size; entry++) {
+            keys[entry] = map.keyAt(entry);
+            values[entry] = map.valueAt(entry);
+        }
+
+        return of(keys, values, size);
+    }
+
+    private static IntDoubleSortedMap of(final int[] keys, final double[] values, final int size) {
+        if (size == 0) return EMPTY;
+
+        // entries are sorted by the order of their keys which are unique
+        val order = new long[size];
+        for (int entry = 0; entry < size; entry++) order[entry] = (long) keys[entry] << 32 | entry;
+        Arrays.sort(order);
+
+        val sortedKeys = new int[size];
+        val sortedValues = new double[size];
+        for (int i = 0; i < size; i++) {
+            val key = (int) (order[i] >> 32);
+            if (i != 0 && sortedKeys[i - 1] == key) throw new IllegalArgumentException("Key " + key + " repeats");
+
+            sortedKeys[i] = key;
+            sortedValues[i] = values[(int) order[i]];
+        }
+
+        return new IntDoubleSortedMap(sortedKeys, sortedValues);
+    }
+
+    /**
+     * Gets the number of the entries.
+     *
+     * @return number of the entries
+     */
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * Checks whether there are no entries.
+     *
+     * @return {@code true} if there are no entries and {@code false} otherwise
+     */
+    public boolean isEmpty() {
+        return keys.length == 0;
+    }
+
+    /**
+     * Checks whether there is a value of the key.
+     *
+     * @param key key of the value
+     * @return {@code true} if there is a value of the key and {@code false} otherwise
+     */
+    public boolean containsKey(final int key) {
+        return Arrays.binarySearch(keys, key) >= 0;
+    }
+
+    /**
+     * Gets the value of the key.
+     *
+     * @param key key of the value
+     * @param defaultValue value returned if there is no value of the key
+     * @return value of the key or the default value if there is none
+     */
+    public double get(final int key, final double defaultValue) {
+        val entry = Arrays.binarySearch(keys, key);
+
+        return entry < 0 ? defaultValue : values[entry];
+    }
+
+    /**
+     * Gets the value of the greatest key less than or equal to the key.
+     *
+     * @param key key of the value
+     * @param defaultValue value returned if all of the keys are greater than the key
+     * @return value of the closest key not greater than the key or the default value if there is none
+     */
+    public double floor(final int key, final double defaultValue) {
+        var entry = Arrays.binarySearch(keys, key);
+        if (entry < 0) entry = -entry - 2;
+
+        return entry < 0 ? defaultValue : values[entry];
+    }
+
+    /**
+     * Gets the key of the entry.
+     *
+     * @param index index of the entry in ascending order of the keys
+     * @return key of the entry
+     * @throws IndexOutOfBoundsException if there is no entry at the index
+     */
+    public int keyAt(final int index) {
+        return keys[index];
+    }
+
+    /**
+     * Gets the value of the entry.
+     *
+     * @param index index of the entry in ascending order of the keys
+     * @return value of the entry
+     * @throws IndexOutOfBoundsException if there is no entry at the index
+     */
+    public double valueAt(final int index) {
+        return values[index];
+    }
+
+    /**
+     * Passes all of the entries to the consumer in ascending order of their keys.
+     *
+     * @param consumer consumer of the entries
+     */
+    public void forEach(@NonNull final IntDoubleMap.EntryConsumer consumer) {
+        for (int entry = 0; entry < keys.length; entry++) consumer.accept(keys[entry], values[entry]);
+    }
+
+    @Override
+    public boolean equals(final Object object) {
+        if (object == this) return true;
+        if (!(object instanceof IntDoubleSortedMap)) return false;
+
+        val other = (IntDoubleSortedMap) object;
+
+        return Arrays.equals(keys, other.keys) && Arrays.equals(values, other.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(keys) + Arrays.hashCode(values);
+    }
+
+    @Override
+    public String toString() {
+        val builder = new StringBuilder("{");
+        for (int entry = 0; entry < keys.length; entry++) {
+            if (entry != 0) builder.append(", ");
+            builder.append(keys[entry]).append('=').append(values[entry]);
+        }
+
+        return builder.append('}').toString();
+    }
+}
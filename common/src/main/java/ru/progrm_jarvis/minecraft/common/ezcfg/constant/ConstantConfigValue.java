@@ -0,0 +1,114 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.constant;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.MutableCallSite;
+import java.util.Objects;
+
+/**
+ * Value of a config field which is treated by the JIT as a constant until it changes.
+ * The value is the target of a {@link MutableCallSite} so that compiled code reading it
+ * folds the value (and branches depending on it) and gets deoptimized once it is {@link #set(Object) changed}.
+ * <p>
+ * The value is folded only when read through its {@link #getInvoker() invoker}
+ * stored in a {@code static final} field as the JIT does not trust other fields to be constant:
+ * <pre>{@code
+ * private static final MethodHandle PVP = listeners.constant(MyConfig::isPvp).getInvoker();
+ * ...
+ * if ((boolean) PVP.invokeExact()) { ... }
+ * }</pre>
+ *
+ * @param <T> type of the value (boxed if it is primitive)
+ */
+public final class ConstantConfigValue<T> {
+
+    private static final MethodType GENERIC_TYPE = MethodType.methodType(Object.class);
+
+    /**
+     * Type of the value, possibly primitive
+     */
+    @Getter private final Class<?> type;
+
+    private final MutableCallSite callSite;
+
+    /**
+     * Method handle of type {@code ()type} returning the current value (unboxed if it is primitive)
+     */
+    @Getter private final MethodHandle invoker;
+
+    private final MethodHandle genericInvoker;
+
+    /**
+     * Current value used to skip relinking if the value does not change
+     */
+    private Object value;
+
+    private ConstantConfigValue(final Class<?> type, final Object value) {
+        this.type = type;
+        this.value = value;
+
+        callSite = new MutableCallSite(MethodHandles.constant(type, value));
+        invoker = callSite.dynamicInvoker();
+        genericInvoker = invoker.asType(GENERIC_TYPE);
+    }
+
+    /**
+     * Creates a new constant value.
+     *
+     * @param type type of the value, primitive types are kept so that the value is read without boxing
+     * @param value initial value
+     * @param <T> type of the value (boxed if it is primitive)
+     * @return created constant value
+     * @throws IllegalArgumentException if the type is primitive and the value is {@code null}
+     * @throws ClassCastException if the value is not of the given type
+     */
+    public static <T> ConstantConfigValue<T> of(@NonNull final Class<?> type, final T value) {
+        if (value == null && type.isPrimitive()) throw new IllegalArgumentException(
+                "Value of primitive type " + type + " cannot be null"
+        );
+
+        return new ConstantConfigValue<>(type, value);
+    }
+
+    /**
+     * Gets the current value.
+     * Unlike invoking the {@link #getInvoker() invoker} stored in a {@code static final} field,
+     * this is not folded by the JIT and so is meant for code which is not hot.
+     *
+     * @return current value
+     */
+    @SneakyThrows
+    @SuppressWarnings("unchecked")
+    public T get() {
+        return (T) (Object) genericInvoker.invokeExact();
+    }
+
+    /**
+     * Changes the value invalidating the code in which the previous one was folded.
+     * This is expensive and so is meant to happen only on reloads.
+     *
+     * @param value new value
+     * @throws IllegalArgumentException if the type is primitive and the value is {@code null}
+     * @throws ClassCastException if the value is not of the type of this constant value
+     */
+    public synchronized void set(final T value) {
+        if (Objects.equals(this.value, value)) return;
+        if (value == null && type.isPrimitive()) throw new IllegalArgumentException(
+                "Value of primitive type " + type + " cannot be null"
+        );
+
+        callSite.setTarget(MethodHandles.constant(type, value));
+        MutableCallSite.syncAll(new MutableCallSite[]{callSite});
+        this.value = value;
+    }
+
+    @Override
+    public String toString() {
+        return "ConstantConfigValue{" + get() + '}';
+    }
+}
@@ -0,0 +1,54 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.format;
+
+import lombok.val;
+import ru.progrm_jarvis.minecraft.common.ezcfg.journal.ValueCodec;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@link ConfigFormat} of binary files containing a header followed by the values encoded by {@link ValueCodec}.
+ * Arrays are read as views of the read buffer.
+ */
+final class BinaryConfigFormat implements ConfigFormat {
+
+    private static final int MAGIC = 0x455A4342; // EZCB
+
+    private static final byte VERSION = 1;
+
+    @Override
+    public Map<String, Object> read(final ByteBuffer buffer) throws IOException {
+        if (!buffer.hasRemaining()) return new LinkedHashMap<>();
+
+        try {
+            if (buffer.getInt() != MAGIC || buffer.get() != VERSION) throw new IOException(
+                    "File is not a binary config of a supported version"
+            );
+        } catch (final BufferUnderflowException e) {
+            throw new IOException("File is not a binary config", e);
+        }
+
+        val document = ValueCodec.INSTANCE.read(buffer);
+        if (!(document instanceof Map)) throw new IOException("Binary config does not contain a map");
+
+        val values = new LinkedHashMap<String, Object>();
+        for (val entry : ((Map<?, ?>) document).entrySet()) values
+                .put(String.valueOf(entry.getKey()), entry.getValue());
+
+        return values;
+    }
+
+    @Override
+    public void write(final Map<String, ?> values, final OutputStream out) throws IOException {
+        val data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeByte(VERSION);
+        ValueCodec.INSTANCE.write(data, values);
+        data.flush();
+    }
+}
@@ -0,0 +1,88 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.format;
+
+import lombok.val;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Format of files storing the raw values of configs:
+ * {@code null}, booleans, numbers, strings, primitive arrays and lists and maps of them.
+ *
+ * @see ConfigFormats
+ */
+public interface ConfigFormat {
+
+    /**
+     * Reads the values from the buffer.
+     *
+     * @param buffer buffer containing the whole file
+     * @return read values by their keys
+     * @throws IOException if the contents of the buffer are malformed
+     */
+    Map<String, Object> read(ByteBuffer buffer) throws IOException;
+
+    /**
+     * Reads the values from the buffer leaving out the ones at the paths.
+     * Formats parsing their files incrementally should override this so that the left out values are never built.
+     *
+     * @param buffer buffer containing the whole file
+     * @param skippedPaths paths of the values which should not be read
+     * @return read values by their keys
+     * @throws IOException if the contents of the buffer are malformed
+     */
+    default Map<String, Object> read(final ByteBuffer buffer, final Collection<String> skippedPaths)
+            throws IOException {
+        val values = read(buffer);
+        for (val path : skippedPaths) ConfigFormats.remove(values, path);
+
+        return values;
+    }
+
+    /**
+     * Opens the entries of the list at the path of the file for reading them one by one.
+     * Formats parsing their files incrementally should override this so that the entries are only built once read.
+     *
+     * @param file file containing the list
+     * @param path path of the list
+     * @return reader of the entries of the list which has none if there is no list at the path
+     * @throws IOException if an I/O error occurs or the file is malformed
+     */
+    default EntryReader readEntries(final Path file, final String path) throws IOException {
+        val list = ConfigFormats.get(read(ByteBuffer.wrap(Files.readAllBytes(file))), path);
+        if (!(list instanceof List)) return ConfigFormats.NO_ENTRIES;
+
+        val entries = ((List<?>) list).iterator();
+
+        return new EntryReader() {
+            @Override
+            public boolean hasNext() {
+                return entries.hasNext();
+            }
+
+            @Override
+            public Object next() {
+                return entries.next();
+            }
+
+            @Override
+            public void close() {}
+        };
+    }
+
+    /**
+     * Writes the values to the output.
+     *
+     * @param values raw values by their keys
+     * @param out output to which to write the values
+     * @throws IOException if an I/O error occurs
+     * @throws IllegalArgumentException if some of the values are not supported by this format
+     */
+    void write(Map<String, ?> values, OutputStream out) throws IOException;
+}
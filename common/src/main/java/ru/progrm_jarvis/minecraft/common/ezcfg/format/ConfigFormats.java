@@ -0,0 +1,174 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.format;
+
+import lombok.NonNull;
+import lombok.val;
+import lombok.var;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Built-in {@link ConfigFormat formats} of config files and their registry by file extensions.
+ */
+public final class ConfigFormats {
+
+    /**
+     * YAML format, used by default
+     */
+    public static final ConfigFormat YAML = new YamlConfigFormat();
+
+    /**
+     * JSON format
+     */
+    public static final ConfigFormat JSON = new JsonConfigFormat();
+
+    /**
+     * Compact length-prefixed binary format whose primitive arrays are read without copying
+     */
+    public static final ConfigFormat BINARY = new BinaryConfigFormat();
+
+    private static final Map<String, ConfigFormat> BY_EXTENSION = new ConcurrentHashMap<>();
+
+    static {
+        register("yml", YAML);
+        register("yaml", YAML);
+        register("json", JSON);
+        register("bin", BINARY);
+    }
+
+    /**
+     * Reader of no entries
+     */
+    static final EntryReader NO_ENTRIES = new EntryReader() {
+        @Override
+        public boolean hasNext() {
+            return false;
+        }
+
+        @Override
+        public Object next() {
+            throw new NoSuchElementException();
+        }
+
+        @Override
+        public void close() {}
+    };
+
+    private ConfigFormats() {
+        throw new UnsupportedOperationException("ConfigFormats is a utility class");
+    }
+
+    /**
+     * Registers the format of the files with the extension.
+     *
+     * @param extension extension of the files (without the leading dot)
+     * @param format format of the files
+     */
+    public static void register(@NonNull final String extension, @NonNull final ConfigFormat format) {
+        BY_EXTENSION.put(extension.toLowerCase(Locale.ROOT), format);
+    }
+
+    /**
+     * Gets the format of the file by its extension.
+     *
+     * @param fileName name of the file
+     * @return format registered for the extension of the file or {@link #YAML} if there is none
+     */
+    public static ConfigFormat of(@NonNull final String fileName) {
+        val dot = fileName.lastIndexOf('.');
+        if (dot == -1) return YAML;
+
+        return BY_EXTENSION.getOrDefault(fileName.substring(dot + 1).toLowerCase(Locale.ROOT), YAML);
+    }
+
+    /**
+     * Reads the values from the file.
+     * The file is read into a single buffer so that the values viewing it are not copied.
+     *
+     * @param file file from which to read the values
+     * @param format format of the file
+     * @return read values by their keys
+     * @throws IOException if an I/O error occurs or the file is malformed
+     */
+    public static Map<String, Object> read(@NonNull final Path file,
+                                           @NonNull final ConfigFormat format) throws IOException {
+        return format.read(ByteBuffer.wrap(Files.readAllBytes(file)));
+    }
+
+    /**
+     * Reads the values from the file leaving out the ones at the paths.
+     *
+     * @param file file from which to read the values
+     * @param format format of the file
+     * @param skippedPaths paths of the values which should not be read
+     * @return read values by their keys
+     * @throws IOException if an I/O error occurs or the file is malformed
+     *
+     * @see ConfigFormat#read(ByteBuffer, Collection)
+     */
+    public static Map<String, Object> read(@NonNull final Path file, @NonNull final ConfigFormat format,
+                                           @NonNull final Collection<String> skippedPaths) throws IOException {
+        val buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+
+        return skippedPaths.isEmpty() ? format.read(buffer) : format.read(buffer, skippedPaths);
+    }
+
+    /**
+     * Writes the values to the file replacing its contents.
+     *
+     * @param file file to which to write the values
+     * @param format format of the file
+     * @param values raw values by their keys
+     * @throws IOException if an I/O error occurs
+     * @throws IllegalArgumentException if some of the values are not supported by the format
+     */
+    public static void write(@NonNull final Path file, @NonNull final ConfigFormat format,
+                             @NonNull final Map<String, ?> values) throws IOException {
+        try (val out = new BufferedOutputStream(Files.newOutputStream(file))) {
+            format.write(values, out);
+        }
+    }
+
+    /**
+     * Gets the value at the dot-separated path of the values.
+     *
+     * @param values values by their keys
+     * @param path path of the value
+     * @return value at the path or {@code null} if there is none
+     */
+    static Object get(Map<?, ?> values, final String path) {
+        var start = 0;
+        for (var end = path.indexOf('.'); end != -1; end = path.indexOf('.', start = end + 1)) {
+            val child = values.get(path.substring(start, end));
+            if (child instanceof Map) values = (Map<?, ?>) child;
+            else return null;
+        }
+
+        return values.get(start == 0 ? path : path.substring(start));
+    }
+
+    /**
+     * Removes the value at the dot-separated path of the values.
+     *
+     * @param values values by their keys
+     * @param path path of the value
+     */
+    static void remove(Map<?, ?> values, final String path) {
+        var start = 0;
+        for (var end = path.indexOf('.'); end != -1; end = path.indexOf('.', start = end + 1)) {
+            val child = values.get(path.substring(start, end));
+            if (child instanceof Map) values = (Map<?, ?>) child;
+            else return;
+        }
+
+        values.remove(start == 0 ? path : path.substring(start));
+    }
+}
@@ -0,0 +1,29 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.format;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Reader of the entries of a list stored in a file which reads them one by one as they are requested.
+ *
+ * @see ConfigFormat#readEntries(java.nio.file.Path, String)
+ */
+public interface EntryReader extends Closeable {
+
+    /**
+     * Checks whether there are more entries.
+     *
+     * @return {@code true} if there are more entries and {@code false} otherwise
+     * @throws IOException if an I/O error occurs or the file is malformed
+     */
+    boolean hasNext() throws IOException;
+
+    /**
+     * Reads the next entry.
+     *
+     * @return raw value of the next entry
+     * @throws IOException if an I/O error occurs or the file is malformed
+     * @throws java.util.NoSuchElementException if there are no more entries
+     */
+    Object next() throws IOException;
+}
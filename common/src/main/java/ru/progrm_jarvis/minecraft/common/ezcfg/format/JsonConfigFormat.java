@@ -0,0 +1,232 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.format;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import lombok.val;
+import lombok.var;
+
+import java.io.CharArrayReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * {@link ConfigFormat} of JSON files read and written by Gson's streaming API.
+ * Integral numbers are read as {@code int}s or {@code long}s (if they do not fit) and the others as {@code double}s.
+ */
+final class JsonConfigFormat implements ConfigFormat {
+
+    @Override
+    public Map<String, Object> read(final ByteBuffer buffer) throws IOException {
+        val chars = StandardCharsets.UTF_8.decode(buffer);
+        try (val reader = new JsonReader(new CharArrayReader(chars.array(), chars.position(), chars.remaining()))) {
+            if (reader.peek() == JsonToken.END_DOCUMENT) return new LinkedHashMap<>();
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) throw new IOException("JSON document is not an object");
+
+            return readObject(reader);
+        } catch (final IllegalStateException | NumberFormatException e) {
+            throw new IOException("Malformed JSON", e);
+        }
+    }
+
+    @Override
+    public Map<String, Object> read(final ByteBuffer buffer, final Collection<String> skippedPaths)
+            throws IOException {
+        val chars = StandardCharsets.UTF_8.decode(buffer);
+        try (val reader = new JsonReader(new CharArrayReader(chars.array(), chars.position(), chars.remaining()))) {
+            if (reader.peek() == JsonToken.END_DOCUMENT) return new LinkedHashMap<>();
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) throw new IOException("JSON document is not an object");
+
+            return readObject(reader, "", new HashSet<>(skippedPaths));
+        } catch (final IllegalStateException | NumberFormatException e) {
+            throw new IOException("Malformed JSON", e);
+        }
+    }
+
+    @Override
+    public EntryReader readEntries(final Path file, final String path) throws IOException {
+        val reader = new JsonReader(Files.newBufferedReader(file, StandardCharsets.UTF_8));
+        try {
+            var found = reader.peek() == JsonToken.BEGIN_OBJECT;
+            var start = 0;
+            while (found) {
+                val end = path.indexOf('.', start);
+                val key = end == -1 ? path.substring(start) : path.substring(start, end);
+
+                found = false;
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    if (reader.nextName().equals(key)) {
+                        found = true;
+                        break;
+                    }
+                    reader.skipValue();
+                }
+
+                if (end == -1) break;
+                found &= reader.peek() == JsonToken.BEGIN_OBJECT;
+                start = end + 1;
+            }
+
+            if (found && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                reader.beginArray();
+
+                return new EntryReader() {
+                    @Override
+                    public boolean hasNext() throws IOException {
+                        try {
+                            return reader.hasNext();
+                        } catch (final IllegalStateException e) {
+                            throw new IOException("Malformed JSON", e);
+                        }
+                    }
+
+                    @Override
+                    public Object next() throws IOException {
+                        if (!hasNext()) throw new NoSuchElementException();
+
+                        try {
+                            return readValue(reader);
+                        } catch (final IllegalStateException | NumberFormatException e) {
+                            throw new IOException("Malformed JSON", e);
+                        }
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        reader.close();
+                    }
+                };
+            }
+        } catch (final IllegalStateException e) {
+            reader.close();
+            throw new IOException("Malformed JSON", e);
+        } catch (final IOException | RuntimeException e) {
+            reader.close();
+            throw e;
+        }
+
+        reader.close();
+
+        return ConfigFormats.NO_ENTRIES;
+    }
+
+    private static Map<String, Object> readObject(final JsonReader reader) throws IOException {
+        val object = new LinkedHashMap<String, Object>();
+        reader.beginObject();
+        while (reader.hasNext()) object.put(reader.nextName(), readValue(reader));
+        reader.endObject();
+
+        return object;
+    }
+
+    private static Map<String, Object> readObject(final JsonReader reader,
+                                                  final String prefix, final Set<String> skippedPaths)
+            throws IOException {
+        val object = new LinkedHashMap<String, Object>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            val name = reader.nextName();
+            val path = prefix + name;
+            if (skippedPaths.contains(path)) reader.skipValue();
+            else if (reader.peek() == JsonToken.BEGIN_OBJECT) object
+                    .put(name, readObject(reader, path + '.', skippedPaths));
+            else object.put(name, readValue(reader));
+        }
+        reader.endObject();
+
+        return object;
+    }
+
+    private static Object readValue(final JsonReader reader) throws IOException {
+        switch (reader.peek()) {
+            case BEGIN_OBJECT: return readObject(reader);
+            case BEGIN_ARRAY: {
+                val array = new ArrayList<Object>();
+                reader.beginArray();
+                while (reader.hasNext()) array.add(readValue(reader));
+                reader.endArray();
+
+                return array;
+            }
+            case STRING: return reader.nextString();
+            case NUMBER: return parseNumber(reader.nextString());
+            case BOOLEAN: return reader.nextBoolean();
+            case NULL: {
+                reader.nextNull();
+
+                return null;
+            }
+            default: throw new IOException("Unexpected token " + reader.peek());
+        }
+    }
+
+    private static Object parseNumber(final String number) {
+        for (int i = 0; i < number.length(); i++) {
+            val character = number.charAt(i);
+            if (character == '.' || character == 'e' || character == 'E') return Double.parseDouble(number);
+        }
+
+        try {
+            val value = Long.parseLong(number);
+            return value == (int) value ? (Object) (int) value : (Object) value;
+        } catch (final NumberFormatException e) {
+            return Double.parseDouble(number);
+        }
+    }
+
+    @Override
+    public void write(final Map<String, ?> values, final OutputStream out) throws IOException {
+        val writer = new JsonWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.setIndent("  ");
+        writeValue(writer, values);
+        writer.flush();
+    }
+
+    private static void writeValue(final JsonWriter writer, final Object value) throws IOException {
+        if (value == null) writer.nullValue();
+        else if (value instanceof String) writer.value((String) value);
+        else if (value instanceof Boolean) writer.value((boolean) (Boolean) value);
+        else if (value instanceof Number) writer.value((Number) value);
+        else if (value instanceof Character) writer.value(value.toString());
+        else if (value instanceof Map) {
+            writer.beginObject();
+            for (val entry : ((Map<?, ?>) value).entrySet()) {
+                writer.name(String.valueOf(entry.getKey()));
+                writeValue(writer, entry.getValue());
+            }
+            writer.endObject();
+        } else if (value instanceof List) {
+            writer.beginArray();
+            for (val element : (List<?>) value) writeValue(writer, element);
+            writer.endArray();
+        } else if (value instanceof int[]) {
+            writer.beginArray();
+            for (val element : (int[]) value) writer.value(element);
+            writer.endArray();
+        } else if (value instanceof long[]) {
+            writer.beginArray();
+            for (val element : (long[]) value) writer.value(element);
+            writer.endArray();
+        } else if (value instanceof double[]) {
+            writer.beginArray();
+            for (val element : (double[]) value) writer.value(element);
+            writer.endArray();
+        } else throw new IllegalArgumentException(
+                "Values of type " + value.getClass().getName() + " are not supported"
+        );
+    }
+}
@@ -0,0 +1,80 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.format;
+
+import lombok.val;
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.error.YAMLException;
+
+import java.io.CharArrayReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@link ConfigFormat} of YAML files using the same style as Bukkit and BungeeCord.
+ */
+final class YamlConfigFormat implements ConfigFormat {
+
+    @Override
+    public Map<String, Object> read(final ByteBuffer buffer) throws IOException {
+        final Object document;
+        try {
+            document = new Yaml().load(StandardCharsets.UTF_8.decode(buffer).toString());
+        } catch (final YAMLException e) {
+            throw new IOException("Malformed YAML", e);
+        }
+
+        if (document == null) return new LinkedHashMap<>();
+        if (!(document instanceof Map)) throw new IOException("YAML document is not a mapping");
+
+        val values = new LinkedHashMap<String, Object>();
+        for (val entry : ((Map<?, ?>) document).entrySet()) values
+                .put(String.valueOf(entry.getKey()), entry.getValue());
+
+        return values;
+    }
+
+    @Override
+    public Map<String, Object> read(final ByteBuffer buffer, final Collection<String> skippedPaths)
+            throws IOException {
+        val chars = StandardCharsets.UTF_8.decode(buffer);
+        try (val events = new YamlEvents(new CharArrayReader(chars.array(), chars.position(), chars.remaining()))) {
+            return events.readDocument(new HashSet<>(skippedPaths));
+        }
+    }
+
+    @Override
+    public EntryReader readEntries(final Path file, final String path) throws IOException {
+        val events = new YamlEvents(Files.newBufferedReader(file, StandardCharsets.UTF_8));
+        try {
+            return events.readEntries(path);
+        } catch (final IOException | RuntimeException e) {
+            events.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void write(final Map<String, ?> values, final OutputStream out) throws IOException {
+        val options = new DumperOptions();
+        options.setIndent(2);
+        options.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
+        options.setAllowUnicode(true);
+
+        val writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        try {
+            new Yaml(options).dump(values, writer);
+        } catch (final YAMLException e) {
+            throw new IllegalArgumentException("Values cannot be represented in YAML", e);
+        }
+        writer.flush();
+    }
+}
@@ -0,0 +1,303 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.format;
+
+import lombok.val;
+import lombok.var;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.events.AliasEvent;
+import org.yaml.snakeyaml.events.CollectionEndEvent;
+import org.yaml.snakeyaml.events.CollectionStartEvent;
+import org.yaml.snakeyaml.events.DocumentStartEvent;
+import org.yaml.snakeyaml.events.Event;
+import org.yaml.snakeyaml.events.MappingEndEvent;
+import org.yaml.snakeyaml.events.MappingStartEvent;
+import org.yaml.snakeyaml.events.NodeEvent;
+import org.yaml.snakeyaml.events.ScalarEvent;
+import org.yaml.snakeyaml.events.SequenceEndEvent;
+import org.yaml.snakeyaml.events.SequenceStartEvent;
+import org.yaml.snakeyaml.events.StreamStartEvent;
+import org.yaml.snakeyaml.nodes.NodeId;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.parser.Parser;
+import org.yaml.snakeyaml.parser.ParserImpl;
+import org.yaml.snakeyaml.reader.StreamReader;
+import org.yaml.snakeyaml.resolver.Resolver;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Reader of the values of a YAML document building them directly from the events of the parser
+ * so that the values which are not needed are skipped without being built.
+ * Values are built the same way as the ones {@link org.yaml.snakeyaml.Yaml#load(Reader) loaded} by SnakeYAML
+ * except for explicitly tagged collections which are read as plain lists and maps.
+ */
+final class YamlEvents implements Closeable {
+
+    private static final Resolver RESOLVER = new Resolver();
+
+    private final Reader reader;
+
+    private final Parser parser;
+
+    private final ScalarConstructor constructor = new ScalarConstructor();
+
+    /**
+     * Values of the anchors met so far by their names
+     */
+    private final Map<String, Object> anchors = new HashMap<>();
+
+    YamlEvents(final Reader reader) {
+        this.reader = reader;
+        parser = new ParserImpl(new StreamReader(reader));
+    }
+
+    /**
+     * Reads the mapping which is the root of the document.
+     *
+     * @param skippedPaths dot-separated paths of the values which should be skipped
+     * @return read values by their keys
+     * @throws IOException if an I/O error occurs or the document is malformed or is not a mapping
+     */
+    Map<String, Object> readDocument(final Set<String> skippedPaths) throws IOException {
+        val values = new LinkedHashMap<String, Object>();
+        val root = startDocument();
+        if (root == null || root instanceof ScalarEvent && readScalar((ScalarEvent) root) == null) return values;
+        if (!(root instanceof MappingStartEvent)) throw new IOException("YAML document is not a mapping");
+
+        for (val entry : readMapping((MappingStartEvent) root, "", skippedPaths).entrySet()) values
+                .put(String.valueOf(entry.getKey()), entry.getValue());
+
+        return values;
+    }
+
+    /**
+     * Opens the entries of the sequence at the path of the document.
+     *
+     * @param path dot-separated path of the sequence
+     * @return reader of the entries of the sequence which has none if there is no sequence at the path
+     * @throws IOException if an I/O error occurs or the document is malformed
+     */
+    EntryReader readEntries(final String path) throws IOException {
+        var event = startDocument();
+        var start = 0;
+        while (event instanceof MappingStartEvent) {
+            val end = path.indexOf('.', start);
+            val key = end == -1 ? path.substring(start) : path.substring(start, end);
+
+            event = null;
+            while (!(peekEvent() instanceof MappingEndEvent)) {
+                val keyEvent = nextEvent();
+                if (keyEvent instanceof ScalarEvent && key.equals(String.valueOf(readValue(keyEvent)))) {
+                    event = nextEvent();
+                    break;
+                }
+                skipValue(keyEvent);
+                skipValue(nextEvent());
+            }
+
+            if (end == -1) break;
+            start = end + 1;
+        }
+
+        if (event instanceof SequenceStartEvent) return new SequenceEntryReader();
+
+        close();
+
+        return ConfigFormats.NO_ENTRIES;
+    }
+
+    /**
+     * Starts reading the document.
+     *
+     * @return event of the root of the document or {@code null} if there is no document
+     * @throws IOException if an I/O error occurs or the document is malformed
+     */
+    private Event startDocument() throws IOException {
+        if (!(nextEvent() instanceof StreamStartEvent)) throw new IOException("Malformed YAML stream");
+        if (!(peekEvent() instanceof DocumentStartEvent)) return null;
+        nextEvent();
+
+        return nextEvent();
+    }
+
+    private Object readValue(final Event event) throws IOException {
+        if (event instanceof AliasEvent) {
+            val anchor = ((AliasEvent) event).getAnchor();
+            if (!anchors.containsKey(anchor)) throw new IOException("Undefined alias " + anchor);
+
+            return anchors.get(anchor);
+        }
+
+        final Object value;
+        if (event instanceof ScalarEvent) value = readScalar((ScalarEvent) event);
+        else if (event instanceof SequenceStartEvent) {
+            val sequence = new ArrayList<Object>();
+            while (!(peekEvent() instanceof SequenceEndEvent)) sequence.add(readValue(nextEvent()));
+            nextEvent();
+
+            value = sequence;
+        } else if (event instanceof MappingStartEvent) return readMapping((MappingStartEvent) event, null, null);
+        else throw new IOException("Unexpected YAML event " + event);
+
+        val anchor = ((NodeEvent) event).getAnchor();
+        if (anchor != null) anchors.put(anchor, value);
+
+        return value;
+    }
+
+    private Map<Object, Object> readMapping(final MappingStartEvent event,
+                                            final String prefix, final Set<String> skippedPaths) throws IOException {
+        var mapping = new LinkedHashMap<Object, Object>();
+        List<Object> merged = null;
+        while (!(peekEvent() instanceof MappingEndEvent)) {
+            val keyEvent = nextEvent();
+            if (keyEvent instanceof ScalarEvent && Tag.MERGE.equals(tag((ScalarEvent) keyEvent))) {
+                if (merged == null) merged = new ArrayList<>();
+                merged.add(readValue(nextEvent()));
+                continue;
+            }
+
+            val key = readValue(keyEvent);
+            val valueEvent = nextEvent();
+            if (skippedPaths == null || !(key instanceof String)) mapping.put(key, readValue(valueEvent));
+            else {
+                val path = prefix + key;
+                if (skippedPaths.contains(path)) skipValue(valueEvent);
+                else if (valueEvent instanceof MappingStartEvent && ((NodeEvent) valueEvent).getAnchor() == null
+                        && isPrefix(path + '.', skippedPaths)) mapping
+                        .put(key, readMapping((MappingStartEvent) valueEvent, path + '.', skippedPaths));
+                else mapping.put(key, readValue(valueEvent));
+            }
+        }
+        nextEvent();
+
+        // merged keys go first just as SnakeYAML puts them, explicit keys take precedence over merged ones
+        // which take precedence over the ones merged after them
+        if (merged != null) {
+            val explicit = mapping;
+            mapping = new LinkedHashMap<>();
+            for (val value : merged) {
+                if (value instanceof Map) merge(mapping, (Map<?, ?>) value);
+                else if (value instanceof List) for (val element : (List<?>) value) {
+                    if (element instanceof Map) merge(mapping, (Map<?, ?>) element);
+                    else throw new IOException("Only mappings can be merged");
+                } else throw new IOException("Only mappings can be merged");
+            }
+            mapping.putAll(explicit);
+        }
+
+        val anchor = event.getAnchor();
+        if (anchor != null) anchors.put(anchor, mapping);
+
+        return mapping;
+    }
+
+    /**
+     * Skips the value without building it unless it (or any of its elements) is anchored.
+     *
+     * @param event first event of the value
+     * @throws IOException if an I/O error occurs or the document is malformed
+     */
+    private void skipValue(final Event event) throws IOException {
+        if (event instanceof NodeEvent && ((NodeEvent) event).getAnchor() != null) readValue(event);
+        else if (event instanceof CollectionStartEvent) {
+            while (!(peekEvent() instanceof CollectionEndEvent)) skipValue(nextEvent());
+            nextEvent();
+        }
+    }
+
+    private Object readScalar(final ScalarEvent event) throws IOException {
+        try {
+            return constructor.construct(new ScalarNode(
+                    tag(event), event.getValue(), event.getStartMark(), event.getEndMark(), event.getStyle()
+            ));
+        } catch (final YAMLException e) {
+            throw new IOException("Malformed YAML", e);
+        }
+    }
+
+    private static Tag tag(final ScalarEvent event) {
+        val tag = event.getTag();
+
+        return tag == null || tag.equals("!")
+                ? RESOLVER.resolve(NodeId.scalar, event.getValue(), event.getImplicit().canOmitTagInPlainScalar())
+                : new Tag(tag);
+    }
+
+    private static boolean isPrefix(final String prefix, final Set<String> paths) {
+        for (val path : paths) if (path.startsWith(prefix)) return true;
+
+        return false;
+    }
+
+    private static void merge(final Map<Object, Object> mapping, final Map<?, ?> merged) {
+        for (val entry : merged.entrySet()) mapping.putIfAbsent(entry.getKey(), entry.getValue());
+    }
+
+    private Event nextEvent() throws IOException {
+        try {
+            val event = parser.getEvent();
+            if (event == null) throw new IOException("Unexpected end of YAML stream");
+
+            return event;
+        } catch (final YAMLException e) {
+            throw new IOException("Malformed YAML", e);
+        }
+    }
+
+    private Event peekEvent() throws IOException {
+        try {
+            val event = parser.peekEvent();
+            if (event == null) throw new IOException("Unexpected end of YAML stream");
+
+            return event;
+        } catch (final YAMLException e) {
+            throw new IOException("Malformed YAML", e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private final class SequenceEntryReader implements EntryReader {
+
+        @Override
+        public boolean hasNext() throws IOException {
+            return !(peekEvent() instanceof SequenceEndEvent);
+        }
+
+        @Override
+        public Object next() throws IOException {
+            if (!hasNext()) throw new NoSuchElementException();
+
+            return readValue(nextEvent());
+        }
+
+        @Override
+        public void close() throws IOException {
+            YamlEvents.this.close();
+        }
+    }
+
+    /**
+     * Constructor of scalars which does not track the constructed values (as only nodes of documents need it).
+     */
+    private static final class ScalarConstructor extends SafeConstructor {
+
+        private Object construct(final ScalarNode node) {
+            return getConstructor(node).construct(node);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.io;
+
+import lombok.NonNull;
+import lombok.val;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Utilities for config files of any {@link java.nio.file.FileSystem file system}
+ * such as the default one, the one of a jar (for reading bundled defaults without extracting them)
+ * or an in-memory one.
+ */
+public final class ConfigFiles {
+
+    private ConfigFiles() {
+        throw new UnsupportedOperationException("ConfigFiles is a utility class");
+    }
+
+    /**
+     * Gets the file of the default file system located by the path.
+     *
+     * @param file path of the file
+     * @return file located by the path or {@code null} if the path is not of the default file system
+     */
+    public static File toFile(@NonNull final Path file) {
+        return file.getFileSystem() == FileSystems.getDefault() ? file.toFile() : null;
+    }
+
+    /**
+     * Creates the file along with its parent directories unless it already exists.
+     * Concurrent creations of the same file do not fail.
+     *
+     * @param file file to create
+     * @throws IOException if an I/O error occurs
+     */
+    public static void createIfAbsent(@NonNull final Path file) throws IOException {
+        if (Files.isRegularFile(file)) return;
+
+        val parent = file.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        try {
+            Files.createFile(file);
+        } catch (final FileAlreadyExistsException ignored) {}
+    }
+}
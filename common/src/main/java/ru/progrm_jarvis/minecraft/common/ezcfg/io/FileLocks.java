@@ -0,0 +1,99 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.io;
+
+import lombok.NonNull;
+import lombok.val;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Striped table of locks of config files keyed by their canonical paths.
+ * Reads of a file share its read lock while writes (including the reads preceding them) take its write lock
+ * so that loads never see half-written files and saves never lose the updates of each other.
+ * Files of different stripes are never blocked by each other while files sharing a stripe only contend.
+ * <p>
+ * The locks are {@link StampedLock}s which are not reentrant but may be released by threads other than
+ * the ones which have acquired them (so that they may be held by asynchronous operations)
+ * and allow the read lock to be converted to the write lock.
+ */
+public final class FileLocks {
+
+    /**
+     * Number of stripes which is a power of two
+     */
+    private static final int STRIPES = 256;
+
+    private static final StampedLock[] LOCKS = new StampedLock[STRIPES];
+
+    static {
+        for (int i = 0; i < STRIPES; i++) LOCKS[i] = new StampedLock();
+    }
+
+    private FileLocks() {
+        throw new UnsupportedOperationException("FileLocks is a utility class");
+    }
+
+    /**
+     * Gets the lock of the file.
+     *
+     * @param file file whose lock to get
+     * @return lock of the file shared by the files of the same stripe
+     */
+    public static StampedLock of(@NonNull final File file) {
+        return LOCKS[stripe(file)];
+    }
+
+    /**
+     * Gets the lock of the file of any file system.
+     *
+     * @param file file whose lock to get
+     * @return lock of the file shared by the files of the same stripe
+     */
+    public static StampedLock of(@NonNull final Path file) {
+        val localFile = ConfigFiles.toFile(file);
+        if (localFile != null) return of(localFile);
+
+        // files of other file systems are keyed by their URIs identifying the file system as well
+        return LOCKS[stripe(file.toAbsolutePath().normalize().toUri().toString())];
+    }
+
+    /**
+     * Acquires the write locks of all of the files waiting for them if needed.
+     * Stripes are locked in the same order by all threads so that the groups of files locked concurrently
+     * never deadlock, each stripe shared by several of the files is locked only once.
+     *
+     * @param files files whose write locks to acquire
+     * @return action releasing the acquired locks which may be run by any thread
+     */
+    public static Runnable writeLockAll(@NonNull final Collection<File> files) {
+        val locked = new boolean[STRIPES];
+        for (val file : files) locked[stripe(file)] = true;
+
+        val stamps = new long[STRIPES];
+        for (int i = 0; i < STRIPES; i++) if (locked[i]) stamps[i] = LOCKS[i].writeLock();
+
+        return () -> {
+            for (int i = STRIPES - 1; i >= 0; i--) if (locked[i]) LOCKS[i].unlockWrite(stamps[i]);
+        };
+    }
+
+    private static int stripe(final File file) {
+        String path;
+        try {
+            path = file.getCanonicalPath();
+        } catch (final IOException e) {
+            path = file.getAbsolutePath();
+        }
+
+        return stripe(path);
+    }
+
+    private static int stripe(final String path) {
+        val hash = path.hashCode();
+
+        return (hash ^ hash >>> 16) & STRIPES - 1;
+    }
+}
@@ -0,0 +1,202 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.io;
+
+import lombok.NonNull;
+import lombok.val;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Writer of many files at once which makes them durable together instead of one by one.
+ * <p>
+ * Each file is serialized and written to a temporary file next to it as a single pipelined task,
+ * all the tasks running in parallel. Once all of them are done, the temporary files are forced
+ * to the storage device together (so that the file system commits them in as few journal transactions
+ * as it can) and only then they atomically replace the files, after which each of their directories is forced once.
+ * Thus every file either keeps its old contents or gets the new ones even if the machine crashes midway.
+ */
+public final class GroupCommit {
+
+    private static final Logger LOGGER = Logger.getLogger(GroupCommit.class.getName());
+
+    private GroupCommit() {
+        throw new UnsupportedOperationException("GroupCommit is a utility class");
+    }
+
+    /**
+     * Writes the files.
+     *
+     * @param entries entries describing the files to write
+     * @param executor executor by which the files are serialized, written and forced
+     * @return future completed with the results of the entries in their order once all of them are durable,
+     * it is never completed exceptionally as the errors are reported per file
+     */
+    public static CompletableFuture<List<WriteResult>> write(@NonNull final List<? extends Entry> entries,
+                                                             @NonNull final Executor executor) {
+        val size = entries.size();
+        if (size == 0) return CompletableFuture.completedFuture(Collections.emptyList());
+
+        val files = new Path[size];
+        val temporaryFiles = new Path[size];
+        val errors = new Throwable[size];
+
+        // serialization and writing of the temporary files
+        final CompletableFuture<?>[] writes = new CompletableFuture<?>[size];
+        for (int i = 0; i < size; i++) {
+            val index = i;
+            val entry = entries.get(i);
+            files[i] = entry.getFile().toAbsolutePath();
+            writes[i] = CompletableFuture.runAsync(() -> {
+                try {
+                    val contents = entry.serialize();
+                    if (contents != null) temporaryFiles[index] = writeTemporary(files[index], contents);
+                } catch (final Throwable e) {
+                    errors[index] = e;
+                }
+            }, executor);
+        }
+
+        return CompletableFuture.allOf(writes)
+                .thenCompose(ignored -> force(temporaryFiles, errors, executor))
+                .thenApplyAsync(ignored -> {
+                    val directories = new LinkedHashSet<Path>();
+                    for (int i = 0; i < size; i++) {
+                        val temporaryFile = temporaryFiles[i];
+                        if (temporaryFile == null) continue;
+
+                        if (errors[i] == null) try {
+                            move(temporaryFile, files[i]);
+                            directories.add(files[i].getParent());
+
+                            continue;
+                        } catch (final IOException | RuntimeException e) {
+                            errors[i] = e;
+                        }
+                        deleteQuietly(temporaryFile);
+                    }
+                    for (val directory : directories) forceDirectory(directory);
+
+                    val results = new ArrayList<WriteResult>(size);
+                    for (int i = 0; i < size; i++) {
+                        val error = errors[i];
+                        val result = WriteResult.of(files[i], error == null && temporaryFiles[i] != null, error);
+                        try {
+                            entries.get(i).committed(result);
+                        } catch (final RuntimeException e) {
+                            LOGGER.log(Level.WARNING, "Could not complete the write of " + files[i], e);
+                        }
+                        results.add(result);
+                    }
+
+                    return results;
+                }, executor);
+    }
+
+    private static Path writeTemporary(final Path file, final byte[] contents) throws IOException {
+        val temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try (val channel = FileChannel.open(temporaryFile, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            val buffer = ByteBuffer.wrap(contents);
+            while (buffer.hasRemaining()) channel.write(buffer);
+        } catch (final IOException | RuntimeException e) {
+            deleteQuietly(temporaryFile);
+            throw e;
+        }
+
+        return temporaryFile;
+    }
+
+    /**
+     * Forces the written temporary files to the storage device in parallel which is the durability barrier.
+     *
+     * @param temporaryFiles written temporary files ({@code null}s are skipped)
+     * @param errors errors of the entries to which the errors of forcing are stored
+     * @param executor executor by which the files are forced
+     * @return future completed once all the files are forced
+     */
+    private static CompletableFuture<Void> force(final Path[] temporaryFiles, final Throwable[] errors,
+                                                 final Executor executor) {
+        val forces = new ArrayList<CompletableFuture<Void>>(temporaryFiles.length);
+        for (int i = 0; i < temporaryFiles.length; i++) {
+            val temporaryFile = temporaryFiles[i];
+            if (temporaryFile == null) continue;
+
+            val index = i;
+            forces.add(CompletableFuture.runAsync(() -> {
+                try (val channel = FileChannel.open(temporaryFile, StandardOpenOption.WRITE)) {
+                    channel.force(true);
+                } catch (final Throwable e) {
+                    errors[index] = e;
+                }
+            }, executor));
+        }
+
+        return CompletableFuture.allOf(forces.toArray(new CompletableFuture<?>[0]));
+    }
+
+    private static void move(final Path source, final Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void forceDirectory(final Path directory) {
+        // not all platforms (such as Windows) allow directories to be opened
+        try (val channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (final IOException ignored) {}
+    }
+
+    private static void deleteQuietly(final Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (final IOException e) {
+            LOGGER.log(Level.WARNING, "Could not delete temporary file " + file, e);
+        }
+    }
+
+    /**
+     * File written by a {@link GroupCommit group commit}.
+     */
+    public interface Entry {
+
+        /**
+         * Gets the file to write.
+         *
+         * @return file to write
+         */
+        Path getFile();
+
+        /**
+         * Serializes the new contents of the file.
+         * This is called by the executor of the commit in parallel with the other entries.
+         *
+         * @return new contents of the file or {@code null} if it should not be written
+         * @throws Exception if the contents cannot be serialized
+         */
+        byte[] serialize() throws Exception;
+
+        /**
+         * Handles the result of writing the file once all the files of the commit are durable.
+         *
+         * @param result result of writing the file
+         */
+        default void committed(final WriteResult result) {}
+    }
+}
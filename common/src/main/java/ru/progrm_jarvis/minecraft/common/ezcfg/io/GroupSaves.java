@@ -0,0 +1,158 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.io;
+
+import lombok.NonNull;
+import lombok.val;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Saves of many configs at once (such as on autosave or when the plugin is disabled)
+ * which compare and serialize the configs in parallel and make all of their files durable together.
+ * The {@link FileLocks locks} of all of the files are held until the whole group is committed.
+ * <p>
+ * Configs should not be modified while they are being saved.
+ *
+ * @see GroupCommit
+ */
+public final class GroupSaves {
+
+    private GroupSaves() {
+        throw new UnsupportedOperationException("GroupSaves is a utility class");
+    }
+
+    /**
+     * Saves the configs to their files as a single group commit.
+     *
+     * @param configs configs to save with the files to which to save them
+     * @param executor executor by which the configs are serialized and their files are written
+     * @param preparer preparer of the saves of the configs
+     * @param <C> type of the configs
+     * @return future completed with the results of the files (in the iteration order of the configs)
+     * once all of them are durable
+     */
+    public static <C> CompletableFuture<List<WriteResult>> saveAll(@NonNull final Map<? extends C, File> configs,
+                                                                   @NonNull final Executor executor,
+                                                                   @NonNull final Preparer<? super C> preparer) {
+        val entries = new ArrayList<SaveEntry<C>>(configs.size());
+        for (val entry : configs.entrySet()) entries.add(new SaveEntry<>(entry.getKey(), entry.getValue(), preparer));
+        val files = new ArrayList<File>(configs.values());
+
+        // the files are locked from being compared with the configs until all of them are durable
+        return CompletableFuture.supplyAsync(() -> FileLocks.writeLockAll(files), executor).thenCompose(
+                unlock -> GroupCommit.write(entries, executor).whenComplete((results, error) -> unlock.run())
+        );
+    }
+
+    /**
+     * Saves the configs to their files as a single group commit waiting for all of them to be durable.
+     * The configs are saved by an executor created for this save.
+     *
+     * @param configs configs to save with the files to which to save them
+     * @param preparer preparer of the saves of the configs
+     * @param <C> type of the configs
+     * @return results of the files in the iteration order of the configs
+     */
+    public static <C> List<WriteResult> saveAll(@NonNull final Map<? extends C, File> configs,
+                                                @NonNull final Preparer<? super C> preparer) {
+        val executor = IoExecutors.newExecutor(
+                "ez-cfg-save", Math.max(1, Math.min(configs.size(), 4 * Runtime.getRuntime().availableProcessors()))
+        );
+        try {
+            return saveAll(configs, executor, preparer).join();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Preparer of the saves of configs comparing the values of the config with the ones in its file.
+     *
+     * @param <C> type of the configs
+     */
+    @FunctionalInterface
+    public interface Preparer<C> {
+
+        /**
+         * Prepares the save of the config to the file.
+         *
+         * @param config config whose values to save
+         * @param file existing file to which to save the values
+         * @return prepared save which should be written
+         * @throws Exception if the save cannot be prepared
+         */
+        PreparedSave prepare(C config, Path file) throws Exception;
+    }
+
+    /**
+     * Save of a config whose values have been compared with the ones in its file.
+     */
+    public interface PreparedSave {
+
+        /**
+         * Serializes the new contents of the file.
+         *
+         * @return new contents of the file or {@code null} if it should not be written
+         * @throws Exception if the contents cannot be serialized
+         */
+        byte[] serialize() throws Exception;
+
+        /**
+         * Completes this save once the file has been written.
+         */
+        void complete();
+
+        /**
+         * Fails this save as the file could not be written.
+         */
+        void fail();
+    }
+
+    private static final class SaveEntry<C> implements GroupCommit.Entry {
+
+        private final C config;
+
+        private final File file;
+
+        private final Preparer<? super C> preparer;
+
+        /**
+         * Prepared save of the config or {@code null} if it could not be prepared
+         */
+        private PreparedSave save;
+
+        private SaveEntry(final C config, final File file, final Preparer<? super C> preparer) {
+            this.config = config;
+            this.file = file;
+            this.preparer = preparer;
+        }
+
+        @Override
+        public Path getFile() {
+            return file.toPath();
+        }
+
+        @Override
+        public byte[] serialize() throws Exception {
+            val path = file.toPath();
+            ConfigFiles.createIfAbsent(path);
+
+            save = preparer.prepare(config, path);
+
+            return save.serialize();
+        }
+
+        @Override
+        public void committed(final WriteResult result) {
+            if (save == null) return;
+
+            if (result.isSuccessful()) save.complete();
+            else save.fail();
+        }
+    }
+}
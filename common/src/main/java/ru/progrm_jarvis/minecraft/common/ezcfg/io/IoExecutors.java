@@ -0,0 +1,48 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.io;
+
+import lombok.NonNull;
+import lombok.val;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Factory of executors for blocking config I/O.
+ * On Java 21 and newer this class is replaced (via the multi-release jar) by the one creating
+ * an executor starting a virtual thread per task, here a fixed pool of platform threads is used.
+ */
+public final class IoExecutors {
+
+    private IoExecutors() {
+        throw new UnsupportedOperationException("IoExecutors is a utility class");
+    }
+
+    /**
+     * Checks whether the executors created by this factory run tasks in virtual threads.
+     *
+     * @return {@code true} if tasks are run in virtual threads and {@code false} otherwise
+     */
+    public static boolean isVirtual() {
+        return false;
+    }
+
+    /**
+     * Creates a new executor for blocking I/O whose threads are daemons.
+     *
+     * @param name prefix of the names of the threads
+     * @param parallelism number of platform threads used if virtual threads are not available
+     * @return created executor
+     */
+    public static ExecutorService newExecutor(@NonNull final String name, final int parallelism) {
+        if (parallelism <= 0) throw new IllegalArgumentException("parallelism should be positive");
+
+        val threadCounter = new AtomicInteger();
+        return Executors.newFixedThreadPool(parallelism, task -> {
+            val thread = new Thread(task, name + '-' + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+
+            return thread;
+        });
+    }
+}
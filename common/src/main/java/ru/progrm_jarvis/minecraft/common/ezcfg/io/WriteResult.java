@@ -0,0 +1,37 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.io;
+
+import lombok.NonNull;
+import lombok.Value;
+
+import java.nio.file.Path;
+
+/**
+ * Result of writing a single file of a {@link GroupCommit group commit}.
+ */
+@Value(staticConstructor = "of")
+public class WriteResult {
+
+    /**
+     * File which was to be written.
+     */
+    @NonNull private Path file;
+
+    /**
+     * Whether the file was actually written, files whose contents have not changed are not.
+     */
+    private boolean written;
+
+    /**
+     * Error because of which the file could not be written or {@code null} if there was none.
+     */
+    private Throwable error;
+
+    /**
+     * Checks whether the file has been written or did not need to be.
+     *
+     * @return {@code true} if there was no error and {@code false} otherwise
+     */
+    public boolean isSuccessful() {
+        return error == null;
+    }
+}
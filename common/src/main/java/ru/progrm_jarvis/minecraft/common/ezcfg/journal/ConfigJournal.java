@@ -0,0 +1,480 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.journal;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.val;
+import lombok.var;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of changes of a config stored next to its base file (as {@code <name>.journal}).
+ * <p>
+ * Each save appends a single checksummed record containing only the values which differ
+ * from the last persisted ones so that its cost depends on the number of changed values rather than on
+ * the size of the config. Loads replay the records over the base file and once the journal gets too large or too old
+ * it is compacted in background: the base file is rewritten with the records applied and the journal is truncated.
+ * A torn record at the end of the journal (left by a crash while appending) is discarded.
+ */
+public final class ConfigJournal {
+
+    private static final Logger LOGGER = Logger.getLogger(ConfigJournal.class.getName());
+
+    /**
+     * Journals by the normalized paths of their base files,
+     * only the tracked, non-empty or compacting ones are kept
+     */
+    private static final Map<Path, ConfigJournal> JOURNALS = new ConcurrentHashMap<>();
+
+    private static final ExecutorService COMPACTOR = Executors.newSingleThreadExecutor(task -> {
+        val thread = new Thread(task, "ez-cfg-journal-compactor");
+        thread.setDaemon(true);
+
+        return thread;
+    });
+
+    /**
+     * Extension appended to the name of the base file to get the name of the journal
+     */
+    public static final String EXTENSION = ".journal";
+
+    private static final int MAGIC = 0x455A434A; // EZCJ
+
+    private static final byte VERSION = 1;
+
+    private static final int HEADER_SIZE = Integer.BYTES + Byte.BYTES + Long.BYTES,
+            RECORD_HEADER_SIZE = Integer.BYTES + Integer.BYTES;
+
+    /**
+     * Base file of the config
+     */
+    @Getter private final File file;
+
+    /**
+     * File of the journal
+     */
+    @Getter private final File journalFile;
+
+    private final ValueCodec codec;
+
+    /**
+     * Key of this journal in {@link #JOURNALS}
+     */
+    private final Path key;
+
+    /**
+     * Encoded values last persisted by paths or {@code null} if they are not tracked
+     */
+    private Map<String, byte[]> snapshot;
+
+    /**
+     * Size of the journal file or {@code 0} if it does not exist
+     */
+    private long size;
+
+    private long createdAtMillis;
+
+    /**
+     * Number of times the journal was {@link #delete() deleted} so that compactions do not truncate
+     * the records appended to the journal recreated after they have started
+     */
+    private long generation;
+
+    private boolean compacting;
+
+    private ConfigJournal(final File file, final ValueCodec codec, final Path key) {
+        this.file = file;
+        this.codec = codec;
+        this.key = key;
+        journalFile = new File(file.getParentFile(), file.getName() + EXTENSION);
+
+        try {
+            open();
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Could not open journal " + journalFile, e);
+        }
+    }
+
+    /**
+     * Gets the journal of the config file.
+     *
+     * @param file base file of the config
+     * @param codec codec of the values of the config
+     * @return journal of the config file
+     */
+    public static ConfigJournal of(@NonNull final File file, @NonNull final ValueCodec codec) {
+        val absoluteFile = file.getAbsoluteFile();
+
+        return JOURNALS.computeIfAbsent(
+                absoluteFile.toPath().normalize(), path -> new ConfigJournal(absoluteFile, codec, path)
+        );
+    }
+
+    /**
+     * Checks whether the config file has a non-empty journal.
+     *
+     * @param file base file of the config
+     * @return {@code true} if the config file has a journal and {@code false} otherwise
+     */
+    public static boolean exists(@NonNull final File file) {
+        val journal = JOURNALS.get(file.getAbsoluteFile().toPath().normalize());
+        if (journal != null) return journal.size() != 0;
+
+        return new File(file.getAbsoluteFile().getParentFile(), file.getName() + EXTENSION).isFile();
+    }
+
+    private void open() throws IOException {
+        if (!journalFile.isFile()) return;
+
+        val bytes = Files.readAllBytes(journalFile.toPath());
+        if (bytes.length < HEADER_SIZE) {
+            Files.delete(journalFile.toPath());
+            return;
+        }
+
+        val buffer = ByteBuffer.wrap(bytes);
+        if (buffer.getInt() != MAGIC || buffer.get() != VERSION) throw new IOException(
+                "File " + journalFile + " is not a journal of a supported version"
+        );
+        createdAtMillis = buffer.getLong();
+
+        // discard the torn record left by a crash (if any)
+        val validSize = validSize(bytes, bytes.length);
+        if (validSize != bytes.length) {
+            LOGGER.warning("Discarding " + (bytes.length - validSize) + " bytes of torn records of " + journalFile);
+            try (val channel = FileChannel.open(journalFile.toPath(), StandardOpenOption.WRITE)) {
+                channel.truncate(validSize);
+            }
+        }
+        size = validSize;
+    }
+
+    private static int validSize(final byte[] bytes, final int limit) {
+        val buffer = ByteBuffer.wrap(bytes, 0, limit);
+        buffer.position(HEADER_SIZE);
+
+        val crc = new CRC32();
+        while (buffer.remaining() >= RECORD_HEADER_SIZE) {
+            val start = buffer.position();
+            val length = buffer.getInt();
+            val checksum = buffer.getInt();
+            if (length < 0 || length > buffer.remaining()) return start;
+
+            crc.reset();
+            crc.update(bytes, buffer.position(), length);
+            if ((int) crc.getValue() != checksum) return start;
+
+            buffer.position(buffer.position() + length);
+        }
+
+        return buffer.position();
+    }
+
+    /**
+     * Gets the size of the journal.
+     *
+     * @return size of the journal in bytes or {@code 0} if there is none
+     */
+    public synchronized long size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the persisted values are tracked so that changes may be {@link #append(Map) appended}.
+     *
+     * @return {@code true} if the persisted values are tracked and {@code false} otherwise
+     */
+    public synchronized boolean isTracked() {
+        return snapshot != null;
+    }
+
+    /**
+     * Starts tracking the persisted values of the config.
+     *
+     * @param values persisted (encoded) values of the config by their paths
+     * @return {@code true} if the values are tracked and {@code false} if some of them are not supported
+     * by the codec and so changes of the config cannot be journaled
+     */
+    public synchronized boolean track(@NonNull final Map<String, Object> values) {
+        val snapshot = new HashMap<String, byte[]>(Math.max((int) (values.size() / .75f) + 1, 16));
+        try {
+            for (val entry : values.entrySet()) snapshot.put(entry.getKey(), codec.encode(entry.getValue()));
+        } catch (final IllegalArgumentException e) {
+            this.snapshot = null;
+            release();
+
+            return false;
+        }
+        this.snapshot = snapshot;
+        // this journal may have been released while it was empty
+        JOURNALS.putIfAbsent(key, this);
+
+        return true;
+    }
+
+    /**
+     * Stops tracking the persisted values of the config.
+     */
+    public synchronized void untrack() {
+        snapshot = null;
+        release();
+    }
+
+    /**
+     * Removes this journal from the registry if it holds no state
+     * so that the next {@link #of(File, ValueCodec) lookup} of its file opens a new one.
+     */
+    private void release() {
+        if (snapshot == null && size == 0 && !compacting) JOURNALS.remove(key, this);
+    }
+
+    /**
+     * Appends the values which differ from the last persisted ones to the journal.
+     *
+     * @param values current (encoded) values of the config by their paths
+     * @return number of appended values
+     * @throws IllegalStateException if the persisted values are not {@link #isTracked() tracked}
+     * @throws IllegalArgumentException if some of the changed values are not supported by the codec
+     * (in this case nothing gets appended)
+     * @throws UncheckedIOException if an I/O error occurs
+     */
+    public synchronized int append(@NonNull final Map<String, Object> values) {
+        val snapshot = this.snapshot;
+        if (snapshot == null) throw new IllegalStateException("Persisted values of " + file + " are not tracked");
+
+        val changes = new LinkedHashMap<String, byte[]>();
+        for (val entry : values.entrySet()) {
+            val path = entry.getKey();
+            val encoded = codec.encode(entry.getValue());
+            if (!Arrays.equals(snapshot.get(path), encoded)) changes.put(path, encoded);
+        }
+        if (changes.isEmpty()) return 0;
+
+        val payload = new ByteArrayOutputStream();
+        try {
+            val out = new DataOutputStream(payload);
+            out.writeInt(changes.size());
+            for (val change : changes.entrySet()) {
+                val path = change.getKey().getBytes(StandardCharsets.UTF_8);
+                out.writeInt(path.length);
+                out.write(path);
+                out.write(change.getValue());
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        val payloadBytes = payload.toByteArray();
+
+        val crc = new CRC32();
+        crc.update(payloadBytes);
+        val header = size == 0;
+        val record = ByteBuffer.allocate((header ? HEADER_SIZE : 0) + RECORD_HEADER_SIZE + payloadBytes.length);
+        if (header) {
+            createdAtMillis = System.currentTimeMillis();
+            record.putInt(MAGIC).put(VERSION).putLong(createdAtMillis);
+        }
+        record.putInt(payloadBytes.length).putInt((int) crc.getValue()).put(payloadBytes).flip();
+
+        try (val channel = FileChannel.open(
+                journalFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND
+        )) {
+            while (record.hasRemaining()) channel.write(record);
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Could not append to journal " + journalFile, e);
+        }
+
+        size += record.limit();
+        snapshot.putAll(changes);
+
+        return changes.size();
+    }
+
+    /**
+     * Replays all the records of the journal.
+     *
+     * @param consumer consumer accepting paths and values in order of their changes
+     */
+    public void replay(@NonNull final BiConsumer<String, Object> consumer) {
+        replay(Long.MAX_VALUE, consumer);
+    }
+
+    /**
+     * Replays the records of the journal preceding the offset.
+     *
+     * @param offset offset up to which to replay the records
+     * @param consumer consumer accepting paths and values in order of their changes
+     */
+    public void replay(final long offset, @NonNull final BiConsumer<String, Object> consumer) {
+        final byte[] bytes;
+        synchronized (this) {
+            if (size == 0) return;
+
+            try {
+                bytes = read(HEADER_SIZE, Math.min(offset, size));
+            } catch (final IOException e) {
+                throw new UncheckedIOException("Could not read journal " + journalFile, e);
+            }
+        }
+
+        val buffer = ByteBuffer.wrap(bytes);
+        val crc = new CRC32();
+        while (buffer.remaining() >= RECORD_HEADER_SIZE) {
+            val length = buffer.getInt();
+            val checksum = buffer.getInt();
+            if (length < 0 || length > buffer.remaining()) {
+                LOGGER.warning("Journal " + journalFile + " has a truncated record, the rest of it is ignored");
+                return;
+            }
+
+            val start = buffer.position();
+            crc.reset();
+            crc.update(bytes, start, length);
+            if ((int) crc.getValue() != checksum) {
+                LOGGER.warning("Journal " + journalFile + " has a corrupted record, the rest of it is ignored");
+                return;
+            }
+            buffer.position(start + length);
+
+            try {
+                val in = new DataInputStream(new ByteArrayInputStream(bytes, start, length));
+                for (var count = in.readInt(); count > 0; count--) {
+                    val path = new byte[in.readInt()];
+                    in.readFully(path);
+
+                    consumer.accept(new String(path, StandardCharsets.UTF_8), codec.read(in));
+                }
+            } catch (final IOException e) {
+                throw new UncheckedIOException("Malformed record of journal " + journalFile, e);
+            }
+        }
+    }
+
+    private byte[] read(final long from, final long to) throws IOException {
+        val buffer = ByteBuffer.allocate((int) (to - from));
+        try (val channel = FileChannel.open(journalFile.toPath(), StandardOpenOption.READ)) {
+            channel.position(from);
+            while (buffer.hasRemaining()) if (channel.read(buffer) < 0) break;
+        }
+
+        return buffer.array();
+    }
+
+    /**
+     * Deletes the journal (after its records have been written to the base file).
+     */
+    public synchronized void delete() {
+        try {
+            Files.deleteIfExists(journalFile.toPath());
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Could not delete journal " + journalFile, e);
+        }
+        size = 0;
+        generation++;
+        release();
+    }
+
+    /**
+     * Checks whether the journal is being compacted in background.
+     *
+     * @return {@code true} if the journal is being compacted and {@code false} otherwise
+     */
+    public synchronized boolean isCompacting() {
+        return compacting;
+    }
+
+    /**
+     * Compacts the journal in background if it exceeds the thresholds of the policy.
+     *
+     * @param policy policy of compaction
+     * @param compactor rewriter of the base file
+     * @return {@code true} if the compaction was started and {@code false} otherwise
+     */
+    public boolean compactIfNeeded(@NonNull final JournalPolicy policy, @NonNull final JournalCompactor compactor) {
+        final long offset, generation;
+        synchronized (this) {
+            if (compacting || size == 0 || size < policy.getMaxBytes()
+                    && System.currentTimeMillis() - createdAtMillis < policy.getMaxAgeMillis()) return false;
+
+            compacting = true;
+            offset = size;
+            generation = this.generation;
+        }
+
+        COMPACTOR.execute(() -> {
+            try {
+                compactor.compact(file, this, offset);
+                truncate(offset, generation);
+            } catch (final Throwable e) {
+                LOGGER.log(Level.WARNING, "Could not compact journal " + journalFile, e);
+            } finally {
+                synchronized (this) {
+                    compacting = false;
+                    release();
+                }
+            }
+        });
+
+        return true;
+    }
+
+    /**
+     * Removes the records preceding the offset keeping the ones appended after it.
+     * Nothing is removed if the journal has been deleted since the compaction started
+     * as its records have then been written to the base file by someone else
+     * and the current records (if any) are not compacted.
+     *
+     * @param offset offset up to which the records have been written to the base file
+     * @param generation generation of the journal whose records have been written to the base file
+     * @throws IOException if an I/O error occurs
+     */
+    private synchronized void truncate(final long offset, final long generation) throws IOException {
+        if (generation != this.generation) return;
+
+        if (offset >= size) {
+            Files.deleteIfExists(journalFile.toPath());
+            size = 0;
+
+            return;
+        }
+
+        val tail = read(offset, size);
+        val createdAtMillis = System.currentTimeMillis();
+        val buffer = ByteBuffer.allocate(HEADER_SIZE + tail.length);
+        buffer.putInt(MAGIC).put(VERSION).putLong(createdAtMillis).put(tail).flip();
+
+        val temporaryFile = new File(journalFile.getParentFile(), journalFile.getName() + ".tmp").toPath();
+        try (val channel = FileChannel.open(temporaryFile, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) channel.write(buffer);
+        }
+        Files.move(temporaryFile, journalFile.toPath(),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        size = buffer.limit();
+        this.createdAtMillis = createdAtMillis;
+    }
+}
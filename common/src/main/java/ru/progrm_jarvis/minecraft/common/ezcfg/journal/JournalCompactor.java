@@ -0,0 +1,22 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.journal;
+
+import java.io.File;
+
+/**
+ * Rewriter of the base file of a config with the records of its journal applied.
+ */
+@FunctionalInterface
+public interface JournalCompactor {
+
+    /**
+     * Rewrites the base file of the config applying the records of its journal.
+     * Implementations should {@link ConfigJournal#replay(long, java.util.function.BiConsumer) replay}
+     * the records up to the given offset over the base file and then atomically replace it.
+     *
+     * @param file base file of the config
+     * @param journal journal of the config
+     * @param offset offset up to which the records should be applied
+     * @throws Exception if the file could not be rewritten
+     */
+    void compact(File file, ConfigJournal journal, long offset) throws Exception;
+}
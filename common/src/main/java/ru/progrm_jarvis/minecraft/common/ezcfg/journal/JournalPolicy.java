@@ -0,0 +1,25 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.journal;
+
+import lombok.Value;
+
+/**
+ * Thresholds after which the journal of a config gets compacted into its base file.
+ */
+@Value(staticConstructor = "of")
+public class JournalPolicy {
+
+    /**
+     * Policy compacting journals larger than 1 MiB or older than 10 minutes
+     */
+    public static final JournalPolicy DEFAULT = of(1 << 20, 10 * 60 * 1000);
+
+    /**
+     * Size of the journal in bytes after which it should be compacted
+     */
+    long maxBytes;
+
+    /**
+     * Age of the oldest record of the journal in milliseconds after which it should be compacted
+     */
+    long maxAgeMillis;
+}
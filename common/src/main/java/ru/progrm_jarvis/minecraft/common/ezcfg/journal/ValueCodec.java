@@ -0,0 +1,325 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.journal;
+
+import lombok.val;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary codec of raw config values:
+ * {@code null}, booleans, numbers, characters, strings, arrays of {@code int}s, {@code long}s and {@code double}s
+ * (also as the buffers which they are decoded to) and lists and maps of them.
+ * Values of other types may be supported by subclasses replacing them with supported ones.
+ */
+public class ValueCodec {
+
+    /**
+     * Codec supporting only the raw config values
+     */
+    public static final ValueCodec INSTANCE = new ValueCodec();
+
+    private static final byte NULL = 0, TRUE = 1, FALSE = 2, BYTE = 3, SHORT = 4, INT = 5, LONG = 6,
+            FLOAT = 7, DOUBLE = 8, CHAR = 9, STRING = 10, LIST = 11, MAP = 12,
+            INT_ARRAY = 13, LONG_ARRAY = 14, DOUBLE_ARRAY = 15;
+
+    protected ValueCodec() {}
+
+    /**
+     * Encodes the value.
+     *
+     * @param value value to encode
+     * @return encoded value
+     * @throws IllegalArgumentException if the value (or any of its elements) is not supported
+     */
+    public byte[] encode(final Object value) {
+        val bytes = new ByteArrayOutputStream();
+        try {
+            write(new DataOutputStream(bytes), value);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes the value.
+     *
+     * @param bytes encoded value
+     * @return decoded value
+     * @throws UncheckedIOException if the value is malformed
+     */
+    public Object decode(final byte[] bytes) {
+        try {
+            return read(new DataInputStream(new ByteArrayInputStream(bytes)));
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the value.
+     *
+     * @param out output to which to write the value
+     * @param value value to write
+     * @throws IOException if an I/O error occurs
+     * @throws IllegalArgumentException if the value (or any of its elements) is not supported
+     */
+    public void write(final DataOutput out, final Object value) throws IOException {
+        if (!tryWrite(out, value)) {
+            val replacement = writeReplace(value);
+            if (replacement == value || !tryWrite(out, replacement)) throw new IllegalArgumentException(
+                    "Values of type " + value.getClass().getName() + " are not supported"
+            );
+        }
+    }
+
+    private boolean tryWrite(final DataOutput out, final Object value) throws IOException {
+        if (value == null) out.writeByte(NULL);
+        else if (value instanceof Boolean) out.writeByte((Boolean) value ? TRUE : FALSE);
+        else if (value instanceof Integer) {
+            out.writeByte(INT);
+            out.writeInt((Integer) value);
+        } else if (value instanceof String) {
+            out.writeByte(STRING);
+            val bytes = ((String) value).getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        } else if (value instanceof Double) {
+            out.writeByte(DOUBLE);
+            out.writeDouble((Double) value);
+        } else if (value instanceof Long) {
+            out.writeByte(LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof List) {
+            val list = (List<?>) value;
+            out.writeByte(LIST);
+            out.writeInt(list.size());
+            for (val element : list) write(out, element);
+        } else if (value instanceof Map) {
+            val map = (Map<?, ?>) value;
+            out.writeByte(MAP);
+            out.writeInt(map.size());
+            for (val entry : map.entrySet()) {
+                write(out, entry.getKey());
+                write(out, entry.getValue());
+            }
+        } else if (value instanceof Float) {
+            out.writeByte(FLOAT);
+            out.writeFloat((Float) value);
+        } else if (value instanceof Short) {
+            out.writeByte(SHORT);
+            out.writeShort((Short) value);
+        } else if (value instanceof Byte) {
+            out.writeByte(BYTE);
+            out.writeByte((Byte) value);
+        } else if (value instanceof Character) {
+            out.writeByte(CHAR);
+            out.writeChar((Character) value);
+        } else if (value instanceof int[]) {
+            val array = (int[]) value;
+            out.writeByte(INT_ARRAY);
+            out.writeInt(array.length);
+            for (val element : array) out.writeInt(element);
+        } else if (value instanceof long[]) {
+            val array = (long[]) value;
+            out.writeByte(LONG_ARRAY);
+            out.writeInt(array.length);
+            for (val element : array) out.writeLong(element);
+        } else if (value instanceof double[]) {
+            val array = (double[]) value;
+            out.writeByte(DOUBLE_ARRAY);
+            out.writeInt(array.length);
+            for (val element : array) out.writeDouble(element);
+        } else if (value instanceof IntBuffer) {
+            val buffer = ((IntBuffer) value).duplicate();
+            out.writeByte(INT_ARRAY);
+            out.writeInt(buffer.remaining());
+            while (buffer.hasRemaining()) out.writeInt(buffer.get());
+        } else if (value instanceof LongBuffer) {
+            val buffer = ((LongBuffer) value).duplicate();
+            out.writeByte(LONG_ARRAY);
+            out.writeInt(buffer.remaining());
+            while (buffer.hasRemaining()) out.writeLong(buffer.get());
+        } else if (value instanceof DoubleBuffer) {
+            val buffer = ((DoubleBuffer) value).duplicate();
+            out.writeByte(DOUBLE_ARRAY);
+            out.writeInt(buffer.remaining());
+            while (buffer.hasRemaining()) out.writeDouble(buffer.get());
+        } else return false;
+
+        return true;
+    }
+
+    /**
+     * Reads the value.
+     *
+     * @param in input from which to read the value
+     * @return read value
+     * @throws IOException if an I/O error occurs or the value is malformed
+     */
+    public Object read(final DataInput in) throws IOException {
+        val tag = in.readByte();
+        switch (tag) {
+            case NULL: return null;
+            case TRUE: return true;
+            case FALSE: return false;
+            case BYTE: return in.readByte();
+            case SHORT: return in.readShort();
+            case INT: return in.readInt();
+            case LONG: return in.readLong();
+            case FLOAT: return in.readFloat();
+            case DOUBLE: return in.readDouble();
+            case CHAR: return in.readChar();
+            case STRING: {
+                val bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+            case LIST: {
+                val size = in.readInt();
+                val list = new ArrayList<Object>(size);
+                for (int i = 0; i < size; i++) list.add(read(in));
+
+                return list;
+            }
+            case MAP: {
+                val size = in.readInt();
+                val map = new LinkedHashMap<Object, Object>(Math.max((int) (size / .75f) + 1, 16));
+                for (int i = 0; i < size; i++) map.put(read(in), read(in));
+
+                return readResolve(map);
+            }
+            case INT_ARRAY: {
+                val array = new int[in.readInt()];
+                for (int i = 0; i < array.length; i++) array[i] = in.readInt();
+
+                return array;
+            }
+            case LONG_ARRAY: {
+                val array = new long[in.readInt()];
+                for (int i = 0; i < array.length; i++) array[i] = in.readLong();
+
+                return array;
+            }
+            case DOUBLE_ARRAY: {
+                val array = new double[in.readInt()];
+                for (int i = 0; i < array.length; i++) array[i] = in.readDouble();
+
+                return array;
+            }
+            default: throw new IOException("Unknown value tag " + tag);
+        }
+    }
+
+    /**
+     * Reads the value from the buffer advancing its position.
+     * Unlike {@link #read(DataInput)}, arrays are read as read-only
+     * {@link java.nio.IntBuffer}s, {@link java.nio.LongBuffer}s and {@link java.nio.DoubleBuffer}s
+     * which are views of the buffer so that their elements are not copied.
+     *
+     * @param buffer buffer from which to read the value
+     * @return read value
+     * @throws IOException if the value is malformed
+     */
+    public Object read(final ByteBuffer buffer) throws IOException {
+        try {
+            return readValue(buffer);
+        } catch (final BufferUnderflowException e) {
+            throw new IOException("Unexpected end of the value", e);
+        }
+    }
+
+    private Object readValue(final ByteBuffer buffer) throws IOException {
+        val tag = buffer.get();
+        switch (tag) {
+            case NULL: return null;
+            case TRUE: return true;
+            case FALSE: return false;
+            case BYTE: return buffer.get();
+            case SHORT: return buffer.getShort();
+            case INT: return buffer.getInt();
+            case LONG: return buffer.getLong();
+            case FLOAT: return buffer.getFloat();
+            case DOUBLE: return buffer.getDouble();
+            case CHAR: return buffer.getChar();
+            case STRING: {
+                val view = view(buffer, Byte.BYTES);
+                val bytes = new byte[view.remaining()];
+                view.get(bytes);
+
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+            case LIST: {
+                val size = buffer.getInt();
+                val list = new ArrayList<Object>(Math.min(size, buffer.remaining()));
+                for (int i = 0; i < size; i++) list.add(readValue(buffer));
+
+                return list;
+            }
+            case MAP: {
+                val size = buffer.getInt();
+                val map = new LinkedHashMap<Object, Object>(
+                        Math.max((int) (Math.min(size, buffer.remaining()) / .75f) + 1, 16)
+                );
+                for (int i = 0; i < size; i++) map.put(readValue(buffer), readValue(buffer));
+
+                return readResolve(map);
+            }
+            case INT_ARRAY: return view(buffer, Integer.BYTES).asIntBuffer();
+            case LONG_ARRAY: return view(buffer, Long.BYTES).asLongBuffer();
+            case DOUBLE_ARRAY: return view(buffer, Double.BYTES).asDoubleBuffer();
+            default: throw new IOException("Unknown value tag " + tag);
+        }
+    }
+
+    private static ByteBuffer view(final ByteBuffer buffer, final int elementSize) throws IOException {
+        val length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining() / elementSize) throw new IOException(
+                "Array of " + length + " elements exceeds the remaining " + buffer.remaining() + " bytes"
+        );
+
+        val view = buffer.slice();
+        view.limit(length * elementSize);
+        buffer.position(buffer.position() + length * elementSize);
+
+        return view.asReadOnlyBuffer().order(buffer.order());
+    }
+
+    /**
+     * Replaces the value of unsupported type with a supported one.
+     *
+     * @param value value of unsupported type
+     * @return replacement of the value or the value itself if it cannot be replaced
+     */
+    protected Object writeReplace(final Object value) {
+        return value;
+    }
+
+    /**
+     * Resolves the read map to the value which it represents.
+     *
+     * @param map read map
+     * @return value represented by the map or the map itself
+     */
+    protected Object readResolve(final Map<Object, Object> map) {
+        return map;
+    }
+}
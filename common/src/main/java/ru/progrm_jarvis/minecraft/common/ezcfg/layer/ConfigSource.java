@@ -0,0 +1,160 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.layer;
+
+import lombok.NonNull;
+import lombok.val;
+import ru.progrm_jarvis.minecraft.common.ezcfg.format.ConfigFormat;
+import ru.progrm_jarvis.minecraft.common.ezcfg.format.ConfigFormats;
+import ru.progrm_jarvis.minecraft.common.ezcfg.io.FileLocks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Source of the raw values of a layer of a config, such as the defaults bundled in the jar or an override file.
+ * Sources which do not exist (yet) provide no values.
+ *
+ * @see LayeredView
+ */
+public interface ConfigSource {
+
+    /**
+     * Gets the name of this source used in messages.
+     *
+     * @return name of this source
+     */
+    String getName();
+
+    /**
+     * Reads the values of this source.
+     *
+     * @return read raw values by their keys
+     * @throws IOException if an I/O error occurs or the source is malformed
+     */
+    Map<String, Object> read() throws IOException;
+
+    /**
+     * Creates a source reading the file whose format is chosen by its extension.
+     *
+     * @param file file to read
+     * @return source reading the file
+     */
+    static ConfigSource file(@NonNull final Path file) {
+        return file(file, ConfigFormats.of(file.getFileName().toString()));
+    }
+
+    /**
+     * Creates a source reading the file.
+     *
+     * @param file file to read
+     * @param format format of the file
+     * @return source reading the file
+     */
+    static ConfigSource file(@NonNull final Path file, @NonNull final ConfigFormat format) {
+        return new ConfigSource() {
+            @Override
+            public String getName() {
+                return file.toString();
+            }
+
+            @Override
+            public Map<String, Object> read() throws IOException {
+                val lock = FileLocks.of(file);
+                val stamp = lock.readLock();
+                try {
+                    return ConfigFormats.read(file, format);
+                } catch (final NoSuchFileException e) {
+                    return new LinkedHashMap<>();
+                } finally {
+                    lock.unlockRead(stamp);
+                }
+            }
+
+            @Override
+            public String toString() {
+                return "ConfigSource{" + file + '}';
+            }
+        };
+    }
+
+    /**
+     * Creates a source reading the resource (such as the defaults bundled in the jar)
+     * whose format is chosen by its extension.
+     *
+     * @param classLoader class loader by which to find the resource
+     * @param name name of the resource
+     * @return source reading the resource
+     */
+    static ConfigSource resource(@NonNull final ClassLoader classLoader, @NonNull final String name) {
+        return resource(classLoader, name, ConfigFormats.of(name));
+    }
+
+    /**
+     * Creates a source reading the resource (such as the defaults bundled in the jar).
+     *
+     * @param classLoader class loader by which to find the resource
+     * @param name name of the resource
+     * @param format format of the resource
+     * @return source reading the resource
+     */
+    static ConfigSource resource(@NonNull final ClassLoader classLoader, @NonNull final String name,
+                                 @NonNull final ConfigFormat format) {
+        return new ConfigSource() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public Map<String, Object> read() throws IOException {
+                try (val in = classLoader.getResourceAsStream(name)) {
+                    if (in == null) return new LinkedHashMap<>();
+
+                    val bytes = new ByteArrayOutputStream();
+                    val buffer = new byte[8192];
+                    for (int read; (read = in.read(buffer)) != -1; ) bytes.write(buffer, 0, read);
+
+                    return format.read(ByteBuffer.wrap(bytes.toByteArray()));
+                }
+            }
+
+            @Override
+            public String toString() {
+                return "ConfigSource{resource " + name + '}';
+            }
+        };
+    }
+
+    /**
+     * Creates a source providing the values (such as the ones received from the network).
+     * The values are read each time the source is read so that they may be changed before reloading the layer.
+     *
+     * @param name name of the source
+     * @param values raw values by their keys
+     * @return source providing the values
+     */
+    static ConfigSource of(@NonNull final String name, @NonNull final Map<String, ?> values) {
+        return new ConfigSource() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public Map<String, Object> read() {
+                return Collections.unmodifiableMap(values);
+            }
+
+            @Override
+            public String toString() {
+                return "ConfigSource{" + name + '}';
+            }
+        };
+    }
+}
@@ -0,0 +1,279 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.layer;
+
+import lombok.NonNull;
+import lombok.val;
+import lombok.var;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.BiConsumer;
+
+/**
+ * Values of layers of a config merged into a single index of flattened paths,
+ * values of the later layers overriding the ones of the earlier layers.
+ * <p>
+ * Sections of the layers are flattened into the paths of their values so that layers override each other's values
+ * rather than whole sections. Lists, empty sections and maps of serialized objects
+ * (containing {@value #SERIALIZED_TYPE_KEY} key) are values themselves.
+ * A value also hides the values of the earlier layers inside of it and the one containing it.
+ * <p>
+ * Once a layer is {@link #replace(int, Map, BiConsumer) replaced}, only the paths of its old and new values
+ * are merged again.
+ * This class is not thread-safe.
+ */
+public final class LayeredView {
+
+    /**
+     * Key of the maps of serialized objects
+     */
+    public static final String SERIALIZED_TYPE_KEY = "==";
+
+    private static final char SEPARATOR = '.';
+
+    /**
+     * Flattened values of the layers in their order
+     */
+    private final List<Map<String, Object>> layers;
+
+    /**
+     * Merged values by their paths sorted so that the paths inside of a section follow it
+     */
+    private final TreeMap<String, Slot> values = new TreeMap<>();
+
+    private LayeredView(final List<Map<String, Object>> layers) {
+        this.layers = layers;
+    }
+
+    /**
+     * Merges the values of the layers.
+     *
+     * @param layers raw values of the layers in their order, each layer overriding the preceding ones
+     * @return view of the merged values
+     */
+    public static LayeredView merge(@NonNull final List<? extends Map<String, ?>> layers) {
+        val flattened = new ArrayList<Map<String, Object>>(layers.size());
+        for (val layer : layers) flattened.add(flatten(layer));
+
+        val view = new LayeredView(flattened);
+        for (int layer = 0; layer < flattened.size(); layer++) for (val entry : flattened.get(layer).entrySet()) {
+            view.values.put(entry.getKey(), new Slot(layer, entry.getValue()));
+        }
+
+        return view;
+    }
+
+    /**
+     * Gets the number of the layers.
+     *
+     * @return number of the layers
+     */
+    public int getLayerCount() {
+        return layers.size();
+    }
+
+    /**
+     * Gets the number of the merged values.
+     *
+     * @return number of the merged values
+     */
+    public int size() {
+        return values.size();
+    }
+
+    /**
+     * Gets the merged value at the path.
+     *
+     * @param path path of the value
+     * @return merged raw value at the path or {@code null} if there is none
+     */
+    public Object get(@NonNull final String path) {
+        val slot = values.get(path);
+
+        return slot == null ? null : slot.value;
+    }
+
+    /**
+     * Gets the index of the layer whose value is merged at the path.
+     *
+     * @param path path of the value
+     * @return index of the layer providing the value at the path or {@code -1} if there is none
+     */
+    public int layerOf(@NonNull final String path) {
+        val slot = values.get(path);
+
+        return slot == null ? -1 : slot.layer;
+    }
+
+    /**
+     * Passes all of the merged values to the consumer in the order of their layers
+     * so that setting them one by one to a configuration makes the values of the later layers
+     * replace the sections (and values) of the earlier ones.
+     *
+     * @param consumer consumer of the raw values by their paths
+     */
+    public void forEach(@NonNull final BiConsumer<String, Object> consumer) {
+        set(values.keySet(), consumer);
+    }
+
+    /**
+     * Replaces the values of the layer merging the paths of its old and new values again.
+     * The changed merged values are passed to the consumer in the order in which they should be set
+     * to a configuration previously filled by {@link #forEach(BiConsumer)}: first the removed ones
+     * (as {@code null}s) and then the changed ones along with the values inside of them or containing them.
+     *
+     * @param layer index of the layer
+     * @param values new raw values of the layer
+     * @param consumer consumer of the changed raw values by their paths
+     * @return paths of the changed merged values
+     */
+    public NavigableSet<String> replace(final int layer, @NonNull final Map<String, ?> values,
+                                        @NonNull final BiConsumer<String, Object> consumer) {
+        val oldValues = layers.get(layer);
+        val newValues = flatten(values);
+        layers.set(layer, newValues);
+
+        val changed = new TreeSet<String>();
+        for (val path : oldValues.keySet()) if (!newValues.containsKey(path)) remerge(path, changed);
+        for (val entry : newValues.entrySet()) {
+            val path = entry.getKey();
+            if (!oldValues.containsKey(path) || !Objects.deepEquals(oldValues.get(path), entry.getValue())) {
+                remerge(path, changed);
+            }
+        }
+        if (changed.isEmpty()) return changed;
+
+        // values hidden by the changed ones (or no longer hidden by them) are set again:
+        // setting a value containing the changed one replaces all of the values inside of it
+        val affected = new TreeSet<String>();
+        for (val path : changed) {
+            if (!this.values.containsKey(path)) {
+                // sections left without values are removed as well
+                var removed = path;
+                for (var end = path.lastIndexOf(SEPARATOR); end != -1; end = path.lastIndexOf(SEPARATOR, end - 1)) {
+                    val parent = path.substring(0, end);
+                    if (this.values.containsKey(parent) || !inside(parent).isEmpty()) break;
+                    removed = parent;
+                }
+                consumer.accept(removed, null);
+            }
+
+            var root = path;
+            for (var end = path.indexOf(SEPARATOR); end != -1; end = path.indexOf(SEPARATOR, end + 1)) {
+                val parent = path.substring(0, end);
+                if (this.values.containsKey(parent)) {
+                    root = parent;
+                    break;
+                }
+            }
+            if (this.values.containsKey(root)) affected.add(root);
+            affected.addAll(inside(root).keySet());
+        }
+        set(affected, consumer);
+
+        return changed;
+    }
+
+    /**
+     * Gets the merged values inside of the section at the path.
+     *
+     * @param path path of the section
+     * @return merged values whose paths start with the path of the section
+     */
+    private Map<String, Slot> inside(final String path) {
+        return values.subMap(path + SEPARATOR, path + (char) (SEPARATOR + 1));
+    }
+
+    /**
+     * Merges the value at the path again after the layer providing it has changed.
+     *
+     * @param path path of the value
+     * @param changed paths of the changed merged values to which the path is added if its value changes
+     */
+    private void remerge(final String path, final NavigableSet<String> changed) {
+        for (int layer = layers.size() - 1; layer >= 0; layer--) {
+            val layerValues = layers.get(layer);
+            if (!layerValues.containsKey(path)) continue;
+
+            val value = layerValues.get(path);
+            val slot = values.put(path, new Slot(layer, value));
+            if (slot == null || slot.layer != layer || !Objects.deepEquals(slot.value, value)) changed.add(path);
+
+            return;
+        }
+
+        if (values.remove(path) != null) changed.add(path);
+    }
+
+    /**
+     * Passes the merged values at the paths to the consumer in the order of their layers.
+     *
+     * @param paths paths of the merged values
+     * @param consumer consumer of the raw values by their paths
+     */
+    private void set(final Iterable<String> paths, final BiConsumer<String, Object> consumer) {
+        @SuppressWarnings("unchecked") final List<String>[] byLayer = (List<String>[]) new List<?>[layers.size()];
+        for (val path : paths) {
+            val layer = values.get(path).layer;
+            if (byLayer[layer] == null) byLayer[layer] = new ArrayList<>();
+            byLayer[layer].add(path);
+        }
+
+        for (val layerPaths : byLayer) if (layerPaths != null) for (val path : layerPaths) {
+            consumer.accept(path, values.get(path).value);
+        }
+    }
+
+    /**
+     * Flattens the sections of the values into the paths of their values.
+     *
+     * @param values raw values by their keys
+     * @return flattened values by their paths
+     */
+    private static Map<String, Object> flatten(final Map<?, ?> values) {
+        val flattened = new LinkedHashMap<String, Object>();
+        flatten(flattened, "", values);
+
+        return flattened;
+    }
+
+    private static void flatten(final Map<String, Object> flattened, final String prefix, final Map<?, ?> values) {
+        for (val entry : values.entrySet()) {
+            val path = prefix + entry.getKey();
+            val value = entry.getValue();
+            if (value instanceof Map && !((Map<?, ?>) value).isEmpty()
+                    && !((Map<?, ?>) value).containsKey(SERIALIZED_TYPE_KEY)) {
+                flatten(flattened, path + SEPARATOR, (Map<?, ?>) value);
+            } else flattened.put(path, value);
+        }
+    }
+
+    @Override
+    public String toString() {
+        val merged = new LinkedHashMap<String, Object>();
+        forEach(merged::put);
+
+        return "LayeredView{layers=" + layers.size() + ", values=" + Collections.unmodifiableMap(merged) + '}';
+    }
+
+    /**
+     * Merged value along with the layer providing it.
+     */
+    private static final class Slot {
+
+        private final int layer;
+
+        private final Object value;
+
+        private Slot(final int layer, final Object value) {
+            this.layer = layer;
+            this.value = value;
+        }
+    }
+}
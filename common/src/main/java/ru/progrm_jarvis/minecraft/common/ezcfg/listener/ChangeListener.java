@@ -0,0 +1,18 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.listener;
+
+/**
+ * Listener of the changes of the value of a config field.
+ *
+ * @param <V> type of the value
+ */
+@FunctionalInterface
+public interface ChangeListener<V> {
+
+    /**
+     * Handles the change of the value.
+     *
+     * @param oldValue previous value of the field
+     * @param newValue current value of the field
+     */
+    void onChange(V oldValue, V newValue);
+}
@@ -0,0 +1,66 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.listener;
+
+import lombok.NonNull;
+import lombok.val;
+
+import java.io.Serializable;
+import java.lang.invoke.SerializedLambda;
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Reference to the getter of a config field (such as {@code MyConfig::getSpawnRate}) identifying the field.
+ * The getter is never invoked, only the name of the referenced method is used.
+ *
+ * @param <C> type of the config
+ * @param <V> type of the value of the field
+ */
+@FunctionalInterface
+public interface FieldGetter<C, V> extends Serializable {
+
+    long serialVersionUID = 1L;
+
+    /**
+     * Gets the value of the field.
+     *
+     * @param config config whose field to get
+     * @return value of the field
+     */
+    V get(C config);
+
+    /**
+     * Gets the name of the field whose getter is referenced.
+     * Getters are expected to follow JavaBeans naming ({@code getX()}, {@code isX()})
+     * or to be named just as the field itself.
+     *
+     * @param getter method reference to the getter
+     * @return name of the field
+     * @throws IllegalArgumentException if the getter is not a method reference
+     */
+    static String fieldName(@NonNull final FieldGetter<?, ?> getter) {
+        final SerializedLambda lambda;
+        try {
+            val writeReplace = getter.getClass().getDeclaredMethod("writeReplace");
+            writeReplace.setAccessible(true);
+            lambda = (SerializedLambda) writeReplace.invoke(getter);
+        } catch (final NoSuchMethodException | IllegalAccessException | InvocationTargetException
+                | ClassCastException e) {
+            throw new IllegalArgumentException(getter + " is not a method reference", e);
+        }
+
+        val methodName = lambda.getImplMethodName();
+        if (methodName.startsWith("lambda$")) throw new IllegalArgumentException(
+                "Getter should be a method reference rather than a lambda"
+        );
+
+        final String name;
+        if (methodName.length() > 3 && methodName.startsWith("get")
+                && Character.isUpperCase(methodName.charAt(3))) name = methodName.substring(3);
+        else if (methodName.length() > 2 && methodName.startsWith("is")
+                && Character.isUpperCase(methodName.charAt(2))) name = methodName.substring(2);
+        else return methodName;
+
+        // JavaBeans keep names such as "URL" as they are
+        return name.length() > 1 && Character.isUpperCase(name.charAt(1))
+                ? name : Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+}
@@ -0,0 +1,518 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.listener;
+
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.val;
+import lombok.var;
+import ru.progrm_jarvis.minecraft.common.ezcfg.constant.ConstantConfigValue;
+import ru.progrm_jarvis.minecraft.common.ezcfg.schema.SerializedField;
+import ru.progrm_jarvis.minecraft.common.ezcfg.schema.SerializedSchema;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Listeners of the changes of the fields of a config invoked whenever loading or copying
+ * actually changes the value of their field, that is when the values {@link #snapshot(Object) captured}
+ * before the change differ from the new ones.
+ * Only the fields having listeners are compared and values of fields of types {@code int}, {@code long},
+ * {@code double} and {@code boolean} are never boxed unless there are generic listeners of them.
+ * <p>
+ * Platforms provide subclasses creating the listeners of their configs.
+ *
+ * @param <C> type of the config
+ */
+public class FieldListeners<C> {
+
+    private static final Logger LOGGER = Logger.getLogger(FieldListeners.class.getName());
+
+    private static final Slot[] NO_SLOTS = new Slot[0];
+
+    private final Object config;
+
+    private final SerializedSchema<?> schema;
+
+    /**
+     * Slots of the fields having listeners (copied on write)
+     */
+    private volatile Slot[] slots = NO_SLOTS;
+
+    /**
+     * Creates new listeners of the fields of the config.
+     *
+     * @param config config whose fields are listened
+     * @param schema schema of the config
+     */
+    public FieldListeners(@NonNull final Object config, @NonNull final SerializedSchema<?> schema) {
+        this.config = config;
+        this.schema = schema;
+    }
+
+    /**
+     * Adds the listener of the changes of the field.
+     *
+     * @param fieldName name of the field
+     * @param listener listener of the changes of the field
+     * @param <V> type of the value of the field
+     * @return these listeners for chaining
+     * @throws IllegalArgumentException if there is no serialized field of the given name
+     */
+    public <V> FieldListeners<C> onChange(@NonNull final String fieldName,
+                                          @NonNull final ChangeListener<? super V> listener) {
+        return add(fieldName, null, listener);
+    }
+
+    /**
+     * Adds the listener of the changes of the field.
+     *
+     * @param getter method reference to the getter of the field
+     * @param listener listener of the changes of the field
+     * @param <V> type of the value of the field
+     * @return these listeners for chaining
+     * @throws IllegalArgumentException if there is no serialized field referenced by the getter
+     */
+    public <V> FieldListeners<C> onChange(@NonNull final FieldGetter<? super C, V> getter,
+                                          @NonNull final ChangeListener<? super V> listener) {
+        return add(FieldGetter.fieldName(getter), null, listener);
+    }
+
+    /**
+     * Adds the listener of the changes of the {@code int} field.
+     *
+     * @param fieldName name of the field
+     * @param listener listener of the changes of the field
+     * @return these listeners for chaining
+     * @throws IllegalArgumentException if there is no serialized {@code int} field of the given name
+     */
+    public FieldListeners<C> onIntChange(@NonNull final String fieldName, @NonNull final IntChangeListener listener) {
+        return add(fieldName, int.class, listener);
+    }
+
+    /**
+     * Adds the listener of the changes of the {@code int} field.
+     *
+     * @param getter method reference to the getter of the field
+     * @param listener listener of the changes of the field
+     * @return these listeners for chaining
+     * @throws IllegalArgumentException if there is no serialized {@code int} field referenced by the getter
+     */
+    public FieldListeners<C> onIntChange(@NonNull final FieldGetter<? super C, Integer> getter,
+                                         @NonNull final IntChangeListener listener) {
+        return add(FieldGetter.fieldName(getter), int.class, listener);
+    }
+
+    /**
+     * Adds the listener of the changes of the {@code long} field.
+     *
+     * @param fieldName name of the field
+     * @param listener listener of the changes of the field
+     * @return these listeners for chaining
+     * @throws IllegalArgumentException if there is no serialized {@code long} field of the given name
+     */
+    public FieldListeners<C> onLongChange(@NonNull final String fieldName,
+                                          @NonNull final LongChangeListener listener) {
+        return add(fieldName, long.class, listener);
+    }
+
+    /**
+     * Adds the listener of the changes of the {@code long} field.
+     *
+     * @param getter method reference to the getter of the field
+     * @param listener listener of the changes of the field
+     * @return these listeners for chaining
+     * @throws IllegalArgumentException if there is no serialized {@code long} field referenced by the getter
+     */
+    public FieldListeners<C> onLongChange(@NonNull final FieldGetter<? super C, Long> getter,
+                                          @NonNull final LongChangeListener listener) {
+        return add(FieldGetter.fieldName(getter), long.class, listener);
+    }
+
+    /**
+     * Adds the listener of the changes of the {@code double} field.
+     *
+     * @param fieldName name of the field
+     * @param listener listener of the changes of the field
+     * @return these listeners for chaining
+     * @throws IllegalArgumentException if there is no serialized {@code double} field of the given name
+     */
+    public FieldListeners<C> onDoubleChange(@NonNull final String fieldName,
+                                            @NonNull final DoubleChangeListener listener) {
+        return add(fieldName, double.class, listener);
+    }
+
+    /**
+     * Adds the listener of the changes of the {@code double} field.
+     *
+     * @param getter method reference to the getter of the field
+     * @param listener listener of the changes of the field
+     * @return these listeners for chaining
+     * @throws IllegalArgumentException if there is no serialized {@code double} field referenced by the getter
+     */
+    public FieldListeners<C> onDoubleChange(@NonNull final FieldGetter<? super C, Double> getter,
+                                            @NonNull final DoubleChangeListener listener) {
+        return add(FieldGetter.fieldName(getter), double.class, listener);
+    }
+
+    /**
+     * Adds the listener of the changes of the {@code boolean} field.
+     *
+     * @param fieldName name of the field
+     * @param listener listener of the changes of the field
+     * @return these listeners for chaining
+     * @throws IllegalArgumentException if there is no serialized {@code boolean} field of the given name
+     */
+    public FieldListeners<C> onBooleanChange(@NonNull final String fieldName,
+                                             @NonNull final BooleanChangeListener listener) {
+        return add(fieldName, boolean.class, listener);
+    }
+
+    /**
+     * Adds the listener of the changes of the {@code boolean} field.
+     *
+     * @param getter method reference to the getter of the field
+     * @param listener listener of the changes of the field
+     * @return these listeners for chaining
+     * @throws IllegalArgumentException if there is no serialized {@code boolean} field referenced by the getter
+     */
+    public FieldListeners<C> onBooleanChange(@NonNull final FieldGetter<? super C, Boolean> getter,
+                                             @NonNull final BooleanChangeListener listener) {
+        return add(FieldGetter.fieldName(getter), boolean.class, listener);
+    }
+
+    /**
+     * Creates a value of the field which is {@link ConstantConfigValue constant} for the JIT
+     * and gets relinked whenever the field changes.
+     *
+     * @param fieldName name of the field
+     * @param <V> type of the value of the field (boxed if it is primitive)
+     * @return created constant value
+     * @throws IllegalArgumentException if there is no serialized field of the given name
+     */
+    public <V> ConstantConfigValue<V> constant(@NonNull final String fieldName) {
+        val field = field(fieldName);
+        @SuppressWarnings("unchecked") final ConstantConfigValue<V> value
+                = ConstantConfigValue.of(field.getField().getType(), (V) field.get(config));
+        add(fieldName, null, (ChangeListener<V>) (oldValue, newValue) -> value.set(newValue));
+
+        return value;
+    }
+
+    /**
+     * Creates a value of the field which is {@link ConstantConfigValue constant} for the JIT
+     * and gets relinked whenever the field changes.
+     *
+     * @param getter method reference to the getter of the field
+     * @param <V> type of the value of the field (boxed if it is primitive)
+     * @return created constant value
+     * @throws IllegalArgumentException if there is no serialized field referenced by the getter
+     */
+    public <V> ConstantConfigValue<V> constant(@NonNull final FieldGetter<? super C, V> getter) {
+        return constant(FieldGetter.fieldName(getter));
+    }
+
+    /**
+     * Removes the listener from all the fields.
+     *
+     * @param listener listener to remove
+     */
+    public synchronized void remove(@NonNull final Object listener) {
+        val slots = new Slot[this.slots.length];
+        var size = 0;
+        for (val slot : this.slots) {
+            val listeners = slot.without(listener);
+            if (listeners.length != 0) slots[size++] = slot.with(listeners);
+        }
+
+        this.slots = size == 0 ? NO_SLOTS : Arrays.copyOf(slots, size);
+    }
+
+    /**
+     * Captures the current values of the listened fields of the config.
+     *
+     * @param config config whose values to capture
+     * @return captured values which should be {@link Snapshot#fire(Object) compared} after the config changes
+     * or {@code null} if no fields are listened
+     */
+    public Snapshot snapshot(@NonNull final Object config) {
+        val slots = this.slots;
+        if (slots.length == 0) return null;
+
+        val snapshot = new Snapshot(slots);
+        for (int i = 0; i < slots.length; i++) slots[i].capture(config, snapshot, i);
+
+        return snapshot;
+    }
+
+    private synchronized FieldListeners<C> add(final String fieldName, final Class<?> primitiveType,
+                                               final Object listener) {
+        val field = field(fieldName);
+        val type = field.getField().getType();
+        if (primitiveType != null && type != primitiveType) throw new IllegalArgumentException(
+                "Field " + fieldName + " is of type " + type.getName() + " rather than " + primitiveType
+        );
+
+        val slots = this.slots;
+        for (int i = 0; i < slots.length; i++) if (slots[i].field == field) {
+            val updated = slots.clone();
+            updated[i] = slots[i].with(append(slots[i].listeners, listener));
+            this.slots = updated;
+
+            return this;
+        }
+
+        val updated = Arrays.copyOf(slots, slots.length + 1);
+        updated[slots.length] = Slot.of(field, new Object[]{listener});
+        this.slots = updated;
+
+        return this;
+    }
+
+    private SerializedField field(final String fieldName) {
+        for (val field : schema.getFields()) if (field.getField().getName().equals(fieldName)) return field;
+
+        throw new IllegalArgumentException("There is no serialized field " + fieldName + " in " + schema.getType());
+    }
+
+    private static Object[] append(final Object[] array, final Object element) {
+        val appended = Arrays.copyOf(array, array.length + 1);
+        appended[array.length] = element;
+
+        return appended;
+    }
+
+    private static void failed(final SerializedField field, final Object listener, final RuntimeException e) {
+        LOGGER.log(Level.WARNING, "Listener " + listener + " of field " + field.getField() + " failed", e);
+    }
+
+    /**
+     * Values of the listened fields captured before the config changes.
+     * Values of primitive fields are stored as their bits to avoid boxing.
+     */
+    public static final class Snapshot {
+
+        private final Slot[] slots;
+
+        private final long[] primitives;
+
+        private final Object[] objects;
+
+        private Snapshot(final Slot[] slots) {
+            this.slots = slots;
+            primitives = new long[slots.length];
+            objects = new Object[slots.length];
+        }
+
+        /**
+         * Invokes the listeners of the fields whose values have changed since the snapshot was taken.
+         *
+         * @param config config whose values to compare with the captured ones
+         */
+        public void fire(@NonNull final Object config) {
+            for (int i = 0; i < slots.length; i++) slots[i].fire(config, this, i);
+        }
+    }
+
+    /**
+     * Listened field with its listeners specialized for the type of the field.
+     */
+    private abstract static class Slot {
+
+        private static final MethodType INT_GETTER_TYPE = MethodType.methodType(int.class, Object.class),
+                LONG_GETTER_TYPE = MethodType.methodType(long.class, Object.class),
+                DOUBLE_GETTER_TYPE = MethodType.methodType(double.class, Object.class),
+                BOOLEAN_GETTER_TYPE = MethodType.methodType(boolean.class, Object.class);
+
+        final SerializedField field;
+
+        /**
+         * Listeners of the field: primitive ones of the field's type or {@link ChangeListener generic} ones
+         */
+        final Object[] listeners;
+
+        private Slot(final SerializedField field, final Object[] listeners) {
+            this.field = field;
+            this.listeners = listeners;
+        }
+
+        static Slot of(final SerializedField field, final Object[] listeners) {
+            val type = field.getField().getType();
+            if (type == int.class) return new IntSlot(field, listeners);
+            if (type == long.class) return new LongSlot(field, listeners);
+            if (type == double.class) return new DoubleSlot(field, listeners);
+            if (type == boolean.class) return new BooleanSlot(field, listeners);
+
+            return new ObjectSlot(field, listeners);
+        }
+
+        Slot with(final Object[] listeners) {
+            return of(field, listeners);
+        }
+
+        Object[] without(final Object listener) {
+            val listeners = new Object[this.listeners.length];
+            var size = 0;
+            for (val candidate : this.listeners) if (candidate != listener) listeners[size++] = candidate;
+
+            return Arrays.copyOf(listeners, size);
+        }
+
+        abstract void capture(Object config, Snapshot snapshot, int index);
+
+        abstract void fire(Object config, Snapshot snapshot, int index);
+
+        @SuppressWarnings("unchecked")
+        void fireBoxed(final Object listener, final Object oldValue, final Object newValue) {
+            try {
+                ((ChangeListener<Object>) listener).onChange(oldValue, newValue);
+            } catch (final RuntimeException e) {
+                failed(field, listener, e);
+            }
+        }
+    }
+
+    private static final class IntSlot extends Slot {
+
+        private final MethodHandle getter;
+
+        private IntSlot(final SerializedField field, final Object[] listeners) {
+            super(field, listeners);
+            getter = field.getExactGetter().asType(Slot.INT_GETTER_TYPE);
+        }
+
+        @Override
+        @SneakyThrows
+        void capture(final Object config, final Snapshot snapshot, final int index) {
+            snapshot.primitives[index] = (int) getter.invokeExact(config);
+        }
+
+        @Override
+        @SneakyThrows
+        void fire(final Object config, final Snapshot snapshot, final int index) {
+            val oldValue = (int) snapshot.primitives[index];
+            val newValue = (int) getter.invokeExact(config);
+            if (oldValue == newValue) return;
+
+            for (val listener : listeners) if (listener instanceof IntChangeListener) try {
+                ((IntChangeListener) listener).onChange(oldValue, newValue);
+            } catch (final RuntimeException e) {
+                failed(field, listener, e);
+            } else fireBoxed(listener, oldValue, newValue);
+        }
+    }
+
+    private static final class LongSlot extends Slot {
+
+        private final MethodHandle getter;
+
+        private LongSlot(final SerializedField field, final Object[] listeners) {
+            super(field, listeners);
+            getter = field.getExactGetter().asType(Slot.LONG_GETTER_TYPE);
+        }
+
+        @Override
+        @SneakyThrows
+        void capture(final Object config, final Snapshot snapshot, final int index) {
+            snapshot.primitives[index] = (long) getter.invokeExact(config);
+        }
+
+        @Override
+        @SneakyThrows
+        void fire(final Object config, final Snapshot snapshot, final int index) {
+            val oldValue = snapshot.primitives[index];
+            val newValue = (long) getter.invokeExact(config);
+            if (oldValue == newValue) return;
+
+            for (val listener : listeners) if (listener instanceof LongChangeListener) try {
+                ((LongChangeListener) listener).onChange(oldValue, newValue);
+            } catch (final RuntimeException e) {
+                failed(field, listener, e);
+            } else fireBoxed(listener, oldValue, newValue);
+        }
+    }
+
+    private static final class DoubleSlot extends Slot {
+
+        private final MethodHandle getter;
+
+        private DoubleSlot(final SerializedField field, final Object[] listeners) {
+            super(field, listeners);
+            getter = field.getExactGetter().asType(Slot.DOUBLE_GETTER_TYPE);
+        }
+
+        @Override
+        @SneakyThrows
+        void capture(final Object config, final Snapshot snapshot, final int index) {
+            snapshot.primitives[index] = Double.doubleToLongBits((double) getter.invokeExact(config));
+        }
+
+        @Override
+        @SneakyThrows
+        void fire(final Object config, final Snapshot snapshot, final int index) {
+            val oldBits = snapshot.primitives[index];
+            val newValue = (double) getter.invokeExact(config);
+            if (oldBits == Double.doubleToLongBits(newValue)) return;
+
+            val oldValue = Double.longBitsToDouble(oldBits);
+            for (val listener : listeners) if (listener instanceof DoubleChangeListener) try {
+                ((DoubleChangeListener) listener).onChange(oldValue, newValue);
+            } catch (final RuntimeException e) {
+                failed(field, listener, e);
+            } else fireBoxed(listener, oldValue, newValue);
+        }
+    }
+
+    private static final class BooleanSlot extends Slot {
+
+        private final MethodHandle getter;
+
+        private BooleanSlot(final SerializedField field, final Object[] listeners) {
+            super(field, listeners);
+            getter = field.getExactGetter().asType(Slot.BOOLEAN_GETTER_TYPE);
+        }
+
+        @Override
+        @SneakyThrows
+        void capture(final Object config, final Snapshot snapshot, final int index) {
+            snapshot.primitives[index] = (boolean) getter.invokeExact(config) ? 1 : 0;
+        }
+
+        @Override
+        @SneakyThrows
+        void fire(final Object config, final Snapshot snapshot, final int index) {
+            val oldValue = snapshot.primitives[index] != 0;
+            val newValue = (boolean) getter.invokeExact(config);
+            if (oldValue == newValue) return;
+
+            for (val listener : listeners) if (listener instanceof BooleanChangeListener) try {
+                ((BooleanChangeListener) listener).onChange(oldValue, newValue);
+            } catch (final RuntimeException e) {
+                failed(field, listener, e);
+            } else fireBoxed(listener, oldValue, newValue);
+        }
+    }
+
+    private static final class ObjectSlot extends Slot {
+
+        private ObjectSlot(final SerializedField field, final Object[] listeners) {
+            super(field, listeners);
+        }
+
+        @Override
+        void capture(final Object config, final Snapshot snapshot, final int index) {
+            snapshot.objects[index] = field.get(config);
+        }
+
+        @Override
+        void fire(final Object config, final Snapshot snapshot, final int index) {
+            val oldValue = snapshot.objects[index];
+            val newValue = field.get(config);
+            if (Objects.equals(oldValue, newValue)) return;
+
+            for (val listener : listeners) fireBoxed(listener, oldValue, newValue);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.listener;
+
+/**
+ * Listener of the changes of the value of a config field of type {@code long} receiving it without boxing.
+ */
+@FunctionalInterface
+public interface LongChangeListener {
+
+    /**
+     * Handles the change of the value.
+     *
+     * @param oldValue previous value of the field
+     * @param newValue current value of the field
+     */
+    void onChange(long oldValue, long newValue);
+}
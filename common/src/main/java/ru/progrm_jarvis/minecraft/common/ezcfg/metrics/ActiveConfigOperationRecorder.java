@@ -0,0 +1,78 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.metrics;
+
+import lombok.val;
+
+import java.io.File;
+
+/**
+ * Recorder used while metrics are enabled.
+ * Instances are confined to the thread performing the operation.
+ */
+class ActiveConfigOperationRecorder implements ConfigOperationRecorder {
+
+    private final ConfigOperation.ConfigOperationBuilder operation;
+
+    private long phaseStart;
+
+    private int errors;
+
+    private boolean failed;
+
+    ActiveConfigOperationRecorder(final ConfigOperation.Type type, final Class<?> configClass, final File file) {
+        operation = ConfigOperation.builder()
+                .type(type)
+                .configClass(configClass)
+                .file(file);
+        phaseStart = System.nanoTime();
+    }
+
+    private long endPhase() {
+        val now = System.nanoTime();
+        val duration = now - phaseStart;
+        phaseStart = now;
+
+        return duration;
+    }
+
+    @Override
+    public boolean isActive() {
+        return true;
+    }
+
+    @Override
+    public void parsed(final File file) {
+        operation.parseNanos(endPhase()).bytesRead(file.length());
+    }
+
+    @Override
+    public void decodingField() {}
+
+    @Override
+    public void decodedField(final String path, final Class<?> type) {}
+
+    @Override
+    public void bound(final int fields, final int fieldsChanged) {
+        operation.bindNanos(endPhase()).fields(fields).fieldsChanged(fieldsChanged);
+    }
+
+    @Override
+    public void written(final File file) {
+        operation.writeNanos(endPhase()).bytesWritten(file.length());
+    }
+
+    @Override
+    public void error() {
+        errors++;
+    }
+
+    @Override
+    public void failed() {
+        failed = true;
+        errors++;
+    }
+
+    @Override
+    public void finish() {
+        ConfigMetrics.publish(operation.errors(errors).failed(failed).build());
+    }
+}
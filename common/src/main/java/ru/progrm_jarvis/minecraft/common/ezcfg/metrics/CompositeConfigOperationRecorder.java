@@ -0,0 +1,68 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.metrics;
+
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+
+import java.io.File;
+
+/**
+ * Recorder delegating to two other recorders.
+ */
+@AllArgsConstructor
+class CompositeConfigOperationRecorder implements ConfigOperationRecorder {
+
+    @NonNull private final ConfigOperationRecorder first, second;
+
+    @Override
+    public boolean isActive() {
+        return first.isActive() || second.isActive();
+    }
+
+    @Override
+    public void parsed(final File file) {
+        first.parsed(file);
+        second.parsed(file);
+    }
+
+    @Override
+    public void decodingField() {
+        first.decodingField();
+        second.decodingField();
+    }
+
+    @Override
+    public void decodedField(final String path, final Class<?> type) {
+        first.decodedField(path, type);
+        second.decodedField(path, type);
+    }
+
+    @Override
+    public void bound(final int fields, final int fieldsChanged) {
+        first.bound(fields, fieldsChanged);
+        second.bound(fields, fieldsChanged);
+    }
+
+    @Override
+    public void written(final File file) {
+        first.written(file);
+        second.written(file);
+    }
+
+    @Override
+    public void error() {
+        first.error();
+        second.error();
+    }
+
+    @Override
+    public void failed() {
+        first.failed();
+        second.failed();
+    }
+
+    @Override
+    public void finish() {
+        first.finish();
+        second.finish();
+    }
+}
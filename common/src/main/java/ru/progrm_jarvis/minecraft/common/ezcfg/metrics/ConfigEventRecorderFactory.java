@@ -0,0 +1,26 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.metrics;
+
+import java.io.File;
+
+/**
+ * Factory of recorders emitting flight recorder events.
+ */
+interface ConfigEventRecorderFactory {
+
+    /**
+     * Checks whether or not there is a running recording which may consume the events.
+     *
+     * @return {@code true} if events should be emitted and {@code false} otherwise
+     */
+    boolean isRecording();
+
+    /**
+     * Creates a recorder emitting the events of a single operation.
+     *
+     * @param type kind of the operation
+     * @param configClass class of the config
+     * @param file file of the config
+     * @return created recorder
+     */
+    ConfigOperationRecorder start(ConfigOperation.Type type, Class<?> configClass, File file);
+}
@@ -0,0 +1,64 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.metrics;
+
+import java.io.File;
+
+/**
+ * Java Flight Recorder integration.
+ * <p>
+ * While a recording is running, loads and saves of configs emit the following events
+ * (all in the {@code EZ-Cfg} category):
+ * <ul>
+ *     <li>{@code ru.progrm_jarvis.ezcfg.ConfigLoad} and {@code ru.progrm_jarvis.ezcfg.ConfigSave}
+ *     spanning the whole operation;</li>
+ *     <li>{@code ru.progrm_jarvis.ezcfg.ConfigParse}, {@code ru.progrm_jarvis.ezcfg.ConfigBind}
+ *     and {@code ru.progrm_jarvis.ezcfg.ConfigWrite} spanning its phases;</li>
+ *     <li>{@code ru.progrm_jarvis.ezcfg.ConfigFieldDecodeSlow} for fields whose decoding took longer
+ *     than the event's threshold (1 ms by default).</li>
+ * </ul>
+ * On JVMs without JFR (or if it cannot be used) this falls back to a no-op.
+ */
+public final class ConfigEvents {
+
+    private static final String JFR_FACTORY_CLASS_NAME
+            = ConfigEvents.class.getPackage().getName() + ".JfrConfigEventRecorderFactory";
+
+    private static final ConfigEventRecorderFactory FACTORY = createFactory();
+
+    private ConfigEvents() {
+        throw new UnsupportedOperationException("ConfigEvents is a utility class");
+    }
+
+    private static ConfigEventRecorderFactory createFactory() {
+        try {
+            Class.forName("jdk.jfr.FlightRecorder", false, ConfigEvents.class.getClassLoader());
+
+            return (ConfigEventRecorderFactory) Class.forName(JFR_FACTORY_CLASS_NAME)
+                    .getDeclaredConstructor().newInstance();
+        } catch (final ReflectiveOperationException | LinkageError | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Checks whether or not flight recorder events are supported by this JVM.
+     *
+     * @return {@code true} if JFR is available and {@code false} otherwise
+     */
+    public static boolean isAvailable() {
+        return FACTORY != null;
+    }
+
+    /**
+     * Checks whether or not there is a running flight recording.
+     *
+     * @return {@code true} if events are currently emitted and {@code false} otherwise
+     */
+    public static boolean isRecording() {
+        return FACTORY != null && FACTORY.isRecording();
+    }
+
+    static ConfigOperationRecorder start(final ConfigOperation.Type type,
+                                         final Class<?> configClass, final File file) {
+        return FACTORY.start(type, configClass, file);
+    }
+}
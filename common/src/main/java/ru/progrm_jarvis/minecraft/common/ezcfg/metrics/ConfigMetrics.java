@@ -0,0 +1,245 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.metrics;
+
+import lombok.NonNull;
+import lombok.Value;
+import lombok.val;
+import ru.progrm_jarvis.minecraft.common.ezcfg.io.ConfigFiles;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Entry point of config load and save metrics.
+ * <p>
+ * Metrics are only collected while there is at least one listener or registered config,
+ * otherwise {@link #startLoad(Class, File)} and {@link #startSave(Class, File)} return a no-op recorder
+ * (unless a flight recording is running, see {@link ConfigEvents}) so that the only overhead is a volatile read.
+ */
+public final class ConfigMetrics {
+
+    /**
+     * Domain of the object names of exported MBeans.
+     */
+    public static final String JMX_DOMAIN = "ru.progrm_jarvis.ezcfg";
+
+    private static final Logger LOGGER = Logger.getLogger(ConfigMetrics.class.getName());
+
+    private static final List<ConfigMetricsListener> LISTENERS = new CopyOnWriteArrayList<>();
+
+    private static final Map<StatisticsKey, ConfigStatistics> STATISTICS = new ConcurrentHashMap<>();
+
+    private static final Map<StatisticsKey, ObjectName> MBEANS = new ConcurrentHashMap<>();
+
+    private static volatile boolean enabled;
+
+    private ConfigMetrics() {
+        throw new UnsupportedOperationException("ConfigMetrics is a utility class");
+    }
+
+    /**
+     * Checks whether or not metrics are currently collected.
+     *
+     * @return {@code true} if there are listeners or registered configs and {@code false} otherwise
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    private static void updateEnabled() {
+        enabled = !LISTENERS.isEmpty() || !STATISTICS.isEmpty();
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Listeners
+    ///////////////////////////////////////////////////////////////////////////
+
+    public static void addListener(@NonNull final ConfigMetricsListener listener) {
+        LISTENERS.add(listener);
+        updateEnabled();
+    }
+
+    public static void removeListener(@NonNull final ConfigMetricsListener listener) {
+        LISTENERS.remove(listener);
+        updateEnabled();
+    }
+
+    /**
+     * Registers all {@link ConfigMetricsListener} services available to the class loader.
+     *
+     * @param classLoader class loader by which to look up the services
+     */
+    public static void loadListeners(@NonNull final ClassLoader classLoader) {
+        for (val listener : ServiceLoader.load(ConfigMetricsListener.class, classLoader)) LISTENERS.add(listener);
+        updateEnabled();
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Statistics
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Starts aggregating metrics of the config file.
+     *
+     * @param configClass class of the config
+     * @param file file of the config
+     * @return statistics of the config file
+     */
+    public static ConfigStatistics register(@NonNull final Class<?> configClass, @NonNull final File file) {
+        val statistics = STATISTICS.computeIfAbsent(
+                new StatisticsKey(configClass, file.getAbsoluteFile()),
+                key -> new ConfigStatistics(key.getConfigClass(), key.getFile())
+        );
+        updateEnabled();
+
+        return statistics;
+    }
+
+    /**
+     * Starts aggregating metrics of the config file and exports them as an MBean
+     * to the platform MBean server.
+     *
+     * @param configClass class of the config
+     * @param file file of the config
+     * @return statistics of the config file
+     */
+    public static ConfigStatistics registerMBean(@NonNull final Class<?> configClass, @NonNull final File file) {
+        val statistics = register(configClass, file);
+
+        MBEANS.computeIfAbsent(new StatisticsKey(configClass, statistics.getPath()), key -> {
+            try {
+                val name = new ObjectName(JMX_DOMAIN + ":type=Config,class=" + configClass.getName()
+                        + ",file=" + ObjectName.quote(key.getFile().getPath()));
+                ManagementFactory.getPlatformMBeanServer().registerMBean(statistics, name);
+
+                return name;
+            } catch (final JMException e) {
+                throw new IllegalStateException("Could not register MBean of config " + key, e);
+            }
+        });
+
+        return statistics;
+    }
+
+    /**
+     * Stops aggregating metrics of the config file unregistering its MBean if there is one.
+     *
+     * @param configClass class of the config
+     * @param file file of the config
+     */
+    public static void unregister(@NonNull final Class<?> configClass, @NonNull final File file) {
+        val key = new StatisticsKey(configClass, file.getAbsoluteFile());
+
+        STATISTICS.remove(key);
+        updateEnabled();
+
+        val name = MBEANS.remove(key);
+        if (name != null) try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+        } catch (final JMException e) {
+            LOGGER.log(Level.WARNING, "Could not unregister MBean " + name, e);
+        }
+    }
+
+    public static Optional<ConfigStatistics> getStatistics(@NonNull final Class<?> configClass,
+                                                           @NonNull final File file) {
+        return Optional.ofNullable(STATISTICS.get(new StatisticsKey(configClass, file.getAbsoluteFile())));
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Recording
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Starts recording a load of the config.
+     *
+     * @param configClass class of the config
+     * @param file file from which the config is loaded
+     * @return recorder of the operation, no-op one if neither metrics nor flight recording are enabled
+     */
+    public static ConfigOperationRecorder startLoad(final Class<?> configClass, final File file) {
+        return start(ConfigOperation.Type.LOAD, configClass, file);
+    }
+
+    /**
+     * Starts recording a save of the config.
+     *
+     * @param configClass class of the config
+     * @param file file to which the config is saved
+     * @return recorder of the operation, no-op one if neither metrics nor flight recording are enabled
+     */
+    public static ConfigOperationRecorder startSave(final Class<?> configClass, final File file) {
+        return start(ConfigOperation.Type.SAVE, configClass, file);
+    }
+
+    /**
+     * Starts recording a load of the config from a file of any file system.
+     * Only the loads from the files of the default file system are recorded.
+     *
+     * @param configClass class of the config
+     * @param file file from which the config is loaded
+     * @return recorder of the operation, no-op one if it is not recorded
+     */
+    public static ConfigOperationRecorder startLoad(final Class<?> configClass, final Path file) {
+        val localFile = ConfigFiles.toFile(file);
+
+        return localFile == null ? NoopConfigOperationRecorder.INSTANCE : startLoad(configClass, localFile);
+    }
+
+    /**
+     * Starts recording a save of the config to a file of any file system.
+     * Only the saves to the files of the default file system are recorded.
+     *
+     * @param configClass class of the config
+     * @param file file to which the config is saved
+     * @return recorder of the operation, no-op one if it is not recorded
+     */
+    public static ConfigOperationRecorder startSave(final Class<?> configClass, final Path file) {
+        val localFile = ConfigFiles.toFile(file);
+
+        return localFile == null ? NoopConfigOperationRecorder.INSTANCE : startSave(configClass, localFile);
+    }
+
+    private static ConfigOperationRecorder start(final ConfigOperation.Type type,
+                                                 final Class<?> configClass, final File file) {
+        val recording = ConfigEvents.isRecording();
+        if (enabled) {
+            val recorder = new ActiveConfigOperationRecorder(type, configClass, file);
+
+            return recording ? new CompositeConfigOperationRecorder(
+                    recorder, ConfigEvents.start(type, configClass, file)
+            ) : recorder;
+        }
+
+        return recording ? ConfigEvents.start(type, configClass, file) : NoopConfigOperationRecorder.INSTANCE;
+    }
+
+    static void publish(@NonNull final ConfigOperation operation) {
+        val statistics = STATISTICS.get(new StatisticsKey(
+                operation.getConfigClass(), operation.getFile().getAbsoluteFile()
+        ));
+        if (statistics != null) statistics.record(operation);
+
+        for (val listener : LISTENERS) try {
+            listener.onOperation(operation);
+        } catch (final RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Config metrics listener " + listener + " failed", e);
+        }
+    }
+
+    @Value
+    private static class StatisticsKey {
+        @NonNull private Class<?> configClass;
+        @NonNull private File file;
+    }
+}
@@ -0,0 +1,19 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.metrics;
+
+/**
+ * Listener notified of every load and save of configs.
+ * Implementations may be registered via {@link ConfigMetrics#addListener(ConfigMetricsListener)}
+ * or discovered as services by {@link ConfigMetrics#loadListeners(ClassLoader)}.
+ * <p>
+ * Listeners are called synchronously by the thread performing the operation so they should not block.
+ */
+@FunctionalInterface
+public interface ConfigMetricsListener {
+
+    /**
+     * Handles the finished operation.
+     *
+     * @param operation measurements of the operation
+     */
+    void onOperation(ConfigOperation operation);
+}
@@ -0,0 +1,46 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.metrics;
+
+/**
+ * Management interface exposing aggregated metrics of a single config file.
+ */
+public interface ConfigMetricsMXBean {
+
+    String getConfigClass();
+
+    String getFile();
+
+    long getLoadCount();
+
+    long getSaveCount();
+
+    long getFailureCount();
+
+    long getErrorCount();
+
+    long getTotalParseNanos();
+
+    long getTotalBindNanos();
+
+    long getTotalWriteNanos();
+
+    long getLastLoadNanos();
+
+    long getLastSaveNanos();
+
+    long getMaxLoadNanos();
+
+    long getMaxSaveNanos();
+
+    long getBytesRead();
+
+    long getBytesWritten();
+
+    int getFieldCount();
+
+    long getFieldsChanged();
+
+    /**
+     * Resets all counters.
+     */
+    void reset();
+}
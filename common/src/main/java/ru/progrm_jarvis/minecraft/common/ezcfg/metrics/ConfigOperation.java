@@ -0,0 +1,88 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.metrics;
+
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+
+import java.io.File;
+
+/**
+ * Measurements of a single load or save of a config.
+ */
+@Value
+@Builder
+public class ConfigOperation {
+
+    /**
+     * Kind of the operation.
+     */
+    @NonNull private Type type;
+
+    /**
+     * Class of the config on which the operation was performed.
+     */
+    @NonNull private Class<?> configClass;
+
+    /**
+     * File from which the config was loaded or to which it was saved.
+     */
+    @NonNull private File file;
+
+    /**
+     * Time spent reading and parsing the file, in nanoseconds.
+     */
+    private long parseNanos;
+
+    /**
+     * Time spent binding (when loading) or comparing (when saving) the fields, in nanoseconds.
+     */
+    private long bindNanos;
+
+    /**
+     * Time spent writing the file, in nanoseconds, {@code 0} if the file was not written.
+     */
+    private long writeNanos;
+
+    /**
+     * Amount of bytes read from the file.
+     */
+    private long bytesRead;
+
+    /**
+     * Amount of bytes written to the file, {@code 0} if the file was not written.
+     */
+    private long bytesWritten;
+
+    /**
+     * Amount of fields of the config handled by the operation.
+     */
+    private int fields;
+
+    /**
+     * Amount of fields whose value differed between the config object and the file.
+     */
+    private int fieldsChanged;
+
+    /**
+     * Amount of errors which happened during the operation.
+     */
+    private int errors;
+
+    /**
+     * Whether or not the operation failed with an exception.
+     */
+    private boolean failed;
+
+    /**
+     * Gets the total time of the operation.
+     *
+     * @return sum of parse, bind and write times, in nanoseconds
+     */
+    public long getTotalNanos() {
+        return parseNanos + bindNanos + writeNanos;
+    }
+
+    public enum Type {
+        LOAD, SAVE
+    }
+}
@@ -0,0 +1,72 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.metrics;
+
+import java.io.File;
+
+/**
+ * Recorder of the phases of a single config operation.
+ * Phases are expected to be reported in order: parse, bind and (optionally) write
+ * with each one measured from the end of the previous one.
+ *
+ * @see ConfigMetrics#startLoad(Class, File)
+ * @see ConfigMetrics#startSave(Class, File)
+ */
+public interface ConfigOperationRecorder {
+
+    /**
+     * Checks whether or not this recorder actually records anything.
+     * This may be used to skip computations only needed for metrics.
+     *
+     * @return {@code true} if this recorder is active and {@code false} otherwise
+     */
+    boolean isActive();
+
+    /**
+     * Marks the end of the parse phase.
+     *
+     * @param file file which was read
+     */
+    void parsed(File file);
+
+    /**
+     * Marks the start of decoding a single field during the bind phase.
+     */
+    void decodingField();
+
+    /**
+     * Marks the end of decoding the field whose decoding was started by {@link #decodingField()}.
+     *
+     * @param path path of the field in the file
+     * @param type type of the field
+     */
+    void decodedField(String path, Class<?> type);
+
+    /**
+     * Marks the end of the bind phase.
+     *
+     * @param fields amount of fields handled
+     * @param fieldsChanged amount of fields whose value differed between the object and the file
+     */
+    void bound(int fields, int fieldsChanged);
+
+    /**
+     * Marks the end of the write phase.
+     *
+     * @param file file which was written
+     */
+    void written(File file);
+
+    /**
+     * Records a recoverable error.
+     */
+    void error();
+
+    /**
+     * Marks the operation as failed.
+     */
+    void failed();
+
+    /**
+     * Finishes the operation notifying all listeners.
+     */
+    void finish();
+}
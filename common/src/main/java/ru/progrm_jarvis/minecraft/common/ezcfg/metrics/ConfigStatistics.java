@@ -0,0 +1,151 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.metrics;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+import java.io.File;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics of a single config file aggregated over all of its operations.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+public class ConfigStatistics implements ConfigMetricsMXBean {
+
+    @Getter @NonNull private final Class<?> type;
+
+    @Getter @NonNull private final File path;
+
+    private final LongAdder loadCount = new LongAdder(), saveCount = new LongAdder(),
+            failureCount = new LongAdder(), errorCount = new LongAdder(),
+            totalParseNanos = new LongAdder(), totalBindNanos = new LongAdder(), totalWriteNanos = new LongAdder(),
+            bytesRead = new LongAdder(), bytesWritten = new LongAdder(), fieldsChanged = new LongAdder();
+
+    private final AtomicLong lastLoadNanos = new AtomicLong(), lastSaveNanos = new AtomicLong(),
+            maxLoadNanos = new AtomicLong(), maxSaveNanos = new AtomicLong();
+
+    private volatile int fieldCount;
+
+    void record(@NonNull final ConfigOperation operation) {
+        val totalNanos = operation.getTotalNanos();
+        if (operation.getType() == ConfigOperation.Type.LOAD) {
+            loadCount.increment();
+            lastLoadNanos.set(totalNanos);
+            maxLoadNanos.accumulateAndGet(totalNanos, Math::max);
+        } else {
+            saveCount.increment();
+            lastSaveNanos.set(totalNanos);
+            maxSaveNanos.accumulateAndGet(totalNanos, Math::max);
+        }
+        if (operation.isFailed()) failureCount.increment();
+        errorCount.add(operation.getErrors());
+
+        totalParseNanos.add(operation.getParseNanos());
+        totalBindNanos.add(operation.getBindNanos());
+        totalWriteNanos.add(operation.getWriteNanos());
+        bytesRead.add(operation.getBytesRead());
+        bytesWritten.add(operation.getBytesWritten());
+        fieldsChanged.add(operation.getFieldsChanged());
+        if (operation.getFields() != 0) fieldCount = operation.getFields();
+    }
+
+    @Override
+    public String getConfigClass() {
+        return type.getName();
+    }
+
+    @Override
+    public String getFile() {
+        return path.getPath();
+    }
+
+    @Override
+    public long getLoadCount() {
+        return loadCount.sum();
+    }
+
+    @Override
+    public long getSaveCount() {
+        return saveCount.sum();
+    }
+
+    @Override
+    public long getFailureCount() {
+        return failureCount.sum();
+    }
+
+    @Override
+    public long getErrorCount() {
+        return errorCount.sum();
+    }
+
+    @Override
+    public long getTotalParseNanos() {
+        return totalParseNanos.sum();
+    }
+
+    @Override
+    public long getTotalBindNanos() {
+        return totalBindNanos.sum();
+    }
+
+    @Override
+    public long getTotalWriteNanos() {
+        return totalWriteNanos.sum();
+    }
+
+    @Override
+    public long getLastLoadNanos() {
+        return lastLoadNanos.get();
+    }
+
+    @Override
+    public long getLastSaveNanos() {
+        return lastSaveNanos.get();
+    }
+
+    @Override
+    public long getMaxLoadNanos() {
+        return maxLoadNanos.get();
+    }
+
+    @Override
+    public long getMaxSaveNanos() {
+        return maxSaveNanos.get();
+    }
+
+    @Override
+    public long getBytesRead() {
+        return bytesRead.sum();
+    }
+
+    @Override
+    public long getBytesWritten() {
+        return bytesWritten.sum();
+    }
+
+    @Override
+    public int getFieldCount() {
+        return fieldCount;
+    }
+
+    @Override
+    public long getFieldsChanged() {
+        return fieldsChanged.sum();
+    }
+
+    @Override
+    public void reset() {
+        for (val adder : new LongAdder[]{
+                loadCount, saveCount, failureCount, errorCount, totalParseNanos, totalBindNanos, totalWriteNanos,
+                bytesRead, bytesWritten, fieldsChanged
+        }) adder.reset();
+        for (val value : new AtomicLong[]{
+                lastLoadNanos, lastSaveNanos, maxLoadNanos, maxSaveNanos
+        }) value.set(0);
+    }
+}
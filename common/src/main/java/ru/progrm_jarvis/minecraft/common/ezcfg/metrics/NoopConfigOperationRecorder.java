@@ -0,0 +1,39 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.metrics;
+
+import java.io.File;
+
+/**
+ * Recorder used while metrics are disabled.
+ */
+enum NoopConfigOperationRecorder implements ConfigOperationRecorder {
+    INSTANCE;
+
+    @Override
+    public boolean isActive() {
+        return false;
+    }
+
+    @Override
+    public void parsed(final File file) {}
+
+    @Override
+    public void decodingField() {}
+
+    @Override
+    public void decodedField(final String path, final Class<?> type) {}
+
+    @Override
+    public void bound(final int fields, final int fieldsChanged) {}
+
+    @Override
+    public void written(final File file) {}
+
+    @Override
+    public void error() {}
+
+    @Override
+    public void failed() {}
+
+    @Override
+    public void finish() {}
+}
@@ -0,0 +1,328 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.patch;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.val;
+import lombok.var;
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.error.Mark;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.nodes.MappingNode;
+import org.yaml.snakeyaml.nodes.Node;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.nodes.Tag;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writer of changed scalar values of a YAML file which replaces only their text
+ * keeping the rest of the file (comments, order of keys, quoting and indentation) as the admin wrote it.
+ * <p>
+ * The file is indexed lazily on the first {@link #patch(Map) patch}: only single-line scalar values
+ * of block mappings whose keys contain no path separator and which have no anchors or tags are patchable,
+ * any other change is structural and requires the file to be rewritten as a whole.
+ * The file is expected to be encoded in UTF-8.
+ */
+public final class YamlPatcher {
+
+    private static final char SEPARATOR = '.';
+
+    /**
+     * File being patched
+     */
+    @Getter private final Path file;
+
+    /**
+     * Current text of the file
+     */
+    @Getter private String text;
+
+    /**
+     * Ranges of patchable scalar values in the text by their paths or {@code null} if it is not yet indexed
+     */
+    private Map<String, int[]> scalars;
+
+    private YamlPatcher(final Path file, final String text) {
+        this.file = file;
+        this.text = text;
+    }
+
+    /**
+     * Reads the file for patching.
+     *
+     * @param file file to patch
+     * @return patcher of the file
+     * @throws IOException if an I/O error occurs reading the file
+     */
+    public static YamlPatcher read(@NonNull final Path file) throws IOException {
+        return new YamlPatcher(file, new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Checks whether the value at the path can be patched in place.
+     *
+     * @param path path of the value
+     * @return {@code true} if the value at the path is a patchable scalar and {@code false} otherwise
+     */
+    public boolean isPatchable(@NonNull final String path) {
+        return index().containsKey(path);
+    }
+
+    /**
+     * Replaces the values at the paths in the file.
+     * Nothing is written unless all of the values can be patched.
+     *
+     * @param values new raw values by their paths
+     * @return {@code true} if the values have been written and {@code false} if the changes are structural
+     * so that the file should be rewritten as a whole
+     * @throws IOException if an I/O error occurs writing the file
+     */
+    public boolean patch(@NonNull final Map<String, ?> values) throws IOException {
+        if (values.isEmpty()) return true;
+
+        val patches = patches(values);
+        if (patches == null) return false;
+        val patched = apply(patches);
+
+        // the bytes before the first changed value are left untouched
+        val firstChange = patches.get(0).start;
+        val offset = utf8Length(text, firstChange);
+        val tail = ByteBuffer.wrap(patched.substring(firstChange).getBytes(StandardCharsets.UTF_8));
+        try (val channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            var written = offset;
+            while (tail.hasRemaining()) written += channel.write(tail, written);
+            channel.truncate(written);
+        }
+
+        text = patched;
+        // the ranges following the patched values have shifted
+        this.scalars = null;
+
+        return true;
+    }
+
+    /**
+     * Gets the text of the file with the values at the paths replaced without writing it
+     * so that it may be written by other means (such as atomically).
+     *
+     * @param values new raw values by their paths
+     * @return patched text of the file or {@code null} if the changes are structural
+     * so that the file should be rewritten as a whole
+     */
+    public String preview(@NonNull final Map<String, ?> values) {
+        if (values.isEmpty()) return text;
+
+        val patches = patches(values);
+
+        return patches == null ? null : apply(patches);
+    }
+
+    /**
+     * Creates the patches replacing the values.
+     *
+     * @param values new raw values by their paths
+     * @return patches sorted by their positions or {@code null} if some of the values cannot be patched
+     */
+    private List<Patch> patches(final Map<String, ?> values) {
+        val scalars = index();
+        val patches = new ArrayList<Patch>(values.size());
+        final Yaml yaml;
+        {
+            val options = new DumperOptions();
+            options.setWidth(Integer.MAX_VALUE);
+            options.setSplitLines(false);
+            options.setAllowUnicode(true);
+            yaml = new Yaml(options);
+        }
+        for (val entry : values.entrySet()) {
+            val range = scalars.get(entry.getKey());
+            if (range == null) return null;
+
+            val replacement = render(yaml, entry.getValue());
+            if (replacement == null) return null;
+
+            patches.add(new Patch(range[0], range[1], replacement));
+        }
+        patches.sort(null);
+
+        return patches;
+    }
+
+    private String apply(final List<Patch> patches) {
+        val patched = new StringBuilder(text.length() + 16 * patches.size());
+        var position = 0;
+        for (val patch : patches) {
+            patched.append(text, position, patch.start).append(patch.replacement);
+            position = patch.end;
+        }
+
+        return patched.append(text, position, text.length()).toString();
+    }
+
+    /**
+     * Renders the raw value as a single-line YAML scalar.
+     *
+     * @param yaml YAML used for rendering
+     * @param value raw value
+     * @return rendered value or {@code null} if it is not a scalar representable in a single line
+     */
+    private static String render(final Yaml yaml, final Object value) {
+        if (!(value instanceof String || value instanceof Boolean || value instanceof Integer
+                || value instanceof Long || value instanceof Double || value instanceof Float
+                || value instanceof Short || value instanceof Byte || value instanceof BigInteger)) return null;
+
+        var rendered = yaml.dump(value);
+        if (rendered.endsWith("\n")) rendered = rendered.substring(0, rendered.length() - 1);
+        if (rendered.isEmpty() || rendered.indexOf('\n') != -1 || rendered.indexOf('\r') != -1
+                || rendered.startsWith("---") || rendered.startsWith("...") || rendered.charAt(0) == '!') return null;
+
+        return rendered;
+    }
+
+    private Map<String, int[]> index() {
+        var scalars = this.scalars;
+        if (scalars == null) {
+            scalars = new HashMap<>();
+            final Node root;
+            try {
+                root = new Yaml().compose(new StringReader(text));
+            } catch (final YAMLException e) {
+                // the changes will be written by the full writer reporting the malformed file
+                return this.scalars = Collections.emptyMap();
+            }
+            if (root instanceof MappingNode) index(scalars, lineStarts(text), "", (MappingNode) root);
+            this.scalars = scalars;
+        }
+
+        return scalars;
+    }
+
+    private void index(final Map<String, int[]> scalars, final int[] lineStarts,
+                       final String prefix, final MappingNode mapping) {
+        // flow mappings, anchored and tagged ones (so possibly aliased) are never patched
+        if (!isPlain(offset(lineStarts, mapping.getStartMark()))) return;
+        for (val tuple : mapping.getValue()) if (Tag.MERGE.equals(tuple.getKeyNode().getTag())) return;
+
+        for (val tuple : mapping.getValue()) {
+            val keyNode = tuple.getKeyNode();
+            if (!(keyNode instanceof ScalarNode)) continue;
+            val key = ((ScalarNode) keyNode).getValue();
+            if (key.isEmpty() || key.indexOf(SEPARATOR) != -1) continue;
+
+            val path = prefix + key;
+            val valueNode = tuple.getValueNode();
+            if (valueNode instanceof MappingNode) index(scalars, lineStarts, path + SEPARATOR, (MappingNode) valueNode);
+            else if (valueNode instanceof ScalarNode) {
+                val start = valueNode.getStartMark();
+                val end = valueNode.getEndMark();
+                if (start.getLine() != end.getLine()) {
+                    scalars.remove(path);
+                    continue;
+                }
+
+                val startOffset = offset(lineStarts, start);
+                val endOffset = offset(lineStarts, end);
+                // empty values have no text to replace
+                if (startOffset >= endOffset || !isPlain(startOffset)
+                        || text.charAt(startOffset) == '|' || text.charAt(startOffset) == '>') {
+                    scalars.remove(path);
+                    continue;
+                }
+
+                scalars.put(path, new int[]{startOffset, endOffset});
+            } else scalars.remove(path);
+        }
+    }
+
+    /**
+     * Checks whether the node starting at the offset is neither a flow collection nor anchored, aliased or tagged.
+     *
+     * @param offset offset of the start of the node
+     * @return {@code true} if the node is plain and {@code false} otherwise
+     */
+    private boolean isPlain(final int offset) {
+        if (offset >= text.length()) return true;
+
+        val character = text.charAt(offset);
+
+        return character != '{' && character != '[' && character != '&' && character != '*' && character != '!';
+    }
+
+    private int offset(final int[] lineStarts, final Mark mark) {
+        val line = mark.getLine();
+        if (line >= lineStarts.length) return text.length();
+
+        // columns are counted in code points
+        try {
+            return text.offsetByCodePoints(lineStarts[line], mark.getColumn());
+        } catch (final IndexOutOfBoundsException e) {
+            return text.length();
+        }
+    }
+
+    private static int[] lineStarts(final String text) {
+        var lines = 1;
+        for (int i = 0; i < text.length(); i++) if (isLineBreak(text, i)) lines++;
+
+        val lineStarts = new int[lines];
+        var line = 1;
+        for (int i = 0; i < text.length(); i++) if (isLineBreak(text, i)) lineStarts[line++] = i + 1;
+
+        return lineStarts;
+    }
+
+    private static boolean isLineBreak(final String text, final int index) {
+        val character = text.charAt(index);
+
+        // the same breaks as the ones counted by SnakeYAML
+        return character == '\n' || character == '\u0085' || character == '\u2028' || character == '\u2029'
+                || character == '\r' && (index + 1 == text.length() || text.charAt(index + 1) != '\n');
+    }
+
+    private static int utf8Length(final String text, final int end) {
+        var length = 0;
+        for (int i = 0; i < end; i++) {
+            val character = text.charAt(i);
+            if (character < 0x80) length++;
+            else if (character < 0x800) length += 2;
+            else if (Character.isHighSurrogate(character) && i + 1 < end) {
+                length += 4;
+                i++;
+            } else length += 3;
+        }
+
+        return length;
+    }
+
+    private static final class Patch implements Comparable<Patch> {
+
+        private final int start, end;
+
+        private final String replacement;
+
+        private Patch(final int start, final int end, final String replacement) {
+            this.start = start;
+            this.end = end;
+            this.replacement = replacement;
+        }
+
+        @Override
+        public int compareTo(final Patch other) {
+            return Integer.compare(start, other.start);
+        }
+    }
+}
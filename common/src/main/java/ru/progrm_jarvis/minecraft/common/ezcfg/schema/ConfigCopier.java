@@ -0,0 +1,69 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.schema;
+
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.val;
+import lombok.var;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.function.Function;
+
+/**
+ * Copier of the serialized fields of a class.
+ * For each field it holds a single method handle of type {@code (Object target, Object source)void}
+ * composed of the field's getter, its cloner (if any) and its setter
+ * so that copying performs no reflection and no boxing of primitives.
+ */
+public final class ConfigCopier {
+
+    private static final MethodType COPY_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Class<?> type;
+
+    private final MethodHandle[] fieldCopiers;
+
+    /**
+     * Creates a new copier of the fields of the schema.
+     *
+     * @param schema schema whose fields to copy
+     * @param cloners function giving the cloner of type {@code (Object)Object} of the values
+     * of the non-primitive field or {@code null} if they should be copied by reference
+     * @param <F> type of the serialized fields
+     */
+    public <F extends SerializedField> ConfigCopier(@NonNull final SerializedSchema<F> schema,
+                                                    @NonNull final Function<? super F, MethodHandle> cloners) {
+        type = schema.getType();
+
+        val fields = schema.getFields();
+        fieldCopiers = new MethodHandle[fields.size()];
+        var i = 0;
+        for (val field : fields) {
+            var value = field.getExactGetter();
+            val fieldType = field.getField().getType();
+            if (!fieldType.isPrimitive()) {
+                val cloner = cloners.apply(field);
+                if (cloner != null) value = MethodHandles.filterReturnValue(
+                        value, cloner.asType(MethodType.methodType(fieldType, fieldType))
+                );
+            }
+            // setter(target, value(source))
+            fieldCopiers[i++] = MethodHandles.collectArguments(field.getExactSetter(), 1, value).asType(COPY_TYPE);
+        }
+    }
+
+    /**
+     * Copies values of all serialized fields from the source object to the target one.
+     *
+     * @param target object to which to copy the values
+     * @param source object from which to copy the values
+     */
+    @SneakyThrows
+    public void copy(@NonNull final Object target, @NonNull final Object source) {
+        type.cast(target);
+        type.cast(source);
+
+        for (val fieldCopier : fieldCopiers) fieldCopier.invokeExact(target, source);
+    }
+}
@@ -0,0 +1,39 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.schema;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Field;
+
+/**
+ * Serialized field of a config class with its accessors resolved once.
+ */
+public interface SerializedField {
+
+    /**
+     * Gets the field itself.
+     *
+     * @return the field
+     */
+    Field getField();
+
+    /**
+     * Gets the getter of the field of type {@code (declaring class)field type}.
+     *
+     * @return getter of the field of its exact type
+     */
+    MethodHandle getExactGetter();
+
+    /**
+     * Gets the setter of the field of type {@code (declaring class, field type)void}.
+     *
+     * @return setter of the field of its exact type
+     */
+    MethodHandle getExactSetter();
+
+    /**
+     * Gets the value of this field of the object.
+     *
+     * @param object object whose field to get
+     * @return value of the field (boxed if it is primitive)
+     */
+    Object get(Object object);
+}
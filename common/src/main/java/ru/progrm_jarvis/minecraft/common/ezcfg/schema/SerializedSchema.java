@@ -0,0 +1,25 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.schema;
+
+import java.util.List;
+
+/**
+ * Schema of a config class describing its serialized fields.
+ *
+ * @param <F> type of the serialized fields
+ */
+public interface SerializedSchema<F extends SerializedField> {
+
+    /**
+     * Gets the class described by this schema.
+     *
+     * @return described class
+     */
+    Class<?> getType();
+
+    /**
+     * Gets the serialized fields of the class.
+     *
+     * @return serialized fields in their declaration order
+     */
+    List<F> getFields();
+}
@@ -0,0 +1,60 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.store;
+
+import lombok.NonNull;
+
+import java.io.File;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Reader and writer of entities stored in separate files.
+ *
+ * @param <K> type of the keys of the entities
+ * @param <V> type of the entities
+ */
+public interface EntityIo<K, V> {
+
+    /**
+     * Loads the entity from its file creating the file with default values if there is none.
+     *
+     * @param key key of the entity
+     * @param file file of the entity
+     * @return loaded entity
+     */
+    V load(K key, File file);
+
+    /**
+     * Saves the entity to its file.
+     *
+     * @param entity entity to save
+     * @param file file of the entity
+     */
+    void save(V entity, File file);
+
+    /**
+     * Creates the I/O of entities which are created empty by their keys and then loaded from their files.
+     *
+     * @param factory factory creating an empty entity by its key
+     * @param loader function loading the values of the entity from the file and returning the loaded entity
+     * @param saver function saving the entity to the file
+     * @param <K> type of the keys of the entities
+     * @param <V> type of the entities
+     * @return created I/O of the entities
+     */
+    static <K, V> EntityIo<K, V> of(@NonNull final Function<? super K, ? extends V> factory,
+                                    @NonNull final BiFunction<? super V, File, ? extends V> loader,
+                                    @NonNull final BiConsumer<? super V, File> saver) {
+        return new EntityIo<K, V>() {
+            @Override
+            public V load(final K key, final File file) {
+                return loader.apply(factory.apply(key), file);
+            }
+
+            @Override
+            public void save(final V entity, final File file) {
+                saver.accept(entity, file);
+            }
+        };
+    }
+}
@@ -0,0 +1,473 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.store;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.val;
+import lombok.var;
+import ru.progrm_jarvis.minecraft.common.ezcfg.io.IoExecutors;
+import ru.progrm_jarvis.minecraft.common.ezcfg.metrics.ConfigMetrics;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Store of entities (such as per-player data) each kept in its own file.
+ * <p>
+ * Recently used entities are cached in a bounded LRU cache, entities are loaded asynchronously
+ * and changed ones are written behind: {@link #markDirty(Object) marked} entities are queued
+ * and saved periodically (and on {@link #flush()} or {@link #close()}) by the I/O executor.
+ * Entities waiting to be written are kept in memory even if they get evicted from the cache
+ * so that they are never reloaded from stale files.
+ * <p>
+ * Files are spread over hashed shard directories (such as {@code 3f/a0/<key>.yml})
+ * so that there are not too many of them in a single directory.
+ *
+ * @param <K> type of the keys of the entities
+ * @param <V> type of the entities
+ */
+public class EntityStore<K, V> implements EntityStoreMXBean, AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(EntityStore.class.getName());
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private static final AtomicInteger STORE_COUNTER = new AtomicInteger();
+
+    /**
+     * Root directory of the files of the entities
+     */
+    @Getter private final File directory;
+
+    private final EntityIo<K, V> io;
+
+    private final Function<? super K, String> fileName;
+
+    private final String extension;
+
+    @Getter private final int maximumSize;
+
+    private final int shardLevels;
+
+    private final Executor executor;
+
+    private final ExecutorService ownExecutor;
+
+    private final ScheduledExecutorService flusher;
+
+    /**
+     * LRU cache of the entities guarded by itself
+     */
+    private final Map<K, V> cache;
+
+    /**
+     * Entities waiting to be written and the ones being written
+     */
+    private final Map<K, V> dirty = new ConcurrentHashMap<>(), writing = new ConcurrentHashMap<>();
+
+    private final Queue<K> writeQueue = new ConcurrentLinkedQueue<>();
+
+    private final Set<CompletableFuture<Void>> writes = ConcurrentHashMap.newKeySet();
+
+    private final Map<K, CompletableFuture<V>> loading = new ConcurrentHashMap<>();
+
+    private final LongAdder hitCount = new LongAdder(), missCount = new LongAdder(),
+            loadCount = new LongAdder(), saveCount = new LongAdder(),
+            evictionCount = new LongAdder(), failureCount = new LongAdder();
+
+    private volatile ObjectName mBeanName;
+
+    /**
+     * Creates a new entity store.
+     *
+     * @param directory root directory of the files of the entities
+     * @param io reader and writer of the entities
+     * @param fileName function giving the name of the file of the entity by its key
+     * (by default, {@link String#valueOf(Object)})
+     * @param extension extension of the files of the entities including the dot (by default, {@code .yml})
+     * @param maximumSize maximal number of cached entities (by default, {@code 1024})
+     * @param shardLevels number of levels of shard directories each of which has up to 256 subdirectories
+     * (by default, {@code 2})
+     * @param executor executor performing I/O (by default, one {@link IoExecutors#newExecutor(String, int) created}
+     * for and owned by this store)
+     * @param flushIntervalMillis interval between writes of changed entities (by default, {@code 5000})
+     */
+    @Builder
+    private EntityStore(@NonNull final File directory, @NonNull final EntityIo<K, V> io,
+                        final Function<? super K, String> fileName, final String extension,
+                        final Integer maximumSize, final Integer shardLevels,
+                        final Executor executor, final Long flushIntervalMillis) {
+        if (maximumSize != null && maximumSize <= 0) throw new IllegalArgumentException(
+                "maximumSize should be positive"
+        );
+        if (shardLevels != null && (shardLevels < 0 || shardLevels > 4)) throw new IllegalArgumentException(
+                "shardLevels should be between 0 and 4"
+        );
+        if (flushIntervalMillis != null && flushIntervalMillis <= 0) throw new IllegalArgumentException(
+                "flushIntervalMillis should be positive"
+        );
+
+        this.directory = directory;
+        this.io = io;
+        this.fileName = fileName == null ? String::valueOf : fileName;
+        this.extension = extension == null ? ".yml" : extension;
+        this.maximumSize = maximumSize == null ? 1024 : maximumSize;
+        this.shardLevels = shardLevels == null ? 2 : shardLevels;
+
+        val id = STORE_COUNTER.incrementAndGet();
+        if (executor == null) {
+            this.executor = ownExecutor = IoExecutors.newExecutor(
+                    "ez-cfg-store-" + id + "-io", Math.min(4, Runtime.getRuntime().availableProcessors())
+            );
+        } else {
+            this.executor = executor;
+            ownExecutor = null;
+        }
+
+        cache = new LinkedHashMap<K, V>(16, .75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<K, V> eldest) {
+                if (size() <= EntityStore.this.maximumSize) return false;
+
+                // dirty entities stay in memory until they are written
+                evictionCount.increment();
+                return true;
+            }
+        };
+
+        flusher = Executors.newSingleThreadScheduledExecutor(task -> {
+            val thread = new Thread(task, "ez-cfg-store-" + id + "-flusher");
+            thread.setDaemon(true);
+
+            return thread;
+        });
+        val interval = flushIntervalMillis == null ? 5000 : flushIntervalMillis;
+        flusher.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Gets the file of the entity.
+     *
+     * @param key key of the entity
+     * @return file of the entity in its shard directory
+     */
+    public File getFile(@NonNull final K key) {
+        val name = fileName.apply(key);
+        if (shardLevels == 0) return new File(directory, name + extension);
+
+        var hash = name.hashCode();
+        hash ^= hash >>> 16;
+        hash *= 0x45d9f3b;
+        hash ^= hash >>> 16;
+
+        val path = new StringBuilder(shardLevels * 3 + name.length() + extension.length());
+        for (var level = 0; level < shardLevels; level++, hash >>>= 8) path
+                .append(HEX_DIGITS[(hash >>> 4) & 0xF]).append(HEX_DIGITS[hash & 0xF]).append(File.separatorChar);
+
+        return new File(directory, path.append(name).append(extension).toString());
+    }
+
+    /**
+     * Gets the entity if it is loaded.
+     *
+     * @param key key of the entity
+     * @return loaded entity or {@code null} if it is not loaded
+     */
+    public V getIfLoaded(@NonNull final K key) {
+        val entity = peek(key);
+        if (entity == null) missCount.increment();
+        else hitCount.increment();
+
+        return entity;
+    }
+
+    /**
+     * Loads the entity asynchronously unless it is already loaded.
+     * Concurrent loads of the same entity share the same future.
+     *
+     * @param key key of the entity
+     * @return future completed with the entity
+     */
+    public CompletableFuture<V> load(@NonNull final K key) {
+        {
+            val entity = getIfLoaded(key);
+            if (entity != null) return CompletableFuture.completedFuture(entity);
+        }
+
+        val future = new CompletableFuture<V>();
+        {
+            val loadingFuture = loading.putIfAbsent(key, future);
+            if (loadingFuture != null) return loadingFuture;
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    val entity = cache(key, io.load(key, createShardDirectory(getFile(key))));
+                    loadCount.increment();
+                    loading.remove(key, future);
+                    future.complete(entity);
+                } catch (final Throwable e) {
+                    failureCount.increment();
+                    loading.remove(key, future);
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (final RejectedExecutionException e) {
+            loading.remove(key, future);
+            future.completeExceptionally(e);
+        }
+
+        return future;
+    }
+
+    /**
+     * Marks the loaded entity as changed so that it gets written by the next flush.
+     *
+     * @param key key of the entity
+     * @return {@code true} if the entity is loaded and so was marked and {@code false} otherwise
+     */
+    public boolean markDirty(@NonNull final K key) {
+        val entity = peek(key);
+        if (entity == null) return false;
+
+        if (dirty.put(key, entity) == null) writeQueue.offer(key);
+
+        return true;
+    }
+
+    /**
+     * Removes the entity from the cache.
+     * If the entity is marked as changed, it is still written by the next flush.
+     *
+     * @param key key of the entity
+     */
+    public void unload(@NonNull final K key) {
+        synchronized (cache) {
+            cache.remove(key);
+        }
+    }
+
+    /**
+     * Writes all the entities marked as changed.
+     *
+     * @return future completed once all the entities are written
+     */
+    public CompletableFuture<Void> flush() {
+        val startedWrites = new ArrayList<CompletableFuture<Void>>();
+        for (int remaining = writeQueue.size(); remaining > 0; remaining--) {
+            val key = writeQueue.poll();
+            if (key == null) break;
+
+            // the previous write of the entity has not yet finished so it should be written by the next flush
+            if (writing.containsKey(key)) {
+                writeQueue.offer(key);
+                continue;
+            }
+
+            val entity = dirty.get(key);
+            if (entity == null) continue;
+            writing.put(key, entity);
+            dirty.remove(key, entity);
+
+            final CompletableFuture<Void> write;
+            try {
+                write = CompletableFuture.runAsync(() -> write(key, entity), executor);
+            } catch (final RejectedExecutionException e) {
+                write(key, entity);
+                continue;
+            }
+            writes.add(write);
+            startedWrites.add(write);
+            write.whenComplete((result, e) -> writes.remove(write));
+        }
+
+        return CompletableFuture.allOf(startedWrites.toArray(new CompletableFuture<?>[0]));
+    }
+
+    /**
+     * Writes all the entities marked as changed and stops the threads of this store.
+     */
+    @Override
+    @SneakyThrows(InterruptedException.class)
+    public void close() {
+        flusher.shutdown();
+        flusher.awaitTermination(1, TimeUnit.MINUTES);
+
+        // entities whose writes fail are retried a few times before giving up
+        for (var attempt = 0; attempt < 3 && !(dirty.isEmpty() && writing.isEmpty()); attempt++) {
+            CompletableFuture.allOf(writes.toArray(new CompletableFuture<?>[0])).join();
+            flush().join();
+        }
+        if (!dirty.isEmpty()) LOGGER.warning(dirty.size() + " entities of " + directory + " could not be saved");
+
+        if (ownExecutor != null) {
+            ownExecutor.shutdown();
+            ownExecutor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        unregisterMBean();
+    }
+
+    /**
+     * Exports the metrics of this store as an MBean to the platform MBean server.
+     *
+     * @param name name of this store used in the name of the MBean
+     * @return name of the MBean
+     */
+    public synchronized ObjectName registerMBean(@NonNull final String name) {
+        if (mBeanName != null) return mBeanName;
+
+        try {
+            val objectName = new ObjectName(ConfigMetrics.JMX_DOMAIN + ":type=Store,name=" + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+
+            return mBeanName = objectName;
+        } catch (final JMException e) {
+            throw new IllegalStateException("Could not register MBean of store " + name, e);
+        }
+    }
+
+    /**
+     * Unregisters the MBean of this store if there is one.
+     */
+    public synchronized void unregisterMBean() {
+        val name = mBeanName;
+        if (name == null) return;
+
+        mBeanName = null;
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+        } catch (final JMException e) {
+            LOGGER.log(Level.WARNING, "Could not unregister MBean " + name, e);
+        }
+    }
+
+    private V peek(final K key) {
+        V entity;
+        synchronized (cache) {
+            entity = cache.get(key);
+        }
+        if (entity != null) return entity;
+
+        // the entity may have been evicted while waiting to be written
+        entity = dirty.get(key);
+        if (entity == null) entity = writing.get(key);
+        if (entity != null) synchronized (cache) {
+            val cached = cache.putIfAbsent(key, entity);
+            if (cached != null) entity = cached;
+        }
+
+        return entity;
+    }
+
+    private V cache(final K key, final V entity) {
+        synchronized (cache) {
+            var cached = cache.get(key);
+            if (cached == null) cached = dirty.get(key);
+            if (cached == null) cached = writing.get(key);
+            if (cached != null) return cached;
+
+            cache.put(key, entity);
+        }
+
+        return entity;
+    }
+
+    private void write(final K key, final V entity) {
+        try {
+            io.save(entity, createShardDirectory(getFile(key)));
+            saveCount.increment();
+        } catch (final Throwable e) {
+            failureCount.increment();
+            LOGGER.log(Level.WARNING, "Could not save entity " + key + " to " + getFile(key), e);
+
+            // retry by the next flush
+            if (dirty.putIfAbsent(key, entity) == null) writeQueue.offer(key);
+        } finally {
+            writing.remove(key, entity);
+        }
+    }
+
+    @SneakyThrows
+    private static File createShardDirectory(final File file) {
+        val parent = file.getParentFile();
+        if (!parent.isDirectory()) Files.createDirectories(parent.toPath());
+
+        return file;
+    }
+
+    @Override
+    public int getSize() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    @Override
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    @Override
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    @Override
+    public double getHitRate() {
+        val hits = hitCount.sum();
+        val total = hits + missCount.sum();
+
+        return total == 0 ? 1 : (double) hits / total;
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return dirty.size();
+    }
+
+    @Override
+    public long getLoadCount() {
+        return loadCount.sum();
+    }
+
+    @Override
+    public long getSaveCount() {
+        return saveCount.sum();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    @Override
+    public long getFailureCount() {
+        return failureCount.sum();
+    }
+}
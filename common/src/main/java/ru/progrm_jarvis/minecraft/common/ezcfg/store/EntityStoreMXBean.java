@@ -0,0 +1,27 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.store;
+
+/**
+ * Management interface exposing metrics of an {@link EntityStore}.
+ */
+public interface EntityStoreMXBean {
+
+    int getSize();
+
+    int getMaximumSize();
+
+    long getHitCount();
+
+    long getMissCount();
+
+    double getHitRate();
+
+    int getQueueDepth();
+
+    long getLoadCount();
+
+    long getSaveCount();
+
+    long getEvictionCount();
+
+    long getFailureCount();
+}
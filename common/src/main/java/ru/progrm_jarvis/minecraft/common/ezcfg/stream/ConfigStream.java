@@ -0,0 +1,243 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.stream;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.val;
+import ru.progrm_jarvis.minecraft.common.ezcfg.format.ConfigFormat;
+import ru.progrm_jarvis.minecraft.common.ezcfg.format.EntryReader;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Entries of a list stored in a config file which are read and decoded one by one as they are pulled
+ * so that the list is never held in memory as a whole: an entry is not retained once it has been consumed.
+ * <p>
+ * The file is read anew by each {@link #iterator() iteration} so that it reflects the current contents of the file.
+ * Iterators close the file once they are exhausted, the ones which are abandoned earlier
+ * keep it open until they are garbage collected so partial reads should use a {@link #stream() stream}
+ * closed with try-with-resources instead:
+ * <pre>{@code
+ * try (Stream<Warp> warps = config.getWarps().stream()) {
+ *     return warps.filter(warp -> warp.getName().equals(name)).findFirst();
+ * }
+ * }</pre>
+ * Entries which cannot be decoded are skipped.
+ *
+ * @param <T> type of the entries
+ */
+public final class ConfigStream<T> implements Iterable<T> {
+
+    private static final ConfigStream<?> EMPTY = new ConfigStream<>(null, null, null, raw -> null);
+
+    /**
+     * File containing the list or {@code null} if this stream is {@link #empty() empty}
+     */
+    @Getter private final Path file;
+
+    /**
+     * Format of the file or {@code null} if this stream is {@link #empty() empty}
+     */
+    @Getter private final ConfigFormat format;
+
+    /**
+     * Path of the list in the file or {@code null} if this stream is {@link #empty() empty}
+     */
+    @Getter private final String path;
+
+    private final Function<Object, ? extends T> decoder;
+
+    private ConfigStream(final Path file, final ConfigFormat format, final String path,
+                         final Function<Object, ? extends T> decoder) {
+        this.file = file;
+        this.format = format;
+        this.path = path;
+        this.decoder = decoder;
+    }
+
+    /**
+     * Creates a new stream of the entries of the list at the path of the file.
+     *
+     * @param file file containing the list
+     * @param format format of the file
+     * @param path dot-separated path of the list in the file
+     * @param decoder function decoding the raw entries (returning {@code null} for the ones which cannot be decoded)
+     * @param <T> type of the entries
+     * @return created stream of the entries
+     */
+    public static <T> ConfigStream<T> of(@NonNull final Path file, @NonNull final ConfigFormat format,
+                                         @NonNull final String path,
+                                         @NonNull final Function<Object, ? extends T> decoder) {
+        return new ConfigStream<>(file, format, path, decoder);
+    }
+
+    /**
+     * Gets the stream having no entries.
+     *
+     * @param <T> type of the entries
+     * @return stream having no entries
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ConfigStream<T> empty() {
+        return (ConfigStream<T>) EMPTY;
+    }
+
+    /**
+     * Reads the entries of the list in the order in which they are stored.
+     *
+     * @return iterator over the entries
+     * @throws UncheckedIOException if an I/O error occurs or the file is malformed
+     */
+    @Override
+    public Iterator<T> iterator() {
+        if (file == null) return Collections.emptyIterator();
+
+        val entries = entries();
+
+        return new Iterator<T>() {
+
+            private T next;
+
+            @Override
+            public boolean hasNext() {
+                while (next == null) {
+                    if (!entries.hasNext()) return false;
+                    next = decoder.apply(entries.next());
+                }
+
+                return true;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) throw new NoSuchElementException();
+
+                val next = this.next;
+                this.next = null;
+
+                return next;
+            }
+        };
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED | Spliterator.NONNULL);
+    }
+
+    /**
+     * Creates a sequential stream of the entries which closes the file once it is closed.
+     *
+     * @return sequential stream of the entries
+     * @throws UncheckedIOException if an I/O error occurs or the file is malformed
+     */
+    public Stream<T> stream() {
+        return stream(false);
+    }
+
+    /**
+     * Creates a parallel stream of the entries which closes the file once it is closed.
+     * Entries are read sequentially in batches while they are decoded (and further processed) in parallel.
+     *
+     * @return parallel stream of the entries
+     * @throws UncheckedIOException if an I/O error occurs or the file is malformed
+     */
+    public Stream<T> parallelStream() {
+        return stream(true);
+    }
+
+    private Stream<T> stream(final boolean parallel) {
+        if (file == null) return parallel ? Stream.<T>empty().parallel() : Stream.empty();
+
+        val entries = entries();
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(entries, Spliterator.ORDERED), parallel)
+                .onClose(entries::close)
+                .<T>map(decoder)
+                .filter(Objects::nonNull);
+    }
+
+    private RawEntries entries() {
+        if (!Files.exists(file)) return new RawEntries(null);
+
+        try {
+            return new RawEntries(format.readEntries(file, path));
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return file == null ? "ConfigStream{}" : "ConfigStream{" + file + ':' + path + '}';
+    }
+
+    /**
+     * Raw entries of the list which close their reader once they are exhausted.
+     */
+    private static final class RawEntries implements Iterator<Object>, Closeable {
+
+        /**
+         * Reader of the entries or {@code null} if it is closed
+         */
+        private EntryReader reader;
+
+        private RawEntries(final EntryReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            val reader = this.reader;
+            if (reader == null) return false;
+
+            final boolean hasNext;
+            try {
+                hasNext = reader.hasNext();
+            } catch (final IOException e) {
+                close();
+                throw new UncheckedIOException(e);
+            }
+            if (!hasNext) close();
+
+            return hasNext;
+        }
+
+        @Override
+        public Object next() {
+            if (!hasNext()) throw new NoSuchElementException();
+
+            try {
+                return reader.next();
+            } catch (final IOException e) {
+                close();
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() {
+            val reader = this.reader;
+            if (reader != null) {
+                this.reader = null;
+                try {
+                    reader.close();
+                } catch (final IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.sync;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Publisher of the values of a config created by {@link ConfigSync#publisher(String, long, Supplier)}.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+public final class ConfigPublisher {
+
+    private final ConfigSync sync;
+
+    /**
+     * Identifier of the config
+     */
+    @Getter private final String id;
+
+    /**
+     * Fingerprint of the config's schema
+     */
+    @Getter private final long fingerprint;
+
+    private final Supplier<Map<String, Object>> values;
+
+    /**
+     * Encoded values last sent by their paths
+     */
+    private Map<String, byte[]> snapshot = Collections.emptyMap();
+
+    /**
+     * Sequence number of the last sent message
+     */
+    @Getter private long sequence;
+
+    /**
+     * Sends the values of the config changed since the last publication.
+     * The first publication sends all the values.
+     *
+     * @return number of the sent values
+     * @throws IllegalArgumentException if any of the values is not supported by the codec
+     */
+    public synchronized int publish() {
+        val current = encode();
+        if (snapshot.isEmpty()) return send(ConfigSync.FULL, current);
+
+        val delta = new LinkedHashMap<String, byte[]>();
+        for (val entry : current.entrySet()) if (!Arrays.equals(snapshot.get(entry.getKey()), entry.getValue())) {
+            delta.put(entry.getKey(), entry.getValue());
+        }
+        if (delta.isEmpty()) return 0;
+
+        sequence++;
+        snapshot = current;
+        // if the delta could not be sent, subscribers will request the full config once they notice the gap
+        return sync.send(ConfigSync.DELTA, id, fingerprint, sequence, delta) ? delta.size() : 0;
+    }
+
+    /**
+     * Sends all the values of the config resetting the state of the subscribers.
+     *
+     * @return number of the sent values
+     * @throws IllegalArgumentException if any of the values is not supported by the codec
+     */
+    public synchronized int publishFull() {
+        return send(ConfigSync.FULL, encode());
+    }
+
+    /**
+     * Stops publishing the config.
+     */
+    public void close() {
+        sync.remove(id);
+    }
+
+    private int send(final byte type, final Map<String, byte[]> values) {
+        snapshot = values;
+
+        return sync.send(type, id, fingerprint, sequence, values) ? values.size() : 0;
+    }
+
+    private Map<String, byte[]> encode() {
+        val codec = sync.getCodec();
+        val values = this.values.get();
+        val encoded = new HashMap<String, byte[]>(Math.max((int) (values.size() / .75f) + 1, 16));
+        for (val entry : values.entrySet()) encoded.put(entry.getKey(), codec.encode(entry.getValue()));
+
+        return encoded;
+    }
+}
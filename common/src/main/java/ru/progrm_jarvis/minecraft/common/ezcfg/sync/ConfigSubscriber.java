@@ -0,0 +1,81 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.sync;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Subscriber to the values of a config created by {@link ConfigSync#subscriber(String, long, SyncApplier)}.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+public final class ConfigSubscriber {
+
+    private static final Logger LOGGER = Logger.getLogger(ConfigSubscriber.class.getName());
+
+    private final ConfigSync sync;
+
+    /**
+     * Identifier of the config
+     */
+    @Getter private final String id;
+
+    /**
+     * Fingerprint of the config's schema
+     */
+    @Getter private final long fingerprint;
+
+    private final SyncApplier applier;
+
+    /**
+     * Whether or not the full config has been received
+     */
+    @Getter private boolean synced;
+
+    /**
+     * Sequence number of the last applied message
+     */
+    @Getter private long sequence;
+
+    /**
+     * Requests the full config from its publisher.
+     *
+     * @return {@code true} if the request was sent and {@code false} otherwise
+     */
+    public boolean requestFull() {
+        return sync.send(ConfigSync.REQUEST_FULL, id, fingerprint, 0, Collections.emptyMap());
+    }
+
+    /**
+     * Stops receiving the config.
+     */
+    public void close() {
+        sync.remove(id);
+    }
+
+    synchronized void receive(final boolean full, final long fingerprint, final long sequence,
+                              final Map<String, Object> values) {
+        if (fingerprint != this.fingerprint) {
+            LOGGER.warning("Ignoring values of config " + id + " published with a different schema");
+            return;
+        }
+
+        if (!full) {
+            if (synced && sequence <= this.sequence) return;
+            if (!synced || sequence != this.sequence + 1) {
+                // the full config has not been received yet or some delta has been missed
+                synced = false;
+                requestFull();
+
+                return;
+            }
+        }
+
+        applier.apply(values, full);
+        this.sequence = sequence;
+        synced = true;
+    }
+}
@@ -0,0 +1,195 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.sync;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.val;
+import ru.progrm_jarvis.minecraft.common.ezcfg.journal.ValueCodec;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Distributor of config values from one server (normally, the proxy) to others (normally, the backends).
+ * Only the values changed since the last publication are sent as a compact binary delta
+ * which is applied to the config in memory without touching its file.
+ * <p>
+ * Each message carries the {@link SchemaFingerprint fingerprint} of the config's schema
+ * so that servers running different versions of the config ignore each other
+ * and the sequence number of the delta so that a subscriber which has missed one requests the full config.
+ */
+public final class ConfigSync implements AutoCloseable {
+
+    /**
+     * Default name of the plugin messaging channel used for synchronization
+     */
+    public static final String CHANNEL = "ezcfg:sync";
+
+    private static final Logger LOGGER = Logger.getLogger(ConfigSync.class.getName());
+
+    private static final int MAGIC = 0x457A5379; // "EzSy"
+    private static final byte VERSION = 1;
+
+    static final byte FULL = 0, DELTA = 1, REQUEST_FULL = 2;
+
+    /**
+     * Transport used for sending and receiving messages
+     */
+    @Getter private final SyncTransport transport;
+
+    /**
+     * Codec of the synchronized values
+     */
+    @Getter private final ValueCodec codec;
+
+    private final Map<String, ConfigPublisher> publishers = new ConcurrentHashMap<>();
+
+    private final Map<String, ConfigSubscriber> subscribers = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new synchronization over the transport.
+     *
+     * @param transport transport used for sending and receiving messages
+     * @param codec codec of the synchronized values
+     */
+    public ConfigSync(@NonNull final SyncTransport transport, @NonNull final ValueCodec codec) {
+        this.transport = transport;
+        this.codec = codec;
+
+        transport.listen(this::receive);
+    }
+
+    /**
+     * Creates a publisher of the config's values.
+     *
+     * @param id identifier of the config unique within this synchronization
+     * @param fingerprint fingerprint of the config's schema
+     * @param values supplier of the current raw values of the config by their paths
+     * @return created publisher
+     * @throws IllegalStateException if a publisher of the config already exists
+     */
+    public ConfigPublisher publisher(@NonNull final String id, final long fingerprint,
+                                     @NonNull final Supplier<Map<String, Object>> values) {
+        val publisher = new ConfigPublisher(this, id, fingerprint, values);
+        if (publishers.putIfAbsent(id, publisher) != null) throw new IllegalStateException(
+                "Config " + id + " is already published"
+        );
+
+        return publisher;
+    }
+
+    /**
+     * Creates a subscriber to the config's values requesting its full state.
+     *
+     * @param id identifier of the config unique within this synchronization
+     * @param fingerprint fingerprint of the config's schema
+     * @param applier applier of the received values to the config
+     * @return created subscriber
+     * @throws IllegalStateException if a subscriber to the config already exists
+     */
+    public ConfigSubscriber subscriber(@NonNull final String id, final long fingerprint,
+                                       @NonNull final SyncApplier applier) {
+        val subscriber = new ConfigSubscriber(this, id, fingerprint, applier);
+        if (subscribers.putIfAbsent(id, subscriber) != null) throw new IllegalStateException(
+                "Config " + id + " is already subscribed to"
+        );
+        subscriber.requestFull();
+
+        return subscriber;
+    }
+
+    /**
+     * Removes the publisher or subscriber of the config.
+     *
+     * @param id identifier of the config
+     */
+    public void remove(@NonNull final String id) {
+        publishers.remove(id);
+        subscribers.remove(id);
+    }
+
+    /**
+     * Closes the transport of this synchronization.
+     */
+    @Override
+    public void close() {
+        publishers.clear();
+        subscribers.clear();
+        transport.close();
+    }
+
+    /**
+     * Sends a message.
+     *
+     * @param type type of the message
+     * @param id identifier of the config
+     * @param fingerprint fingerprint of the config's schema
+     * @param sequence sequence number of the message
+     * @param entries encoded values by their paths
+     * @return {@code true} if the message was sent and {@code false} otherwise
+     */
+    boolean send(final byte type, final String id, final long fingerprint, final long sequence,
+                 final Map<String, byte[]> entries) {
+        val bytes = new ByteArrayOutputStream();
+        try (val out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeByte(type);
+            out.writeUTF(id);
+            out.writeLong(fingerprint);
+            out.writeLong(sequence);
+            out.writeInt(entries.size());
+            for (val entry : entries.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.write(entry.getValue());
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return transport.send(bytes.toByteArray());
+    }
+
+    private void receive(final byte[] message) {
+        try (val in = new DataInputStream(new ByteArrayInputStream(message))) {
+            if (in.readInt() != MAGIC) return;
+            val version = in.readByte();
+            if (version != VERSION) {
+                LOGGER.warning("Ignoring config sync message of unsupported version " + version);
+                return;
+            }
+
+            val type = in.readByte();
+            val id = in.readUTF();
+            val fingerprint = in.readLong();
+            val sequence = in.readLong();
+
+            if (type == REQUEST_FULL) {
+                val publisher = publishers.get(id);
+                if (publisher != null && publisher.getFingerprint() == fingerprint) publisher.publishFull();
+
+                return;
+            }
+
+            val subscriber = subscribers.get(id);
+            if (subscriber == null) return;
+
+            val size = in.readInt();
+            val values = new LinkedHashMap<String, Object>(Math.max((int) (size / .75f) + 1, 16));
+            for (int i = 0; i < size; i++) values.put(in.readUTF(), codec.read(in));
+
+            subscriber.receive(type == FULL, fingerprint, sequence, values);
+        } catch (final IOException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Could not handle config sync message", e);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.sync;
+
+import lombok.NonNull;
+import lombok.val;
+
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Consumer;
+
+/**
+ * Transport delivering messages synchronously to the peers in the same JVM, useful for tests.
+ * Peers are created by {@link #connect() connecting} to an existing transport.
+ */
+public final class InMemorySyncTransport implements SyncTransport {
+
+    private final Set<InMemorySyncTransport> network;
+
+    private volatile Consumer<byte[]> receiver;
+
+    /**
+     * Creates a new transport having no peers.
+     */
+    public InMemorySyncTransport() {
+        this(new CopyOnWriteArraySet<>());
+    }
+
+    private InMemorySyncTransport(final Set<InMemorySyncTransport> network) {
+        this.network = network;
+        network.add(this);
+    }
+
+    /**
+     * Creates a new peer of this transport.
+     *
+     * @return new transport connected to this one and all of its peers
+     */
+    public InMemorySyncTransport connect() {
+        return new InMemorySyncTransport(network);
+    }
+
+    @Override
+    public boolean send(@NonNull final byte[] message) {
+        for (val peer : network) if (peer != this) {
+            val receiver = peer.receiver;
+            if (receiver != null) receiver.accept(message.clone());
+        }
+
+        return true;
+    }
+
+    @Override
+    public void listen(@NonNull final Consumer<byte[]> receiver) {
+        this.receiver = receiver;
+    }
+
+    @Override
+    public void close() {
+        network.remove(this);
+    }
+}
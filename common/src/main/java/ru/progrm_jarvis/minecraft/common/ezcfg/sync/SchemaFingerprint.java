@@ -0,0 +1,32 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.sync;
+
+import lombok.NonNull;
+
+/**
+ * Fingerprints of config schemas used to ensure that synchronized configs are bound to the same fields.
+ */
+public final class SchemaFingerprint {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L, FNV_PRIME = 0x100000001b3L;
+
+    private SchemaFingerprint() {
+        throw new UnsupportedOperationException("SchemaFingerprint is a utility class");
+    }
+
+    /**
+     * Computes the fingerprint of the description of a schema (such as its paths and types of values).
+     *
+     * @param description description of the schema
+     * @return 64-bit FNV-1a hash of the description
+     */
+    public static long of(@NonNull final CharSequence description) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0, length = description.length(); i < length; i++) {
+            final char character = description.charAt(i);
+            hash = (hash ^ (character & 0xFF)) * FNV_PRIME;
+            hash = (hash ^ (character >>> 8)) * FNV_PRIME;
+        }
+
+        return hash;
+    }
+}
@@ -0,0 +1,18 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.sync;
+
+import java.util.Map;
+
+/**
+ * Applier of synchronized values to a config.
+ */
+@FunctionalInterface
+public interface SyncApplier {
+
+    /**
+     * Applies the values to the config.
+     *
+     * @param values changed (or, for full updates, all) raw values of the config by their paths
+     * @param full {@code true} if the values are all values of the config and {@code false} if they are a delta
+     */
+    void apply(Map<String, Object> values, boolean full);
+}
@@ -0,0 +1,30 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.sync;
+
+import java.util.function.Consumer;
+
+/**
+ * Transport delivering messages of {@link ConfigSync} between servers.
+ */
+public interface SyncTransport extends AutoCloseable {
+
+    /**
+     * Sends the message to all the peers of this transport.
+     *
+     * @param message message to send
+     * @return {@code true} if the message was sent (or queued) and {@code false} if it could not be sent now
+     */
+    boolean send(byte[] message);
+
+    /**
+     * Sets the receiver of the messages sent by the peers of this transport.
+     *
+     * @param receiver receiver of the messages
+     */
+    void listen(Consumer<byte[]> receiver);
+
+    /**
+     * Stops receiving messages releasing the resources of this transport.
+     */
+    @Override
+    default void close() {}
+}
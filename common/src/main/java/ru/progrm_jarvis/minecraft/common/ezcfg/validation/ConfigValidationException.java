@@ -0,0 +1,24 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.validation;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Exception thrown when values of a config violate constraints of their fields
+ * with {@link ViolationPolicy#REJECT} policy.
+ */
+public class ConfigValidationException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Report containing all the violations which is not serialized (unlike the message describing it)
+     */
+    @Getter private final transient ValidationReport report;
+
+    public ConfigValidationException(@NonNull final ValidationReport report) {
+        super(report.toString());
+
+        this.report = report;
+    }
+}
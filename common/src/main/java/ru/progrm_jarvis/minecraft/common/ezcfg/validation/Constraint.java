@@ -0,0 +1,32 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.validation;
+
+/**
+ * Constraint of a field compiled from its annotation.
+ */
+interface Constraint {
+
+    /**
+     * Checks the value.
+     *
+     * @param value value to check, never {@code null}
+     * @return {@code true} if the value satisfies this constraint and {@code false} otherwise
+     */
+    boolean test(Object value);
+
+    /**
+     * Gets the nearest value satisfying this constraint.
+     *
+     * @param value value violating this constraint
+     * @return nearest value satisfying this constraint or {@code null} if this constraint cannot clamp values
+     */
+    default Object clamp(final Object value) {
+        return null;
+    }
+
+    /**
+     * Gets the description of this constraint.
+     *
+     * @return description of this constraint used in reports
+     */
+    String getMessage();
+}
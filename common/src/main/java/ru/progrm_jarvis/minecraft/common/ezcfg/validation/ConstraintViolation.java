@@ -0,0 +1,42 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.validation;
+
+import lombok.NonNull;
+import lombok.Value;
+
+/**
+ * Violation of a constraint by the value of a config field.
+ */
+@Value(staticConstructor = "of")
+public class ConstraintViolation {
+
+    /**
+     * Path of the field in the config
+     */
+    @NonNull private String path;
+
+    /**
+     * Value violating the constraint
+     */
+    private Object value;
+
+    /**
+     * Description of the violated constraint
+     */
+    @NonNull private String message;
+
+    /**
+     * Policy by which the violation was handled
+     */
+    @NonNull private ViolationPolicy policy;
+
+    /**
+     * Value which the field has after the violation was handled
+     */
+    private Object resolvedValue;
+
+    @Override
+    public String toString() {
+        return path + ": " + value + " " + message + (policy == ViolationPolicy.REJECT
+                ? " (rejected)" : " (" + resolvedValue + " is used instead)");
+    }
+}
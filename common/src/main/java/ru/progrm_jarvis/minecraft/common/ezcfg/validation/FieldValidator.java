@@ -0,0 +1,219 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.validation;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import lombok.var;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Constraints of a field compiled once from its annotations.
+ */
+@RequiredArgsConstructor
+public final class FieldValidator {
+
+    private final Constraint[] constraints;
+
+    private final ViolationPolicy policy;
+
+    /**
+     * Compiles the constraints of the field.
+     *
+     * @param field field whose constraints to compile
+     * @return validator of the field or {@code null} if the field has no constraints
+     * @throws IllegalArgumentException if a constraint is not applicable to the field
+     */
+    public static FieldValidator compile(@NonNull final Field field) {
+        val constraints = new ArrayList<Constraint>();
+
+        val type = field.getType();
+        {
+            val range = field.getAnnotation(Range.class);
+            if (range != null) {
+                if (!isNumeric(type)) throw new IllegalArgumentException(
+                        "@Range is not applicable to field " + field + " as it is not numeric"
+                );
+                if (range.min() > range.max()) throw new IllegalArgumentException(
+                        "@Range of field " + field + " has min greater than max"
+                );
+
+                constraints.add(new RangeConstraint(range.min(), range.max()));
+            }
+        }
+        if (field.isAnnotationPresent(NotEmpty.class)) {
+            if (!(CharSequence.class.isAssignableFrom(type) || Collection.class.isAssignableFrom(type)
+                    || Map.class.isAssignableFrom(type) || type.isArray())) throw new IllegalArgumentException(
+                    "@NotEmpty is not applicable to field " + field + " as it is neither a string, collection, "
+                            + "map nor array"
+            );
+
+            constraints.add(NotEmptyConstraint.INSTANCE);
+        }
+        {
+            val matchesPattern = field.getAnnotation(MatchesPattern.class);
+            if (matchesPattern != null) {
+                if (!CharSequence.class.isAssignableFrom(type)) throw new IllegalArgumentException(
+                        "@MatchesPattern is not applicable to field " + field + " as it is not a string"
+                );
+
+                constraints.add(new PatternConstraint(Pattern.compile(matchesPattern.value())));
+            }
+        }
+        {
+            val oneOf = field.getAnnotation(OneOf.class);
+            if (oneOf != null) {
+                if (oneOf.value().length == 0) throw new IllegalArgumentException(
+                        "@OneOf of field " + field + " allows no values"
+                );
+
+                constraints.add(new OneOfConstraint(new HashSet<>(Arrays.asList(oneOf.value()))));
+            }
+        }
+
+        if (constraints.isEmpty()) return null;
+
+        val onViolation = field.getAnnotation(OnViolation.class);
+        return new FieldValidator(
+                constraints.toArray(new Constraint[0]), onViolation == null ? ViolationPolicy.REJECT : onViolation.value()
+        );
+    }
+
+    /**
+     * Validates the value of the field.
+     *
+     * @param path path of the field in the config
+     * @param value value to validate
+     * @param fallback value which the field should keep if the value violates its constraints
+     * @param report report to which to add violations
+     * @return value which should be assigned to the field
+     */
+    public Object validate(final String path, final Object value, final Object fallback,
+                           final ValidationReport report) {
+        if (value == null) return null;
+
+        var result = value;
+        for (val constraint : constraints) {
+            if (constraint.test(result)) continue;
+
+            if (policy == ViolationPolicy.CLAMP) {
+                val clamped = constraint.clamp(result);
+                if (clamped != null) {
+                    report.add(ConstraintViolation.of(path, result, constraint.getMessage(), policy, clamped));
+                    result = clamped;
+
+                    continue;
+                }
+            }
+
+            report.add(ConstraintViolation.of(path, result, constraint.getMessage(), policy, fallback));
+            return fallback;
+        }
+
+        return result;
+    }
+
+    private static boolean isNumeric(final Class<?> type) {
+        return Number.class.isAssignableFrom(type) || type == byte.class || type == short.class
+                || type == int.class || type == long.class || type == float.class || type == double.class;
+    }
+
+    @RequiredArgsConstructor
+    private static final class RangeConstraint implements Constraint {
+
+        private final double min, max;
+
+        @Override
+        public boolean test(final Object value) {
+            val number = ((Number) value).doubleValue();
+            return number >= min && number <= max;
+        }
+
+        @Override
+        public Object clamp(final Object value) {
+            val number = ((Number) value).doubleValue();
+            // NaN is neither below nor above the range so it cannot be clamped
+            if (number < min) return convert(min, Math.ceil(min), value);
+            if (number > max) return convert(max, Math.floor(max), value);
+
+            return null;
+        }
+
+        private static Object convert(final double bound, final double integralBound, final Object like) {
+            if (like instanceof Integer) return (int) integralBound;
+            if (like instanceof Long) return (long) integralBound;
+            if (like instanceof Short) return (short) integralBound;
+            if (like instanceof Byte) return (byte) integralBound;
+            if (like instanceof BigInteger) return BigInteger.valueOf((long) integralBound);
+            if (like instanceof Float) return (float) bound;
+            if (like instanceof BigDecimal) return BigDecimal.valueOf(bound);
+
+            return bound;
+        }
+
+        @Override
+        public String getMessage() {
+            return "is not in range [" + min + ", " + max + "]";
+        }
+    }
+
+    private enum NotEmptyConstraint implements Constraint {
+        INSTANCE;
+
+        @Override
+        public boolean test(final Object value) {
+            if (value instanceof CharSequence) return ((CharSequence) value).length() != 0;
+            if (value instanceof Collection) return !((Collection<?>) value).isEmpty();
+            if (value instanceof Map) return !((Map<?, ?>) value).isEmpty();
+
+            return !value.getClass().isArray() || Array.getLength(value) != 0;
+        }
+
+        @Override
+        public String getMessage() {
+            return "is empty";
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static final class PatternConstraint implements Constraint {
+
+        private final Pattern pattern;
+
+        @Override
+        public boolean test(final Object value) {
+            return pattern.matcher((CharSequence) value).matches();
+        }
+
+        @Override
+        public String getMessage() {
+            return "does not match " + pattern.pattern();
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static final class OneOfConstraint implements Constraint {
+
+        private final Set<String> values;
+
+        @Override
+        public boolean test(final Object value) {
+            return values.contains(value instanceof Enum ? ((Enum<?>) value).name() : value.toString());
+        }
+
+        @Override
+        public String getMessage() {
+            return "is not one of " + values;
+        }
+    }
+}
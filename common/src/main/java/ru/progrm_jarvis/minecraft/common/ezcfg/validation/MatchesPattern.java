@@ -0,0 +1,21 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.validation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Requires the string stored in the field to entirely match the regular expression.
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface MatchesPattern {
+
+    /**
+     * Regular expression which the value should match.
+     *
+     * @return regular expression which the value should match
+     */
+    String value();
+}
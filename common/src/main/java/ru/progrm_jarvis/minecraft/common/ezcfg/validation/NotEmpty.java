@@ -0,0 +1,13 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.validation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Requires the string, collection, map or array stored in the field not to be empty.
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface NotEmpty {}
@@ -0,0 +1,22 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.validation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Specifies what should happen if the value of the field violates its constraints.
+ * Fields without this annotation use {@link ViolationPolicy#REJECT}.
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface OnViolation {
+
+    /**
+     * Policy of handling violations of the field's constraints.
+     *
+     * @return policy of handling violations
+     */
+    ViolationPolicy value();
+}
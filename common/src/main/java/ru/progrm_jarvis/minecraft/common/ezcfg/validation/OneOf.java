@@ -0,0 +1,22 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.validation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Requires the value of the field to be one of the allowed ones.
+ * Values are compared by their string form (names for enums).
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface OneOf {
+
+    /**
+     * Allowed values.
+     *
+     * @return allowed values
+     */
+    String[] value();
+}
@@ -0,0 +1,29 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.validation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Constrains the numeric value of the field to the range (inclusive).
+ * When {@link ViolationPolicy#CLAMP clamped}, the value is replaced with the nearest bound.
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Range {
+
+    /**
+     * Minimal allowed value.
+     *
+     * @return minimal allowed value
+     */
+    double min() default Double.NEGATIVE_INFINITY;
+
+    /**
+     * Maximal allowed value.
+     *
+     * @return maximal allowed value
+     */
+    double max() default Double.POSITIVE_INFINITY;
+}
@@ -0,0 +1,73 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.validation;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * All constraint violations found while loading a config.
+ */
+@RequiredArgsConstructor
+public class ValidationReport {
+
+    /**
+     * Class of the config
+     */
+    @Getter @NonNull private final Class<?> configClass;
+
+    /**
+     * File from which the config was loaded
+     */
+    @Getter @NonNull private final File file;
+
+    private final List<ConstraintViolation> violations = new ArrayList<>();
+
+    private boolean rejected;
+
+    void add(@NonNull final ConstraintViolation violation) {
+        violations.add(violation);
+        if (violation.getPolicy() == ViolationPolicy.REJECT) rejected = true;
+    }
+
+    /**
+     * Gets the violations in the order in which the fields were bound.
+     *
+     * @return unmodifiable list of the violations
+     */
+    public List<ConstraintViolation> getViolations() {
+        return Collections.unmodifiableList(violations);
+    }
+
+    /**
+     * Checks whether there are no violations.
+     *
+     * @return {@code true} if there are no violations and {@code false} otherwise
+     */
+    public boolean isEmpty() {
+        return violations.isEmpty();
+    }
+
+    /**
+     * Checks whether any of the violations was {@link ViolationPolicy#REJECT rejected}.
+     *
+     * @return {@code true} if any of the violations was rejected and {@code false} otherwise
+     */
+    public boolean isRejected() {
+        return rejected;
+    }
+
+    @Override
+    public String toString() {
+        val builder = new StringBuilder().append(violations.size()).append(" constraint violation(s) in ")
+                .append(configClass.getName()).append(" loaded from ").append(file);
+        for (val violation : violations) builder.append(System.lineSeparator()).append("  ").append(violation);
+
+        return builder.toString();
+    }
+}
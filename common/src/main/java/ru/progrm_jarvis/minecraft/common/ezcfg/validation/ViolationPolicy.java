@@ -0,0 +1,21 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.validation;
+
+/**
+ * Policy of handling a value violating the constraints of its field.
+ */
+public enum ViolationPolicy {
+    /**
+     * The field keeps its current value and loading fails with {@link ConfigValidationException}
+     * once all the fields are bound
+     */
+    REJECT,
+    /**
+     * The value is replaced with the nearest allowed one if the constraint allows it
+     * (otherwise the field keeps its current value)
+     */
+    CLAMP,
+    /**
+     * The field keeps its current (default) value
+     */
+    DEFAULT
+}
@@ -0,0 +1,176 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.warmup;
+
+import lombok.NonNull;
+import lombok.Value;
+import lombok.val;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarFile;
+
+/**
+ * Scanner of the classes of a jar finding the implementors of a type.
+ * Only the headers of the class files are read so that unrelated classes are never loaded.
+ */
+public final class ClassScanner {
+
+    private static final int MAGIC = 0xCAFEBABE, ACC_INTERFACE = 0x0200, ACC_ABSTRACT = 0x0400;
+
+    private ClassScanner() {
+        throw new UnsupportedOperationException("ClassScanner is a utility class");
+    }
+
+    /**
+     * Finds the concrete classes of the jar which are subtypes of the type.
+     * The classes are loaded but not initialized.
+     *
+     * @param jar jar whose classes to scan
+     * @param type type whose subtypes to find
+     * @param classLoader class loader by which to load the classes
+     * @param <T> type whose subtypes to find
+     * @return concrete subtypes of the type found in the jar
+     * @throws IOException if the jar cannot be read
+     */
+    public static <T> List<Class<? extends T>> findImplementors(@NonNull final File jar, @NonNull final Class<T> type,
+                                                              @NonNull final ClassLoader classLoader)
+            throws IOException {
+        val headers = new HashMap<String, Header>();
+        try (val jarFile = new JarFile(jar)) {
+            val entries = jarFile.entries();
+            while (entries.hasMoreElements()) {
+                val entry = entries.nextElement();
+                val name = entry.getName();
+                if (!name.endsWith(".class") || name.startsWith("META-INF/") || name.endsWith("module-info.class")) {
+                    continue;
+                }
+
+                try (val in = jarFile.getInputStream(entry)) {
+                    val header = readHeader(in);
+                    if (header != null) headers.put(header.getName(), header);
+                }
+            }
+        }
+
+        val targetName = type.getName().replace('.', '/');
+        val subtypes = new HashMap<String, Boolean>();
+        val implementors = new ArrayList<Class<? extends T>>();
+        for (val header : headers.values()) {
+            if ((header.getAccess() & (ACC_INTERFACE | ACC_ABSTRACT)) != 0
+                    || !isSubtype(header.getName(), targetName, type, classLoader, headers, subtypes)) continue;
+
+            try {
+                implementors.add(Class
+                        .forName(header.getName().replace('/', '.'), false, classLoader)
+                        .asSubclass(type));
+            } catch (final ClassNotFoundException | LinkageError | ClassCastException e) {
+                // the class is not available to the class loader (e.g. it depends on a missing optional library)
+            }
+        }
+
+        return implementors;
+    }
+
+    private static boolean isSubtype(final String name, final String targetName, final Class<?> type,
+                                     final ClassLoader classLoader, final Map<String, Header> headers,
+                                     final Map<String, Boolean> subtypes) {
+        if (name.equals(targetName)) return true;
+
+        val known = subtypes.get(name);
+        if (known != null) return known;
+        // guards against cyclic hierarchies of malformed classes
+        subtypes.put(name, false);
+
+        boolean subtype = false;
+        val header = headers.get(name);
+        if (header == null) {
+            // the type is declared outside of the jar
+            if (!name.startsWith("java/")) try {
+                subtype = type.isAssignableFrom(Class.forName(name.replace('/', '.'), false, classLoader));
+            } catch (final ClassNotFoundException | LinkageError e) {
+                // the type is not available and so are its subtypes
+            }
+        } else {
+            if (header.getSuperName() != null) subtype = isSubtype(
+                    header.getSuperName(), targetName, type, classLoader, headers, subtypes
+            );
+            for (int i = 0; !subtype && i < header.getInterfaces().length; i++) subtype = isSubtype(
+                    header.getInterfaces()[i], targetName, type, classLoader, headers, subtypes
+            );
+        }
+
+        subtypes.put(name, subtype);
+
+        return subtype;
+    }
+
+    /**
+     * Reads the header of the class file.
+     *
+     * @param stream stream of the class file
+     * @return header of the class or {@code null} if the stream is not a class file
+     * @throws IOException if an I/O error occurs
+     */
+    private static Header readHeader(final InputStream stream) throws IOException {
+        val in = new DataInputStream(stream);
+        if (in.readInt() != MAGIC) return null;
+        in.readUnsignedShort(); // minor version
+        in.readUnsignedShort(); // major version
+
+        val constantPoolSize = in.readUnsignedShort();
+        val utf8s = new String[constantPoolSize];
+        val classNameIndices = new int[constantPoolSize];
+        for (int i = 1; i < constantPoolSize; i++) {
+            val tag = in.readUnsignedByte();
+            switch (tag) {
+                case 1: { // Utf8
+                    utf8s[i] = in.readUTF();
+                    break;
+                }
+                case 7: { // Class
+                    classNameIndices[i] = in.readUnsignedShort();
+                    break;
+                }
+                case 8: case 16: case 19: case 20: { // String, MethodType, Module, Package
+                    in.skipBytes(2);
+                    break;
+                }
+                case 15: { // MethodHandle
+                    in.skipBytes(3);
+                    break;
+                }
+                case 3: case 4: case 9: case 10: case 11: case 12: case 17: case 18: {
+                    in.skipBytes(4);
+                    break;
+                }
+                case 5: case 6: { // Long and Double take two entries
+                    in.skipBytes(8);
+                    i++;
+                    break;
+                }
+                default: throw new IOException("Unknown constant pool tag " + tag);
+            }
+        }
+
+        val access = in.readUnsignedShort();
+        val name = utf8s[classNameIndices[in.readUnsignedShort()]];
+        val superIndex = in.readUnsignedShort();
+        val interfaces = new String[in.readUnsignedShort()];
+        for (int i = 0; i < interfaces.length; i++) interfaces[i] = utf8s[classNameIndices[in.readUnsignedShort()]];
+
+        return new Header(access, name, superIndex == 0 ? null : utf8s[classNameIndices[superIndex]], interfaces);
+    }
+
+    @Value
+    private static class Header {
+        private int access;
+        @NonNull private String name;
+        private String superName;
+        @NonNull private String[] interfaces;
+    }
+}
@@ -0,0 +1,78 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.warmup;
+
+import lombok.NonNull;
+import lombok.val;
+import lombok.var;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Builder of the cached schemas of config classes in parallel ahead of their first loads.
+ * Warming is best-effort: classes whose schemas cannot be built are logged and skipped
+ * so that the error is reported again by the load itself.
+ */
+public final class SchemaPrewarmer {
+
+    private static final Logger LOGGER = Logger.getLogger(SchemaPrewarmer.class.getName());
+
+    private SchemaPrewarmer() {
+        throw new UnsupportedOperationException("SchemaPrewarmer is a utility class");
+    }
+
+    /**
+     * Warms the classes in parallel.
+     *
+     * @param types classes to warm
+     * @param warmer function building the schema of a class
+     * @param executor executor by which the classes are warmed
+     * @return future completed once all the classes are warmed
+     */
+    public static CompletableFuture<Void> prewarm(@NonNull final Collection<? extends Class<?>> types,
+                                                  @NonNull final Consumer<? super Class<?>> warmer,
+                                                  @NonNull final Executor executor) {
+        val futures = new CompletableFuture<?>[types.size()];
+        var i = 0;
+        for (val type : types) futures[i++] = CompletableFuture.runAsync(() -> {
+            try {
+                warmer.accept(type);
+            } catch (final RuntimeException | LinkageError e) {
+                LOGGER.log(Level.WARNING, "Could not prewarm schema of " + type.getName(), e);
+            }
+        }, executor);
+
+        return CompletableFuture.allOf(futures);
+    }
+
+    /**
+     * Finds the concrete subtypes of the type in the jar and warms them in parallel.
+     *
+     * @param jar jar whose classes to scan
+     * @param type type whose subtypes to warm
+     * @param classLoader class loader by which to load the classes
+     * @param warmer function building the schema of a class
+     * @param executor executor by which the jar is scanned and the classes are warmed
+     * @return future completed once all the found classes are warmed
+     *
+     * @see ClassScanner#findImplementors(File, Class, ClassLoader)
+     */
+    public static CompletableFuture<Void> prewarm(@NonNull final File jar, @NonNull final Class<?> type,
+                                                  @NonNull final ClassLoader classLoader,
+                                                  @NonNull final Consumer<? super Class<?>> warmer,
+                                                  @NonNull final Executor executor) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return ClassScanner.findImplementors(jar, type, classLoader);
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, executor).thenCompose(types -> prewarm(types, warmer, executor));
+    }
+}
@@ -0,0 +1,40 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.io;
+
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Factory of executors for blocking config I/O.
+ * This is the Java 21 version of the class creating executors which start a virtual thread per task
+ * so that blocking I/O does not occupy platform threads.
+ */
+public final class IoExecutors {
+
+    private IoExecutors() {
+        throw new UnsupportedOperationException("IoExecutors is a utility class");
+    }
+
+    /**
+     * Checks whether the executors created by this factory run tasks in virtual threads.
+     *
+     * @return {@code true} if tasks are run in virtual threads and {@code false} otherwise
+     */
+    public static boolean isVirtual() {
+        return true;
+    }
+
+    /**
+     * Creates a new executor for blocking I/O starting a virtual thread per task.
+     *
+     * @param name prefix of the names of the threads
+     * @param parallelism number of platform threads used if virtual threads are not available
+     * @return created executor
+     */
+    public static ExecutorService newExecutor(final String name, final int parallelism) {
+        Objects.requireNonNull(name, "name");
+        if (parallelism <= 0) throw new IllegalArgumentException("parallelism should be positive");
+
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name + '-', 1).factory());
+    }
+}
@@ -0,0 +1,57 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.metrics;
+
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.val;
+import lombok.var;
+
+import java.io.File;
+
+/**
+ * Factory of recorders emitting JFR events.
+ * It is only ever loaded reflectively by {@link ConfigEvents} once JFR availability is checked.
+ */
+@SuppressWarnings("unused") // instantiated reflectively
+final class JfrConfigEventRecorderFactory implements ConfigEventRecorderFactory, FlightRecorderListener {
+
+    private volatile boolean recording;
+
+    JfrConfigEventRecorderFactory() {
+        for (val eventClass : JfrConfigOperationRecorder.EVENT_CLASSES) FlightRecorder.register(eventClass);
+        // invokes recorderInitialized(..) immediately if JFR is already initialized
+        FlightRecorder.addListener(this);
+    }
+
+    @Override
+    public boolean isRecording() {
+        return recording;
+    }
+
+    @Override
+    public ConfigOperationRecorder start(final ConfigOperation.Type type,
+                                         final Class<?> configClass, final File file) {
+        return new JfrConfigOperationRecorder(type, configClass, file);
+    }
+
+    @Override
+    public void recorderInitialized(final FlightRecorder recorder) {
+        updateRecording(recorder);
+    }
+
+    @Override
+    public void recordingStateChanged(final Recording recording) {
+        updateRecording(FlightRecorder.getFlightRecorder());
+    }
+
+    private void updateRecording(final FlightRecorder recorder) {
+        var running = false;
+        for (val recording : recorder.getRecordings()) if (recording.getState() == RecordingState.RUNNING) {
+            running = true;
+            break;
+        }
+
+        recording = running;
+    }
+}
@@ -0,0 +1,223 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.metrics;
+
+import jdk.jfr.*;
+import lombok.val;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Recorder emitting JFR events of a single operation.
+ * Instances are confined to the thread performing the operation.
+ */
+final class JfrConfigOperationRecorder implements ConfigOperationRecorder {
+
+    static final List<Class<? extends Event>> EVENT_CLASSES = Arrays.asList(
+            ConfigLoadEvent.class, ConfigSaveEvent.class, ConfigParseEvent.class, ConfigBindEvent.class,
+            ConfigWriteEvent.class, ConfigFieldDecodeSlowEvent.class
+    );
+
+    private static final String CATEGORY = "EZ-Cfg";
+
+    private final Class<?> configClass;
+
+    private final String path;
+
+    private final ConfigOperationEvent operation;
+
+    private ConfigParseEvent parse;
+
+    private ConfigBindEvent bind;
+
+    private ConfigWriteEvent write;
+
+    private ConfigFieldDecodeSlowEvent field;
+
+    JfrConfigOperationRecorder(final ConfigOperation.Type type, final Class<?> configClass, final File file) {
+        this.configClass = configClass;
+        path = file.getPath();
+
+        operation = type == ConfigOperation.Type.LOAD ? new ConfigLoadEvent() : new ConfigSaveEvent();
+        operation.begin();
+
+        parse = new ConfigParseEvent();
+        parse.begin();
+    }
+
+    @Override
+    public boolean isActive() {
+        return true;
+    }
+
+    @Override
+    public void parsed(final File file) {
+        val bytesRead = file.length();
+        operation.bytesRead = bytesRead;
+
+        val parse = this.parse;
+        this.parse = null;
+        parse.end();
+        if (parse.shouldCommit()) {
+            parse.configClass = configClass;
+            parse.path = path;
+            parse.bytesRead = bytesRead;
+            parse.commit();
+        }
+
+        bind = new ConfigBindEvent();
+        bind.begin();
+    }
+
+    @Override
+    public void decodingField() {
+        field = new ConfigFieldDecodeSlowEvent();
+        field.begin();
+    }
+
+    @Override
+    public void decodedField(final String path, final Class<?> type) {
+        val field = this.field;
+        if (field == null) return;
+        this.field = null;
+
+        field.end();
+        if (field.shouldCommit()) {
+            field.configClass = configClass;
+            field.path = this.path;
+            field.fieldPath = path;
+            field.fieldType = type;
+            field.commit();
+        }
+    }
+
+    @Override
+    public void bound(final int fields, final int fieldsChanged) {
+        operation.fields = fields;
+        operation.fieldsChanged = fieldsChanged;
+
+        val bind = this.bind;
+        if (bind == null) return;
+        this.bind = null;
+
+        bind.end();
+        if (bind.shouldCommit()) {
+            bind.configClass = configClass;
+            bind.path = path;
+            bind.fields = fields;
+            bind.fieldsChanged = fieldsChanged;
+            bind.commit();
+        }
+
+        write = new ConfigWriteEvent();
+        write.begin();
+    }
+
+    @Override
+    public void written(final File file) {
+        val bytesWritten = file.length();
+        operation.bytesWritten = bytesWritten;
+
+        val write = this.write;
+        if (write == null) return;
+        this.write = null;
+
+        write.end();
+        if (write.shouldCommit()) {
+            write.configClass = configClass;
+            write.path = path;
+            write.bytesWritten = bytesWritten;
+            write.commit();
+        }
+    }
+
+    @Override
+    public void error() {
+        operation.errors++;
+    }
+
+    @Override
+    public void failed() {
+        operation.failed = true;
+        operation.errors++;
+    }
+
+    @Override
+    public void finish() {
+        operation.end();
+        if (operation.shouldCommit()) {
+            operation.configClass = configClass;
+            operation.path = path;
+            operation.commit();
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Events
+    ///////////////////////////////////////////////////////////////////////////
+
+    @Category(CATEGORY)
+    abstract static class ConfigOperationEvent extends Event {
+        @Label("Config Class") Class<?> configClass;
+        @Label("Path") String path;
+        @Label("Bytes Read") @DataAmount long bytesRead;
+        @Label("Bytes Written") @DataAmount long bytesWritten;
+        @Label("Fields") int fields;
+        @Label("Fields Changed") int fieldsChanged;
+        @Label("Errors") int errors;
+        @Label("Failed") boolean failed;
+    }
+
+    @Name("ru.progrm_jarvis.ezcfg.ConfigLoad")
+    @Label("Config Load")
+    @Description("Load of a config from its file")
+    static final class ConfigLoadEvent extends ConfigOperationEvent {}
+
+    @Name("ru.progrm_jarvis.ezcfg.ConfigSave")
+    @Label("Config Save")
+    @Description("Save of a config to its file")
+    static final class ConfigSaveEvent extends ConfigOperationEvent {}
+
+    @Name("ru.progrm_jarvis.ezcfg.ConfigParse")
+    @Label("Config Parse")
+    @Description("Reading and parsing of a config file")
+    @Category(CATEGORY)
+    static final class ConfigParseEvent extends Event {
+        @Label("Config Class") Class<?> configClass;
+        @Label("Path") String path;
+        @Label("Bytes Read") @DataAmount long bytesRead;
+    }
+
+    @Name("ru.progrm_jarvis.ezcfg.ConfigBind")
+    @Label("Config Bind")
+    @Description("Binding (on load) or comparison (on save) of config fields with the parsed file")
+    @Category(CATEGORY)
+    static final class ConfigBindEvent extends Event {
+        @Label("Config Class") Class<?> configClass;
+        @Label("Path") String path;
+        @Label("Fields") int fields;
+        @Label("Fields Changed") int fieldsChanged;
+    }
+
+    @Name("ru.progrm_jarvis.ezcfg.ConfigWrite")
+    @Label("Config Write")
+    @Description("Serialization and writing of a config file")
+    @Category(CATEGORY)
+    static final class ConfigWriteEvent extends Event {
+        @Label("Config Class") Class<?> configClass;
+        @Label("Path") String path;
+        @Label("Bytes Written") @DataAmount long bytesWritten;
+    }
+
+    @Name("ru.progrm_jarvis.ezcfg.ConfigFieldDecodeSlow")
+    @Label("Config Field Decode Slow")
+    @Description("Decoding of a single config field which took longer than the threshold")
+    @Category(CATEGORY)
+    @Threshold("1 ms")
+    static final class ConfigFieldDecodeSlowEvent extends Event {
+        @Label("Config Class") Class<?> configClass;
+        @Label("Path") String path;
+        @Label("Field Path") String fieldPath;
+        @Label("Field Type") Class<?> fieldType;
+    }
+}
@@ -0,0 +1,39 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.format;
+
+import lombok.val;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConfigFormatsTest {
+
+    @Test
+    void rewritesReadBinaryArrays(@TempDir final Path directory) throws IOException {
+        val file = directory.resolve("config.bin");
+
+        val values = new LinkedHashMap<String, Object>();
+        values.put("ints", new int[]{1, 2, 3});
+        values.put("longs", new long[]{4, 5});
+        values.put("doubles", new double[]{6.5});
+        ConfigFormats.write(file, ConfigFormats.BINARY, values);
+
+        val read = ConfigFormats.read(file, ConfigFormats.BINARY);
+        assertInstanceOf(IntBuffer.class, read.get("ints"));
+        ConfigFormats.write(file, ConfigFormats.BINARY, read);
+        // writing should not consume the read buffers
+        assertEquals(3, ((IntBuffer) read.get("ints")).remaining());
+
+        val reread = ConfigFormats.read(file, ConfigFormats.BINARY);
+        assertEquals(IntBuffer.wrap(new int[]{1, 2, 3}), reread.get("ints"));
+        assertEquals(LongBuffer.wrap(new long[]{4, 5}), reread.get("longs"));
+        assertEquals(DoubleBuffer.wrap(new double[]{6.5}), reread.get("doubles"));
+    }
+}
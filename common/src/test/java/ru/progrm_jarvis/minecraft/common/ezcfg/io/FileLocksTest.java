@@ -0,0 +1,215 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.io;
+
+import lombok.val;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileLocksTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private static final int THREADS = 8, ITERATIONS = 500;
+
+    /**
+     * Finds the files of the directory sharing a single stripe.
+     *
+     * @param directory directory of the files
+     * @param count number of the files to find
+     * @return files sharing the stripe of the first one
+     */
+    private static List<File> collidingFiles(final Path directory, final int count) {
+        val first = directory.resolve("config-0.yml").toFile();
+        val lock = FileLocks.of(first);
+
+        val files = new ArrayList<File>(count);
+        files.add(first);
+        for (int i = 1; files.size() < count; i++) {
+            val file = directory.resolve("config-" + i + ".yml").toFile();
+            if (FileLocks.of(file) == lock) files.add(file);
+        }
+
+        return files;
+    }
+
+    /**
+     * Finds the files of the directory each having its own stripe distinct from the ones of the excluded files.
+     *
+     * @param directory directory of the files
+     * @param count number of the files to find
+     * @param excluded files whose stripes should not be used
+     * @return files of distinct stripes
+     */
+    private static List<File> distinctFiles(final Path directory, final int count, final List<File> excluded) {
+        val locks = new ArrayList<Object>();
+        for (val file : excluded) locks.add(FileLocks.of(file));
+
+        val files = new ArrayList<File>(count);
+        for (int i = 0; files.size() < count; i++) {
+            val file = directory.resolve("other-" + i + ".yml").toFile();
+            val lock = FileLocks.of(file);
+            if (locks.contains(lock)) continue;
+
+            locks.add(lock);
+            files.add(file);
+        }
+
+        return files;
+    }
+
+    private static int read(final File file) throws Exception {
+        return Integer.parseInt(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+    }
+
+    private static void write(final File file, final int value) throws Exception {
+        // the file is truncated before being written so that unguarded reads would see it half-written
+        Files.write(file.toPath(), Integer.toString(value).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void runConcurrently(final List<Runnable> tasks) throws Exception {
+        val executor = Executors.newFixedThreadPool(tasks.size());
+        try {
+            val futures = new ArrayList<Future<?>>(tasks.size());
+            for (val task : tasks) futures.add(executor.submit(task));
+            for (val future : futures) future.get();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testWriteLockAllLocksSharedStripeOnce(@TempDir final Path directory) {
+        val files = collidingFiles(directory, 3);
+
+        assertTimeoutPreemptively(TIMEOUT, () -> {
+            val unlock = FileLocks.writeLockAll(files);
+            assertTrue(FileLocks.of(files.get(0)).isWriteLocked());
+            unlock.run();
+        });
+        assertFalse(FileLocks.of(files.get(0)).isWriteLocked());
+    }
+
+    @Test
+    void testWriteLockAllReleasedByOtherThread(@TempDir final Path directory) throws Exception {
+        val files = distinctFiles(directory, 4, Collections.emptyList());
+
+        val unlock = FileLocks.writeLockAll(files);
+        val executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(unlock).get();
+        } finally {
+            executor.shutdownNow();
+        }
+        for (val file : files) assertFalse(FileLocks.of(file).isWriteLocked());
+    }
+
+    @Test
+    void testWriteLockAllDoesNotDeadlock(@TempDir final Path directory) {
+        val colliding = collidingFiles(directory, 2);
+        val files = new ArrayList<File>(colliding);
+        files.addAll(distinctFiles(directory, 6, colliding));
+
+        assertTimeoutPreemptively(TIMEOUT, () -> {
+            val tasks = new ArrayList<Runnable>();
+            for (int thread = 0; thread < THREADS; thread++) tasks.add(() -> {
+                val random = ThreadLocalRandom.current();
+                for (int i = 0; i < ITERATIONS; i++) {
+                    // each thread locks overlapping groups of the files listed in its own order
+                    val group = new ArrayList<File>(files);
+                    Collections.shuffle(group, random);
+                    val unlock = FileLocks.writeLockAll(group.subList(0, 1 + random.nextInt(group.size())));
+                    // locks of single files are acquired concurrently with the ones of groups
+                    val lock = FileLocks.of(files.get(random.nextInt(files.size())));
+                    unlock.run();
+                    lock.unlockWrite(lock.writeLock());
+                }
+            });
+
+            runConcurrently(tasks);
+        });
+    }
+
+    @Test
+    void testConcurrentSavesAndLoadsOfCollidingFiles(@TempDir final Path directory) throws Exception {
+        val files = collidingFiles(directory, 3);
+        files.add(distinctFiles(directory, 1, files).get(0));
+        for (val file : files) write(file, 0);
+
+        val increments = new int[files.size()];
+        assertTimeoutPreemptively(TIMEOUT, () -> {
+            val tasks = new ArrayList<Runnable>();
+            // savers increment the counters each reading and writing its file under the write lock
+            for (int thread = 0; thread < THREADS; thread++) {
+                val index = thread % files.size();
+                val file = files.get(index);
+                increments[index] += ITERATIONS;
+                tasks.add(() -> {
+                    for (int i = 0; i < ITERATIONS; i++) {
+                        val lock = FileLocks.of(file);
+                        val stamp = lock.writeLock();
+                        try {
+                            write(file, read(file) + 1);
+                        } catch (final Exception e) {
+                            throw new AssertionError(e);
+                        } finally {
+                            lock.unlockWrite(stamp);
+                        }
+                    }
+                });
+            }
+            // group saves increment all of the counters at once
+            tasks.add(() -> {
+                for (int i = 0; i < ITERATIONS; i++) {
+                    val unlock = FileLocks.writeLockAll(files);
+                    try {
+                        for (val file : files) write(file, read(file) + 1);
+                    } catch (final Exception e) {
+                        throw new AssertionError(e);
+                    } finally {
+                        unlock.run();
+                    }
+                }
+            });
+            for (int index = 0; index < increments.length; index++) increments[index] += ITERATIONS;
+            // loaders read the counters under the read lock which should never see them decrease or half-written
+            for (int thread = 0; thread < THREADS / 2; thread++) tasks.add(() -> {
+                val last = new int[files.size()];
+                for (int i = 0; i < ITERATIONS; i++) for (int index = 0; index < last.length; index++) {
+                    val file = files.get(index);
+                    val lock = FileLocks.of(file);
+                    val stamp = lock.readLock();
+                    final int value;
+                    try {
+                        value = read(file);
+                    } catch (final Exception e) {
+                        throw new AssertionError(e);
+                    } finally {
+                        lock.unlockRead(stamp);
+                    }
+                    assertTrue(value >= last[index], "Counter of " + file + " went backwards");
+                    last[index] = value;
+                }
+            });
+
+            runConcurrently(tasks);
+        });
+
+        val values = new int[files.size()];
+        for (int index = 0; index < values.length; index++) values[index] = read(files.get(index));
+        assertArrayEquals(increments, values, () -> "Lost updates: " + Arrays.toString(values));
+    }
+}
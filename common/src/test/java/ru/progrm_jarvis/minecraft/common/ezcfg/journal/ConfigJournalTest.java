@@ -0,0 +1,129 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.journal;
+
+import lombok.val;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConfigJournalTest {
+
+    /**
+     * Policy compacting any non-empty journal
+     */
+    private static final JournalPolicy ALWAYS = JournalPolicy.of(0, 0);
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private static ConfigJournal journal(final Path directory) throws Exception {
+        val file = directory.resolve("config.yml");
+        Files.createFile(file);
+
+        return ConfigJournal.of(file.toFile(), ValueCodec.INSTANCE);
+    }
+
+    private static Map<String, Object> replay(final ConfigJournal journal) {
+        val values = new LinkedHashMap<String, Object>();
+        journal.replay(values::put);
+
+        return values;
+    }
+
+    /**
+     * Starts the compaction of the journal which blocks until the returned latch is released.
+     *
+     * @param journal journal to compact
+     * @return latch releasing the compaction
+     */
+    private static CountDownLatch startBlockedCompaction(final ConfigJournal journal) throws Exception {
+        val started = new CountDownLatch(1);
+        val release = new CountDownLatch(1);
+        assertTrue(journal.compactIfNeeded(ALWAYS, (File file, ConfigJournal compacted, long offset) -> {
+            started.countDown();
+            assertTrue(release.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        }));
+        assertTrue(started.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        return release;
+    }
+
+    private static void awaitCompaction(final ConfigJournal journal) throws InterruptedException {
+        val deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (journal.isCompacting()) {
+            assertTrue(System.nanoTime() < deadline, "Compaction did not finish");
+            Thread.sleep(1);
+        }
+    }
+
+    @Test
+    void testCompactionKeepsRecordsAppendedWhileCompacting(@TempDir final Path directory) throws Exception {
+        val journal = journal(directory);
+        assertTrue(journal.track(Collections.singletonMap("value", 1)));
+        assertEquals(1, journal.append(Collections.singletonMap("value", 2)));
+
+        val release = startBlockedCompaction(journal);
+        assertEquals(1, journal.append(Collections.singletonMap("other", 3)));
+        release.countDown();
+        awaitCompaction(journal);
+
+        assertEquals(Collections.singletonMap("other", 3), replay(journal));
+    }
+
+    @Test
+    void testCompactionKeepsRecordsAppendedAfterSave(@TempDir final Path directory) throws Exception {
+        val journal = journal(directory);
+        assertTrue(journal.track(Collections.singletonMap("value", 1)));
+        assertEquals(1, journal.append(Collections.singletonMap("value", 2)));
+
+        val release = startBlockedCompaction(journal);
+        // a save writes the whole config to the base file deleting the journal which then gets new records
+        journal.delete();
+        assertEquals(1, journal.append(Collections.singletonMap("value", 3)));
+        val size = journal.size();
+        release.countDown();
+        awaitCompaction(journal);
+
+        assertEquals(size, journal.size());
+        assertEquals(Collections.singletonMap("value", 3), replay(journal));
+    }
+
+    @Test
+    void testDeletedUntrackedJournalIsReleased(@TempDir final Path directory) throws Exception {
+        val journal = journal(directory);
+        val file = journal.getFile();
+        assertTrue(journal.track(Collections.singletonMap("value", 1)));
+        assertEquals(1, journal.append(Collections.singletonMap("value", 2)));
+
+        // tracked journals are kept so that the next saves may append to them
+        journal.delete();
+        assertSame(journal, ConfigJournal.of(file, ValueCodec.INSTANCE));
+
+        journal.untrack();
+        assertNotSame(journal, ConfigJournal.of(file, ValueCodec.INSTANCE));
+    }
+
+    @Test
+    void testCompactedUntrackedJournalIsReleased(@TempDir final Path directory) throws Exception {
+        val journal = journal(directory);
+        val file = journal.getFile();
+        assertTrue(journal.track(Collections.singletonMap("value", 1)));
+        assertEquals(1, journal.append(Collections.singletonMap("value", 2)));
+        journal.untrack();
+        assertSame(journal, ConfigJournal.of(file, ValueCodec.INSTANCE));
+
+        startBlockedCompaction(journal).countDown();
+        awaitCompaction(journal);
+
+        assertEquals(0, journal.size());
+        assertNotSame(journal, ConfigJournal.of(file, ValueCodec.INSTANCE));
+    }
+}
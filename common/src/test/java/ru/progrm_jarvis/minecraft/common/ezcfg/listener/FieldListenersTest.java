@@ -0,0 +1,128 @@
+package ru.progrm_jarvis.minecraft.common.ezcfg.listener;
+
+import lombok.Getter;
+import lombok.SneakyThrows;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+import ru.progrm_jarvis.minecraft.common.ezcfg.schema.ConfigCopier;
+import ru.progrm_jarvis.minecraft.common.ezcfg.schema.SerializedField;
+import ru.progrm_jarvis.minecraft.common.ezcfg.schema.SerializedSchema;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FieldListenersTest {
+
+    private static final SerializedSchema<TestField> SCHEMA = new TestSchema(TestConfig.class);
+
+    @Test
+    void firesListenersOfChangedFieldsOnly() {
+        val config = new TestConfig();
+        val listeners = new FieldListeners<TestConfig>(config, SCHEMA);
+        val changes = new ArrayList<String>();
+        listeners.onIntChange("count", (oldValue, newValue) -> changes.add("count " + oldValue + " -> " + newValue))
+                .onBooleanChange("enabled", (oldValue, newValue) -> changes.add("enabled " + newValue))
+                .onChange("name", (oldValue, newValue) -> changes.add("name " + oldValue + " -> " + newValue));
+
+        val snapshot = listeners.snapshot(config);
+        assertNotNull(snapshot);
+        config.count = 3;
+        config.name = "other";
+        snapshot.fire(config);
+
+        assertEquals(2, changes.size());
+        assertTrue(changes.contains("count 1 -> 3"));
+        assertTrue(changes.contains("name test -> other"));
+    }
+
+    @Test
+    void firesListenersOnCopyAndIgnoresRemovedOnes() {
+        val config = new TestConfig();
+        val listeners = new FieldListeners<TestConfig>(config, SCHEMA);
+        val changes = new ArrayList<Object>();
+        final DoubleChangeListener removed = (oldValue, newValue) -> fail("Removed listener was invoked");
+        listeners.onDoubleChange("ratio", removed)
+                .onLongChange("total", (oldValue, newValue) -> changes.add(newValue));
+        listeners.remove(removed);
+
+        val source = new TestConfig();
+        source.ratio = .25;
+        source.total = 42;
+        val snapshot = listeners.snapshot(config);
+        new ConfigCopier(SCHEMA, field -> null).copy(config, source);
+        snapshot.fire(config);
+
+        assertEquals(.25, config.ratio);
+        assertEquals(1, changes.size());
+        assertEquals(42L, changes.get(0));
+    }
+
+    @Test
+    void hasNoSnapshotWithoutListeners() {
+        val config = new TestConfig();
+        assertNull(new FieldListeners<TestConfig>(config, SCHEMA).snapshot(config));
+    }
+
+    @Test
+    void rejectsUnknownAndMistypedFields() {
+        val listeners = new FieldListeners<TestConfig>(new TestConfig(), SCHEMA);
+
+        assertThrows(IllegalArgumentException.class, () -> listeners.onChange("missing", (o, n) -> {}));
+        assertThrows(IllegalArgumentException.class, () -> listeners.onIntChange("total", (o, n) -> {}));
+    }
+
+    private static final class TestConfig {
+
+        private int count = 1;
+
+        private long total;
+
+        private double ratio = .5;
+
+        private boolean enabled;
+
+        private String name = "test";
+    }
+
+    private static final class TestSchema implements SerializedSchema<TestField> {
+
+        @Getter private final Class<?> type;
+
+        @Getter private final List<TestField> fields;
+
+        private TestSchema(final Class<?> type) {
+            this.type = type;
+
+            fields = new ArrayList<>();
+            for (val field : type.getDeclaredFields()) if (!field.isSynthetic()) fields.add(new TestField(field));
+        }
+    }
+
+    private static final class TestField implements SerializedField {
+
+        @Getter private final Field field;
+
+        @Getter private final MethodHandle exactGetter, exactSetter;
+
+        @SneakyThrows(IllegalAccessException.class)
+        private TestField(final Field field) {
+            this.field = field;
+
+            field.setAccessible(true);
+            val lookup = MethodHandles.lookup();
+            exactGetter = lookup.unreflectGetter(field);
+            exactSetter = lookup.unreflectSetter(field);
+        }
+
+        @Override
+        @SneakyThrows(IllegalAccessException.class)
+        public Object get(final Object object) {
+            return field.get(object);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package ru.progrm_jarvis.minecraft.spigot.ezcfg;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.val;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.messaging.PluginMessageListener;
+import ru.progrm_jarvis.minecraft.common.ezcfg.sync.ConfigSync;
+import ru.progrm_jarvis.minecraft.common.ezcfg.sync.SyncTransport;
+
+import java.util.function.Consumer;
+
+/**
+ * Transport exchanging messages with the proxy over a plugin messaging channel.
+ * As plugin messages travel through the connections of players,
+ * messages cannot be sent while there are no players online.
+ */
+public final class BukkitSyncTransport implements SyncTransport, PluginMessageListener {
+
+    private final Plugin plugin;
+
+    /**
+     * Plugin messaging channel used by this transport
+     */
+    @Getter private final String channel;
+
+    private volatile Consumer<byte[]> receiver;
+
+    /**
+     * Creates a new transport registering the channel.
+     *
+     * @param plugin plugin owning the channel
+     * @param channel plugin messaging channel
+     */
+    public BukkitSyncTransport(@NonNull final Plugin plugin, @NonNull final String channel) {
+        this.plugin = plugin;
+        this.channel = channel;
+
+        val messenger = plugin.getServer().getMessenger();
+        messenger.registerOutgoingPluginChannel(plugin, channel);
+        messenger.registerIncomingPluginChannel(plugin, channel, this);
+    }
+
+    /**
+     * Creates a new transport registering the {@link ConfigSync#CHANNEL default channel}.
+     *
+     * @param plugin plugin owning the channel
+     */
+    public BukkitSyncTransport(@NonNull final Plugin plugin) {
+        this(plugin, ConfigSync.CHANNEL);
+    }
+
+    @Override
+    public boolean send(@NonNull final byte[] message) {
+        val players = plugin.getServer().getOnlinePlayers();
+        if (players.isEmpty()) return false;
+
+        players.iterator().next().sendPluginMessage(plugin, channel, message);
+
+        return true;
+    }
+
+    @Override
+    public void listen(@NonNull final Consumer<byte[]> receiver) {
+        this.receiver = receiver;
+    }
+
+    @Override
+    public void onPluginMessageReceived(final String channel, final Player player, final byte[] message) {
+        val receiver = this.receiver;
+        if (receiver != null && this.channel.equals(channel)) receiver.accept(message);
+    }
+
+    @Override
+    public void close() {
+        val messenger = plugin.getServer().getMessenger();
+        messenger.unregisterIncomingPluginChannel(plugin, channel, this);
+        messenger.unregisterOutgoingPluginChannel(plugin, channel);
+    }
+}
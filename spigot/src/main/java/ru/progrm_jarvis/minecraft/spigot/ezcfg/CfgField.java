@@ -6,9 +6,12 @@ import lombok.Value;
 import lombok.val;
 import org.bukkit.Color;
 import org.bukkit.OfflinePlayer;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.util.Vector;
+import ru.progrm_jarvis.minecraft.common.ezcfg.adapter.BuiltInType;
+import ru.progrm_jarvis.minecraft.common.ezcfg.adapter.TypeAdapter;
 
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
@@ -16,10 +19,12 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 import java.lang.reflect.Field;
 import java.lang.reflect.ParameterizedType;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 import static org.bukkit.util.NumberConversions.*;
 
@@ -49,7 +54,7 @@ public @interface CfgField {
     String[] comment() default {};
 
     @Getter
-    enum Type {
+    enum Type implements BuiltInType {
         AUTO(null),
         // Base types
         BOOLEAN(new ConfigDataBoolean(), boolean.class, Boolean.class),
@@ -75,6 +80,11 @@ public @interface CfgField {
         CHAR_LIST(new ConfigDataListChar(), true, char.class, Character.class),
         STRING_LIST(new ConfigDataListString(), true, String.class),
         MAP_LIST(new ConfigDataListMap(), true, Map.class),
+        // Lists of the types whose elements are converted by the adapters of their types
+        ENUM_LIST(null, true, Enum.class),
+        VECTOR_LIST(null, true, Vector.class),
+        ITEM_STACK_LIST(null, true, ItemStack.class),
+        PATTERN_LIST(null, true, Pattern.class),
         // Special types
         VECTOR(new ConfigDataVector(), Vector.class),
         OFFLINE_PLAYER(new ConfigDataOfflinePlayer(), OfflinePlayer.class),
@@ -84,6 +94,10 @@ public @interface CfgField {
         // Object
         OBJECT(new ConfigDataObject());
 
+        /**
+         * Data type of the values or {@code null} if the values of the fields of this type
+         * are converted by the adapters resolved from the generic types of the fields
+         */
         private final ConfigData dataType;
 
         private final Class<?>[] typeClasses;
@@ -115,9 +129,9 @@ public @interface CfgField {
 
                         if (typeArgument instanceof Class) for (val typeClass : type.typeClasses) if (typeClass
                                 .isAssignableFrom((Class<?>) typeArgument)) return type;
-
-                        return LIST;
                     }
+
+                    return LIST;
                 } else return OBJECT;
             } else {
                 // If is not list
@@ -137,10 +151,10 @@ public @interface CfgField {
          * @param <T> data type
          */
         @SuppressWarnings("unused")
-        public abstract static class ConfigData<T> {
+        public abstract static class ConfigData<T> implements TypeAdapter<T> {
 
             public void set(final FileConfiguration configuration, final String path, final T value) {
-                configuration.set(path, value);
+                configuration.set(path, encode(value));
             }
 
             public boolean isSet(final FileConfiguration configuration, final String path) {
@@ -159,6 +173,31 @@ public @interface CfgField {
 
             public abstract boolean isValid(FileConfiguration configuration, String path);
 
+            /**
+             * Decodes the value from the raw form in which it is stored in a configuration section, list or map.
+             *
+             * @param raw raw value
+             * @param type type of the value
+             * @return decoded value or {@code null} if the raw value is absent or cannot be decoded
+             */
+            @Override
+            @SuppressWarnings("unchecked")
+            public T decode(final Object raw, final Class<T> type) {
+                return type.isInstance(raw) ? (T) raw : null;
+            }
+
+            /**
+             * Encodes the value to the raw form in which it should be stored in a configuration.
+             *
+             * @param value value to encode
+             * @return raw value
+             */
+            @Override
+            public Object encode(final T value) {
+                return value;
+            }
+
+            @Override
             public T getDefault() {
                 return null;
             }
@@ -186,6 +225,11 @@ public @interface CfgField {
             public boolean isValid(final FileConfiguration configuration, final String path) {
                 return configuration.isBoolean(path);
             }
+
+            @Override
+            public Boolean decode(final Object raw, final Class<Boolean> type) {
+                return raw instanceof Boolean ? (Boolean) raw : null;
+            }
         }
 
         private static abstract class ConfigDataNumeric<T extends Number> extends ConfigData<T> {
@@ -211,6 +255,11 @@ public @interface CfgField {
                 return configuration.isInt(path);
             }
 
+            @Override
+            public Byte decode(final Object raw, final Class<Byte> type) {
+                return raw instanceof Number ? (byte) toInt(raw) : null;
+            }
+
             @Override
             public Byte getDefault() {
                 return 0;
@@ -235,6 +284,11 @@ public @interface CfgField {
                 return configuration.isInt(path);
             }
 
+            @Override
+            public Short decode(final Object raw, final Class<Short> type) {
+                return raw instanceof Number ? (short) toInt(raw) : null;
+            }
+
             @Override
             public Short getDefault() {
                 return 0;
@@ -259,6 +313,11 @@ public @interface CfgField {
                 return configuration.isInt(path);
             }
 
+            @Override
+            public Integer decode(final Object raw, final Class<Integer> type) {
+                return raw instanceof Number ? toInt(raw) : null;
+            }
+
             @Override
             public Integer getDefault() {
                 return 0;
@@ -283,6 +342,11 @@ public @interface CfgField {
                 return configuration.isLong(path);
             }
 
+            @Override
+            public Long decode(final Object raw, final Class<Long> type) {
+                return raw instanceof Number ? toLong(raw) : null;
+            }
+
             @Override
             public Long getDefault() {
                 return 0L;
@@ -307,6 +371,11 @@ public @interface CfgField {
                 return configuration.isDouble(path);
             }
 
+            @Override
+            public Float decode(final Object raw, final Class<Float> type) {
+                return raw instanceof Number ? (float) toDouble(raw) : null;
+            }
+
             @Override
             public Float getDefault() {
                 return 0f;
@@ -331,6 +400,11 @@ public @interface CfgField {
                 return configuration.isDouble(path);
             }
 
+            @Override
+            public Double decode(final Object raw, final Class<Double> type) {
+                return raw instanceof Number ? toDouble(raw) : null;
+            }
+
             @Override
             public Double getDefault() {
                 return 0d;
@@ -354,6 +428,12 @@ public @interface CfgField {
                 return configuration.isInt(path);
             }
 
+            @Override
+            public Character decode(final Object raw, final Class<Character> type) {
+                if (raw instanceof Character) return (Character) raw;
+                return raw instanceof String && !((String) raw).isEmpty() ? ((String) raw).charAt(0) : null;
+            }
+
             @Override
             public Character getDefault() {
                 return 0;
@@ -376,6 +456,12 @@ public @interface CfgField {
                 return configuration.isString(path);
             }
 
+            @Override
+            public String decode(final Object raw, final Class<String> type) {
+                return raw == null || raw instanceof ConfigurationSection || raw instanceof Map || raw instanceof List
+                        ? null : raw.toString();
+            }
+
             @Override
             public String getDefault() {
                 return "";
@@ -384,8 +470,8 @@ public @interface CfgField {
 
         private static class ConfigDataEnum<E extends Enum<E>> extends ConfigData<E> {
             @Override
-            public void set(final FileConfiguration configuration, final String path, final E value) {
-                configuration.set(path, value.name());
+            public Object encode(final E value) {
+                return value == null ? null : value.name();
             }
 
             @Override
@@ -405,6 +491,17 @@ public @interface CfgField {
                 return value == null ? def : value;
             }
 
+            @Override
+            public E decode(final Object raw, final Class<E> type) {
+                if (type.isInstance(raw)) return type.cast(raw);
+                if (!(raw instanceof String)) return null;
+                try {
+                    return Enum.valueOf(type, (String) raw);
+                } catch (final IllegalArgumentException e) {
+                    return null;
+                }
+            }
+
             @Override
             public boolean isValid(final FileConfiguration configuration, final String path) {
                 return configuration.isString(path);
@@ -428,6 +525,12 @@ public @interface CfgField {
                 return configuration.isConfigurationSection(path);
             }
 
+            @Override
+            public Map<?, ?> decode(final Object raw, final Class<Map<?, ?>> type) {
+                if (raw instanceof ConfigurationSection) return ((ConfigurationSection) raw).getValues(false);
+                return raw instanceof Map ? (Map<?, ?>) raw : null;
+            }
+
             @Override
             public Map<?, ?> getDefault() {
                 return Collections.emptyMap();
@@ -444,6 +547,46 @@ public @interface CfgField {
                 return configuration.isList(path);
             }
 
+            @Override
+            public List<T> decode(final Object raw, final Class<List<T>> type) {
+                if (!(raw instanceof List)) return null;
+
+                val rawList = (List<?>) raw;
+                val list = new ArrayList<T>(rawList.size());
+                for (val rawElement : rawList) {
+                    val element = decodeElement(rawElement);
+                    if (element != null) list.add(element);
+                }
+
+                return list;
+            }
+
+            /**
+             * Decodes the element of the list from its raw form.
+             *
+             * @param raw raw element
+             * @return decoded element or {@code null} if it cannot be decoded and so should be skipped
+             */
+            protected abstract T decodeElement(Object raw);
+
+            /**
+             * Converts the raw element of a numeric list to a number.
+             *
+             * @param raw raw element
+             * @return number represented by the element or {@code null} if it does not represent one
+             */
+            protected static Number toNumber(final Object raw) {
+                if (raw instanceof Number) return (Number) raw;
+                if (raw instanceof Character) return (int) (Character) raw;
+                if (raw instanceof String) try {
+                    return Double.valueOf((String) raw);
+                } catch (final NumberFormatException e) {
+                    return null;
+                }
+
+                return null;
+            }
+
             @Override
             public List<T> getDefault() {
                 return Collections.emptyList();
@@ -462,6 +605,17 @@ public @interface CfgField {
             public List<Object> get(FileConfiguration configuration, final Class<List<Object>> type, String path, List<Object> def) {
                 return configuration.getList(path) == null ? def : (List<Object>) configuration.getList(path);
             }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public List<Object> decode(final Object raw, final Class<List<Object>> type) {
+                return raw instanceof List ? (List<Object>) raw : null;
+            }
+
+            @Override
+            protected Object decodeElement(final Object raw) {
+                return raw;
+            }
         }
 
         private static class ConfigDataListBoolean extends AbstractConfigDataList<Boolean> {
@@ -474,6 +628,13 @@ public @interface CfgField {
             public List<Boolean> get(FileConfiguration configuration, final Class<List<Boolean>> type, String path, List<Boolean> def) {
                 return configuration.getList(path) == null ? def : configuration.getBooleanList(path);
             }
+
+            @Override
+            protected Boolean decodeElement(final Object raw) {
+                if (raw instanceof Boolean) return (Boolean) raw;
+                if ("true".equals(raw)) return true;
+                return "false".equals(raw) ? false : null;
+            }
         }
 
         private static class ConfigDataListByte extends AbstractConfigDataList<Byte> {
@@ -486,6 +647,12 @@ public @interface CfgField {
             public List<Byte> get(FileConfiguration configuration, final Class<List<Byte>> type, String path, List<Byte> def) {
                 return configuration.getList(path) == null ? def : configuration.getByteList(path);
             }
+
+            @Override
+            protected Byte decodeElement(final Object raw) {
+                val value = toNumber(raw);
+                return value == null ? null : value.byteValue();
+            }
         }
 
         private static class ConfigDataListShort extends AbstractConfigDataList<Short> {
@@ -498,6 +665,12 @@ public @interface CfgField {
             public List<Short> get(FileConfiguration configuration, final Class<List<Short>> type, String path, List<Short> def) {
                 return configuration.getList(path) == null ? def : configuration.getShortList(path);
             }
+
+            @Override
+            protected Short decodeElement(final Object raw) {
+                val value = toNumber(raw);
+                return value == null ? null : value.shortValue();
+            }
         }
 
         private static class ConfigDataListInt extends AbstractConfigDataList<Integer> {
@@ -510,6 +683,12 @@ public @interface CfgField {
             public List<Integer> get(FileConfiguration configuration, final Class<List<Integer>> type, String path, List<Integer> def) {
                 return configuration.getList(path) == null ? def : configuration.getIntegerList(path);
             }
+
+            @Override
+            protected Integer decodeElement(final Object raw) {
+                val value = toNumber(raw);
+                return value == null ? null : value.intValue();
+            }
         }
 
         private static class ConfigDataListLong extends AbstractConfigDataList<Long> {
@@ -522,6 +701,12 @@ public @interface CfgField {
             public List<Long> get(FileConfiguration configuration, final Class<List<Long>> type, String path, List<Long> def) {
                 return configuration.getList(path) == null ? def : configuration.getLongList(path);
             }
+
+            @Override
+            protected Long decodeElement(final Object raw) {
+                val value = toNumber(raw);
+                return value == null ? null : value.longValue();
+            }
         }
 
         private static class ConfigDataListFloat extends AbstractConfigDataList<Float> {
@@ -534,6 +719,12 @@ public @interface CfgField {
             public List<Float> get(FileConfiguration configuration, final Class<List<Float>> type, String path, List<Float> def) {
                 return configuration.getList(path) == null ? def : configuration.getFloatList(path);
             }
+
+            @Override
+            protected Float decodeElement(final Object raw) {
+                val value = toNumber(raw);
+                return value == null ? null : value.floatValue();
+            }
         }
 
         private static class ConfigDataListDouble extends AbstractConfigDataList<Double> {
@@ -546,6 +737,12 @@ public @interface CfgField {
             public List<Double> get(FileConfiguration configuration, final Class<List<Double>> type, String path, List<Double> def) {
                 return configuration.getList(path) == null ? def : configuration.getDoubleList(path);
             }
+
+            @Override
+            protected Double decodeElement(final Object raw) {
+                val value = toNumber(raw);
+                return value == null ? null : value.doubleValue();
+            }
         }
 
         private static class ConfigDataListChar extends AbstractConfigDataList<Character> {
@@ -558,6 +755,13 @@ public @interface CfgField {
             public List<Character> get(FileConfiguration configuration, final Class<List<Character>> type, String path, List<Character> def) {
                 return configuration.getList(path) == null ? def : configuration.getCharacterList(path);
             }
+
+            @Override
+            protected Character decodeElement(final Object raw) {
+                if (raw instanceof Character) return (Character) raw;
+                if (raw instanceof String) return ((String) raw).length() == 1 ? ((String) raw).charAt(0) : null;
+                return raw instanceof Number ? (char) ((Number) raw).intValue() : null;
+            }
         }
 
         private static class ConfigDataListString extends AbstractConfigDataList<String> {
@@ -570,6 +774,12 @@ public @interface CfgField {
             public List<String> get(FileConfiguration configuration, final Class<List<String>> type, String path, List<String> def) {
                 return configuration.getList(path) == null ? def : configuration.getStringList(path);
             }
+
+            @Override
+            protected String decodeElement(final Object raw) {
+                return raw instanceof String || raw instanceof Number || raw instanceof Boolean
+                        || raw instanceof Character ? raw.toString() : null;
+            }
         }
 
         private static class ConfigDataListMap extends AbstractConfigDataList<Map<?, ?>> {
@@ -582,6 +792,11 @@ public @interface CfgField {
             public List<Map<?, ?>> get(FileConfiguration configuration, final Class<List<Map<?, ?>>> type, String path, List<Map<?, ?>> def) {
                 return configuration.getList(path) == null ? def : configuration.getMapList(path);
             }
+
+            @Override
+            protected Map<?, ?> decodeElement(final Object raw) {
+                return raw instanceof Map ? (Map<?, ?>) raw : null;
+            }
         }
 
         ///////////////////////////////////////////////////////////////////////////
@@ -669,8 +884,19 @@ public @interface CfgField {
             }
 
             @Override
-            public void set(final FileConfiguration configuration, final String path, final Pattern value) {
-                configuration.set(path, value.pattern());
+            public Pattern decode(final Object raw, final Class<Pattern> type) {
+                if (raw instanceof Pattern) return (Pattern) raw;
+                if (!(raw instanceof String)) return null;
+                try {
+                    return Pattern.compile((String) raw);
+                } catch (final PatternSyntaxException e) {
+                    return null;
+                }
+            }
+
+            @Override
+            public Object encode(final Pattern value) {
+                return value == null ? null : value.pattern();
             }
 
             @Override
@@ -0,0 +1,17 @@
+package ru.progrm_jarvis.minecraft.spigot.ezcfg;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a class (or a field of such class, list or map of such classes) as a nested section of a config.
+ * Fields of the section are bound directly (by the same rules as fields of the config itself)
+ * without intermediate {@link java.util.Map maps} or {@link org.bukkit.configuration.ConfigurationSection}s.
+ * <p>
+ * The class of the section should have a constructor without parameters.
+ */
+@Target({ElementType.TYPE, ElementType.FIELD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CfgSection {}
@@ -0,0 +1,236 @@
+package ru.progrm_jarvis.minecraft.spigot.ezcfg;
+
+import lombok.SneakyThrows;
+import lombok.val;
+import lombok.var;
+import ru.progrm_jarvis.minecraft.common.ezcfg.io.ConfigFiles;
+import ru.progrm_jarvis.minecraft.common.ezcfg.io.FileLocks;
+import ru.progrm_jarvis.minecraft.common.ezcfg.journal.ConfigJournal;
+import ru.progrm_jarvis.minecraft.common.ezcfg.metrics.ConfigMetrics;
+import ru.progrm_jarvis.minecraft.common.ezcfg.stream.ConfigStream;
+import ru.progrm_jarvis.minecraft.common.ezcfg.validation.ValidationReport;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Load of a config split into reading its file, which does not modify the config and so may be performed
+ * off the main thread, and {@link #apply() assigning} the read values to the fields of the config.
+ */
+final class ConfigLoad {
+
+    /**
+     * Marker of the fields whose values are not assigned
+     */
+    private static final Object UNASSIGNED = new Object();
+
+    private final YamlConfigData<?, ?> config;
+
+    private final List<FieldSchema> fields;
+
+    private final Object[] values;
+
+    private final List<FieldSchema> streamFields;
+
+    private final ConfigStream<?>[] streams;
+
+    private ConfigLoad(final YamlConfigData<?, ?> config, final List<FieldSchema> fields, final Object[] values,
+                       final List<FieldSchema> streamFields, final ConfigStream<?>[] streams) {
+        this.config = config;
+        this.fields = fields;
+        this.values = values;
+        this.streamFields = streamFields;
+        this.streams = streams;
+    }
+
+    /**
+     * Reads the values of the config from the file validating them,
+     * writing the default values of the fields absent in the file to it at once if needed
+     * and reporting their paths to {@link YamlConfigData#onMissingKeys(Path, Set, boolean)}.
+     * The file is read under its {@link FileLocks read lock} which is converted to the write lock
+     * only if the file has to be written.
+     * Files of file systems other than the default one are neither journaled nor recorded by the metrics.
+     *
+     * @param config config whose values to read
+     * @param file file from which to read the values
+     * @param save whether or not the file should be written if some fields were absent in it
+     * @return read load which should be {@link #apply() applied}
+     * @throws ru.progrm_jarvis.minecraft.common.ezcfg.validation.ConfigValidationException
+     * if some values violate the constraints of their fields and are rejected (in which case the file is not written)
+     */
+    @SneakyThrows
+    static ConfigLoad read(final YamlConfigData<?, ?> config, final Path file, final boolean save) {
+        val recorder = ConfigMetrics.startLoad(config.getClass(), file);
+        // journals are kept next to the files of the default file system only
+        val localFile = ConfigFiles.toFile(file);
+        val lock = FileLocks.of(file);
+        var stamp = lock.readLock();
+        // paths absent in the file which are only allocated once any is found
+        Set<String> missing = null;
+        var written = false;
+        final ValidationReport report;
+        final ConfigLoad load;
+        try {
+            val format = Formats.of(config, file);
+            val schema = config.getSchema();
+            // streamed lists are only read once their streams are consumed
+            val configuration = Formats.load(file, format, schema.getStreamPaths());
+            recorder.parsed(localFile);
+
+            val journalPolicy = localFile == null ? null : config.getJournalPolicy();
+            val journal = journalPolicy != null || localFile != null && ConfigJournal.exists(localFile)
+                    ? ConfigJournal.of(localFile, Journals.CODEC) : null;
+            if (journal != null) journal.replay(Journals.replayer(configuration));
+
+            var fieldsChanged = 0;
+            val fields = schema.getFields();
+            val streamFields = schema.getStreamFields();
+            Map<String, Object> defaults = null;
+            val values = new Object[fields.size()];
+            report = schema.isValidated() ? new ValidationReport(
+                    config.getClass(), localFile == null ? new File(file.toString()) : localFile
+            ) : null;
+            for (int i = 0; i < values.length; i++) {
+                val field = fields.get(i);
+                val path = field.getSerializationOptions().getPath();
+                recorder.decodingField();
+                var configValue = field.read(configuration, config::onExceptionSettingField);
+                recorder.decodedField(path, field.getField().getType());
+
+                if (configValue == null) {
+                    if (missing == null) missing = new LinkedHashSet<>();
+                    missing.add(path);
+                    try {
+                        configValue = field.get(config);
+                        val encoded = field.encode(configValue == null ? field.getAdapter().getDefault() : configValue);
+                        configuration.set(path, encoded);
+                        if (defaults == null) defaults = new LinkedHashMap<>();
+                        defaults.put(path, encoded);
+                        values[i] = UNASSIGNED;
+
+                        continue;
+                    } catch (final RuntimeException e) {
+                        recorder.error();
+                        config.onExceptionGettingField(e);
+                    }
+                }
+
+                try {
+                    val validator = field.getValidator();
+                    if (validator != null) configValue = validator
+                            .validate(path, configValue, field.get(config), report);
+
+                    if (recorder.isActive() && !Objects.equals(field.get(config), configValue)) fieldsChanged++;
+                    values[i] = configValue;
+                } catch (final RuntimeException e) {
+                    recorder.error();
+                    config.onExceptionSettingField(e);
+                    values[i] = UNASSIGNED;
+                }
+            }
+
+            recorder.bound(fields.size(), fieldsChanged);
+            // rejected loads are not applied so they do not change the file either
+            val rejected = report != null && report.isRejected();
+
+            // all of the defaults are written at once so that the file is complete on the next load
+            if (save && !rejected && (defaults != null || journal != null && journal.size() != 0)) {
+                val writeStamp = lock.tryConvertToWriteLock(stamp);
+                val reread = writeStamp == 0L;
+                if (reread) {
+                    // other threads are reading the file so it may be written by someone else until it is locked
+                    lock.unlockRead(stamp);
+                    stamp = lock.writeLock();
+                } else stamp = writeStamp;
+
+                if (!reread && streamFields.isEmpty()) Formats.save(configuration, file, format);
+                else {
+                    // the file may have changed since it was read or the configuration lacks the streamed lists
+                    // so the whole file is read again only adding the values still absent in it
+                    val fullConfiguration = Formats.load(file, format);
+                    if (journal != null) journal.replay(Journals.replayer(fullConfiguration));
+                    if (defaults != null) for (val entry : defaults.entrySet()) {
+                        val path = entry.getKey();
+                        if (!fullConfiguration.contains(path)) fullConfiguration.set(path, entry.getValue());
+                    }
+                    Formats.save(fullConfiguration, file, format);
+                }
+                written = defaults != null;
+                recorder.written(localFile);
+                // the records of the journal have been written to the file
+                if (journal != null) journal.delete();
+            }
+
+            val streams = new ConfigStream<?>[streamFields.size()];
+            for (int i = 0; i < streams.length; i++) streams[i] = streamFields.get(i)
+                    .stream(file, format, config::onExceptionSettingField);
+
+            load = new ConfigLoad(config, fields, values, streamFields, streams);
+            if (journalPolicy != null && !rejected) journal.track(load.encode());
+        } catch (final Throwable e) {
+            recorder.failed();
+            throw e;
+        } finally {
+            lock.unlock(stamp);
+            recorder.finish();
+        }
+        // the hooks may load or save files sharing the stripe of the file so they are called once it is unlocked
+        if (report != null && !report.isEmpty()) config.onConstraintViolations(report);
+        if (missing != null) config.onMissingKeys(file, Collections.unmodifiableSet(missing), written);
+
+        return load;
+    }
+
+    /**
+     * Assigns the read values to the fields of the config.
+     */
+    void apply() {
+        val listeners = config.getFieldListeners();
+        val snapshot = listeners == null ? null : listeners.snapshot(config);
+        for (int i = 0; i < values.length; i++) {
+            val value = values[i];
+            if (value == UNASSIGNED) continue;
+
+            val field = fields.get(i);
+            try {
+                try {
+                    field.set(config, value);
+                } catch (final ClassCastException e) {
+                    field.set(config, null);
+                }
+            } catch (final RuntimeException e) {
+                config.onExceptionSettingField(e);
+            }
+        }
+        for (int i = 0; i < streams.length; i++) try {
+            streamFields.get(i).set(config, streams[i]);
+        } catch (final RuntimeException e) {
+            config.onExceptionSettingField(e);
+        }
+        if (snapshot != null) snapshot.fire(config);
+    }
+
+    /**
+     * Gets the encoded values of the config as they will be once this load is applied.
+     *
+     * @return encoded values by their paths
+     */
+    private LinkedHashMap<String, Object> encode() {
+        val encoded = new LinkedHashMap<String, Object>(Math.max((int) (values.length / .75f) + 1, 16));
+        for (int i = 0; i < values.length; i++) {
+            val field = fields.get(i);
+            val value = values[i];
+            encoded.put(field.getSerializationOptions().getPath(),
+                    field.encode(value == UNASSIGNED ? field.get(config) : value));
+        }
+
+        return encoded;
+    }
+}
@@ -0,0 +1,197 @@
+package ru.progrm_jarvis.minecraft.spigot.ezcfg;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.val;
+import lombok.var;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reloader of configs reading and decoding their files off the main thread
+ * and assigning the read values on it spending no more than the given time per tick.
+ * <p>
+ * Each config is assigned at once within a single tick while configs reloaded together
+ * form a batch whose future is completed on the main thread once all of its configs are live.
+ * If any config of the batch cannot be read, none of them is assigned,
+ * while if any of them cannot be assigned, the batch is dropped with the configs preceding it staying live.
+ */
+public final class ConfigReloader implements AutoCloseable {
+
+    private final Plugin plugin;
+
+    private final Executor executor;
+
+    /**
+     * Time in nanoseconds spent on assigning the values of the configs per tick
+     */
+    @Getter private final long tickBudgetNanos;
+
+    private final Queue<Batch> batches = new ConcurrentLinkedQueue<>();
+
+    private final BukkitTask task;
+
+    /**
+     * Marker of this reloader being closed, checked by the reads completing after it
+     */
+    private volatile boolean closed;
+
+    /**
+     * Creates a new reloader starting its task on the main thread.
+     *
+     * @param plugin plugin owning the task of the reloader
+     * @param executor executor reading the files (by default, the asynchronous Bukkit scheduler)
+     * @param tickBudgetMicros time in microseconds spent on assigning the values per tick (by default, {@code 2000}),
+     * at least one config is assigned per tick anyway
+     */
+    @Builder
+    private ConfigReloader(@NonNull final Plugin plugin, final Executor executor, final Long tickBudgetMicros) {
+        if (tickBudgetMicros != null && tickBudgetMicros <= 0) throw new IllegalArgumentException(
+                "tickBudgetMicros should be positive"
+        );
+
+        this.plugin = plugin;
+        val scheduler = plugin.getServer().getScheduler();
+        this.executor = executor == null ? runnable -> scheduler.runTaskAsynchronously(plugin, runnable) : executor;
+        tickBudgetNanos = TimeUnit.MICROSECONDS.toNanos(tickBudgetMicros == null ? 2000 : tickBudgetMicros);
+
+        task = scheduler.runTaskTimer(plugin, this::tick, 1, 1);
+    }
+
+    /**
+     * Reloads the config from the file.
+     *
+     * @param config config to reload
+     * @param file file from which to reload the config
+     * @return future completed on the main thread once the config is live
+     */
+    public CompletableFuture<Void> reload(@NonNull final YamlConfigData<?, ?> config, @NonNull final File file) {
+        return reload(Collections.singletonMap(config, file));
+    }
+
+    /**
+     * Reloads the configs from their files as a single batch.
+     *
+     * @param configs configs to reload with the files from which to reload them
+     * @return future completed on the main thread once all the configs are live
+     */
+    public CompletableFuture<Void> reload(@NonNull final Map<? extends YamlConfigData<?, ?>, File> configs) {
+        val future = new CompletableFuture<Void>();
+        if (closed) {
+            future.completeExceptionally(new IllegalStateException("Reloader is closed"));
+
+            return future;
+        }
+
+        @SuppressWarnings("unchecked") final CompletableFuture<ConfigLoad>[] reads
+                = (CompletableFuture<ConfigLoad>[]) new CompletableFuture<?>[configs.size()];
+        var i = 0;
+        for (val entry : configs.entrySet()) reads[i++] = CompletableFuture.supplyAsync(
+                () -> ConfigLoad.read(entry.getKey(), entry.getValue().toPath(), true), executor
+        );
+
+        CompletableFuture.allOf(reads).whenComplete((ignored, error) -> {
+            if (error == null) {
+                if (closed) {
+                    future.cancel(false);
+
+                    return;
+                }
+
+                val loads = new ConfigLoad[reads.length];
+                for (int read = 0; read < reads.length; read++) loads[read] = reads[read].join();
+                val batch = new Batch(loads, future);
+                batches.add(batch);
+                // the reloader may have been closed after the check and drained the queue before the addition
+                if (closed && batches.remove(batch)) future.cancel(false);
+            } else {
+                val cause = error instanceof CompletionException ? error.getCause() : error;
+                // the plugin of a closed reloader may be disabled so that its tasks cannot be scheduled
+                if (closed) future.completeExceptionally(cause);
+                else plugin.getServer().getScheduler().runTask(plugin, () -> future.completeExceptionally(cause));
+            }
+        });
+
+        return future;
+    }
+
+    /**
+     * Gets the number of batches which have been read but are not yet live.
+     *
+     * @return number of the batches waiting for assignment
+     */
+    public int getPendingBatches() {
+        return batches.size();
+    }
+
+    /**
+     * Stops the task of this reloader cancelling the futures of the batches which are not yet live.
+     * The futures of the batches still being read are completed off the main thread once their reads complete.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        task.cancel();
+
+        Batch batch;
+        while ((batch = batches.poll()) != null) batch.future.cancel(false);
+    }
+
+    private void tick() {
+        val deadline = System.nanoTime() + tickBudgetNanos;
+
+        Batch batch;
+        while ((batch = batches.peek()) != null) {
+            try {
+                if (batch.applyNext()) {
+                    batches.poll();
+                    batch.future.complete(null);
+                }
+            } catch (final RuntimeException e) {
+                batches.poll();
+                batch.future.completeExceptionally(e);
+            }
+
+            if (System.nanoTime() - deadline >= 0) break;
+        }
+    }
+
+    private static final class Batch {
+
+        private final ConfigLoad[] loads;
+
+        private final CompletableFuture<Void> future;
+
+        /**
+         * Index of the next load to apply, only accessed from the main thread
+         */
+        private int next;
+
+        private Batch(final ConfigLoad[] loads, final CompletableFuture<Void> future) {
+            this.loads = loads;
+            this.future = future;
+        }
+
+        /**
+         * Applies the next load of this batch.
+         *
+         * @return {@code true} if all the loads of this batch have been applied and {@code false} otherwise
+         */
+        private boolean applyNext() {
+            if (next < loads.length) loads[next++].apply();
+
+            return next == loads.length;
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package ru.progrm_jarvis.minecraft.spigot.ezcfg;
+
+import lombok.SneakyThrows;
+import lombok.val;
+import lombok.var;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+import ru.progrm_jarvis.minecraft.common.ezcfg.format.ConfigFormat;
+import ru.progrm_jarvis.minecraft.common.ezcfg.format.ConfigFormats;
+import ru.progrm_jarvis.minecraft.common.ezcfg.io.ConfigFiles;
+import ru.progrm_jarvis.minecraft.common.ezcfg.io.GroupSaves;
+import ru.progrm_jarvis.minecraft.common.ezcfg.journal.ConfigJournal;
+import ru.progrm_jarvis.minecraft.common.ezcfg.metrics.ConfigMetrics;
+import ru.progrm_jarvis.minecraft.common.ezcfg.metrics.ConfigOperationRecorder;
+import ru.progrm_jarvis.minecraft.common.ezcfg.patch.YamlPatcher;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Save of a config split into {@link #prepare(YamlConfigData, Path) comparing} its values with the ones in its file
+ * and writing the file, either {@link #write() in place} or by other means after {@link #serialize() serializing} it.
+ * Unless the save fails, it is {@link #complete() completed} once the file is written.
+ */
+final class ConfigSave implements GroupSaves.PreparedSave {
+
+    private final YamlConfigData<?, ?> config;
+
+    private final Path file;
+
+    private final ConfigOperationRecorder recorder;
+
+    private final ConfigFormat format;
+
+    /**
+     * Configuration with the changed values set or {@code null} if the file should not be written
+     */
+    private final FileConfiguration configuration;
+
+    private final YamlPatcher patcher;
+
+    /**
+     * Changed raw values by their paths if the file may be patched, otherwise {@code null}
+     */
+    private final Map<String, Object> changes;
+
+    private final ConfigJournal journal;
+
+    /**
+     * Encoded values to be tracked by the journal once the file is written or {@code null} if it is not journaled
+     */
+    private final Map<String, Object> tracked;
+
+    private ConfigSave(final YamlConfigData<?, ?> config, final Path file, final ConfigOperationRecorder recorder,
+                       final ConfigFormat format, final FileConfiguration configuration, final YamlPatcher patcher,
+                       final Map<String, Object> changes, final ConfigJournal journal,
+                       final Map<String, Object> tracked) {
+        this.config = config;
+        this.file = file;
+        this.recorder = recorder;
+        this.format = format;
+        this.configuration = configuration;
+        this.patcher = patcher;
+        this.changes = changes;
+        this.journal = journal;
+        this.tracked = tracked;
+    }
+
+    /**
+     * Compares the values of the config with the ones in the file.
+     * Changes of journaled configs are appended to the journal right away,
+     * files of file systems other than the default one are never journaled.
+     *
+     * @param config config whose values to save
+     * @param file file to which to save the values
+     * @return prepared save which should be written
+     */
+    @SneakyThrows
+    static ConfigSave prepare(final YamlConfigData<?, ?> config, final Path file) {
+        val recorder = ConfigMetrics.startSave(config.getClass(), file);
+        // journals are kept next to the files of the default file system only
+        val localFile = ConfigFiles.toFile(file);
+        try {
+            val journalPolicy = localFile == null ? null : config.getJournalPolicy();
+            if (journalPolicy != null) {
+                val journal = ConfigJournal.of(localFile, Journals.CODEC);
+                if (journal.isTracked()) try {
+                    val schema = config.getSchema();
+                    val fieldsChanged = journal.append(schema.encode(config));
+                    recorder.bound(schema.getFields().size(), fieldsChanged);
+                    if (fieldsChanged != 0) recorder.written(journal.getJournalFile());
+
+                    journal.compactIfNeeded(journalPolicy, Formats.compactor(Formats.of(config, file)));
+
+                    return new ConfigSave(config, file, recorder, null, null, null, null, null, null);
+                } catch (final IllegalArgumentException e) {
+                    // some of the changed values cannot be journaled so the whole file gets rewritten
+                }
+            }
+
+            val format = Formats.of(config, file);
+            val patcher = config.isPatchingSaves() && format == ConfigFormats.YAML
+                    ? YamlPatcher.read(file) : null;
+            final FileConfiguration configuration;
+            if (patcher == null) configuration = Formats.load(file, format);
+            else {
+                configuration = new YamlConfiguration();
+                configuration.loadFromString(patcher.getText());
+            }
+            recorder.parsed(localFile);
+            val journal = journalPolicy != null || localFile != null && ConfigJournal.exists(localFile)
+                    ? ConfigJournal.of(localFile, Journals.CODEC) : null;
+            if (journal != null) journal.replay(Journals.replayer(configuration));
+
+            var fieldsChanged = 0;
+            val schema = config.getSchema();
+            val fields = schema.getFields();
+            var changes = patcher == null ? null : new HashMap<String, Object>();
+            for (val field : fields) {
+                final Object fieldValue;
+                try {
+                    fieldValue = field.get(config);
+                } catch (final RuntimeException e) {
+                    recorder.error();
+                    config.onExceptionGettingField(e);
+                    continue;
+                }
+
+                if (!field.isStored(fieldValue, configuration)) {
+                    val path = field.getSerializationOptions().getPath();
+                    val encoded = field.encode(fieldValue);
+                    configuration.set(path, encoded);
+                    if (changes != null) changes.put(path, encoded);
+
+                    fieldsChanged++;
+                }
+            }
+
+            recorder.bound(fields.size(), fieldsChanged);
+
+            val journaled = journal != null && journal.size() != 0;
+            // the records of the journal are not in the text of the file so they get written by the full writer
+            if (journaled) changes = null;
+
+            return new ConfigSave(
+                    config, file, recorder, format, fieldsChanged != 0 || journaled ? configuration : null,
+                    patcher, changes, journal, journalPolicy == null ? null : schema.encode(config)
+            );
+        } catch (final Throwable e) {
+            recorder.failed();
+            recorder.finish();
+            throw e;
+        }
+    }
+
+    /**
+     * Checks whether the file should be written.
+     *
+     * @return {@code true} if some values have changed and {@code false} otherwise
+     */
+    boolean isChanged() {
+        return configuration != null;
+    }
+
+    /**
+     * Writes the file in place (patching it if possible) and completes this save.
+     */
+    @SneakyThrows
+    void write() {
+        try {
+            if (configuration != null && (changes == null || !patcher.patch(changes))) Formats
+                    .save(configuration, file, format);
+        } catch (final Throwable e) {
+            fail();
+            throw e;
+        }
+
+        complete();
+    }
+
+    /**
+     * Serializes the new contents of the file (patching its text if possible).
+     *
+     * @return new contents of the file or {@code null} if it should not be written
+     */
+    @Override
+    @SneakyThrows
+    public byte[] serialize() {
+        if (configuration == null) return null;
+
+        if (changes != null) {
+            val text = patcher.preview(changes);
+            if (text != null) return text.getBytes(StandardCharsets.UTF_8);
+        }
+
+        return Formats.serialize(configuration, format);
+    }
+
+    /**
+     * Completes this save once the file has been written.
+     */
+    @Override
+    public void complete() {
+        try {
+            if (configuration != null) {
+                recorder.written(ConfigFiles.toFile(file));
+                // the records of the journal have been written to the file
+                if (journal != null) journal.delete();
+            }
+            if (tracked != null) journal.track(tracked);
+        } finally {
+            recorder.finish();
+        }
+    }
+
+    /**
+     * Fails this save as the file could not be written.
+     */
+    @Override
+    public void fail() {
+        recorder.failed();
+        recorder.finish();
+    }
+}
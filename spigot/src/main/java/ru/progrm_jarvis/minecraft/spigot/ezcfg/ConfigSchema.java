@@ -0,0 +1,243 @@
+package ru.progrm_jarvis.minecraft.spigot.ezcfg;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.val;
+import lombok.var;
+import org.bukkit.plugin.Plugin;
+import ru.progrm_jarvis.minecraft.common.ezcfg.adapter.TypeAdapter;
+import ru.progrm_jarvis.minecraft.common.ezcfg.schema.ConfigCopier;
+import ru.progrm_jarvis.minecraft.common.ezcfg.schema.SerializedSchema;
+import ru.progrm_jarvis.minecraft.common.ezcfg.stream.ConfigStream;
+import ru.progrm_jarvis.minecraft.common.ezcfg.sync.SchemaFingerprint;
+import ru.progrm_jarvis.minecraft.common.ezcfg.warmup.SchemaPrewarmer;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.net.URISyntaxException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Serialized fields of a class resolved once and cached for the lifetime of the class.
+ * This replaces walking the class hierarchy, checking annotations and toggling accessibility on every operation.
+ */
+public final class ConfigSchema implements SerializedSchema<FieldSchema> {
+
+    private static final ClassValue<ConfigSchema> SCHEMAS = new ClassValue<ConfigSchema>() {
+        @Override
+        protected ConfigSchema computeValue(final Class<?> type) {
+            return new ConfigSchema(type, false);
+        }
+    }, SUPER_NOT_REQUIRING_CFG_FIELD_ANNOTATION_SCHEMAS = new ClassValue<ConfigSchema>() {
+        @Override
+        protected ConfigSchema computeValue(final Class<?> type) {
+            return new ConfigSchema(type, true);
+        }
+    };
+
+    /**
+     * Class described by this schema
+     */
+    @Getter private final Class<?> type;
+
+    /**
+     * Serialized fields of the class in declaration order (fields of subclasses go first)
+     */
+    @Getter private final List<FieldSchema> fields;
+
+    /**
+     * Fields storing {@link ConfigStream streams} of the entries of lists in declaration order.
+     * They are read lazily from the file and so are neither copied, saved, synchronized nor listened to.
+     */
+    @Getter private final List<FieldSchema> streamFields;
+
+    /**
+     * Paths of the {@link #getStreamFields() stream fields} which are skipped while the file is loaded
+     */
+    @Getter private final Set<String> streamPaths;
+
+    /**
+     * Serialization options of the serialized fields in declaration order
+     */
+    @Getter private final Map<Field, CfgField.SerializationOptions> fieldsData;
+
+    /**
+     * Whether or not any of the serialized fields has constraints
+     */
+    @Getter private final boolean validated;
+
+    /**
+     * Fingerprint of the paths and types of the serialized fields
+     */
+    @Getter private final long fingerprint;
+
+    private final Map<String, FieldSchema> fieldsByPath;
+
+    private final ConfigCopier shallowCopier, deepCopier;
+
+    private ConfigSchema(final Class<?> type, final boolean superNotRequireCfgFieldAnnotation) {
+        this.type = type;
+
+        val fields = new ArrayList<FieldSchema>();
+        val streamFields = new ArrayList<FieldSchema>();
+        val fieldsData = new LinkedHashMap<Field, CfgField.SerializationOptions>();
+        for (var clazz = type; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+            for (val field : clazz.getDeclaredFields()) {
+                final CfgField.SerializationOptions serializationOptions;
+                final TypeAdapter<?> adapter;
+                if (field.isAnnotationPresent(CfgField.class)) {
+                    val data = field.getAnnotation(CfgField.class);
+
+                    val auto = data.type() == CfgField.Type.AUTO;
+                    serializationOptions = CfgField.SerializationOptions.of(
+                            auto ? CfgField.Type.getType(field) : data.type(),
+                            data.value().isEmpty() ? field.getName() : data.value(),
+                            data.comment()
+                    );
+                    // types without their own data types are bound by the adapters of the fields' generic types
+                    val dataType = data.type().getDataType();
+                    adapter = dataType == null ? TypeAdapters.of(field) : dataType;
+                } else if (superNotRequireCfgFieldAnnotation && clazz != type
+                        && YamlConfigData.isModifiable(field.getModifiers())) {
+                    serializationOptions = CfgField.SerializationOptions
+                            .of(CfgField.Type.getType(field), field.getName(), new String[0]);
+                    adapter = TypeAdapters.of(field);
+                } else continue;
+
+                val fieldSchema = new FieldSchema(field, serializationOptions, adapter);
+                if (fieldSchema.isStream()) streamFields.add(fieldSchema);
+                else {
+                    fields.add(fieldSchema);
+                    fieldsData.put(field, serializationOptions);
+                }
+            }
+        }
+
+        this.fields = Collections.unmodifiableList(fields);
+        this.streamFields = Collections.unmodifiableList(streamFields);
+        val streamPaths = new HashSet<String>();
+        for (val field : streamFields) streamPaths.add(field.getSerializationOptions().getPath());
+        this.streamPaths = Collections.unmodifiableSet(streamPaths);
+        var validated = false;
+        for (val field : fields) if (field.getValidator() != null) {
+            validated = true;
+            break;
+        }
+        this.validated = validated;
+        this.fieldsData = Collections.unmodifiableMap(fieldsData);
+
+        fieldsByPath = new HashMap<>(Math.max((int) (fields.size() / .75f) + 1, 16));
+        val description = new StringBuilder();
+        for (val field : fields) {
+            val path = field.getSerializationOptions().getPath();
+            fieldsByPath.put(path, field);
+            description.append(path).append(':').append(field.getField().getGenericType().getTypeName()).append('\n');
+        }
+        fingerprint = SchemaFingerprint.of(description);
+
+        shallowCopier = new ConfigCopier(this, field -> null);
+        deepCopier = new ConfigCopier(this, Cloners::of);
+    }
+
+    /**
+     * Gets the schema of the class.
+     *
+     * @param type class whose schema to get
+     * @param superNotRequireCfgFieldAnnotation whether or not modifiable fields of superclasses
+     * should be serialized even without {@link CfgField} annotation
+     * @return cached schema of the class
+     *
+     * @see YamlConfigData#isSuperNotRequireCfgFieldAnnotation()
+     */
+    public static ConfigSchema of(@NonNull final Class<?> type, final boolean superNotRequireCfgFieldAnnotation) {
+        return (superNotRequireCfgFieldAnnotation ? SUPER_NOT_REQUIRING_CFG_FIELD_ANNOTATION_SCHEMAS : SCHEMAS)
+                .get(type);
+    }
+
+    /**
+     * Builds the schemas of the classes in parallel so that their first loads only parse and assign values.
+     *
+     * @param types config classes (or classes of {@link CfgSection sections}) whose schemas to build
+     * @param executor executor by which the schemas are built
+     * @return future completed once all the schemas are built
+     */
+    public static CompletableFuture<Void> prewarm(@NonNull final Collection<? extends Class<?>> types,
+                                                  @NonNull final Executor executor) {
+        return SchemaPrewarmer.prewarm(types, ConfigSchema::prewarm, executor);
+    }
+
+    /**
+     * Builds the schemas of all the config classes of the plugin's jar in parallel
+     * so that their first loads only parse and assign values.
+     * The classes are found by reading the jar without loading unrelated classes and are not initialized.
+     *
+     * @param plugin plugin whose config classes to find
+     * @param executor executor by which the jar is scanned and the schemas are built
+     * @return future completed once all the schemas are built
+     */
+    @SneakyThrows(URISyntaxException.class)
+    public static CompletableFuture<Void> prewarm(@NonNull final Plugin plugin, @NonNull final Executor executor) {
+        return SchemaPrewarmer.prewarm(
+                new File(plugin.getClass().getProtectionDomain().getCodeSource().getLocation().toURI()), YamlConfigData.class,
+                plugin.getClass().getClassLoader(), ConfigSchema::prewarm, executor
+        );
+    }
+
+    private static void prewarm(final Class<?> type) {
+        boolean overridden;
+        try {
+            overridden = type.getMethod("isSuperNotRequireCfgFieldAnnotation").getDeclaringClass()
+                    != YamlConfigData.class;
+        } catch (final NoSuchMethodException e) {
+            // sections always use the default
+            overridden = false;
+        }
+
+        of(type, true).resolveSections();
+        // the value returned by the overriding method is only known to the instances
+        if (overridden) of(type, false).resolveSections();
+    }
+
+    /**
+     * Resolves the schemas of the sections stored by the serialized fields.
+     */
+    void resolveSections() {
+        for (val field : fields) field.resolveSection();
+    }
+
+    /**
+     * Gets the copier of the serialized fields of the class.
+     *
+     * @param mode mode of copying
+     * @return copier of the class
+     */
+    public ConfigCopier getCopier(@NonNull final CopyMode mode) {
+        return mode == CopyMode.DEEP ? deepCopier : shallowCopier;
+    }
+
+    /**
+     * Gets the serialized field by its path.
+     *
+     * @param path path of the field
+     * @return serialized field or {@code null} if there is none at the path
+     */
+    public FieldSchema getField(@NonNull final String path) {
+        return fieldsByPath.get(path);
+    }
+
+    /**
+     * Gets the encoded values of the serialized fields of the config.
+     *
+     * @param config config whose values to get
+     * @return encoded values of the fields by their paths in declaration order
+     */
+    public Map<String, Object> encode(@NonNull final Object config) {
+        val values = new LinkedHashMap<String, Object>(Math.max((int) (fields.size() / .75f) + 1, 16));
+        for (val field : fields) values.put(field.getSerializationOptions().getPath(), field.encode(field.get(config)));
+
+        return values;
+    }
+}
@@ -0,0 +1,19 @@
+package ru.progrm_jarvis.minecraft.spigot.ezcfg;
+
+/**
+ * Mode of copying of config objects.
+ *
+ * @see YamlConfigData#copyFrom(YamlConfigData, CopyMode)
+ */
+public enum CopyMode {
+    /**
+     * Values are copied by reference so mutable ones get shared between the objects.
+     */
+    SHALLOW,
+    /**
+     * Mutable values ({@link java.util.List}s, {@link java.util.Map}s, {@link org.bukkit.util.Vector}s,
+     * {@link org.bukkit.inventory.ItemStack}s and {@link CfgSection sections}) are cloned
+     * so that the objects can be modified independently.
+     */
+    DEEP
+}
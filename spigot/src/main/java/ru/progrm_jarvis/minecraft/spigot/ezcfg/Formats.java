@@ -0,0 +1,208 @@
+package ru.progrm_jarvis.minecraft.spigot.ezcfg;
+
+import lombok.val;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.configuration.serialization.ConfigurationSerializable;
+import org.bukkit.configuration.serialization.ConfigurationSerialization;
+import ru.progrm_jarvis.minecraft.common.ezcfg.format.ConfigFormat;
+import ru.progrm_jarvis.minecraft.common.ezcfg.format.ConfigFormats;
+import ru.progrm_jarvis.minecraft.common.ezcfg.io.FileLocks;
+import ru.progrm_jarvis.minecraft.common.ezcfg.journal.JournalCompactor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bukkit-specific parts of reading and writing configs in {@link ConfigFormat formats} other than YAML.
+ * YAML files are still handled by {@link YamlConfiguration} itself unless some of their values are skipped.
+ */
+final class Formats {
+
+    private Formats() {
+        throw new UnsupportedOperationException("Formats is a utility class");
+    }
+
+    /**
+     * Gets the format of the config's file.
+     *
+     * @param config config stored in the file
+     * @param file file storing the config
+     * @return {@link YamlConfigData#getFormat() format of the config} or the one of the file's extension
+     */
+    static ConfigFormat of(final YamlConfigData<?, ?> config, final Path file) {
+        val format = config.getFormat();
+
+        return format == null ? ConfigFormats.of(file.getFileName().toString()) : format;
+    }
+
+    /**
+     * Reads the configuration from the file.
+     *
+     * @param file file from which to read the configuration
+     * @param format format of the file
+     * @return read configuration
+     * @throws IOException if an I/O error occurs reading the file
+     * @throws InvalidConfigurationException if the file is not valid YAML
+     */
+    static FileConfiguration load(final Path file, final ConfigFormat format)
+            throws IOException, InvalidConfigurationException {
+        return load(file, format, Collections.emptySet());
+    }
+
+    /**
+     * Reads the configuration from the file leaving out the values at the paths.
+     *
+     * @param file file from which to read the configuration
+     * @param format format of the file
+     * @param skippedPaths paths of the values which should not be read
+     * @return read configuration
+     * @throws IOException if an I/O error occurs reading the file
+     * @throws InvalidConfigurationException if the file is not valid YAML
+     */
+    static FileConfiguration load(final Path file, final ConfigFormat format, final Collection<String> skippedPaths)
+            throws IOException, InvalidConfigurationException {
+        val configuration = new YamlConfiguration();
+        // the whole file is read through a channel so that it may be of any file system
+        if (format == ConfigFormats.YAML && skippedPaths.isEmpty()) configuration
+                .loadFromString(new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+        else {
+            val replayer = Journals.replayer(configuration);
+            for (val entry : ConfigFormats.read(file, format, skippedPaths).entrySet()) replayer
+                    .accept(entry.getKey(), resolve(entry.getValue()));
+        }
+
+        return configuration;
+    }
+
+    /**
+     * Writes the configuration to the file.
+     *
+     * @param configuration configuration to write
+     * @param file file to which to write the configuration
+     * @param format format of the file
+     * @throws IOException if an I/O error occurs writing the file
+     */
+    @SuppressWarnings("unchecked")
+    static void save(final FileConfiguration configuration, final Path file,
+                     final ConfigFormat format) throws IOException {
+        if (format == ConfigFormats.YAML) Files.write(file, serialize(configuration, format));
+        else ConfigFormats.write(file, format, (Map<String, ?>) toRaw(configuration));
+    }
+
+    /**
+     * Serializes the configuration to the contents of a file.
+     *
+     * @param configuration configuration to serialize
+     * @param format format of the file
+     * @return contents of the file
+     * @throws IOException if the configuration cannot be serialized
+     */
+    @SuppressWarnings("unchecked")
+    static byte[] serialize(final FileConfiguration configuration, final ConfigFormat format) throws IOException {
+        if (format == ConfigFormats.YAML) return configuration.saveToString().getBytes(StandardCharsets.UTF_8);
+
+        val out = new ByteArrayOutputStream();
+        format.write((Map<String, ?>) toRaw(configuration), out);
+
+        return out.toByteArray();
+    }
+
+    /**
+     * Gets the compactor rewriting the base file of a config with the records of its journal applied.
+     *
+     * @param format format of the base file
+     * @return compactor of the journal of the file
+     */
+    static JournalCompactor compactor(final ConfigFormat format) {
+        return (file, journal, offset) -> {
+            val lock = FileLocks.of(file);
+            val stamp = lock.writeLock();
+            try {
+                val path = file.toPath();
+                val configuration = load(path, format);
+                journal.replay(offset, Journals.replayer(configuration));
+
+                val temporaryFile = path.resolveSibling(file.getName() + ".tmp");
+                save(configuration, temporaryFile, format);
+                Files.move(temporaryFile, path,
+                        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        };
+    }
+
+    /**
+     * Converts the value to its raw form replacing sections and {@link ConfigurationSerializable}s with maps.
+     *
+     * @param value value to convert
+     * @return raw value
+     */
+    private static Object toRaw(final Object value) {
+        if (value instanceof ConfigurationSection) return toRaw(((ConfigurationSection) value).getValues(false));
+        if (value instanceof ConfigurationSerializable) {
+            val serializable = (ConfigurationSerializable) value;
+            val map = new LinkedHashMap<String, Object>();
+            map.put(ConfigurationSerialization.SERIALIZED_TYPE_KEY,
+                    ConfigurationSerialization.getAlias(serializable.getClass()));
+            map.putAll(serializable.serialize());
+
+            return toRaw(map);
+        }
+        if (value instanceof Map) {
+            val map = (Map<?, ?>) value;
+            val raw = new LinkedHashMap<String, Object>(Math.max((int) (map.size() / .75f) + 1, 16));
+            for (val entry : map.entrySet()) raw.put(String.valueOf(entry.getKey()), toRaw(entry.getValue()));
+
+            return raw;
+        }
+        if (value instanceof List) {
+            val list = (List<?>) value;
+            val raw = new ArrayList<Object>(list.size());
+            for (val element : list) raw.add(toRaw(element));
+
+            return raw;
+        }
+
+        return value;
+    }
+
+    /**
+     * Resolves the raw value deserializing the maps of {@link ConfigurationSerializable}s just as YAML does.
+     *
+     * @param value raw value
+     * @return resolved value
+     */
+    static Object resolve(final Object value) {
+        if (value instanceof Map) {
+            val map = (Map<?, ?>) value;
+            val resolved = new LinkedHashMap<String, Object>(Math.max((int) (map.size() / .75f) + 1, 16));
+            for (val entry : map.entrySet()) resolved.put(String.valueOf(entry.getKey()), resolve(entry.getValue()));
+
+            return resolved.containsKey(ConfigurationSerialization.SERIALIZED_TYPE_KEY)
+                    ? ConfigurationSerialization.deserializeObject(resolved) : resolved;
+        }
+        if (value instanceof List) {
+            val list = (List<?>) value;
+            val resolved = new ArrayList<Object>(list.size());
+            for (val element : list) resolved.add(resolve(element));
+
+            return resolved;
+        }
+
+        return value;
+    }
+}
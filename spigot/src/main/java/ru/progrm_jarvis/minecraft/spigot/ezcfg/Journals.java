@@ -0,0 +1,64 @@
+package ru.progrm_jarvis.minecraft.spigot.ezcfg;
+
+import lombok.val;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.serialization.ConfigurationSerializable;
+import org.bukkit.configuration.serialization.ConfigurationSerialization;
+import ru.progrm_jarvis.minecraft.common.ezcfg.journal.ValueCodec;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Bukkit-specific parts of {@link ru.progrm_jarvis.minecraft.common.ezcfg.journal.ConfigJournal journaling}.
+ */
+final class Journals {
+
+    /**
+     * Codec of raw config values also supporting {@link ConfigurationSerializable}s and {@link ConfigurationSection}s
+     */
+    static final ValueCodec CODEC = new ValueCodec() {
+        @Override
+        protected Object writeReplace(final Object value) {
+            if (value instanceof ConfigurationSection) return ((ConfigurationSection) value).getValues(false);
+            if (value instanceof ConfigurationSerializable) {
+                val serializable = (ConfigurationSerializable) value;
+                val map = new LinkedHashMap<String, Object>();
+                map.put(ConfigurationSerialization.SERIALIZED_TYPE_KEY,
+                        ConfigurationSerialization.getAlias(serializable.getClass()));
+                map.putAll(serializable.serialize());
+
+                return map;
+            }
+
+            return value;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected Object readResolve(final Map<Object, Object> map) {
+            return map.containsKey(ConfigurationSerialization.SERIALIZED_TYPE_KEY)
+                    ? ConfigurationSerialization.deserializeObject((Map<String, ?>) (Map<?, ?>) map) : map;
+        }
+    };
+
+    private Journals() {
+        throw new UnsupportedOperationException("Journals is a utility class");
+    }
+
+    /**
+     * Gets the consumer of journal records applying them to the configuration.
+     *
+     * @param configuration configuration to which to apply the records
+     * @return consumer of journal records
+     */
+    static BiConsumer<String, Object> replayer(final FileConfiguration configuration) {
+        return (path, value) -> {
+            // maps are stored as sections just as if they were loaded from YAML
+            if (value instanceof Map) configuration.createSection(path, (Map<?, ?>) value);
+            else configuration.set(path, value);
+        };
+    }
+}
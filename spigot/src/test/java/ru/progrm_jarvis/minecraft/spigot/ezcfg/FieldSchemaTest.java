@@ -0,0 +1,70 @@
+package ru.progrm_jarvis.minecraft.spigot.ezcfg;
+
+import lombok.val;
+import org.junit.jupiter.api.Test;
+import ru.progrm_jarvis.minecraft.common.ezcfg.adapter.TypeAdapter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FieldSchemaTest {
+
+    static {
+        // the adapter returns its raw values as is so that they may be of other types than the fields
+        TypeAdapters.register(Label.class, new TypeAdapter<Object>() {
+            @Override
+            public Object decode(final Object raw, final Class<Object> type) {
+                return raw;
+            }
+
+            @Override
+            public Object encode(final Object value) {
+                return value;
+            }
+        });
+    }
+
+    @Test
+    void reportsSectionValuesWhichCannotBeAssigned() {
+        val field = ConfigSchema.of(Settings.class, false).getField("section");
+        val errors = new ArrayList<RuntimeException>();
+
+        val section = (Section) field.decode(Collections.singletonMap("label", "mistyped"), errors::add);
+
+        assertNotNull(section);
+        assertSame(Label.DEFAULT, section.label);
+        assertEquals(1, errors.size());
+        assertTrue(errors.get(0) instanceof ClassCastException);
+    }
+
+    @Test
+    void decodesSectionValuesWithoutErrors() {
+        val field = ConfigSchema.of(Settings.class, false).getField("section");
+        val errors = new ArrayList<RuntimeException>();
+        val label = new Label();
+
+        val section = (Section) field.decode(Collections.singletonMap("label", label), errors::add);
+
+        assertNotNull(section);
+        assertSame(label, section.label);
+        assertTrue(errors.isEmpty());
+    }
+
+    private static final class Settings {
+
+        @CfgField private Section section = new Section();
+    }
+
+    @CfgSection
+    private static final class Section {
+
+        @CfgField private Label label = Label.DEFAULT;
+    }
+
+    private static final class Label {
+
+        private static final Label DEFAULT = new Label();
+    }
+}